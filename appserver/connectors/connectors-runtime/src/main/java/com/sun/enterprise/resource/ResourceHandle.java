@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,6 +29,7 @@ import jakarta.resource.spi.LazyEnlistableManagedConnection;
 import jakarta.resource.spi.ManagedConnection;
 import jakarta.transaction.Transaction;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -145,6 +146,12 @@ public class ResourceHandle implements com.sun.appserv.connectors.internal.api.R
      */
     private int rwLockDataStructureResourceIndex;
 
+    /**
+     * State of this ResourceHandle in the ConcurrentBagDataStructure. The data structure claims and releases the
+     * resource by compare-and-set on this value instead of taking a lock.
+     */
+    private final AtomicInteger concurrentBagState = new AtomicInteger();
+
     /**
      * Value isDestroyByLeakTimeOut is set to true if ConnectionPool reclaimConnection logic was called when a potential
      * leak was found. The value is used when a resource is freed or closed by the poolLifeCycleListener to update
@@ -374,6 +381,18 @@ public class ResourceHandle implements com.sun.appserv.connectors.internal.api.R
         this.rwLockDataStructureResourceIndex = rwLockDataStructureResourceIndex;
     }
 
+    public int getConcurrentBagState() {
+        return concurrentBagState.get();
+    }
+
+    public void setConcurrentBagState(int concurrentBagState) {
+        this.concurrentBagState.set(concurrentBagState);
+    }
+
+    public boolean compareAndSetConcurrentBagState(int expectedState, int newState) {
+        return concurrentBagState.compareAndSet(expectedState, newState);
+    }
+
     @Override
     public String getName() {
         return resourceSpec.getResourceId();
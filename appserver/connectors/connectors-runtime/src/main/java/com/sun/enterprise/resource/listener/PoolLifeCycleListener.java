@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -125,4 +125,12 @@ public interface PoolLifeCycleListener {
      */
     void connectionRequestDequeued();
 
+    /**
+     * indicates that a connection request has left the wait queue.
+     *
+     * @param timeWaitedInNanos time spent in the wait queue
+     * @param handedOff true if a released connection was handed directly to the request
+     */
+    void connectionRequestWaited(long timeWaitedInNanos, boolean handedOff);
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,6 +28,7 @@ import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
@@ -458,13 +459,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             final ResourceHandle handle = tryToAcquireHandle(spec, alloc, transaction);
             final long elapsedTime = System.currentTimeMillis() - startTime;
             if (handle != null) {
-                gateway.acquiredResource();
-                if (poolLifeCycleListener != null) {
-                    poolLifeCycleListener.connectionAcquired(handle.getId());
-                    poolLifeCycleListener.connectionRequestServed(elapsedTime);
-                    LOG.log(DEBUG, "Elapsed time to get connection for {0}: {1} ms", spec, elapsedTime);
-                }
-                return handle;
+                return resourceAcquired(handle, spec, elapsedTime);
             }
 
             final long remainingTime = checkRemainingTime(elapsedTime);
@@ -472,28 +467,108 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 waitForReconfiguration();
             }
             // add to wait-queue
-            final Object waitMonitor = new Object();
             if (poolLifeCycleListener != null) {
                 poolLifeCycleListener.connectionRequestQueued();
             }
-            synchronized (waitMonitor) {
-                waitQueue.addToQueue(waitMonitor);
-                try {
-                    LOG.log(TRACE, "Getting on wait queue");
-                    waitMonitor.wait(remainingTime);
-                } catch (InterruptedException e) {
-                    LOG.log(TRACE, "Waiting interrupted.", e);
-                    Thread.currentThread().interrupt();
-                } finally {
-                    LOG.log(TRACE, "Removing wait monitor from queue: {0}", waitMonitor);
-                    if (waitQueue.removeFromQueue(waitMonitor) && poolLifeCycleListener != null) {
-                        poolLifeCycleListener.connectionRequestDequeued();
-                    }
+            final long waitStartTime = System.nanoTime();
+            final ResourceHandle handedOffHandle;
+            if (waitQueue instanceof HandoffPoolWaitQueue) {
+                handedOffHandle = waitForHandOff((HandoffPoolWaitQueue) waitQueue, remainingTime, alloc);
+            } else {
+                handedOffHandle = null;
+                waitForNotification(remainingTime);
+            }
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestWaited(System.nanoTime() - waitStartTime, handedOffHandle != null);
+            }
+            if (handedOffHandle != null) {
+                return resourceAcquired(handedOffHandle, spec, System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    private ResourceHandle resourceAcquired(ResourceHandle handle, ResourceSpec spec, long elapsedTime) {
+        gateway.acquiredResource();
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionAcquired(handle.getId());
+            poolLifeCycleListener.connectionRequestServed(elapsedTime);
+            LOG.log(DEBUG, "Elapsed time to get connection for {0}: {1} ms", spec, elapsedTime);
+        }
+        return handle;
+    }
+
+    private void waitForNotification(long remainingTime) {
+        final Object waitMonitor = new Object();
+        synchronized (waitMonitor) {
+            waitQueue.addToQueue(waitMonitor);
+            try {
+                LOG.log(TRACE, "Getting on wait queue");
+                waitMonitor.wait(remainingTime);
+            } catch (InterruptedException e) {
+                LOG.log(TRACE, "Waiting interrupted.", e);
+                Thread.currentThread().interrupt();
+            } finally {
+                LOG.log(TRACE, "Removing wait monitor from queue: {0}", waitMonitor);
+                if (waitQueue.removeFromQueue(waitMonitor) && poolLifeCycleListener != null) {
+                    poolLifeCycleListener.connectionRequestDequeued();
                 }
             }
         }
     }
 
+    /**
+     * Parks the calling thread in the hand-off wait queue until a released resource is handed to it, it is signalled to
+     * retry, or the remaining wait time expires.
+     *
+     * @param handoffQueue the wait queue of this pool
+     * @param remainingTime maximum time to wait in milliseconds, 0 means wait until woken up
+     * @param resourceAllocator ResourceAllocator of the caller, used to match the handed over resource
+     * @return the handed over resource marked busy, or null if the caller has to retry
+     */
+    private ResourceHandle waitForHandOff(HandoffPoolWaitQueue handoffQueue, long remainingTime,
+        ResourceAllocator resourceAllocator) {
+        LOG.log(TRACE, "Getting on hand-off wait queue");
+        final ResourceHandle handle = handoffQueue.await(handoffQueue.enqueue(), remainingTime);
+        // The waiter is always out of the queue here, whoever removed it.
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionRequestDequeued();
+        }
+        if (handle == null) {
+            return null;
+        }
+
+        try {
+            getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            // Same checks as for a resource taken from the pool data structure in getUnenlistedResource
+            if (handle.hasConnectionErrorOccurred()) {
+                dataStructure.removeResource(handle);
+                notifyWaitingThreads();
+                return null;
+            }
+            if (!matchConnection(handle, resourceAllocator)
+                || handle.isShareable() != resourceAllocator.shareableWithinComponent()) {
+                returnResourceToPool(handle);
+                notifyWaitingThreads();
+                return null;
+            }
+            if (!isConnectionValid(handle, resourceAllocator)) {
+                dataStructure.removeResource(handle);
+                notifyWaitingThreads();
+                return null;
+            }
+
+            setResourceStateToBusy(handle);
+            handle.getResourceState().incrementUsageCount();
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionUsed(handle.getId());
+                poolLifeCycleListener.decrementNumConnFree();
+            }
+            return handle;
+        } finally {
+            getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+        }
+    }
+
 
     private ResourceHandle tryToAcquireHandle(ResourceSpec spec, ResourceAllocator resourceAllocator,
         Transaction transaction) throws PoolingException {
@@ -1220,13 +1295,20 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                     // Remove the resource handle from the pool and update the monitoring data
                     performMaxConnectionUsageOperation(resourceHandle);
                 } else {
-                    // Put it back to the free collection.
-                    returnResourceToPool(resourceHandle);
+                    // Give it to the longest waiting request or put it back to the free collection.
+                    final boolean handedOff = handOffToWaitingRequest(resourceHandle);
+                    if (!handedOff) {
+                        returnResourceToPool(resourceHandle);
+                    }
                     // update the monitoring data
                     if (poolLifeCycleListener != null && !resourceHandle.getDestroyByLeakTimeOut()) {
                         poolLifeCycleListener.decrementConnectionUsed(resourceHandle.getId());
                         poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
                     }
+                    if (handedOff) {
+                        // The receiving request is already woken up.
+                        return;
+                    }
                 }
                 // For both the cases of free.add and maxConUsageOperation, a free resource is added.
                 // Hence notify waiting threads.
@@ -1237,6 +1319,23 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         }
     }
 
+    /**
+     * Hands the resource directly to the longest waiting request if the pool uses the {@link HandoffPoolWaitQueue}. The
+     * receiving request takes over the resource without it going through the pool data structure.
+     *
+     * @param resourceHandle the free ResourceHandle
+     * @return true if a waiting request took the resource
+     */
+    private boolean handOffToWaitingRequest(ResourceHandle resourceHandle) {
+        if (blocked || !(waitQueue instanceof HandoffPoolWaitQueue)) {
+            return false;
+        }
+
+        makeSureResourceIsNotBusy(resourceHandle);
+        makeSureResourceIsNotEnlisted(resourceHandle);
+        return ((HandoffPoolWaitQueue) waitQueue).handOff(resourceHandle);
+    }
+
     protected void returnResourceToPool(ResourceHandle resourceHandle) {
         // Not expecting a busy resource to be returned to the pool
         makeSureResourceIsNotBusy(resourceHandle);
@@ -1405,6 +1504,14 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     }
 
     protected void notifyWaitingThreads() {
+        if (waitQueue instanceof HandoffPoolWaitQueue) {
+            // wake up the first waiting request, it dequeues itself
+            if (!((HandoffPoolWaitQueue) waitQueue).signal()) {
+                LOG.log(DEBUG, "No waiting request to signal");
+            }
+            return;
+        }
+
         // notify the first thread in the waitQueue
         Object waitMonitor = null;
         synchronized (waitQueue) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -206,4 +206,11 @@ public class PoolLifeCycleListenerRegistry implements PoolLifeCycleListener {
             listener.connectionRequestDequeued();
         }
     }
+
+    @Override
+    public void connectionRequestWaited(long timeWaitedInNanos, boolean handedOff) {
+        for (PoolLifeCycleListener listener : poolListenersList) {
+            listener.connectionRequestWaited(timeWaitedInNanos, handedOff);
+        }
+    }
 }
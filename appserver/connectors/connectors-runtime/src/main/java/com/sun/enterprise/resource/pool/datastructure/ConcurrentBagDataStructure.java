@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free, thread-affine datastructure for pool.
+ * <p>
+ * Every resource carries its own state, see {@link ResourceHandle#getConcurrentBagState()}, and is claimed by
+ * compare-and-set, so concurrent {@link #getResource()} and {@link #returnResource(ResourceHandle)} calls never wait for
+ * each other. A platform thread first tries the resources it returned most recently, which are likely still free and
+ * not touched by other threads, and only then scans the shared list. Virtual threads are short-lived, so they skip
+ * the thread-local list.
+ * <p>
+ * The datastructure never blocks: when no resource is free {@link #getResource()} returns {@code null} and the pool
+ * decides whether to create a new resource or to wait in its wait queue.
+ */
+public class ConcurrentBagDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(ConcurrentBagDataStructure.class, LogDomains.RSR_LOGGER);
+
+    /** The resource is not in the bag yet. */
+    static final int STATE_NOT_IN_BAG = 0;
+    static final int STATE_FREE = 1;
+    static final int STATE_IN_USE = 2;
+    static final int STATE_REMOVED = 3;
+
+    /** Maximal number of recently returned resources remembered per thread. */
+    private static final int MAX_THREAD_LOCAL_RESOURCES = 8;
+
+    private final CopyOnWriteArrayList<ResourceHandle> resources = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<WeakReference<ResourceHandle>>> threadLocalResources =
+        ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_RESOURCES));
+    private final AtomicInteger freeResources = new AtomicInteger();
+    private final DataStructureSemaphore availableResources;
+    private final ResourceHandler handler;
+
+    private volatile int maxSize;
+
+    public ConcurrentBagDataStructure(String parameters, int maxSize, ResourceHandler handler) {
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        LOG.log(Level.FINEST, "Initializing ConcurrentBag DataStructure");
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+        if (permits > 0) {
+            availableResources.release(permits);
+        } else if (permits < 0) {
+            availableResources.reducePermits(-permits);
+        } else {
+            return;
+        }
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            resource.setConcurrentBagState(STATE_FREE);
+            resources.add(resource);
+            freeResources.incrementAndGet();
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        if (!Thread.currentThread().isVirtual()) {
+            List<WeakReference<ResourceHandle>> recentlyUsed = threadLocalResources.get();
+            for (int i = recentlyUsed.size() - 1; i >= 0; i--) {
+                ResourceHandle resource = recentlyUsed.remove(i).get();
+                if (resource != null && claim(resource)) {
+                    return resource;
+                }
+            }
+        }
+
+        // Start at a random position, so that concurrent scans do not fight for the same resources.
+        Object[] snapshot = resources.toArray();
+        int size = snapshot.length;
+        if (size == 0) {
+            return null;
+        }
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            ResourceHandle resource = (ResourceHandle) snapshot[(start + i) % size];
+            if (claim(resource)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        int state;
+        do {
+            state = resource.getConcurrentBagState();
+            if (state != STATE_FREE && state != STATE_IN_USE) {
+                // Not in the bag or already removed
+                return;
+            }
+        } while (!resource.compareAndSetConcurrentBagState(state, STATE_REMOVED));
+
+        if (state == STATE_FREE) {
+            freeResources.decrementAndGet();
+        }
+        if (resources.remove(resource)) {
+            availableResources.release();
+            handler.deleteResource(resource);
+        }
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        if (!resource.compareAndSetConcurrentBagState(STATE_IN_USE, STATE_FREE)) {
+            return;
+        }
+        freeResources.incrementAndGet();
+
+        if (!Thread.currentThread().isVirtual()) {
+            List<WeakReference<ResourceHandle>> recentlyUsed = threadLocalResources.get();
+            if (recentlyUsed.size() >= MAX_THREAD_LOCAL_RESOURCES) {
+                recentlyUsed.remove(0);
+            }
+            recentlyUsed.add(new WeakReference<>(resource));
+        }
+    }
+
+    @Override
+    public int getFreeListSize() {
+        return freeResources.get();
+    }
+
+    @Override
+    public void removeAll() {
+        for (ResourceHandle resource : resources) {
+            removeResource(resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return resources.size();
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        return resources;
+    }
+
+    private boolean claim(ResourceHandle resource) {
+        if (!resource.compareAndSetConcurrentBagState(STATE_FREE, STATE_IN_USE)) {
+            return false;
+        }
+        freeResources.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
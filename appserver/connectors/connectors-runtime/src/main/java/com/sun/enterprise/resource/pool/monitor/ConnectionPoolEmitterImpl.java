@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -296,6 +296,19 @@ public class ConnectionPoolEmitterImpl implements PoolLifeCycleListener {
         poolProbeProvider.connectionRequestDequeuedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName());
     }
 
+    /**
+     * Fires probe event that a connection request has left the wait queue
+     * of the given jdbc connection pool after <code>timeWaitedInNanos</code>.
+     *
+     * @param timeWaitedInNanos time spent in the wait queue
+     * @param handedOff true if a released connection was handed directly to the request
+     */
+    @Override
+    public void connectionRequestWaited(long timeWaitedInNanos, boolean handedOff) {
+        poolProbeProvider.connectionRequestWaitedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName(),
+            timeWaitedInNanos, handedOff);
+    }
+
     private String getAppName(long resourceHandleId) {
 
         // if monitoring is disabled, avoid sending events
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -221,4 +222,18 @@ public abstract class ConnectionPoolProbeProvider {
      */
     public void connectionRequestDequeuedEvent(String poolName, String appName, String moduleName) {
     }
+
+    /**
+     * Emits probe event/notification that a connection request has left the
+     * wait queue of the given  connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param appName application-name in which the pool is defined
+     * @param moduleName module-name in which the pool is defined
+     * @param timeWaitedInNanos time spent in the wait queue
+     * @param handedOff true if a released connection was handed directly to the request
+     */
+    public void connectionRequestWaitedEvent(String poolName, String appName, String moduleName, long timeWaitedInNanos,
+            boolean handedOff) {
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -274,4 +274,20 @@ public class ConnectorConnPoolProbeProvider extends ConnectionPoolProbeProvider
                                                @ProbeParam("appName") String appName,
                                                @ProbeParam("moduleName") String moduleName
                                                ) { }
+
+    /**
+     * Emits probe event/notification that a connection request has left the
+     * wait queue of the given connector connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param timeWaitedInNanos time spent in the wait queue
+     * @param handedOff true if a released connection was handed directly to the request
+     */
+    @Probe(name="connectionRequestWaitedEvent")
+    @Override
+    public void connectionRequestWaitedEvent(@ProbeParam("poolName") String poolName,
+                                             @ProbeParam("appName") String appName,
+                                             @ProbeParam("moduleName") String moduleName,
+                                             @ProbeParam("timeWaitedInNanos") long timeWaitedInNanos,
+                                             @ProbeParam("handedOff") boolean handedOff) { }
 }
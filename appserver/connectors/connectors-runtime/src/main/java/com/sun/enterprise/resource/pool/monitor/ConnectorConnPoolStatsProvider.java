@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,10 +28,12 @@ import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.StringStatistic;
 import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.RangeStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.external.statistics.impl.StringStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -119,6 +121,22 @@ public class ConnectorConnPoolStatsProvider {
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
+    private final WaitTimeHistogram connRequestWaitTimes = new WaitTimeHistogram();
+    private final StringStatisticImpl connRequestWaitTimeHistogram = new StringStatisticImpl(
+            "ConnRequestWaitTimeHistogram", "List",
+            "Distribution of the time connection requests spent in the wait queue, in microseconds.");
+    private final CountStatisticImpl connRequestWaitTimeP50 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP50", StatisticImpl.UNIT_MICROSECOND,
+            "Median time connection requests spent in the wait queue");
+    private final CountStatisticImpl connRequestWaitTimeP99 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP99", StatisticImpl.UNIT_MICROSECOND,
+            "99th percentile of the time connection requests spent in the wait queue");
+    private final CountStatisticImpl connRequestWaitTimeMax = new CountStatisticImpl(
+            "ConnRequestWaitTimeMax", StatisticImpl.UNIT_MICROSECOND,
+            "Longest time a connection request spent in the wait queue");
+    private final CountStatisticImpl numConnHandedOff = new CountStatisticImpl(
+            "NumConnHandedOff", StatisticImpl.UNIT_COUNT,
+            "Number of released connections handed directly to a waiting connection request.");
     private static final String JCA_PROBE_LISTENER = "glassfish:jca:connection-pool:";
 
     public ConnectorConnPoolStatsProvider(PoolInfo poolInfo) {
@@ -376,6 +394,8 @@ public class ConnectorConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        connRequestWaitTimes.reset();
+        numConnHandedOff.reset();
     }
 
     /**
@@ -440,6 +460,25 @@ public class ConnectorConnPoolStatsProvider {
         }
     }
 
+    /**
+     * When a connection request leaves the wait queue, record the time it waited.
+     */
+    @ProbeListener(JCA_PROBE_LISTENER + "connectionRequestWaitedEvent")
+    public void connectionRequestWaitedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("timeWaitedInNanos") long timeWaitedInNanos,
+            @ProbeParam("handedOff") boolean handedOff) {
+        if (isMyPool(poolName, appName, moduleName)) {
+            LOG.log(DEBUG, "Connection request waited event received for pool: {0}", poolInfo);
+            connRequestWaitTimes.record(timeWaitedInNanos);
+            if (handedOff) {
+                numConnHandedOff.increment();
+            }
+        }
+    }
+
     protected PoolInfo getPoolInfo() {
         return poolInfo;
     }
@@ -527,6 +566,35 @@ public class ConnectorConnPoolStatsProvider {
         return waitQueueLength;
     }
 
+    @ManagedAttribute(id = "connrequestwaittimehistogram")
+    public StringStatistic getConnRequestWaitTimeHistogram() {
+        connRequestWaitTimeHistogram.setCurrent(connRequestWaitTimes.toString());
+        return connRequestWaitTimeHistogram;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimep50")
+    public CountStatistic getConnRequestWaitTimeP50() {
+        connRequestWaitTimeP50.setCount(connRequestWaitTimes.getPercentile(0.5));
+        return connRequestWaitTimeP50;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimep99")
+    public CountStatistic getConnRequestWaitTimeP99() {
+        connRequestWaitTimeP99.setCount(connRequestWaitTimes.getPercentile(0.99));
+        return connRequestWaitTimeP99;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimemax")
+    public CountStatistic getConnRequestWaitTimeMax() {
+        connRequestWaitTimeMax.setCount(connRequestWaitTimes.getMax());
+        return connRequestWaitTimeMax;
+    }
+
+    @ManagedAttribute(id = "numconnhandedoff")
+    public CountStatistic getNumConnHandedOff() {
+        return numConnHandedOff;
+    }
+
     private boolean isMyPool(String poolName, String appName, String moduleName) {
         PoolInfo other = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         return poolInfo.equals(other);
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.monitor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Lock-free histogram of connection request wait times in microseconds.
+ * <p>
+ * Bucket {@code 0} counts waits shorter than one microsecond, bucket {@code i} counts waits from
+ * {@code 2^(i-1)} up to {@code 2^i - 1} microseconds. Percentiles are therefore reported as the upper bound of the
+ * bucket they fall into, capped by the maximum recorded value.
+ */
+public class WaitTimeHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * Records one wait.
+     *
+     * @param timeInNanos time waited
+     */
+    public void record(long timeInNanos) {
+        long timeInMicros = NANOSECONDS.toMicros(timeInNanos);
+        counts.incrementAndGet(bucketOf(timeInMicros));
+        max.accumulate(timeInMicros);
+    }
+
+    /**
+     * @return number of recorded waits
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the longest recorded wait in microseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the wait time in microseconds which the given fraction of recorded waits did not exceed.
+     *
+     * @param fraction percentile as fraction, for example {@code 0.99}
+     * @return the percentile in microseconds, zero if nothing was recorded
+     */
+    public long getPercentile(double fraction) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        max.reset();
+    }
+
+    /**
+     * @return non-empty buckets as {@code "<=upperBound us: count"} pairs, shortest waits first
+     */
+    @Override
+    public String toString() {
+        long[] snapshot = snapshot();
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (snapshot[i] == 0) {
+                continue;
+            }
+            if (histogram.length() > 0) {
+                histogram.append(", ");
+            }
+            histogram.append("<=").append(upperBoundOf(i)).append("us: ").append(snapshot[i]);
+        }
+        return histogram.toString();
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    private static int bucketOf(long timeInMicros) {
+        return timeInMicros <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(timeInMicros);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.Logger.Level.TRACE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Wait queue which hands a returned resource directly to the longest waiting request.
+ * <p>
+ * Waiting requests are kept in a lock-free FIFO and parked with {@link LockSupport}, so no monitor is held while
+ * waiting and virtual threads are not pinned. A resource passed to {@link #handOff(ResourceHandle)} never goes back to
+ * the pool data structure, so a request arriving later cannot steal it from the waiting one.
+ * <p>
+ * Plain monitor objects added by {@link #addToQueue(Object)} are still accepted, so the queue can be used as
+ * reconfiguration wait queue as well.
+ */
+public class HandoffPoolWaitQueue implements PoolWaitQueue {
+
+    private static final Logger LOG = System.getLogger(HandoffPoolWaitQueue.class.getName());
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger length = new AtomicInteger();
+
+    public HandoffPoolWaitQueue() {
+        LOG.log(TRACE, "Initializing hand-off Pool Wait Queue");
+    }
+
+    @Override
+    public int getQueueLength() {
+        return length.get();
+    }
+
+    @Override
+    public void addToQueue(Object o) {
+        queue.add(o);
+        length.incrementAndGet();
+    }
+
+    @Override
+    public boolean removeFromQueue(Object o) {
+        if (!queue.remove(o)) {
+            return false;
+        }
+        length.decrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Object remove() {
+        Object first = queue.poll();
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        length.decrementAndGet();
+        if (first instanceof Waiter waiter && waiter.complete(Waiter.SIGNALLED)) {
+            LockSupport.unpark(waiter.thread);
+        }
+        return first;
+    }
+
+    @Override
+    public Object peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        return queue;
+    }
+
+    /**
+     * Adds the calling thread to the tail of the queue.
+     *
+     * @return waiter to be passed to {@link #await(Waiter, long)} by the same thread
+     */
+    public Waiter enqueue() {
+        Waiter waiter = new Waiter(Thread.currentThread());
+        addToQueue(waiter);
+        return waiter;
+    }
+
+    /**
+     * Parks the calling thread until a resource is handed to the waiter, the waiter is signalled, the timeout expires or
+     * the thread is interrupted. The waiter is not in the queue anymore when this method returns.
+     *
+     * @param waiter waiter obtained from {@link #enqueue()} by the calling thread
+     * @param timeoutInMillis maximum time to wait, zero or less means wait until woken up
+     * @return the resource handed over to the waiter, or {@code null} if no resource was handed over
+     */
+    public ResourceHandle await(Waiter waiter, long timeoutInMillis) {
+        final long deadline = timeoutInMillis > 0 ? System.nanoTime() + MILLISECONDS.toNanos(timeoutInMillis) : 0L;
+        while (waiter.isWaiting() && !Thread.currentThread().isInterrupted()) {
+            if (deadline == 0L) {
+                LockSupport.park(this);
+                continue;
+            }
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0L) {
+                break;
+            }
+            LockSupport.parkNanos(this, remainingNanos);
+        }
+
+        if (waiter.complete(Waiter.CANCELLED)) {
+            // Timed out or interrupted, nobody else will remove the waiter.
+            removeFromQueue(waiter);
+            return null;
+        }
+        return waiter.getResource();
+    }
+
+    /**
+     * Hands the resource to the longest waiting request.
+     *
+     * @param resource free resource, not present in the pool data structure
+     * @return {@code true} if a waiting request took the resource, {@code false} if nobody is waiting
+     */
+    public boolean handOff(ResourceHandle resource) {
+        return wakeUpLongestWaiter(resource);
+    }
+
+    /**
+     * Wakes up the longest waiting request without giving it a resource, so that it retries to acquire one, for example
+     * because a resource was destroyed and a new one can be created.
+     *
+     * @return {@code true} if a waiting request was woken up
+     */
+    public boolean signal() {
+        return wakeUpLongestWaiter(Waiter.SIGNALLED);
+    }
+
+    private boolean wakeUpLongestWaiter(Object outcome) {
+        Iterator<Object> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (!(iterator.next() instanceof Waiter waiter) || !waiter.complete(outcome)) {
+                // Plain monitors are notified by their owners, cancelled waiters remove themselves.
+                continue;
+            }
+            removeFromQueue(waiter);
+            LockSupport.unpark(waiter.thread);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A request waiting in the queue. The outcome is set exactly once, either by the thread handing over a resource or
+     * signalling the waiter, or by the waiting thread itself when it gives up.
+     */
+    public static final class Waiter {
+
+        private static final Object SIGNALLED = new Object();
+        private static final Object CANCELLED = new Object();
+
+        private final Thread thread;
+        private final AtomicReference<Object> outcome = new AtomicReference<>();
+
+        private Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        boolean isWaiting() {
+            return outcome.get() == null;
+        }
+
+        boolean complete(Object value) {
+            return outcome.compareAndSet(null, value);
+        }
+
+        ResourceHandle getResource() {
+            Object value = outcome.get();
+            return value instanceof ResourceHandle ? (ResourceHandle) value : null;
+        }
+
+        @Override
+        public String toString() {
+            return "Waiter[" + thread.getName() + "]";
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentBagDataStructureTest {
+
+    private static final int RESOURCE_COUNT = 500;
+
+    private static final int THREAD_COUNT = 100;
+
+    private ResourceHandler handler;
+
+    @BeforeEach
+    public void createHandler() throws PoolingException {
+        handler = createNiceMock(ResourceHandler.class);
+        expect(handler.createResource(anyObject())).andAnswer(ConcurrentBagDataStructureTest::createResource).anyTimes();
+        replay(handler);
+    }
+
+    @Test
+    public void testFactory() throws PoolingException {
+        DataStructure dataStructure = DataStructureFactory.getDataStructure(ConcurrentBagDataStructure.class.getName(),
+            null, 1, handler);
+        assertTrue(dataStructure instanceof ConcurrentBagDataStructure);
+    }
+
+    @Test
+    public void testGetAndReturnResource() throws PoolingException {
+        DataStructure dataStructure = new ConcurrentBagDataStructure(null, 2, handler);
+        assertThat("Add Resources", dataStructure.addResource(null, 3), equalTo(2));
+
+        ResourceHandle first = dataStructure.getResource();
+        ResourceHandle second = dataStructure.getResource();
+        assertAll(
+            () -> assertTrue(first != null && second != null && first != second),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue()),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        dataStructure.returnResource(first);
+        dataStructure.returnResource(first);
+        assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(1));
+
+        // The thread gets back the resource it returned last
+        dataStructure.returnResource(second);
+        assertThat(dataStructure.getResource(), sameInstance(second));
+        assertThat(dataStructure.getResource(), sameInstance(first));
+    }
+
+    @Test
+    public void testRemoveResourceInUse() throws PoolingException {
+        DataStructure dataStructure = new ConcurrentBagDataStructure(null, 1, handler);
+        dataStructure.addResource(null, 1);
+
+        ResourceHandle resource = dataStructure.getResource();
+        dataStructure.removeResource(resource);
+        dataStructure.returnResource(resource);
+        assertAll(
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+        );
+
+        // Permit was released
+        assertThat("Add Resource", dataStructure.addResource(null, 1), equalTo(1));
+    }
+
+    @Test
+    public void testSetMaxSize() throws PoolingException {
+        DataStructure dataStructure = new ConcurrentBagDataStructure(null, 1, handler);
+        dataStructure.addResource(null, 1);
+
+        dataStructure.setMaxSize(3);
+        assertThat("Add Resources", dataStructure.addResource(null, 5), equalTo(2));
+
+        dataStructure.setMaxSize(1);
+        dataStructure.removeResource(dataStructure.getResource());
+        assertThat("Add Resource", dataStructure.addResource(null, 1), equalTo(0));
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testConcurrentGetResource() throws Exception {
+        DataStructure dataStructure = new ConcurrentBagDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(null, RESOURCE_COUNT);
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(RESOURCE_COUNT);
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            tasks.add(dataStructure::getResource);
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            HashSet<ResourceHandle> resources = new HashSet<>();
+            for (Future<ResourceHandle> future : threadPool.invokeAll(tasks)) {
+                assertTrue(resources.add(future.get()));
+            }
+            assertAll(
+                () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+                () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+            );
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testRaceConditions() throws Exception {
+        DataStructure dataStructure = new ConcurrentBagDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(null, RESOURCE_COUNT);
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(RESOURCE_COUNT);
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            tasks.add(() -> {
+                ResourceHandle resource = dataStructure.getResource();
+                dataStructure.returnResource(resource);
+                resource = dataStructure.getResource();
+                dataStructure.removeResource(resource);
+                return resource;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            for (Future<ResourceHandle> future : threadPool.invokeAll(tasks)) {
+                assertTrue(future.get() != null);
+            }
+            assertAll(
+                () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+                () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+            );
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    private static ResourceHandle createResource() {
+        return new ResourceHandle(null, new ResourceSpec(new SimpleJndiName("resource"), 0), (ResourceAllocator) null);
+    }
+}
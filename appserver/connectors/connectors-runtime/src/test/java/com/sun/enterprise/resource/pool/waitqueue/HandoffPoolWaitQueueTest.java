@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue.Waiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HandoffPoolWaitQueueTest {
+
+    @Test
+    public void factoryCreatesHandoffQueue() throws Exception {
+        assertTrue(PoolWaitQueueFactory.createPoolWaitQueue(PoolWaitQueue.HANDOFF_WAIT_QUEUE) instanceof HandoffPoolWaitQueue);
+        assertTrue(PoolWaitQueueFactory.createPoolWaitQueue(HandoffPoolWaitQueue.class.getName()) instanceof HandoffPoolWaitQueue);
+    }
+
+    @Test
+    public void handOffWithoutWaiters() {
+        HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+        assertFalse(queue.handOff(createResource(1)));
+        assertFalse(queue.signal());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void timeoutRemovesWaiter() {
+        HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+        Waiter waiter = queue.enqueue();
+        assertThat(queue.getQueueLength(), equalTo(1));
+
+        assertThat(queue.await(waiter, 10L), nullValue());
+        assertThat(queue.getQueueLength(), equalTo(0));
+        assertFalse(queue.handOff(createResource(1)));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void resourcesAreHandedToLongestWaiterFirst() throws Exception {
+        final int waiterCount = 8;
+        HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<CompletableFuture<ResourceHandle>> results = new ArrayList<>();
+            for (int i = 0; i < waiterCount; i++) {
+                CountDownLatch enqueued = new CountDownLatch(1);
+                CompletableFuture<ResourceHandle> result = new CompletableFuture<>();
+                executor.execute(() -> {
+                    Waiter waiter = queue.enqueue();
+                    enqueued.countDown();
+                    result.complete(queue.await(waiter, 0L));
+                });
+                enqueued.await();
+                results.add(result);
+            }
+            assertThat(queue.getQueueLength(), equalTo(waiterCount));
+
+            List<ResourceHandle> resources = new ArrayList<>();
+            for (int i = 0; i < waiterCount; i++) {
+                ResourceHandle resource = createResource(i);
+                resources.add(resource);
+                assertTrue(queue.handOff(resource));
+            }
+            for (int i = 0; i < waiterCount; i++) {
+                assertThat(results.get(i).get(), sameInstance(resources.get(i)));
+            }
+            assertThat(queue.getQueueLength(), equalTo(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void signalledWaiterGetsNoResource() throws Exception {
+        HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+        CountDownLatch enqueued = new CountDownLatch(1);
+        CompletableFuture<ResourceHandle> result = new CompletableFuture<>();
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            Waiter waiter = queue.enqueue();
+            enqueued.countDown();
+            result.complete(queue.await(waiter, 0L));
+        });
+        enqueued.await();
+
+        assertTrue(queue.signal());
+        assertThat(result.get(), nullValue());
+        waiting.join();
+        assertThat(queue.getQueueLength(), equalTo(0));
+    }
+
+    private static ResourceHandle createResource(int i) {
+        return new ResourceHandle(null, new ResourceSpec(new SimpleJndiName("testResource" + i), 0), null);
+    }
+}
@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.logging.Level;
 
 import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.deployment.common.AnnotationIndex;
 import org.glassfish.hk2.classmodel.reflect.AnnotatedElement;
 import org.glassfish.hk2.classmodel.reflect.AnnotationType;
 import org.glassfish.hk2.classmodel.reflect.Member;
@@ -103,6 +104,13 @@ public class AnnotationDetector {
     }
 
     public boolean hasAnnotationInArchive(ReadableArchive archive) throws IOException {
+        AnnotationIndex index = AnnotationIndex.getInstance();
+        if (index != null) {
+            AnnotationIndex.ArchiveAnnotations indexed = index.getAnnotations(archive);
+            if (indexed != null) {
+                return indexed.hasAnnotation(scanner::isAnnotation, false);
+            }
+        }
 
         Enumeration<String> entries = archive.entries();
         while (entries.hasMoreElements()) {
@@ -26,6 +26,7 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.deployment.common.AnnotationIndex;
 
 /**
  * Subclass for connector annotation detection.
@@ -40,6 +41,13 @@ public class ConnectorAnnotationDetector extends AnnotationDetector {
 
     @Override
     public boolean hasAnnotationInArchive(ReadableArchive archive) throws IOException {
+        AnnotationIndex index = AnnotationIndex.getInstance();
+        if (index != null) {
+            AnnotationIndex.ArchiveAnnotations indexed = index.getAnnotations(archive);
+            if (indexed != null) {
+                return indexed.hasAnnotation(scanner::isAnnotation, true);
+            }
+        }
 
         Enumeration<String> entries = archive.entries();
         while (entries.hasMoreElements()) {
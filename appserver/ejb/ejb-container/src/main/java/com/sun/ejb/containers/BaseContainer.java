@@ -235,6 +235,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = { HOME_KEY };
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String STRIPED_BEAN_POOL_PROP = "striped-bean-pool";
 
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
@@ -4233,6 +4234,14 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         timerProbeNotifier.ejbTimerDeliveredEvent();
     }
 
+    protected void incrementLoadedTimedObject() {
+        timerProbeNotifier.ejbTimerLoadedEvent();
+    }
+
+    protected void timedObjectsBatchUpdated(int count) {
+        timerProbeNotifier.ejbTimerBatchUpdatedEvent(count);
+    }
+
     private static class JndiInfo {
         SimpleJndiName name;
         Object object;
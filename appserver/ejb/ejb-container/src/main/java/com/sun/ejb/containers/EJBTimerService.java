@@ -46,6 +46,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -138,6 +140,11 @@ public class EJBTimerService {
 
     private static EJBTimerService _timerService;
 
+    // Timing wheel and dedicated executor used instead of the JDK timer and
+    // the default ejb thread pool, or null if not enabled.
+    private EJBTimerWheel timerWheel_;
+    private ThreadPoolExecutor timerExecutor_;
+
     protected EJBTimerService() throws Exception {
         timerCache_     = new TimerCache();
         shutdown_       = false;
@@ -335,6 +342,58 @@ public class EJBTimerService {
     private void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
+
+        beforeShutdown();
+        if( timerWheel_ != null ) {
+            timerWheel_.close();
+            timerExecutor_.shutdown();
+        }
+    }
+
+    /**
+     * Called on the shutdown of the timer service, after the timer expirations
+     * were stopped.  Nothing to do for non-persistent timers.
+     */
+    protected void beforeShutdown() {
+        // Do nothing
+    }
+
+    /**
+     * Schedule the timer expirations on a hashed timing wheel and deliver
+     * them on a dedicated executor instead of the shared JDK timer and the
+     * default ejb thread pool.  Must be called before any timer is scheduled.
+     *
+     * @param tickMillis precision of the timer expirations
+     * @param dispatchThreads number of threads delivering the timeouts
+     */
+    protected void enableTimerWheel(long tickMillis, int dispatchThreads) {
+        timerWheel_ = new EJBTimerWheel(tickMillis, 512);
+        timerExecutor_ = new EjbThreadPoolExecutor(dispatchThreads, dispatchThreads, 60L,
+            new LinkedBlockingQueue<>(), "ejb-timer-dispatch-");
+        timerExecutor_.allowCoreThreadTimeOut(true);
+        logger.log(Level.FINE, "EJB Timer Service uses timing wheel with tick of " +
+                   tickMillis + " ms and " + dispatchThreads + " dispatch threads");
+    }
+
+    /**
+     * Run a background task of the timer service on the timer executor
+     * if it is enabled, or on the default ejb thread pool.  The task is
+     * ignored after the timer executor was shut down.
+     */
+    protected void executeTimerWork(Runnable work) {
+        if( timerExecutor_ == null ) {
+            ejbContainerUtil.addWork(work);
+        } else if( !timerExecutor_.isShutdown() ) {
+            timerExecutor_.execute(work);
+        }
+    }
+
+    /**
+     * @return number of timer expirations scheduled on the timing wheel,
+     *         or 0 if the wheel is not enabled.
+     */
+    protected int getScheduledTaskCount() {
+        return timerWheel_ == null ? 0 : timerWheel_.size();
     }
 
     /**
@@ -418,6 +477,16 @@ public class EJBTimerService {
         if( timerState != null ) {
             synchronized(timerState) {
 
+                if( isUnloadable(timerState, rescheduled) && isOutsideOfLoadWindow(expiration) ) {
+                    // Timer is restored again from the database when it is due
+                    if( logger.isLoggable(Level.FINE) ) {
+                        logger.log(Level.FINE, "Unloading " + timerState +
+                                   " with timeout at " + expiration);
+                    }
+                    timerCache_.removeTimer(timerId);
+                    return;
+                }
+
                 Date timerExpiration = expiration;
                 if( !rescheduled ) {
                     // Guard against very small timer intervals. The EJB Timer
@@ -446,8 +515,12 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                if( timerWheel_ != null ) {
+                    timerWheel_.schedule(timerTask);
+                } else {
+                    java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+                    jdkTimer.schedule(timerTask, timerExpiration);
+                }
             }
         } else {
 
@@ -459,6 +532,28 @@ public class EJBTimerService {
     }
 
 
+    /**
+     * Only newly created or restored persistent timers without a schedule
+     * are unloaded, periodic timers stay in memory once they were delivered.
+     *
+     * @return true if the timer may be unloaded instead of scheduled when it
+     *         is outside of the load window
+     */
+    static boolean isUnloadable(RuntimeTimerState timerState, boolean rescheduled) {
+        return !rescheduled && timerState.isCreated() && timerState.isPersistent() &&
+            timerState.getTimerSchedule() == null;
+    }
+
+    /**
+     * Persistent timers might be kept in memory only when they are due soon.
+     * Called for newly created or restored persistent timers without a schedule.
+     *
+     * @return true if the timer should not be kept in memory until it is due
+     */
+    protected boolean isOutsideOfLoadWindow(Date expiration) {
+        return false;
+    }
+
     /**
      * Called by #cancelTimerSynchronization() to cancel the next scheduled expiration
      * for a timer.
@@ -1236,6 +1331,9 @@ public class EJBTimerService {
 
                     Date expiration = calcNextFixedRateExpiration(timerState);
                     if (expiration != null) {
+                        if (!redeliver) {
+                            timeoutDelivered(timerId, timerState, now, expiration);
+                        }
                         scheduleTask(timerId, expiration);
                     } else {
                         // schedule-based timer ended.
@@ -1365,6 +1463,45 @@ public class EJBTimerService {
         // Do nothing
     }
 
+    /**
+     * Called after the ejbTimeout call of a periodic timer completed and
+     * will not be redelivered, before its next expiration is scheduled.
+     * Single-action timers are removed in postEjbTimeout instead.
+     * Nothing special to do for non-persistent timers.
+     */
+    protected void timeoutDelivered(TimerPrimaryKey timerId,
+                                          RuntimeTimerState timerState,
+                                          Date lastExpiration, Date nextExpiration) {
+        // Do nothing
+    }
+
+    /**
+     * Notify the monitoring of the container that the timer was loaded
+     * from the database.
+     */
+    protected void timerLoaded(RuntimeTimerState timerState) {
+        BaseContainer container = timerState.getContainer();
+        if( container != null ) {
+            container.incrementLoadedTimedObject();
+        }
+    }
+
+    /**
+     * Notify the monitoring of the containers that the state of their timers
+     * was updated in one batch.
+     */
+    protected void timersBatchUpdated(Collection<RuntimeTimerState> timerStates) {
+        Map<BaseContainer, Integer> counts = new HashMap<>();
+        for (RuntimeTimerState timerState : timerStates) {
+            if (timerState.getContainer() != null) {
+                counts.merge(timerState.getContainer(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<BaseContainer, Integer> count : counts.entrySet()) {
+            count.getKey().timedObjectsBatchUpdated(count.getValue());
+        }
+    }
+
     /**
      * This method is called back from the EJBTimerTask object
      * on the JDK Timer Thread.  Work performed in this callback
@@ -1386,7 +1523,7 @@ public class EJBTimerService {
                     }
 
                     TaskExpiredWork work = new TaskExpiredWork(this, timerId);
-                    ejbContainerUtil.addWork(work);
+                    executeTimerWork(work);
                 } else {
                     logger.log(Level.FINE, "Timer " + timerId +
                                " is not in scheduled state.  Current state = "
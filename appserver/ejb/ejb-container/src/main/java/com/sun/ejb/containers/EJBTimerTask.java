@@ -31,6 +31,7 @@ public class EJBTimerTask extends TimerTask {
     private Date timeout_;
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
+    private volatile boolean cancelled_;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
@@ -49,5 +50,19 @@ public class EJBTimerTask extends TimerTask {
         return timeout_;
     }
 
+    @Override
+    public boolean cancel() {
+        cancelled_ = true;
+        return super.cancel();
+    }
+
+    /**
+     * @return true if the task was cancelled, used by the timer wheel
+     * to drop the task.
+     */
+    boolean isCancelled() {
+        return cancelled_;
+    }
+
 }
 
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel for the expirations of EJB timers, used instead of the JDK timer
+ * when the EJB Timer Service keeps only the timers due soon in memory.
+ * <p>
+ * Scheduling a task does not lock, the task is queued and moved to its bucket by the
+ * worker thread on the next tick. Cancelled tasks are dropped when their bucket is
+ * visited. The tasks run on the worker thread at most one tick late and must be short,
+ * {@link EJBTimerTask} only hands the delivery over to the timer executor.
+ */
+final class EJBTimerWheel {
+
+    private static final Logger logger = LogDomains.getLogger(EJBTimerWheel.class, LogDomains.EJB_LOGGER);
+
+    private final long tickMillis;
+    private final Entry[] wheel;
+    private final int mask;
+    private final Queue<Entry> scheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+
+    private volatile Thread worker;
+    private volatile boolean closed;
+    private long tick;
+
+    /**
+     * @param tickMillis duration of one tick in milliseconds
+     * @param wheelSize number of buckets, rounded up to a power of two
+     */
+    EJBTimerWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0L || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        int buckets = Integer.highestOneBit(wheelSize);
+        if (buckets < wheelSize) {
+            buckets <<= 1;
+        }
+        this.wheel = new Entry[buckets];
+        this.mask = buckets - 1;
+    }
+
+    /**
+     * Schedules the task to run at its timeout. The task is ignored if the wheel
+     * was closed on the shutdown of the timer service, as its expiration would
+     * not be delivered anyway.
+     */
+    void schedule(EJBTimerTask task) {
+        if (closed) {
+            logger.log(Level.FINE, "EJB timer wheel was closed, ignoring task for timeout {0}", task.getTimeout());
+            return;
+        }
+        startWorker();
+        long delay = Math.max(task.getTimeout().getTime() - System.currentTimeMillis(), 0L);
+        long deadline = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + delay;
+        size.incrementAndGet();
+        scheduled.add(new Entry(task, deadline));
+    }
+
+    /**
+     * @return number of scheduled tasks, including the cancelled tasks not yet dropped.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Stops the worker thread. The scheduled tasks will never run.
+     */
+    void close() {
+        closed = true;
+        Thread stopped = worker;
+        if (stopped != null) {
+            LockSupport.unpark(stopped);
+        }
+    }
+
+    private void startWorker() {
+        if (worker != null) {
+            return;
+        }
+        synchronized (this) {
+            if (worker == null) {
+                Thread thread = new Thread(this::run, "ejb-timer-wheel");
+                thread.setDaemon(true);
+                // Prevent any app classloader being set as CCL, see EjbContainerUtilImpl
+                thread.setContextClassLoader(null);
+                thread.start();
+                worker = thread;
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            long currentTime = waitForNextTick();
+            if (closed) {
+                return;
+            }
+            transferScheduled();
+            expire((int) (tick & mask), currentTime);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickMillis * (tick + 1);
+        while (true) {
+            long currentTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            long sleepTime = deadline - currentTime;
+            if (sleepTime <= 0L || closed) {
+                return currentTime;
+            }
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(sleepTime));
+        }
+    }
+
+    private void transferScheduled() {
+        Entry entry;
+        while ((entry = scheduled.poll()) != null) {
+            long calculated = entry.deadline / tickMillis;
+            entry.remainingRounds = (calculated - tick) / wheel.length;
+            int bucket = (int) (Math.max(calculated, tick) & mask);
+            entry.next = wheel[bucket];
+            wheel[bucket] = entry;
+        }
+    }
+
+    private void expire(int bucket, long currentTime) {
+        Entry previous = null;
+        Entry entry = wheel[bucket];
+        while (entry != null) {
+            Entry next = entry.next;
+            boolean cancelled = entry.task.isCancelled();
+            if (cancelled || (entry.remainingRounds <= 0L && entry.deadline <= currentTime)) {
+                if (previous == null) {
+                    wheel[bucket] = next;
+                } else {
+                    previous.next = next;
+                }
+                entry.next = null;
+                size.decrementAndGet();
+                if (!cancelled) {
+                    run(entry.task);
+                }
+            } else {
+                if (entry.remainingRounds > 0L) {
+                    entry.remainingRounds--;
+                }
+                previous = entry;
+            }
+            entry = next;
+        }
+    }
+
+    private static void run(EJBTimerTask task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            logger.log(Level.WARNING, "Failed to expire EJB timer task for timeout " + task.getTimeout(), t);
+        }
+    }
+
+
+    /**
+     * Task in a bucket of the wheel, the links are owned by the worker thread.
+     */
+    private static final class Entry {
+
+        private final EJBTimerTask task;
+        private final long deadline;
+        private long remainingRounds;
+        private Entry next;
+
+        private Entry(EJBTimerTask task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -55,13 +55,12 @@ import static java.util.logging.Level.WARNING;
  */
 public class NonBlockingPool extends AbstractPool {
 
-    protected boolean addedResizeTask;
+    volatile protected boolean addedResizeTask;
     volatile protected boolean addedIdleBeanWork;
     protected boolean inResizing;
 
-    private String poolName;
     private TimerTask poolTimerTask;
-    private boolean maintainSteadySize;
+    protected boolean maintainSteadySize;
 
     /**
      * If glassfish-ejb-jar.xml <enterprise-beans><property>singleton-bean-pool is true, steadyPoolSize is 1, and
@@ -198,7 +197,7 @@ public class NonBlockingPool extends AbstractPool {
         }
     }
 
-    private void addResizeTaskForImmediateExecution() {
+    protected void addResizeTaskForImmediateExecution() {
         try {
             ReSizeWork work = new ReSizeWork();
             EjbContainerUtilImpl.getInstance().addWork(work);
@@ -392,6 +391,28 @@ public class NonBlockingPool extends AbstractPool {
     protected void removeIdleObjects() {
     }
 
+    /**
+     * Removes objects idle since the given time from the pool, starting with the longest unused one. Called by the
+     * resize task with the pool monitor held.
+     *
+     * @param count maximal number of objects to remove
+     * @param allowedIdleTime objects last used at or before this time are idle
+     * @param removeList list receiving the removed objects, which are destroyed by the caller
+     */
+    protected void removeIdleObjects(int count, long allowedIdleTime, List<Object> removeList) {
+        for (int i = 0; i < count; i++) {
+            EJBContextImpl ejbContext = (EJBContextImpl) pooledObjects.get(0);
+            if (ejbContext.getLastTimeUsed() <= allowedIdleTime) {
+                removeList.add(pooledObjects.remove(0));
+
+                poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+                destroyedCount++;
+            } else {
+                break;
+            }
+        }
+    }
+
     protected void doResize() {
         if (poolClosed) {
             return;
@@ -420,7 +441,7 @@ public class NonBlockingPool extends AbstractPool {
                 enteredResizeBlock = true;
                 inResizing = true;
 
-                int curSize = pooledObjects.size();
+                int curSize = getSize();
 
                 if (curSize > steadyPoolSize) {
 
@@ -432,17 +453,7 @@ public class NonBlockingPool extends AbstractPool {
                     long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
                     _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize:: reducing " + " pool size by: " + victimCount);
 
-                    for (int i = 0; i < victimCount; i++) {
-                        EJBContextImpl ejbContext = (EJBContextImpl) pooledObjects.get(0);
-                        if (ejbContext.getLastTimeUsed() <= allowedIdleTime) {
-                            removeList.add(pooledObjects.remove(0));
-
-                            poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
-                            destroyedCount++;
-                        } else {
-                            break;
-                        }
-                    }
+                    removeIdleObjects(victimCount, allowedIdleTime, removeList);
                 } else if (curSize < steadyPoolSize) {
 
                     // Need to populate....
@@ -479,13 +490,13 @@ public class NonBlockingPool extends AbstractPool {
 
                 if (_logger.isLoggable(FINE)) {
                     _logger.log(FINE, "[Pool-" + poolName + "]: Attempting to preload " + populateCount
-                            + " beans. CurSize/MaxPoolSize: " + pooledObjects.size() + "/" + maxPoolSize);
+                            + " beans. CurSize/MaxPoolSize: " + getSize() + "/" + maxPoolSize);
                 }
 
                 preload((int) populateCount);
 
                 _logger.log(FINE,
-                        () -> "[Pool-" + poolName + "]: After preload " + "CurSize/MaxPoolSize: " + pooledObjects.size() + "/" + maxPoolSize);
+                        () -> "[Pool-" + poolName + "]: After preload " + "CurSize/MaxPoolSize: " + getSize() + "/" + maxPoolSize);
             }
 
         } catch (Throwable th) {
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Pool with the same sizing rules as {@link NonBlockingPool}, which does not serialize the callers on a single monitor.
+ * <p>
+ * Pooled objects are kept in stripes of slots, one stripe per available processor. A thread returns objects to
+ * and takes objects from the stripe chosen by its id first, and steals from the other stripes when its own one is
+ * empty. Objects which do not fit into the stripes go to a shared lock-free deque. Slots are claimed by compare and
+ * set, so getting and returning an object never blocks.
+ * <p>
+ * The resize and idle timeout tasks of {@link NonBlockingPool} are reused unchanged. The inherited
+ * <code>pooledObjects</code> list stays empty and serves just as the monitor guarding the resize state. The pool
+ * emits the same {@link com.sun.ejb.monitoring.probes.EjbPoolProbeProvider} events as {@link NonBlockingPool}.
+ * <p>
+ * The singleton bean pool is not supported, use {@link NonBlockingPool} for it.
+ */
+public class StripedPool extends NonBlockingPool {
+
+    /** Number of slots used in one stripe */
+    private static final int SLOTS = 8;
+
+    /** Distance between stripes in the slot array, keeps the stripes on separate cache lines */
+    private static final int STRIDE = 16;
+
+    private final int stripeMask;
+    private final AtomicReferenceArray<Object> slots;
+    private final ConcurrentLinkedDeque<Object> overflow = new ConcurrentLinkedDeque<>();
+
+    /** Number of objects in the pool, including the returned ones being stored right now */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final LongAdder successes = new LongAdder();
+
+    public StripedPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this(beanId, poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader, int stripeCount) {
+        super(beanId, poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader, false);
+        int stripes = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripeMask = stripes - 1;
+        this.slots = new AtomicReferenceArray<>(stripes * STRIDE);
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = take();
+        if (pooledObject != null) {
+            successes.increment();
+            if (size.get() < steadyPoolSize) {
+                requestResize();
+            }
+            return pooledObject;
+        }
+
+        requestResize();
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.incrementAndGet();
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrementAndGet();
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (reserve()) {
+            put(object);
+            return;
+        }
+
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in returnObj", ex);
+        }
+    }
+
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    @Override
+    protected void preload(int count) {
+        List<Object> newInstances = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                newInstances.add(pooledObjectFactory.create(null));
+            }
+        } catch (Exception ex) {
+            // Need not throw this exception up since we are pre-populating
+        }
+
+        created.addAndGet(newInstances.size());
+        for (Object newInstance : newInstances) {
+            if (reserve()) {
+                put(newInstance);
+            } else {
+                // Destroys unnecessary instances
+                destroyObject(newInstance);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + size.get() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            for (Object pooledObject = take(); pooledObject != null; pooledObject = take()) {
+                try {
+                    poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+                    destroyed.incrementAndGet();
+                    try {
+                        pooledObjectFactory.destroy(pooledObject);
+                    } catch (Throwable th) {
+                        _logger.log(FINE, "exception in close", th);
+                    }
+                } catch (Throwable th) {
+                    _logger.log(WARNING, "[Pool-" + poolName + "]: Error while destroying", th);
+                }
+            }
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+
+        super.close();
+    }
+
+    @Override
+    protected void remove(int count) {
+        List<Object> removeList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Object pooledObject = take();
+            if (pooledObject == null) {
+                break;
+            }
+            removeList.add(pooledObject);
+            poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+            destroyed.incrementAndGet();
+        }
+
+        for (Object pooledObject : removeList) {
+            try {
+                pooledObjectFactory.destroy(pooledObject);
+            } catch (Throwable th) {
+                _logger.log(FINE, "exception in remove", th);
+            }
+        }
+    }
+
+    /**
+     * Removes idle objects from the shared deque first, where the oldest objects are, then from the stripes.
+     */
+    @Override
+    protected void removeIdleObjects(int count, long allowedIdleTime, List<Object> removeList) {
+        int removed = 0;
+        Iterator<Object> iterator = overflow.descendingIterator();
+        while (removed < count && iterator.hasNext()) {
+            Object pooledObject = iterator.next();
+            if (isIdle(pooledObject, allowedIdleTime) && overflow.removeLastOccurrence(pooledObject)) {
+                removeList.add(pooledObject);
+                removed++;
+            }
+        }
+
+        for (int i = 0; removed < count && i < slots.length(); i++) {
+            Object pooledObject = slots.get(i);
+            if (pooledObject != null && isIdle(pooledObject, allowedIdleTime) && slots.compareAndSet(i, pooledObject, null)) {
+                removeList.add(pooledObject);
+                removed++;
+            }
+        }
+
+        for (int i = 0; i < removed; i++) {
+            size.decrementAndGet();
+            poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+            destroyed.incrementAndGet();
+        }
+    }
+
+    private boolean isIdle(Object pooledObject, long allowedIdleTime) {
+        return ((EJBContextImpl) pooledObject).getLastTimeUsed() <= allowedIdleTime;
+    }
+
+    /**
+     * Schedules the resize task, unless it is already scheduled. The flag is checked without locking first, because
+     * this is called on every get while the pool is below its steady size.
+     */
+    private void requestResize() {
+        if (!maintainSteadySize || addedResizeTask) {
+            return;
+        }
+
+        boolean toAddResizeTask;
+        synchronized (pooledObjects) {
+            toAddResizeTask = !addedResizeTask;
+            addedResizeTask = true;
+        }
+
+        if (toAddResizeTask) {
+            addResizeTaskForImmediateExecution();
+        }
+    }
+
+    /**
+     * @return true if the size was increased and the object can be put into the pool, false if the pool is full.
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxPoolSize) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void put(Object pooledObject) {
+        int start = stripeOf(Thread.currentThread()) * STRIDE;
+        for (int i = start; i < start + SLOTS; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, pooledObject)) {
+                return;
+            }
+        }
+        overflow.offerFirst(pooledObject);
+    }
+
+    private Object take() {
+        if (size.get() <= 0) {
+            return null;
+        }
+
+        int stripe = stripeOf(Thread.currentThread());
+        for (int s = 0; s <= stripeMask; s++) {
+            int start = ((stripe + s) & stripeMask) * STRIDE;
+            for (int i = start + SLOTS - 1; i >= start; i--) {
+                Object pooledObject = slots.get(i);
+                if (pooledObject != null && slots.compareAndSet(i, pooledObject, null)) {
+                    size.decrementAndGet();
+                    return pooledObject;
+                }
+            }
+
+            // Objects which did not fit into the stripes are taken before stealing from other stripes
+            if (s == 0) {
+                Object pooledObject = overflow.pollFirst();
+                if (pooledObject != null) {
+                    size.decrementAndGet();
+                    return pooledObject;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int stripeOf(Thread thread) {
+        long id = thread.threadId();
+        return (int) (id ^ (id >>> 16)) & stripeMask;
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return successes.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        return size.get();
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return size.get();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.get();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.get();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(size.get()).append("; ")
+            .append("CC=").append(created.get()).append("; ")
+            .append("DC=").append(destroyed.get()).append("; ")
+            .append("WC=").append(waitCount).append("; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        StringBuffer sbuf = new StringBuffer();
+        sbuf.append("createdCount=").append(created.get()).append(";")
+            .append("destroyedCount=").append(destroyed.get()).append(";")
+            .append("waitCount=").append(waitCount).append(";")
+            .append("size=").append(size.get()).append(";")
+            .append("maxPoolSize=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[Pool-" + poolName + "] ");
+        sbuf.append("CC=").append(created.get()).append("; ").append("DC=").append(destroyed.get()).append("; ").append("CS=")
+                .append(size.get()).append("; ").append("SS=").append(steadyPoolSize).append("; ").append("MS=").append(maxPoolSize)
+                .append(";");
+        return sbuf.toString();
+    }
+}
@@ -17,6 +17,7 @@
 package com.sun.ejb.monitoring.probes;
 
 import org.glassfish.external.probe.provider.annotations.Probe;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.probe.provider.annotations.ProbeProvider;
 
 /**
@@ -37,4 +38,10 @@ public class EjbTimedObjectProbeProvider {
     @Probe(name="timerDeliveredEvent")
     public void ejbTimerDeliveredEvent() {}
 
+    @Probe(name="timerLoadedEvent")
+    public void ejbTimerLoadedEvent() {}
+
+    @Probe(name="timerBatchUpdatedEvent")
+    public void ejbTimerBatchUpdatedEvent(@ProbeParam("count") int count) {}
+
 }
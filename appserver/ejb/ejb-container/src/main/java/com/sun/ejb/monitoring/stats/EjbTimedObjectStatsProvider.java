@@ -22,8 +22,11 @@ import java.util.logging.Logger;
 
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.RangeStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -48,6 +51,16 @@ public class EjbTimedObjectStatsProvider {
     private CountStatisticImpl timerDeliveredStat = new CountStatisticImpl("NumTimersDelivered",
             "count", "Number of timers delivered by the system");
 
+    private CountStatisticImpl timerLoadedStat = new CountStatisticImpl("NumTimersLoaded",
+            "count", "Number of persistent timers loaded from the database");
+
+    private CountStatisticImpl timerBatchUpdatedStat = new CountStatisticImpl("NumTimersBatchUpdated",
+            "count", "Number of persistent timer state updates written in batches");
+
+    private RangeStatisticImpl timerBatchSizeStat = new RangeStatisticImpl(0L, 0L, 0L,
+            "TimerUpdateBatchSize", "count", "Number of persistent timer state updates in a batch",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
     private static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     private String appName = null;
@@ -96,6 +109,19 @@ public class EjbTimedObjectStatsProvider {
         timerDeliveredStat.increment();
     }
 
+    @ProbeListener("glassfish:ejb:timers:timerLoadedEvent")
+    public void ejbTimerLoadedEvent() {
+        _logger.fine("=== timerLoadedEvent");
+        timerLoadedStat.increment();
+    }
+
+    @ProbeListener("glassfish:ejb:timers:timerBatchUpdatedEvent")
+    public void ejbTimerBatchUpdatedEvent(@ProbeParam("count") int count) {
+        _logger.fine("=== timerBatchUpdatedEvent");
+        timerBatchUpdatedStat.increment(count);
+        timerBatchSizeStat.setCurrent(count);
+    }
+
     @ManagedAttribute(id="numtimerscreated")
     @Description( "Number of timers created in the system")
     public CountStatistic getNumTimersCreated() {
@@ -113,4 +139,22 @@ public class EjbTimedObjectStatsProvider {
     public CountStatistic getNumTimersDelivered() {
         return timerDeliveredStat;
     }
+
+    @ManagedAttribute(id="numtimersloaded")
+    @Description( "Number of persistent timers loaded from the database")
+    public CountStatistic getNumTimersLoaded() {
+        return timerLoadedStat;
+    }
+
+    @ManagedAttribute(id="numtimersbatchupdated")
+    @Description( "Number of persistent timer state updates written in batches")
+    public CountStatistic getNumTimersBatchUpdated() {
+        return timerBatchUpdatedStat;
+    }
+
+    @ManagedAttribute(id="timerupdatebatchsize")
+    @Description( "Number of persistent timer state updates in a batch")
+    public RangeStatistic getTimerUpdateBatchSize() {
+        return timerBatchSizeStat;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests which timers {@link EJBTimerService#scheduleTask(TimerPrimaryKey, Date, boolean)}
+ * unloads when they are outside of the load window.
+ */
+public class EJBTimerServiceTest {
+
+    @Test
+    public void createdPersistentTimerIsUnloadable() {
+        RuntimeTimerState singleAction = timerState(0L, null, true);
+        RuntimeTimerState periodic = timerState(1000L, null, true);
+        assertAll(
+            () -> assertTrue(EJBTimerService.isUnloadable(singleAction, false), "single-action"),
+            () -> assertTrue(EJBTimerService.isUnloadable(periodic, false), "periodic")
+        );
+    }
+
+    @Test
+    public void nonPersistentTimerIsNotUnloadable() {
+        assertFalse(EJBTimerService.isUnloadable(timerState(0L, null, false), false));
+    }
+
+    @Test
+    public void calendarTimerIsNotUnloadable() {
+        assertFalse(EJBTimerService.isUnloadable(timerState(0L, new EJBTimerSchedule(), true), false));
+    }
+
+    @Test
+    public void scheduledTimerIsNotUnloadable() {
+        RuntimeTimerState timerState = timerState(1000L, null, true);
+        timerState.scheduled(new EJBTimerTask(new Date(), timerState.getTimerId(), null));
+        assertAll(
+            () -> assertFalse(EJBTimerService.isUnloadable(timerState, false), "scheduled"),
+            () -> assertFalse(EJBTimerService.isUnloadable(timerState(1000L, null, true), true), "rescheduled")
+        );
+    }
+
+    private static RuntimeTimerState timerState(long intervalDuration, EJBTimerSchedule schedule,
+        boolean persistent) {
+        return new RuntimeTimerState(new TimerPrimaryKey("timer"), new Date(), intervalDuration, 1L, null, null,
+            schedule, null, persistent);
+    }
+}
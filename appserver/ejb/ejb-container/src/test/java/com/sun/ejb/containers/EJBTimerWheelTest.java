@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EJBTimerWheelTest {
+
+    private final EJBTimerWheel wheel = new EJBTimerWheel(10L, 4);
+
+    @AfterEach
+    public void close() {
+        wheel.close();
+    }
+
+    @Test
+    public void timeoutLongerThanRotationExpires() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        wheel.schedule(new TestTask(200L, expired::countDown));
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        long elapsed = System.currentTimeMillis() - start;
+        assertAll(
+            () -> assertThat(elapsed, greaterThanOrEqualTo(190L)),
+            () -> assertEquals(0, wheel.size())
+        );
+    }
+
+    @Test
+    public void cancelledTaskDoesNotRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch expired = new CountDownLatch(1);
+        TestTask cancelled = new TestTask(50L, runs::incrementAndGet);
+        wheel.schedule(cancelled);
+        wheel.schedule(new TestTask(100L, expired::countDown));
+        assertEquals(2, wheel.size());
+        assertTrue(cancelled.cancel());
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(0, runs.get()),
+            () -> assertEquals(0, wheel.size())
+        );
+    }
+
+    @Test
+    public void failingTaskDoesNotStopWheel() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        wheel.schedule(new TestTask(0L, () -> {
+            throw new IllegalStateException("Expected failure");
+        }));
+        wheel.schedule(new TestTask(30L, expired::countDown));
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void closedWheelIgnoresTasks() {
+        wheel.close();
+        wheel.schedule(new TestTask(0L, () -> {}));
+        assertEquals(0, wheel.size());
+    }
+
+    private static class TestTask extends EJBTimerTask {
+
+        private final Runnable action;
+
+        TestTask(long delay, Runnable action) {
+            super(new Date(System.currentTimeMillis() + delay), new TimerPrimaryKey("test"), null);
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares throughput of a get/return cycle of the bean pools, as done by every stateless bean invocation.
+ */
+public class PoolBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(PoolBenchmarkTest.class.getName());
+
+    private static final int POOL_SIZE = 32;
+    private static final int[] THREAD_COUNTS = {1, 8, 64};
+
+    @Test
+    public void getAndReturnBean() throws Exception {
+        for (int threads : THREAD_COUNTS) {
+            Collection<RunResult> results = new Runner(createOptions(threads)).run();
+            assertThat(results, hasSize(2));
+            for (RunResult result : results) {
+                LOG.log(INFO, "Threads: {0}, pool: {1}, score: {2} ops/ms", threads,
+                    result.getParams().getParam("poolType"), result.getPrimaryResult().getScore());
+            }
+        }
+    }
+
+
+    @Benchmark
+    public void getAndReturn(PoolState state, Blackhole blackhole) {
+        Object bean = state.pool.getObject(null);
+        blackhole.consume(bean);
+        state.pool.returnObject(bean);
+    }
+
+
+    private Options createOptions(int threads) {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(threads).shouldFailOnError(true).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MILLISECONDS).mode(Mode.Throughput)
+            .build();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"striped", "nonBlocking"})
+        public String poolType;
+
+        NonBlockingPool pool;
+
+        @Setup(Level.Trial)
+        public void createPool() {
+            ObjectFactory factory = new BeanFactory();
+            if ("striped".equals(poolType)) {
+                pool = new StripedPool(1L, "benchmark", factory, 0, 1, POOL_SIZE, 0, null);
+            } else {
+                pool = new NonBlockingPool(1L, "benchmark", factory, 0, 1, POOL_SIZE, 0, null);
+            }
+            pool.poolProbeNotifier = new EjbPoolProbeProvider();
+            pool.prepopulate(POOL_SIZE);
+        }
+
+        @TearDown(Level.Trial)
+        public void closePool() {
+            pool.remove(POOL_SIZE);
+        }
+    }
+
+
+    static class BeanFactory implements ObjectFactory {
+
+        @Override
+        public Object create(Object param) {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object obj) {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedPoolTest {
+
+    @Test
+    public void reusesReturnedObject() {
+        StripedPool pool = createPool(10, 4);
+
+        Object first = pool.getObject(null);
+        pool.returnObject(first);
+
+        assertSame(first, pool.getObject(null));
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getPoolSuccess());
+        assertEquals(0, pool.getNumBeansInPool());
+    }
+
+    @Test
+    public void destroysObjectsOverMaxPoolSize() {
+        StripedPool pool = createPool(2, 4);
+
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            objects.add(pool.getObject(null));
+        }
+        objects.forEach(pool::returnObject);
+
+        assertEquals(3, pool.getCreatedCount());
+        assertEquals(1, pool.getDestroyedCount());
+        assertEquals(2, pool.getNumBeansInPool());
+    }
+
+    @Test
+    public void overflowsStripes() {
+        StripedPool pool = createPool(100, 1);
+        pool.prepopulate(50);
+        assertEquals(50, pool.getNumBeansInPool());
+
+        Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 50; i++) {
+            objects.add(pool.getObject(null));
+        }
+        assertEquals(50, objects.size());
+        assertEquals(50, pool.getCreatedCount());
+        assertEquals(0, pool.getNumBeansInPool());
+        assertNotNull(pool.getObject(null));
+        assertEquals(51, pool.getCreatedCount());
+    }
+
+    @Test
+    public void removeAndClose() {
+        StripedPool pool = createPool(20, 4);
+        pool.prepopulate(10);
+
+        pool.remove(4);
+        assertEquals(6, pool.getNumBeansInPool());
+        assertEquals(4, pool.getDestroyedCount());
+
+        pool.close();
+        assertEquals(10, pool.getDestroyedCount());
+    }
+
+    @Test
+    public void concurrentGetAndReturn() throws Exception {
+        StripedPool pool = createPool(8, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        pool.returnObject(pool.getObject(null));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int pooled = pool.getNumBeansInPool();
+        assertTrue(pooled <= 8, "Pool size " + pooled);
+        assertEquals(pool.getCreatedCount() - pool.getDestroyedCount(), pooled);
+    }
+
+    private static StripedPool createPool(int maxPoolSize, int stripes) {
+        StripedPool pool = new StripedPool(1L, "test", new PoolBenchmarkTest.BeanFactory(), 0, 1, maxPoolSize, 0, null, stripes);
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+}
@@ -42,15 +42,20 @@ import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TimerTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -112,6 +117,32 @@ public class PersistentEJBTimerService extends EJBTimerService {
     // Possible values "redeliver" and "stop"
     private String operationOnConnectionFailure;
 
+    // Keep in memory only the timers due within the load window. Their
+    // expirations are delivered from a timing wheel and the expirations of
+    // delivered periodic timers are written to the database in batches.
+    private static final String LOAD_WINDOW = "timer-load-window-in-millis";
+    private static final String BATCH_UPDATE_INTERVAL = "timer-batch-update-interval-in-millis";
+    private static final String DISPATCH_THREADS = "timer-dispatch-threads";
+
+    private static final long WHEEL_TICK = 100;
+    private static final long DEFAULT_BATCH_UPDATE_INTERVAL = 1000;
+
+    // Max number of timer ids in one bulk update statement
+    private static final int MAX_BATCH_STATEMENT_SIZE = 500;
+
+    private static final String TIMER_TABLE = "EJB__TIMER__TBL";
+    private static final String NEXT_EXPIRATION_COLUMN = "NEXTEXPIRATIONRAW";
+
+    // Disabled if all the timers are kept in memory
+    private TimerLoadWindow loadWindow_ = new TimerLoadWindow(0, WHEEL_TICK);
+    private long batchUpdateInterval_ = DEFAULT_BATCH_UPDATE_INTERVAL;
+    private int dispatchThreads_ = Runtime.getRuntime().availableProcessors();
+
+    private final TimerStateBatch timerStateBatch_ = new TimerStateBatch();
+    private final Object timerStateLock_ = new Object();
+    private TimerTask loadWindowTask_;
+    private TimerTask batchUpdateTask_;
+
     private PersistentEJBTimerService(String ejbName, boolean removeOldTimers) throws Exception {
         super();
 
@@ -129,6 +160,10 @@ public class PersistentEJBTimerService extends EJBTimerService {
         // The default value for ReadDBBeforeTimeout in case of PE
         // is false.
         setPerformDBReadBeforeTimeout(!isDas);
+
+        if( loadWindow_.isEnabled() ) {
+            startLoadWindow();
+        }
     }
 
     private void initProperties() {
@@ -148,6 +183,23 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     getDBReadBeforeTimeoutProperty();
 
                 operationOnConnectionFailure = ejbt.getPropertyValue(ON_CONECTION_FAILURE);
+
+                String valString = ejbt.getPropertyValue(LOAD_WINDOW);
+                if( valString != null ) {
+                    loadWindow_ = new TimerLoadWindow(Long.parseLong(valString), WHEEL_TICK);
+                }
+
+                valString = ejbt.getPropertyValue(BATCH_UPDATE_INTERVAL);
+                long val = (valString != null) ? Long.parseLong(valString) : -1;
+                if( val > 0 ) {
+                    batchUpdateInterval_ = val;
+                }
+
+                valString = ejbt.getPropertyValue(DISPATCH_THREADS);
+                val = (valString != null) ? Long.parseLong(valString) : -1;
+                if( val > 0 ) {
+                    dispatchThreads_ = (int) val;
+                }
             }
 
         } catch(Exception e) {
@@ -389,7 +441,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
             // is initialized.  In addition, there's an initialization
             // cost to generating the SQL for the underlying
             // jpql queries the first time any TimerBean query is called.
-            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
+            if( loadWindow_.isEnabled() ) {
+                _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServerDueBefore(getLoadWindowEnd()));
+            } else {
+                _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
+            }
 
         } finally {
             // try to commit regardless of success or failure.
@@ -473,6 +529,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                      null, true);
 
                 timerCache_.addTimer(timerId, timerState);
+                timerLoaded(timerState);
 
                 // If a single-action timer is still in the database it never
                 // successfully delivered, so always reschedule a timer task
@@ -713,12 +770,24 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
         Map<TimerPrimaryKey, Method> result = new HashMap<>();
 
+        if( loadWindow_.isEnabled() ) {
+            // The timers restored must not be older than their batched updates
+            flushTimerStates();
+        }
+
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
         try {
             tm.begin();
 
-            Set<TimerState> timers = _restoreTimers(
-                    timerLocal_.findActiveTimersOwnedByThisServerByContainer(containerId));
+            Set<TimerState> timersToRestore;
+            if( loadWindow_.isEnabled() ) {
+                timersToRestore = timerLocal_.findActiveTimersOwnedByThisServerByContainerDueBefore(
+                        containerId, getLoadWindowEnd());
+                removeTimersWithPendingStates(timersToRestore);
+            } else {
+                timersToRestore = timerLocal_.findActiveTimersOwnedByThisServerByContainer(containerId);
+            }
+            Set<TimerState> timers = _restoreTimers(timersToRestore);
 
             if (timers.size() > 0) {
                 logger.log(Level.FINE, "Found " + timers.size() +
@@ -1144,6 +1213,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
     protected void resetLastExpiration(TimerPrimaryKey timerId,
                                           RuntimeTimerState timerState) {
         if (timerState.isPersistent()) {
+            if( loadWindow_.isEnabled() ) {
+                // Expirations are updated in a batch after the delivery
+                return;
+            }
+
             TimerState timer = getValidTimerFromDB( timerId );
             if( null == timer ) {
                 return;
@@ -1152,6 +1226,12 @@ public class PersistentEJBTimerService extends EJBTimerService {
             Date now = new Date();
             timer.setLastExpiration(now);
 
+            // Keep the next expiration queried by the load window up to date
+            Date nextExpiration = calcNextFixedRateExpiration(timerState);
+            if( nextExpiration != null ) {
+                timer.setNextExpiration(nextExpiration);
+            }
+
             // Since timer was successfully delivered, update
             // last delivery time in database if that option is
             // enabled.
@@ -1165,6 +1245,157 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
     }
 
+    /**
+     * Queue the expirations of the delivered periodic persistent timer if
+     * only the timers due soon are kept in memory.  Successfully delivered
+     * single-action timers are still removed within the transaction of the
+     * ejbTimeout call.
+     * <p>
+     * A batch not yet written when the server crashes is lost, so a periodic
+     * timer might be delivered once more on restart to catch up.
+     */
+    @Override
+    protected void timeoutDelivered(TimerPrimaryKey timerId,
+                                          RuntimeTimerState timerState,
+                                          Date lastExpiration, Date nextExpiration) {
+        if( loadWindow_.isEnabled() && timerState.isPersistent() ) {
+            timerStateBatch_.expired(timerId, timerState, lastExpiration, nextExpiration);
+        }
+    }
+
+    @Override
+    protected boolean isOutsideOfLoadWindow(Date expiration) {
+        return loadWindow_.isOutside(expiration, System.currentTimeMillis());
+    }
+
+    @Override
+    protected void beforeShutdown() {
+        if( loadWindow_.isEnabled() ) {
+            loadWindowTask_.cancel();
+            batchUpdateTask_.cancel();
+            flushTimerStates();
+        }
+    }
+
+    private Date getLoadWindowEnd() {
+        return loadWindow_.getEnd(System.currentTimeMillis());
+    }
+
+    /**
+     * Deliver the timer expirations from the timing wheel, and periodically
+     * load the timers which became due within the window and write the
+     * batched state transitions to the database.
+     */
+    private void startLoadWindow() {
+        enableTimerWheel(WHEEL_TICK, dispatchThreads_);
+
+        loadWindowTask_ = new TimerServiceTask(this::loadTimerWindow);
+        batchUpdateTask_ = new TimerServiceTask(this::flushTimerStates);
+        long loadInterval = loadWindow_.getLoadInterval();
+
+        java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+        jdkTimer.schedule(loadWindowTask_, loadInterval, loadInterval);
+        jdkTimer.schedule(batchUpdateTask_, batchUpdateInterval_, batchUpdateInterval_);
+
+        logger.log(Level.INFO, "EJB Timer Service keeps in memory only the persistent timers due within " +
+                   loadWindow_.getWindow() + " ms");
+    }
+
+    /**
+     * Restore the timers which became due within the load window.
+     */
+    private void loadTimerWindow() {
+        if( totalTimedObjectsInitialized_ == 0 ) {
+            return;
+        }
+
+        // Hold the lock so that no batch is written meanwhile. The timers
+        // with expirations queued since the flush below are skipped.
+        synchronized(timerStateLock_) {
+            flushTimerStates();
+
+            TransactionManager tm = ejbContainerUtil.getTransactionManager();
+            try {
+                tm.begin();
+
+                Set<TimerState> timers =
+                        timerLocal_.findActiveTimersOwnedByThisServerDueBefore(getLoadWindowEnd());
+                removeTimersWithPendingStates(timers);
+                _restoreTimers(timers);
+
+                if( logger.isLoggable(Level.FINE) ) {
+                    logger.log(Level.FINE, "Load window found " + timers.size() + " timers, " +
+                               getScheduledTaskCount() + " timer expirations are scheduled");
+                }
+            } catch(Exception e) {
+                logger.log(Level.WARNING, "Failed to load the timers due within the load window", e);
+            } finally {
+                // We're not modifying any state in this tx so no harm in
+                // always committing.
+                try {
+                    tm.commit();
+                } catch(Exception e) {
+                    logger.log(Level.FINE, "Load window commit error", e);
+                }
+            }
+        }
+    }
+
+    private void removeTimersWithPendingStates(Set<TimerState> timers) {
+        timers.removeIf(timer -> timerStateBatch_.contains(getPrimaryKey(timer)));
+    }
+
+    /**
+     * Write the batched expirations of the delivered periodic timers with
+     * bulk updates in one transaction.  The failed updates are retried with
+     * the next batch.
+     */
+    private void flushTimerStates() {
+        synchronized(timerStateLock_) {
+            Map<TimerPrimaryKey, TimerStateBatch.Transition> transitions = timerStateBatch_.drain();
+            if( transitions.isEmpty() ) {
+                return;
+            }
+
+            List<RuntimeTimerState> timerStates = new ArrayList<>(transitions.size());
+            for (TimerStateBatch.Transition transition : transitions.values()) {
+                timerStates.add(transition.timerState);
+            }
+
+            TransactionManager tm = ejbContainerUtil.getTransactionManager();
+            try {
+                tm.begin();
+                for (Map.Entry<List<Date>, List<TimerPrimaryKey>> entry :
+                        TimerStateBatch.groupByExpirations(transitions).entrySet()) {
+                    List<TimerPrimaryKey> timerIds = entry.getValue();
+                    Date lastExpiration = entry.getKey().get(0);
+                    Date nextExpiration = entry.getKey().get(1);
+                    for (int i = 0; i < timerIds.size(); i += MAX_BATCH_STATEMENT_SIZE) {
+                        timerLocal_.updateExpirations(
+                                timerIds.subList(i, Math.min(i + MAX_BATCH_STATEMENT_SIZE, timerIds.size())),
+                                lastExpiration, nextExpiration);
+                    }
+                }
+                tm.commit();
+            } catch(Exception e) {
+                logger.log(Level.WARNING, "Failed to update the expirations of " + transitions.size() +
+                           " timers in the database, will retry with the next batch", e);
+                try {
+                    tm.rollback();
+                } catch(Exception re) {
+                    logger.log(Level.FINE, "Timer batch update rollback error", re);
+                }
+                timerStateBatch_.restore(transitions);
+                return;
+            }
+
+            if( logger.isLoggable(Level.FINE) ) {
+                logger.log(Level.FINE, "Updated the expirations of " + transitions.size() + " timers in one batch");
+            }
+            timersBatchUpdated(timerStates);
+        }
+    }
+
     /**
      * This method is called to check if the timer is still valid.
      * In the SE/EE case the timer might be cancelled by any other
@@ -1334,7 +1565,9 @@ public class PersistentEJBTimerService extends EJBTimerService {
             logger.log (Level.WARNING, "EJBTimerService had been explicitly deployed.");
         } else {
             if (resourceName != null) {
-                available = deployEJBTimerService(root, appScratchFile, resourceName, is_upgrade);
+                // Every TimerState query fails if the column is missing
+                available = addNextExpirationColumn(resourceName, root)
+                    && deployEJBTimerService(root, appScratchFile, resourceName, is_upgrade);
             } else {
                 logger.log (Level.WARNING, "Cannot deploy EJBTimerService: Timer resource for target "
                         + target + " is not available");
@@ -1446,6 +1679,65 @@ public class PersistentEJBTimerService extends EJBTimerService {
         return deployed;
     }
 
+    /**
+     * Timer tables created by an older version have no next expiration column.
+     * The timer application creates only missing tables, so add the column and
+     * compute it from the expirations of the existing timers.
+     *
+     * @return false if the timer table still has no next expiration column,
+     *         the timer service cannot be started then
+     */
+    private static boolean addNextExpirationColumn(SimpleJndiName resource, File root) {
+        String script = "lib/install/databases/upgrade/ejbtimer_nextexpiration_<vendor>.sql";
+        try {
+            ConnectorRuntime connectorRuntime =
+                EjbContainerUtilImpl.getInstance().getServices().getService(ConnectorRuntime.class);
+            DataSource dataSource = DataSource.class.cast(connectorRuntime.lookupNonTxResource(resource, false));
+            try (Connection connection = dataSource.getConnection()) {
+                DatabaseMetaData metaData = connection.getMetaData();
+                if (!hasColumn(metaData, null) || hasColumn(metaData, NEXT_EXPIRATION_COLUMN)) {
+                    return true;
+                }
+            }
+
+            File dir = new File(root, "lib/install/databases/upgrade");
+            Java2DBProcessorHelper h = new Java2DBProcessorHelper(TIMER_SERVICE_APP_NAME);
+            h.executeDDLStatement(dir.getCanonicalPath() + "/ejbtimer_nextexpiration_", resource);
+            // Failed statements are only logged, so check the result
+            try (Connection connection = dataSource.getConnection()) {
+                if (hasColumn(connection.getMetaData(), NEXT_EXPIRATION_COLUMN)) {
+                    logger.log(Level.INFO, "Added column " + NEXT_EXPIRATION_COLUMN + " to " + TIMER_TABLE);
+                    return true;
+                }
+            }
+            logger.log(Level.SEVERE, "Cannot start the EJB Timer Service: failed to add the column "
+                + NEXT_EXPIRATION_COLUMN + " to " + TIMER_TABLE + " of " + resource
+                + ", see the log for details. Add it by running " + script + " from the installation directory");
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Cannot start the EJB Timer Service: failed to check the column "
+                + NEXT_EXPIRATION_COLUMN + " of " + TIMER_TABLE + " of " + resource
+                + ". If it is missing, add it by running " + script + " from the installation directory", e);
+        }
+        return false;
+    }
+
+    /**
+     * @param column name of the column, or null to check that the timer table exists
+     */
+    private static boolean hasColumn(DatabaseMetaData metaData, String column) throws SQLException {
+        // Unquoted identifiers are stored in upper or lower case depending on the database
+        for (boolean upperCase : new boolean[] {true, false}) {
+            String table = upperCase ? TIMER_TABLE : TIMER_TABLE.toLowerCase(Locale.ENGLISH);
+            String columnPattern = column == null || upperCase ? column : column.toLowerCase(Locale.ENGLISH);
+            try (ResultSet columns = metaData.getColumns(null, null, table, columnPattern)) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static boolean isUpgrade(SimpleJndiName resource, EjbTimerService _ejbt, File root) {
         boolean upgrade = false;
         Property prop = null;
@@ -1500,4 +1792,26 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
         return upgrade;
     }
+
+    /**
+     * Hands the periodic work of the load window over to the timer executor,
+     * so that the shared JDK timer thread is never blocked nor stopped by it.
+     */
+    private class TimerServiceTask extends TimerTask {
+
+        private final Runnable work;
+
+        TimerServiceTask(Runnable work) {
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            try {
+                executeTimerWork(work);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Cannot execute periodic work of the EJB Timer Service", e);
+            }
+        }
+    }
 }
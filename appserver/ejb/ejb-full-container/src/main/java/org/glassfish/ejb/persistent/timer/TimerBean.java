@@ -36,10 +36,12 @@ import java.io.IOException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -499,6 +501,24 @@ public class TimerBean implements TimerLocal {
                                 EJBTimerService.STATE_CANCELLED);
     }
 
+    public Set findActiveTimersOwnedByThisServerDueBefore(Date dueBefore) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndStateDueBefore");
+        q.setParameter(1, getOwnerIdOfThisServer());
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(3, dueBefore.getTime());
+        return new HashSet(q.getResultList());
+    }
+
+    public Set findActiveTimersOwnedByThisServerByContainerDueBefore
+        (long containerId, Date dueBefore) {
+        Query q = em.createNamedQuery("findTimersByContainerAndOwnerAndStateDueBefore");
+        q.setParameter(1, containerId);
+        q.setParameter(2, getOwnerIdOfThisServer());
+        q.setParameter(3, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(4, dueBefore.getTime());
+        return new HashSet(q.getResultList());
+    }
+
     public Set findTimersOwnedBy(String ownerId) {
         return findTimersByOwner(ownerId);
     }
@@ -661,6 +681,24 @@ public class TimerBean implements TimerLocal {
         return q.executeUpdate();
     }
 
+    public int updateExpirations(Collection<TimerPrimaryKey> timerIds, Date lastExpiration, Date nextExpiration) {
+        Query q = em.createNamedQuery("updateExpirationsOfTimers");
+        q.setParameter("lastExpiration", lastExpiration.getTime());
+        q.setParameter("nextExpiration", nextExpiration.getTime());
+        q.setParameter("owner", getOwnerIdOfThisServer());
+        q.setParameter("state", EJBTimerService.STATE_ACTIVE);
+        q.setParameter("timerIds", toTimerIds(timerIds));
+        return q.executeUpdate();
+    }
+
+    private List<String> toTimerIds(Collection<TimerPrimaryKey> pkeys) {
+        List<String> ids = new ArrayList<>(pkeys.size());
+        for (TimerPrimaryKey pkey : pkeys) {
+            ids.add(pkey.getTimerId());
+        }
+        return ids;
+    }
+
     /**
      * To be used to read in TimerBean.Blob and replace with TimerState.Blob
      * on v2.x upgrade
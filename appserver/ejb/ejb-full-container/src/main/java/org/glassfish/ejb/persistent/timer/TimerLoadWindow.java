@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import java.util.Date;
+
+/**
+ * Time span from now in which the persistent timers due are kept in memory.
+ * The timers which became due within the window are loaded every half of it,
+ * so that each timer is loaded before it expires. The window is therefore
+ * at least twice as long as the min interval between two loads.
+ *
+ * @see PersistentEJBTimerService
+ */
+final class TimerLoadWindow {
+
+    private final long window;
+
+    /**
+     * @param window length of the window in millis, 0 if all timers are kept in memory
+     * @param minLoadInterval min interval between two loads in millis
+     */
+    TimerLoadWindow(long window, long minLoadInterval) {
+        this.window = window > 0 ? Math.max(window, 2 * minLoadInterval) : 0;
+    }
+
+    /**
+     * @return true if only the timers due within the window are kept in memory.
+     */
+    boolean isEnabled() {
+        return window > 0;
+    }
+
+    long getWindow() {
+        return window;
+    }
+
+    /**
+     * @return interval between two loads of the timers due within the window.
+     */
+    long getLoadInterval() {
+        return window / 2;
+    }
+
+    /**
+     * @return the due time of the last timer kept in memory.
+     */
+    Date getEnd(long now) {
+        return new Date(now + window);
+    }
+
+    /**
+     * @return true if the timer expiration is after the end of the enabled window.
+     */
+    boolean isOutside(Date expiration, long now) {
+        return isEnabled() && expiration.after(getEnd(now));
+    }
+}
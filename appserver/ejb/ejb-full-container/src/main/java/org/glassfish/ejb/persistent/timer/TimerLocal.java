@@ -98,6 +98,10 @@ public interface TimerLocal {
     Set findActiveTimersOwnedBy(String owner);
     Set findCancelledTimersOwnedBy(String owner);
 
+    // Active timers of this server due before the given time
+    Set findActiveTimersOwnedByThisServerDueBefore(Date dueBefore);
+    Set findActiveTimersOwnedByThisServerByContainerDueBefore(long containerId, Date dueBefore);
+
 
     //
     // Queries returning counts
@@ -134,4 +138,7 @@ public interface TimerLocal {
 
     // Delete all timers owned by this Application (aka applicationId)
     int deleteTimersByApplication(long applicationId);
+
+    // Set last and next expiration of active timers owned by this server via bulk update
+    int updateExpirations(Collection<TimerPrimaryKey> timerIds, Date lastExpiration, Date nextExpiration);
 }
@@ -27,6 +27,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
@@ -101,6 +102,15 @@ import java.util.logging.Logger;
         name="findTimersByOwnerAndState",
         query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2"
     ),
+    @NamedQuery(
+        name="findTimersByOwnerAndStateDueBefore",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2 AND t.nextExpirationRaw <= ?3"
+    ),
+    @NamedQuery(
+        name="findTimersByContainerAndOwnerAndStateDueBefore",
+        query="SELECT t FROM Timer t WHERE t.containerId = ?1 AND t.ownerId=?2 AND t.state=?3"
+            + " AND t.nextExpirationRaw <= ?4"
+    ),
     @NamedQuery(
         name="countTimersByApplication",
         query="SELECT COUNT(t) FROM Timer t WHERE t.applicationId = ?1"
@@ -144,8 +154,17 @@ import java.util.logging.Logger;
         name="deleteTimersByApplication",
         query="DELETE FROM Timer t WHERE t.applicationId = :applicationId"
     )
+    ,
+    @NamedQuery(
+        name="updateExpirationsOfTimers",
+        query="UPDATE Timer t SET t.lastExpirationRaw = :lastExpiration, t.nextExpirationRaw = :nextExpiration"
+            + " WHERE t.ownerId = :owner AND t.state = :state AND t.lastExpirationRaw < :lastExpiration"
+            + " AND t.timerId IN :timerIds"
+    )
+})
+@Table(name="EJB__TIMER__TBL", indexes={
+    @Index(name="EJB__TIMER__OWNER__IDX", columnList="OWNERID, STATE, NEXTEXPIRATIONRAW")
 })
-@Table(name="EJB__TIMER__TBL")
 @IdClass(com.sun.ejb.containers.TimerPrimaryKey.class)
 public class TimerState {
 
@@ -166,6 +185,10 @@ public class TimerState {
     @Column(name="LASTEXPIRATIONRAW")
     private long lastExpirationRaw;
 
+    // Next scheduled expiration, only maintained to query the timers due soon
+    @Column(name="NEXTEXPIRATIONRAW")
+    private long nextExpirationRaw;
+
     @Column(name="INTERVALDURATION")
     private long intervalDuration;
 
@@ -233,6 +256,14 @@ public class TimerState {
         lastExpirationRaw = lastExpiration;
     }
 
+    long getNextExpirationRaw() {
+        return nextExpirationRaw;
+    }
+
+    void setNextExpirationRaw(long nextExpiration) {
+        nextExpirationRaw = nextExpiration;
+    }
+
     long getIntervalDuration() {
         return intervalDuration;
     }
@@ -341,6 +372,8 @@ public class TimerState {
         lastExpirationRaw = 0;
         lastExpiration_ = null;
 
+        nextExpirationRaw = initialExpirationRaw;
+
         this.intervalDuration = intervalDuration;
         timerSchedule_ = schedule;
         if (timerSchedule_ != null) {
@@ -431,6 +464,10 @@ public class TimerState {
         lastExpirationRaw = (lastExpiration != null) ? lastExpiration.getTime() : 0;
     }
 
+    void setNextExpiration(Date nextExpiration) {
+        nextExpirationRaw = nextExpiration.getTime();
+    }
+
     boolean isActive() {
         return (state == EJBTimerService.STATE_ACTIVE);
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.RuntimeTimerState;
+import com.sun.ejb.containers.TimerPrimaryKey;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expirations of delivered periodic persistent timers waiting to be written
+ * to the database in bulk updates, instead of in the transaction of each
+ * ejbTimeout call.
+ *
+ * @see PersistentEJBTimerService
+ */
+final class TimerStateBatch {
+
+    private Map<TimerPrimaryKey, Transition> pending = new HashMap<>();
+
+    /**
+     * The periodic timer was delivered, its last and next expirations are to be updated.
+     */
+    synchronized void expired(TimerPrimaryKey timerId, RuntimeTimerState timerState,
+            Date lastExpiration, Date nextExpiration) {
+        pending.put(timerId, new Transition(timerState, lastExpiration, nextExpiration));
+    }
+
+    /**
+     * @return true if a transition of the timer was not written yet.
+     */
+    synchronized boolean contains(TimerPrimaryKey timerId) {
+        return pending.containsKey(timerId);
+    }
+
+    /**
+     * @return the pending transitions, removed from this batch.
+     */
+    synchronized Map<TimerPrimaryKey, Transition> drain() {
+        Map<TimerPrimaryKey, Transition> result = pending;
+        pending = new HashMap<>();
+        return result;
+    }
+
+    /**
+     * Returns the transitions which failed to be written to this batch,
+     * unless a newer transition of the same timer is pending.
+     */
+    synchronized void restore(Map<TimerPrimaryKey, Transition> failed) {
+        for (Map.Entry<TimerPrimaryKey, Transition> transition : failed.entrySet()) {
+            pending.putIfAbsent(transition.getKey(), transition.getValue());
+        }
+    }
+
+    /**
+     * Groups the timers of the transitions by their exact last and next
+     * expirations, so that each group is written with one bulk update.
+     *
+     * @return timer ids by the list of the last and next expiration
+     */
+    static Map<List<Date>, List<TimerPrimaryKey>> groupByExpirations(Map<TimerPrimaryKey, Transition> transitions) {
+        Map<List<Date>, List<TimerPrimaryKey>> groups = new LinkedHashMap<>();
+        for (Map.Entry<TimerPrimaryKey, Transition> entry : transitions.entrySet()) {
+            Transition transition = entry.getValue();
+            groups.computeIfAbsent(List.of(transition.lastExpiration, transition.nextExpiration),
+                    expirations -> new ArrayList<>()).add(entry.getKey());
+        }
+        return groups;
+    }
+
+
+    static final class Transition {
+
+        final RuntimeTimerState timerState;
+        final Date lastExpiration;
+        final Date nextExpiration;
+
+        private Transition(RuntimeTimerState timerState, Date lastExpiration, Date nextExpiration) {
+            this.timerState = timerState;
+            this.lastExpiration = lastExpiration;
+            this.nextExpiration = nextExpiration;
+        }
+    }
+}
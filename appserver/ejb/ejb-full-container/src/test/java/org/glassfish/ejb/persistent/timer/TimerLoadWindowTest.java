@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerLoadWindowTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    public void disabledWindowKeepsAllTimers() {
+        TimerLoadWindow window = new TimerLoadWindow(0L, 100L);
+        assertAll(
+            () -> assertFalse(window.isEnabled(), "enabled"),
+            () -> assertFalse(window.isOutside(new Date(Long.MAX_VALUE), NOW), "outside")
+        );
+    }
+
+    @Test
+    public void timersDueAfterTheEndAreOutside() {
+        TimerLoadWindow window = new TimerLoadWindow(60_000L, 100L);
+        assertAll(
+            () -> assertTrue(window.isEnabled(), "enabled"),
+            () -> assertEquals(new Date(NOW + 60_000L), window.getEnd(NOW), "end"),
+            () -> assertFalse(window.isOutside(new Date(NOW - 1L), NOW), "overdue"),
+            () -> assertFalse(window.isOutside(new Date(NOW + 60_000L), NOW), "at the end"),
+            () -> assertTrue(window.isOutside(new Date(NOW + 60_001L), NOW), "after the end")
+        );
+    }
+
+    @Test
+    public void timersAreLoadedBeforeTheyAreDue() {
+        TimerLoadWindow window = new TimerLoadWindow(60_000L, 100L);
+        long loadInterval = window.getLoadInterval();
+        // A timer just outside of the window at one load is inside at the next one
+        Date expiration = new Date(NOW + 60_001L);
+        assertAll(
+            () -> assertEquals(30_000L, loadInterval, "loadInterval"),
+            () -> assertFalse(window.isOutside(expiration, NOW + loadInterval), "at the next load"),
+            () -> assertTrue(expiration.getTime() > NOW + loadInterval, "due after the next load")
+        );
+    }
+
+    @Test
+    public void windowIsAtLeastTwoLoadIntervals() {
+        TimerLoadWindow window = new TimerLoadWindow(50L, 100L);
+        assertAll(
+            () -> assertEquals(200L, window.getWindow(), "window"),
+            () -> assertEquals(100L, window.getLoadInterval(), "loadInterval")
+        );
+    }
+}
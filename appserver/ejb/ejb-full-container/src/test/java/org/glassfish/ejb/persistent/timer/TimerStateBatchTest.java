@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.TimerPrimaryKey;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.ejb.persistent.timer.TimerStateBatch.Transition;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerStateBatchTest {
+
+    private static final TimerPrimaryKey TIMER_1 = new TimerPrimaryKey("timer-1");
+    private static final TimerPrimaryKey TIMER_2 = new TimerPrimaryKey("timer-2");
+    private static final TimerPrimaryKey TIMER_3 = new TimerPrimaryKey("timer-3");
+
+    private final TimerStateBatch batch = new TimerStateBatch();
+
+    @Test
+    public void drainReturnsLatestExpirations() {
+        batch.expired(TIMER_1, null, new Date(1000L), new Date(2000L));
+        batch.expired(TIMER_1, null, new Date(2000L), new Date(3000L));
+        assertTrue(batch.contains(TIMER_1));
+
+        Map<TimerPrimaryKey, Transition> transitions = batch.drain();
+        assertAll(
+            () -> assertEquals(1, transitions.size(), "transitions"),
+            () -> assertEquals(new Date(2000L), transitions.get(TIMER_1).lastExpiration, "lastExpiration"),
+            () -> assertEquals(new Date(3000L), transitions.get(TIMER_1).nextExpiration, "nextExpiration"),
+            () -> assertFalse(batch.contains(TIMER_1), "contains after drain"),
+            () -> assertTrue(batch.drain().isEmpty(), "drained again")
+        );
+    }
+
+    @Test
+    public void restoreKeepsNewerExpirations() {
+        batch.expired(TIMER_1, null, new Date(1000L), new Date(2000L));
+        batch.expired(TIMER_2, null, new Date(1000L), new Date(2000L));
+        Map<TimerPrimaryKey, Transition> failed = batch.drain();
+
+        batch.expired(TIMER_1, null, new Date(2000L), new Date(3000L));
+        batch.restore(failed);
+
+        Map<TimerPrimaryKey, Transition> transitions = batch.drain();
+        assertAll(
+            () -> assertEquals(new Date(2000L), transitions.get(TIMER_1).lastExpiration, "newer"),
+            () -> assertEquals(new Date(1000L), transitions.get(TIMER_2).lastExpiration, "restored")
+        );
+    }
+
+    @Test
+    public void groupsByExactExpirations() {
+        batch.expired(TIMER_1, null, new Date(1000L), new Date(2000L));
+        batch.expired(TIMER_2, null, new Date(1001L), new Date(2001L));
+        batch.expired(TIMER_3, null, new Date(1000L), new Date(2000L));
+
+        Map<List<Date>, List<TimerPrimaryKey>> groups = TimerStateBatch.groupByExpirations(batch.drain());
+        assertAll(
+            () -> assertEquals(2, groups.size(), "groups"),
+            () -> assertThat(groups.get(List.of(new Date(1000L), new Date(2000L))),
+                containsInAnyOrder(TIMER_1, TIMER_3)),
+            () -> assertThat(groups.get(List.of(new Date(1001L), new Date(2001L))), contains(TIMER_2))
+        );
+    }
+}
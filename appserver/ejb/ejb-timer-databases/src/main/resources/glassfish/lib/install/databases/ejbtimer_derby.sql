@@ -25,6 +25,7 @@ PKHASHCODE           INTEGER        NOT NULL,
 INTERVALDURATION     BIGINT         NOT NULL,
 INITIALEXPIRATIONRAW BIGINT         NOT NULL,
 LASTEXPIRATIONRAW    BIGINT         NOT NULL,
+NEXTEXPIRATIONRAW    BIGINT         NOT NULL,
 SCHEDULE             VARCHAR(255),
 APPLICATIONID        BIGINT         NOT NULL,
 CONSTRAINT PK_EJB__TIMER__TBL PRIMARY KEY (TIMERID)
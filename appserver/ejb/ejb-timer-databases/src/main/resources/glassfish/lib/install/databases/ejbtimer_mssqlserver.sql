@@ -25,6 +25,7 @@ PKHASHCODE           INTEGER        NOT NULL,
 INTERVALDURATION     NUMERIC(20,0)  NOT NULL,
 INITIALEXPIRATIONRAW NUMERIC(20,0)  NOT NULL,
 LASTEXPIRATIONRAW    NUMERIC(20,0)  NOT NULL,
+NEXTEXPIRATIONRAW    NUMERIC(20,0)  NOT NULL,
 SCHEDULE             VARCHAR(255)   NULL,
 APPLICATIONID        NUMERIC(20,0)  NOT NULL,
 CONSTRAINT PK_EJB__TIMER__TBL PRIMARY KEY (TIMERID)
@@ -25,6 +25,7 @@ PKHASHCODE           INTEGER       NOT NULL,
 INTERVALDURATION     NUMBER(19)    NOT NULL,
 INITIALEXPIRATIONRAW NUMBER(19)    NOT NULL,
 LASTEXPIRATIONRAW    NUMBER(19)    NOT NULL,
+NEXTEXPIRATIONRAW    NUMBER(19)    NOT NULL,
 SCHEDULE             VARCHAR(255)  NULL,
 APPLICATIONID        NUMBER(19)    NOT NULL,
 CONSTRAINT PK_EJB__TIMER__TBL PRIMARY KEY (TIMERID)
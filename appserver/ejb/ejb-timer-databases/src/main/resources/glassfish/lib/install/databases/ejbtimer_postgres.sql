@@ -26,6 +26,7 @@ CREATE TABLE "EJB__TIMER__TBL" (
 "INTERVALDURATION"     BIGINT                 NOT NULL,
 "INITIALEXPIRATIONRAW" BIGINT                 NOT NULL,
 "LASTEXPIRATIONRAW"    BIGINT                 NOT NULL,
+"NEXTEXPIRATIONRAW"    BIGINT                 NOT NULL,
 "SCHEDULE"             CHARACTER VARYING(255),
 "APPLICATIONID"        BIGINT                 NOT NULL,
 CONSTRAINT "EJB__TIMER__TBL_pkey" PRIMARY KEY ("TIMERID")
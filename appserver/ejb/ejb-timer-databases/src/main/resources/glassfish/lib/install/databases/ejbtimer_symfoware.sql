@@ -25,6 +25,7 @@ PKHASHCODE           INTEGER       NOT NULL,
 INTERVALDURATION     DECIMAL(18,0) NOT NULL,
 INITIALEXPIRATIONRAW DECIMAL(18,0) NOT NULL,
 LASTEXPIRATIONRAW    DECIMAL(18,0) NOT NULL,
+NEXTEXPIRATIONRAW    DECIMAL(18,0) NOT NULL,
 SCHEDULE             VARCHAR(255),
 APPLICATIONID        DECIMAL(18,0) NOT NULL,
 PRIMARY KEY (TIMERID)
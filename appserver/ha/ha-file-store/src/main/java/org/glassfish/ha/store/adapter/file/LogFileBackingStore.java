@@ -0,0 +1,940 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An implementation of BackingStore which appends the serialized states to memory mapped segment files.
+ * <p>
+ * Every save, timestamp update and removal appends a record to the active segment. The store keeps the location
+ * of the latest state of each key in memory and an index ordered by the timestamps, so the expired states are
+ * found without visiting the others. The segments are forced to the disk periodically, sealed segments containing
+ * mostly outdated records are compacted in the background and the index is rebuilt from the segments when the
+ * store is initialized. The store then appends to the last segment.
+ * <p>
+ * Records carry a sequence number, so the latest record of a key wins regardless of the segment it was copied to
+ * by the compaction. The record layout is: length, CRC32 of the rest of the record, type, sequence number,
+ * timestamp, key length, key and serialized state. The length is written last, so a torn record ends the segment.
+ * <p>
+ * Vendor specific settings:
+ * <ul>
+ * <li>{@value #SEGMENT_SIZE_PROP} - capacity of the segment files, 64 MiB by default
+ * <li>{@value #FSYNC_INTERVAL_PROP} - interval of forcing the segments to the disk, 1000 by default, 0 forces
+ * every write
+ * <li>{@value #COMPACTION_INTERVAL_PROP} - interval of the compaction, 60 by default
+ * <li>{@value #COMPACTION_RATIO_PROP} - minimal ratio of outdated records of compacted segments, 0.5 by default
+ * </ul>
+ */
+public class LogFileBackingStore<K extends Serializable, V extends Serializable> extends BackingStore<K, V> {
+
+    static final String SEGMENT_SIZE_PROP = "segment.size.in.bytes";
+    static final String FSYNC_INTERVAL_PROP = "fsync.interval.in.millis";
+    static final String COMPACTION_INTERVAL_PROP = "compaction.interval.in.seconds";
+    static final String COMPACTION_RATIO_PROP = "compaction.garbage.ratio";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final byte PUT = 1;
+    private static final byte TOUCH = 2;
+    private static final byte REMOVE = 3;
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CRC_OFFSET = 4;
+    private static final int TYPE_OFFSET = 8;
+    private static final int SEQUENCE_OFFSET = 9;
+    private static final int TIMESTAMP_OFFSET = 17;
+    private static final int KEY_LENGTH_OFFSET = 25;
+    private static final int HEADER_SIZE = 29;
+
+    private static final byte[] NO_DATA = new byte[0];
+
+    private static final byte[] ZEROS = new byte[8192];
+
+    private static final int COMPACTION_BATCH_SIZE = 1024 * 1024;
+
+    private static Level TRACE_LEVEL = Level.FINE;
+
+    protected Logger logger = Logger.getLogger(LogFileBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private String debugStr;
+
+    private LogFileBackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private long fsyncIntervalInMillis = 1000L;
+
+    private long compactionIntervalInSeconds = 60L;
+
+    private double compactionRatio = 0.5d;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListSet<Entry> timestampIndex = new ConcurrentSkipListSet<>(
+        Comparator.comparingLong((Entry entry) -> entry.timestamp).thenComparing(entry -> entry.key));
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    // Guarded by lock
+    private Segment active;
+
+    // Guarded by lock
+    private long nextSequence = 1L;
+
+    // Guarded by lock
+    private long nextSegmentId;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean shutdown;
+
+    /**
+     * No arg constructor
+     */
+    public LogFileBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogFileBackingStore - " + conf.getStoreName() + "] ";
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        defaultMaxIdleTimeoutInSeconds = getSetting(vendorMap, "max.idle.timeout.in.seconds",
+            defaultMaxIdleTimeoutInSeconds);
+        segmentSize = (int) Math.min(Integer.MAX_VALUE, getSetting(vendorMap, SEGMENT_SIZE_PROP, segmentSize));
+        fsyncIntervalInMillis = getSetting(vendorMap, FSYNC_INTERVAL_PROP, fsyncIntervalInMillis);
+        compactionIntervalInSeconds = getSetting(vendorMap, COMPACTION_INTERVAL_PROP, compactionIntervalInSeconds);
+        try {
+            compactionRatio = Double.parseDouble(String.valueOf(vendorMap.get(COMPACTION_RATIO_PROP)));
+        } catch (Exception ex) {
+            // Ignore. Use default
+        }
+
+        baseDir = conf.getBaseDirectory();
+        if (!baseDir.mkdirs() && !baseDir.isDirectory()) {
+            throw new BackingStoreException(
+                "[LogFileBackingStore::initialize] Create base directory (" + baseDir.getAbsolutePath() + ") failed");
+        }
+
+        lock.lock();
+        try {
+            rebuildIndex();
+            active = openLastSegment();
+        } catch (IOException ex) {
+            closeSegments();
+            throw new BackingStoreException(debugStr + "Failed to open the segments in " + baseDir, ex);
+        } finally {
+            lock.unlock();
+        }
+
+        String threadName = "LogFileBackingStore-" + conf.getStoreName();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (fsyncIntervalInMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::sync, fsyncIntervalInMillis, fsyncIntervalInMillis,
+                TimeUnit.MILLISECONDS);
+        }
+        if (compactionIntervalInSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::compact, compactionIntervalInSeconds, compactionIntervalInSeconds,
+                TimeUnit.SECONDS);
+        }
+
+        logger.log(Level.INFO, "[LogFileBackingStore::initialize] Successfully initialized store with " + index.size()
+            + " states in " + segments.size() + " segments. Working dir: " + baseDir + "; Configuration: " + conf);
+    }
+
+    /* package */ void setLogFileBackingStoreFactory(LogFileBackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        Entry entry = index.get(key.toString());
+        if (entry == null) {
+            return null;
+        }
+
+        V value = null;
+        try {
+            byte[] data = readData(entry.segment, entry.offset, entry.length);
+            ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(data));
+            value = (V) ois.readObject();
+
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+            }
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+        }
+        return value;
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+
+        String key = sessionKey.toString();
+        byte[] keyBytes = key.getBytes(UTF_8);
+        byte[] data = getSerializedState(value);
+        long timestamp = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            checkNotShutdown();
+            int length = HEADER_SIZE + keyBytes.length + data.length;
+            Segment segment = getSegmentFor(length);
+            long sequence = nextSequence++;
+            int offset = write(segment, PUT, sequence, timestamp, keyBytes, data);
+            Entry entry = new Entry(key, sequence, timestamp, segment, offset, length);
+            Entry old = index.put(key, entry);
+            if (old != null) {
+                discard(old);
+            }
+            timestampIndex.add(entry);
+            syncIfRequired(segment);
+        } catch (IOException ex) {
+            throw new BackingStoreException("Could not save session: " + sessionKey, ex);
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+
+        String key = sessionKey.toString();
+        byte[] keyBytes = key.getBytes(UTF_8);
+
+        lock.lock();
+        try {
+            checkNotShutdown();
+            Entry old = index.get(key);
+            if (old == null) {
+                logger.log(Level.WARNING, debugStr + ": Cannot update timestamp for: " + sessionKey
+                    + "; State does not exist");
+                return;
+            }
+            int length = HEADER_SIZE + keyBytes.length;
+            Segment segment = getSegmentFor(length);
+            int offset = write(segment, TOUCH, nextSequence++, time, keyBytes, NO_DATA);
+            if (old.touchSegment != null) {
+                old.touchSegment.garbage += old.touchLength;
+            }
+            replace(old, old.withTouch(time, segment, offset, length));
+            syncIfRequired(segment);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + ": Exception while updating timestamp", ex);
+            throw new BackingStoreException("Cannot update timestamp for: " + sessionKey + "; Got exception: " + ex);
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + sessionKey + ")");
+        }
+
+        boolean status;
+        lock.lock();
+        try {
+            status = remove(index.get(sessionKey.toString()));
+        } catch (Exception ex) {
+            logger.log(TRACE_LEVEL, debugStr + "Failed to remove(" + sessionKey + ")", ex);
+            return;
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done remove( " + sessionKey + "); status => " + status);
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        try {
+            // The probe has the smallest key of the threshold, so the head set holds just the expired states.
+            for (Entry entry : timestampIndex.headSet(new Entry("", 0L, threshold, null, 0, 0))) {
+                if (shutdown) {
+                    break;
+                }
+                lock.lock();
+                try {
+                    // The state could be saved or touched meanwhile
+                    if (index.get(entry.key) == entry && remove(entry)) {
+                        expiredSessions++;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done removeExpired()");
+            }
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + " Exception while removing expired states", ex);
+        }
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    /**
+     * Forces the segments to the disk and closes them. The segments are kept for the next start.
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        lock.lock();
+        try {
+            sync();
+            closeSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+            }
+            shutdown = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+            lock.lock();
+            try {
+                closeSegments();
+                for (Segment segment : segments.values()) {
+                    deleteFile(segment.file);
+                }
+                segments.clear();
+                index.clear();
+                timestampIndex.clear();
+            } finally {
+                lock.unlock();
+            }
+
+            if (!baseDir.delete() && baseDir.exists()) {
+                logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done destroy()");
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        } finally {
+            LogFileBackingStoreFactory.removeMapping(getBackingStoreConfiguration().getStoreName());
+        }
+    }
+
+    /**
+     * Appends a tombstone of the entry and drops it from the indexes. Must be called with the lock held.
+     *
+     * @return false if the entry was null
+     */
+    private boolean remove(Entry entry) throws IOException {
+        if (entry == null) {
+            return false;
+        }
+        checkNotShutdown();
+        byte[] keyBytes = entry.key.getBytes(UTF_8);
+        int length = HEADER_SIZE + keyBytes.length;
+        Segment segment = getSegmentFor(length);
+        write(segment, REMOVE, nextSequence++, System.currentTimeMillis(), keyBytes, NO_DATA);
+        // Tombstones only protect the older records from being revived by the rebuild of the index
+        segment.garbage += length;
+        index.remove(entry.key);
+        discard(entry);
+        syncIfRequired(segment);
+        return true;
+    }
+
+    /**
+     * Marks the records of the entry as outdated and drops it from the timestamp index. Must be called with the
+     * lock held.
+     */
+    private void discard(Entry entry) {
+        entry.segment.garbage += entry.length;
+        if (entry.touchSegment != null) {
+            entry.touchSegment.garbage += entry.touchLength;
+        }
+        timestampIndex.remove(entry);
+    }
+
+    /**
+     * Replaces the entry of the same key in both indexes. Must be called with the lock held.
+     */
+    private void replace(Entry old, Entry entry) {
+        index.put(entry.key, entry);
+        timestampIndex.remove(old);
+        timestampIndex.add(entry);
+    }
+
+    /**
+     * Returns the active segment, rolled over if it cannot take the record. Must be called with the lock held.
+     */
+    private Segment getSegmentFor(int recordLength) throws IOException {
+        if (active.buffer.capacity() - active.position < recordLength) {
+            active = createSegment(Math.max(segmentSize, recordLength));
+        }
+        return active;
+    }
+
+    /**
+     * Writes the record at the end of the segment. Must be called with the lock held.
+     *
+     * @return offset of the record
+     */
+    private int write(Segment segment, byte type, long sequence, long timestamp, byte[] key, byte[] data) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = segment.position;
+        int length = HEADER_SIZE + key.length + data.length;
+        buffer.put(offset + TYPE_OFFSET, type);
+        buffer.putLong(offset + SEQUENCE_OFFSET, sequence);
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        buffer.putInt(offset + KEY_LENGTH_OFFSET, key.length);
+        buffer.put(offset + HEADER_SIZE, key);
+        buffer.put(offset + HEADER_SIZE + key.length, data);
+        buffer.putInt(offset + CRC_OFFSET, checksum(buffer, offset, length));
+        buffer.putInt(offset + LENGTH_OFFSET, length);
+        segment.position = offset + length;
+        segment.dirty = true;
+        return offset;
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + TYPE_OFFSET, length - TYPE_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads the serialized state of the record. Segments are never rewritten, so no lock is needed.
+     */
+    private static byte[] readData(Segment segment, int offset, int length) {
+        int keyLength = segment.buffer.getInt(offset + KEY_LENGTH_OFFSET);
+        byte[] data = new byte[length - HEADER_SIZE - keyLength];
+        segment.buffer.get(offset + HEADER_SIZE + keyLength, data);
+        return data;
+    }
+
+    private static String readKey(Segment segment, int offset) {
+        byte[] key = new byte[segment.buffer.getInt(offset + KEY_LENGTH_OFFSET)];
+        segment.buffer.get(offset + HEADER_SIZE, key);
+        return new String(key, UTF_8);
+    }
+
+    private void syncIfRequired(Segment segment) {
+        if (fsyncIntervalInMillis <= 0) {
+            segment.dirty = false;
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Forces the modified segments to the disk.
+     */
+    private void sync() {
+        for (Segment segment : segments.values()) {
+            if (segment.dirty) {
+                try {
+                    segment.dirty = false;
+                    segment.buffer.force();
+                } catch (Exception ex) {
+                    segment.dirty = true;
+                    logger.log(Level.WARNING, debugStr + "Failed to force " + segment.file + " to the disk", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the current records of the sealed segments with enough outdated records to the active segment and
+     * deletes the segments. The records are copied in batches of about {@value #COMPACTION_BATCH_SIZE} bytes, so
+     * saves are blocked only for a single batch.
+     */
+    /* package */ void compact() {
+        for (Segment segment : segments.values()) {
+            if (shutdown) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (segment == active || segment.garbage < segment.position * compactionRatio) {
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                compact(segment);
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to compact " + segment.file, ex);
+            }
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacting " + segment.file + ", outdated bytes: " + segment.garbage
+                + " of " + segment.position);
+        }
+
+        // Sealed segment, its records do not change anymore
+        for (int offset = 0; offset < segment.position;) {
+            int batchEnd = offset + COMPACTION_BATCH_SIZE;
+            lock.lock();
+            try {
+                if (shutdown) {
+                    return;
+                }
+                do {
+                    int length = segment.buffer.getInt(offset + LENGTH_OFFSET);
+                    copy(segment, offset, length);
+                    offset += length;
+                } while (offset < segment.position && offset < batchEnd);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            // The copies have to reach the disk before the original records disappear
+            active.dirty = false;
+            active.buffer.force();
+            segments.remove(segment.id);
+            // Empty the segment even if the file cannot be deleted, so it is not read by the next rebuild.
+            segment.buffer.putInt(LENGTH_OFFSET, 0);
+            segment.buffer.force();
+            segment.close();
+            deleteFile(segment.file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the record if it is still needed. Must be called with the lock held.
+     */
+    private void copy(Segment segment, int offset, int length) throws IOException {
+        String key = readKey(segment, offset);
+        Entry entry = index.get(key);
+        byte type = segment.buffer.get(offset + TYPE_OFFSET);
+        if (type == PUT) {
+            if (entry != null && entry.segment == segment && entry.offset == offset) {
+                Segment target = getSegmentFor(length);
+                int newOffset = write(target, PUT, entry.sequence, entry.timestamp, key.getBytes(UTF_8),
+                    readData(segment, offset, length));
+                replace(entry, entry.withData(target, newOffset));
+            }
+        } else if (type == TOUCH) {
+            if (entry != null && entry.touchSegment == segment && entry.touchOffset == offset) {
+                Segment target = getSegmentFor(length);
+                int newOffset = write(target, TOUCH, segment.buffer.getLong(offset + SEQUENCE_OFFSET),
+                    entry.timestamp, key.getBytes(UTF_8), NO_DATA);
+                replace(entry, entry.withTouch(entry.timestamp, target, newOffset, length));
+            }
+        } else if (segments.firstKey() < segment.id) {
+            // Older segments can still hold records the tombstone overrides
+            Segment target = getSegmentFor(length);
+            write(target, REMOVE, segment.buffer.getLong(offset + SEQUENCE_OFFSET),
+                segment.buffer.getLong(offset + TIMESTAMP_OFFSET), key.getBytes(UTF_8), NO_DATA);
+            target.garbage += length;
+        }
+    }
+
+    /**
+     * Opens the existing segments and rebuilds the indexes from their records. The latest record of each key
+     * wins, timestamp updates apply to the state saved before them. Must be called with the lock held.
+     */
+    private void rebuildIndex() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+
+        Map<String, Location> puts = new HashMap<>();
+        Map<String, Location> touches = new HashMap<>();
+        Map<String, Long> removes = new HashMap<>();
+        long nextSegmentId = 0L;
+        for (File file : files) {
+            long id;
+            try {
+                String name = file.getName();
+                id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException ex) {
+                logger.log(Level.WARNING, debugStr + "Ignoring unknown file " + file);
+                continue;
+            }
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+
+            Segment segment = new Segment(id, file, (int) Math.min(Integer.MAX_VALUE, file.length()));
+            segments.put(id, segment);
+            MappedByteBuffer buffer = segment.buffer;
+            int offset = 0;
+            while (offset + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(offset + LENGTH_OFFSET);
+                if (length < HEADER_SIZE || length > buffer.capacity() - offset
+                    || buffer.getInt(offset + CRC_OFFSET) != checksum(buffer, offset, length)) {
+                    break;
+                }
+                Location location = new Location(segment, offset, length, buffer.getLong(offset + SEQUENCE_OFFSET),
+                    buffer.getLong(offset + TIMESTAMP_OFFSET));
+                nextSequence = Math.max(nextSequence, location.sequence + 1);
+                String key = readKey(segment, offset);
+                byte type = buffer.get(offset + TYPE_OFFSET);
+                if (type == PUT) {
+                    retainLatest(puts, key, location);
+                } else if (type == TOUCH) {
+                    retainLatest(touches, key, location);
+                } else {
+                    removes.merge(key, location.sequence, Math::max);
+                    segment.garbage += length;
+                }
+                offset += length;
+            }
+            segment.position = offset;
+        }
+
+        for (Map.Entry<String, Location> put : puts.entrySet()) {
+            String key = put.getKey();
+            Location data = put.getValue();
+            Location touch = touches.remove(key);
+            if (touch != null && touch.sequence < data.sequence) {
+                touch.segment.garbage += touch.length;
+                touch = null;
+            }
+            if (removes.getOrDefault(key, 0L) > data.sequence) {
+                data.segment.garbage += data.length;
+                if (touch != null) {
+                    touch.segment.garbage += touch.length;
+                }
+                continue;
+            }
+            Entry entry = new Entry(key, data.sequence, data.timestamp, data.segment, data.offset, data.length);
+            if (touch != null) {
+                entry = entry.withTouch(touch.timestamp, touch.segment, touch.offset, touch.length);
+            }
+            index.put(key, entry);
+            timestampIndex.add(entry);
+        }
+        for (Location touch : touches.values()) {
+            touch.segment.garbage += touch.length;
+        }
+        this.nextSegmentId = nextSegmentId;
+    }
+
+    private static void retainLatest(Map<String, Location> locations, String key, Location location) {
+        Location old = locations.get(key);
+        if (old == null || old.sequence < location.sequence) {
+            locations.put(key, location);
+            if (old != null) {
+                old.segment.garbage += old.length;
+            }
+        } else {
+            location.segment.garbage += location.length;
+        }
+    }
+
+    /**
+     * Returns the last segment found by the rebuild of the index to append to, or a new segment if there is none.
+     * Must be called with the lock held.
+     */
+    private Segment openLastSegment() throws IOException {
+        Map.Entry<Long, Segment> last = segments.lastEntry();
+        if (last == null) {
+            return createSegment(segmentSize);
+        }
+        Segment segment = last.getValue();
+        clearTail(segment);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Appending to segment " + segment.file + " at " + segment.position);
+        }
+        return segment;
+    }
+
+    /**
+     * Zeroes the bytes behind the last valid record of the segment. The records of the previous run following a
+     * torn record would be read again by the next rebuild if a new record ended just in front of them.
+     */
+    private static void clearTail(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int end = buffer.capacity();
+        while (end - Long.BYTES >= segment.position && buffer.getLong(end - Long.BYTES) == 0L) {
+            end -= Long.BYTES;
+        }
+        for (int offset = segment.position; offset < end; offset += ZEROS.length) {
+            buffer.put(offset, ZEROS, 0, Math.min(ZEROS.length, end - offset));
+        }
+        segment.dirty = true;
+    }
+
+    private Segment createSegment(int capacity) throws IOException {
+        long id = nextSegmentId++;
+        Segment segment = new Segment(id, new File(baseDir, SEGMENT_PREFIX + id + SEGMENT_SUFFIX), capacity);
+        segments.put(id, segment);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Created segment " + segment.file);
+        }
+        return segment;
+    }
+
+    private void closeSegments() {
+        for (Segment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException ex) {
+                logger.log(Level.FINE, debugStr + "Error while closing " + segment.file, ex);
+            }
+        }
+    }
+
+    private void deleteFile(File file) {
+        if (!file.delete() && file.exists()) {
+            logger.log(Level.WARNING, debugStr + " Couldn't remove file: " + file);
+        }
+    }
+
+    private void checkNotShutdown() throws IOException {
+        if (shutdown) {
+            throw new IOException(debugStr + "The store has been shut down");
+        }
+    }
+
+    private byte[] getSerializedState(V value) throws BackingStoreException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during getSerializedState", ioEx);
+        }
+        return bos.toByteArray();
+    }
+
+    private static long getSetting(Map<String, Object> vendorMap, String name, long defaultValue) {
+        try {
+            return Long.parseLong(String.valueOf(vendorMap.get(name)));
+        } catch (Exception ex) {
+            // Ignore. Use default
+            return defaultValue;
+        }
+    }
+
+
+    /**
+     * Memory mapped segment file. Records are only appended to the active segment.
+     */
+    private static final class Segment {
+
+        final long id;
+        final File file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        // Guarded by lock
+        int position;
+
+        // Bytes of outdated records, guarded by lock
+        long garbage;
+
+        volatile boolean dirty;
+
+        Segment(long id, File file, int capacity) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            try {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, capacity);
+            } catch (IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        }
+
+        /**
+         * Closes the channel. The mapping stays valid for readers still holding entries of the segment.
+         */
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+
+    /**
+     * Location of a record found by the rebuild of the index.
+     */
+    private static final class Location {
+
+        final Segment segment;
+        final int offset;
+        final int length;
+        final long sequence;
+        final long timestamp;
+
+        Location(Segment segment, int offset, int length, long sequence, long timestamp) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+        }
+    }
+
+
+    /**
+     * Immutable index entry of the current state of a key. Every change creates a new entry, so the identity of
+     * the entry tells whether the state changed.
+     */
+    private static final class Entry {
+
+        final String key;
+        final long sequence;
+        final long timestamp;
+        final Segment segment;
+        final int offset;
+        final int length;
+        final Segment touchSegment;
+        final int touchOffset;
+        final int touchLength;
+
+        Entry(String key, long sequence, long timestamp, Segment segment, int offset, int length) {
+            this(key, sequence, timestamp, segment, offset, length, null, 0, 0);
+        }
+
+        private Entry(String key, long sequence, long timestamp, Segment segment, int offset, int length,
+            Segment touchSegment, int touchOffset, int touchLength) {
+            this.key = key;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.touchSegment = touchSegment;
+            this.touchOffset = touchOffset;
+            this.touchLength = touchLength;
+        }
+
+        Entry withData(Segment newSegment, int newOffset) {
+            return new Entry(key, sequence, timestamp, newSegment, newOffset, length, touchSegment, touchOffset,
+                touchLength);
+        }
+
+        Entry withTouch(long newTimestamp, Segment newTouchSegment, int newTouchOffset, int newTouchLength) {
+            return new Entry(key, sequence, newTimestamp, segment, offset, length, newTouchSegment, newTouchOffset,
+                newTouchLength);
+        }
+
+        @Override
+        public String toString() {
+            return key + "@" + timestamp;
+        }
+    }
+}
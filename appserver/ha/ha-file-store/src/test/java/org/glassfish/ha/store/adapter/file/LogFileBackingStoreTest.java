@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.glassfish.ha.store.adapter.file.LogFileBackingStore.COMPACTION_INTERVAL_PROP;
+import static org.glassfish.ha.store.adapter.file.LogFileBackingStore.FSYNC_INTERVAL_PROP;
+import static org.glassfish.ha.store.adapter.file.LogFileBackingStore.SEGMENT_SIZE_PROP;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogFileBackingStoreTest {
+
+    private static final long HOUR = 60L * 60L * 1000L;
+
+    @TempDir
+    private File baseDir;
+
+    private LogFileBackingStore<String, String> store;
+
+    @AfterEach
+    public void shutdown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void saveLoadAndRemove() throws Exception {
+        store = open(Map.of());
+        store.save("a", "1", true);
+        assertEquals("1", store.load("a", null));
+
+        store.save("a", "2", false);
+        assertAll(
+            () -> assertEquals("2", store.load("a", null)),
+            () -> assertEquals(1, store.size())
+        );
+
+        store.remove("a");
+        store.remove("unknown");
+        assertAll(
+            () -> assertNull(store.load("a", null)),
+            () -> assertEquals(0, store.size())
+        );
+    }
+
+    @Test
+    public void updateTimestampAndRemoveExpired() throws Exception {
+        store = open(Map.of());
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.updateTimestamp("a", System.currentTimeMillis() - HOUR);
+        store.updateTimestamp("unknown", System.currentTimeMillis());
+
+        assertEquals(1, store.removeExpired(60_000L));
+        assertAll(
+            () -> assertNull(store.load("a", null)),
+            () -> assertEquals("2", store.load("b", null)),
+            () -> assertEquals(0, store.removeExpired(60_000L))
+        );
+    }
+
+    @Test
+    public void restartRebuildsIndex() throws Exception {
+        store = open(Map.of());
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.save("c", "3", true);
+        store.save("a", "4", false);
+        store.updateTimestamp("b", System.currentTimeMillis() - HOUR);
+        store.remove("c");
+        store.shutdown();
+
+        store = open(Map.of());
+        assertAll(
+            () -> assertEquals(2, store.size()),
+            () -> assertEquals("4", store.load("a", null)),
+            () -> assertEquals("2", store.load("b", null)),
+            () -> assertNull(store.load("c", null)),
+            () -> assertEquals(1, segmentFiles().length, "the last segment is appended to")
+        );
+        assertEquals(1, store.removeExpired(60_000L), "the timestamp update survives the restart");
+        assertNull(store.load("b", null));
+    }
+
+    @Test
+    public void corruptRecordEndsTheSegment() throws Exception {
+        store = open(Map.of());
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.save("c", "3", true);
+        store.shutdown();
+
+        File segment = segmentFiles()[0];
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment.toPath()));
+        int second = content.getInt(0);
+        int third = second + content.getInt(second);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(third - 1);
+            file.write(content.get(third - 1) ^ 0xFF);
+        }
+
+        store = open(Map.of());
+        assertAll(
+            () -> assertEquals(1, store.size()),
+            () -> assertEquals("1", store.load("a", null)),
+            () -> assertNull(store.load("b", null)),
+            () -> assertNull(store.load("c", null))
+        );
+
+        // The new record ends where the record of c starts, which must not be read again
+        store.save("b", "2", true);
+        store.shutdown();
+
+        store = open(Map.of());
+        assertAll(
+            () -> assertEquals(2, store.size()),
+            () -> assertEquals("1", store.load("a", null)),
+            () -> assertEquals("2", store.load("b", null)),
+            () -> assertNull(store.load("c", null)),
+            () -> assertEquals(1, segmentFiles().length)
+        );
+    }
+
+    @Test
+    public void compactionKeepsLatestVersions() throws Exception {
+        Map<String, Object> settings = Map.of(SEGMENT_SIZE_PROP, "256", COMPACTION_INTERVAL_PROP, "0");
+        store = open(settings);
+        for (int version = 0; version <= 20; version++) {
+            for (int key = 0; key < 4; key++) {
+                store.save("k" + key, "k" + key + "-" + version, version == 0);
+            }
+        }
+        store.updateTimestamp("k0", System.currentTimeMillis() - HOUR);
+        int segmentsBefore = segmentFiles().length;
+
+        store.compact();
+        assertTrue(segmentFiles().length < segmentsBefore,
+            "Segments before: " + segmentsBefore + ", after: " + segmentFiles().length);
+        assertLatestVersions();
+
+        store.shutdown();
+        store = open(settings);
+        assertLatestVersions();
+        assertEquals(1, store.removeExpired(60_000L), "the timestamp update survives the compaction");
+    }
+
+    private void assertLatestVersions() throws Exception {
+        assertEquals(4, store.size());
+        for (int key = 0; key < 4; key++) {
+            assertEquals("k" + key + "-20", store.load("k" + key, null));
+        }
+    }
+
+    private File[] segmentFiles() {
+        return baseDir.listFiles((dir, name) -> name.startsWith("segment-"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LogFileBackingStore<String, String> open(Map<String, Object> settings) throws Exception {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test").setInstanceName("instance").setKeyClazz(String.class).setValueClazz(String.class)
+            .setBaseDirectory(baseDir).setClassLoader(getClass().getClassLoader());
+        conf.getVendorSpecificSettings().put(FSYNC_INTERVAL_PROP, "0");
+        conf.getVendorSpecificSettings().putAll(settings);
+        return (LogFileBackingStore<String, String>) new LogFileBackingStoreFactory().createBackingStore(conf);
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,11 +38,31 @@ public interface JdbcRAConstants {
      */
     public static final String STATEMENT_CACHE_MISS = "statementCacheMissEvent";
 
+    /**
+     * Represents the statement cache hit of a statement which is in use.
+     */
+    public static final String STATEMENT_CACHE_BUSY_HIT = "statementCacheBusyHitEvent";
+
+    /**
+     * Represents eviction of a statement from a full statement cache.
+     */
+    public static final String STATEMENT_CACHE_EVICTION = "statementCacheEvictionEvent";
+
     /**
      * Represents caching of sql query event.
      */
     public static final String TRACE_SQL = "traceSQLEvent";
 
+    /**
+     * Represents completed execution of a traced sql query.
+     */
+    public static final String SQL_EXECUTED = "sqlExecutedEvent";
+
+    /**
+     * Represents rows fetched from the result of a traced sql query.
+     */
+    public static final String SQL_ROWS_FETCHED = "sqlRowsFetchedEvent";
+
     public static final String POTENTIAL_STATEMENT_LEAK = "potentialStatementLeakEvent";
 
     /**
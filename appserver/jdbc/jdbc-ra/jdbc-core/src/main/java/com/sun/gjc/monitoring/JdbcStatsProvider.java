@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,7 +17,6 @@
 
 package com.sun.gjc.monitoring;
 
-import com.sun.gjc.util.SQLTrace;
 import com.sun.gjc.util.SQLTraceCache;
 
 import org.glassfish.api.naming.SimpleJndiName;
@@ -48,6 +47,10 @@ public class JdbcStatsProvider {
             "FreqUsedSqlQueries", "List",
             "Most frequently used sql queries");
 
+    private final StringStatisticImpl sqlQueryStatistics = new StringStatisticImpl(
+            "SqlQueryStatistics", "List",
+            "Executions, execution time percentiles in microseconds and fetched rows of most frequently used sql queries");
+
     private final CountStatisticImpl numStatementCacheHit = new CountStatisticImpl(
             "NumStatementCacheHit", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache hits.");
@@ -56,6 +59,18 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private final CountStatisticImpl numStatementCacheBusyHit = new CountStatisticImpl(
+            "NumStatementCacheBusyHit", StatisticImpl.UNIT_COUNT,
+            "The total number of Statement Cache hits of statements which were in use.");
+
+    private final CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of statements evicted from a full Statement Cache.");
+
+    private final CountStatisticImpl statementCacheHitRatio = new CountStatisticImpl(
+            "StatementCacheHitRatio", "percent",
+            "Percentage of Statement Cache lookups which found the statement.");
+
     private final CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
@@ -84,6 +99,7 @@ public class JdbcStatsProvider {
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
             numStatementCacheHit.increment();
+            updateStatementCacheHitRatio();
         }
     }
 
@@ -100,13 +116,46 @@ public class JdbcStatsProvider {
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
             numStatementCacheMiss.increment();
+            updateStatementCacheHitRatio();
+        }
+    }
+
+    /**
+     * Whenever a statement found in the statement cache is in use, increment numStatementCacheBusyHit count.
+     * @param poolName JdbcConnectionPool that has got a statement cache busy hit event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_BUSY_HIT)
+    public void statementCacheBusyHitEvent(@ProbeParam("poolName") String poolName,
+                                           @ProbeParam("appName") String appName,
+                                           @ProbeParam("moduleName") String moduleName
+                                           ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCacheBusyHit.increment();
+        }
+    }
+
+    /**
+     * Whenever a statement is evicted from the statement cache, increment numStatementCacheEviction count.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCacheEviction.increment();
         }
     }
 
     /**
      * Whenever a sql statement that is traced is to be cache for monitoring
-     * purpose, the SQLTrace object is created for the specified sql and
-     * updated in the SQLTraceCache. This is used to update the
+     * purpose, the execution of the specified sql is counted in the
+     * SQLTraceCache. This is used to update the
      * frequently used sql queries.
      *
      * @param poolName
@@ -122,11 +171,55 @@ public class JdbcStatsProvider {
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
             if(sqlTraceCache != null) {
-                if (sql != null) {
-                    SQLTrace cacheObj = new SQLTrace(sql, 1,
-                            System.currentTimeMillis());
-                    sqlTraceCache.checkAndUpdateCache(cacheObj);
-                }
+                sqlTraceCache.checkAndUpdateCache(sql);
+            }
+        }
+    }
+
+    /**
+     * Whenever a traced sql query is executed, its execution time is recorded
+     * in the SQLTraceCache.
+     *
+     * @param poolName
+     * @param sql
+     * @param executionTimeInNanos
+     */
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.SQL_EXECUTED)
+    public void sqlExecutedEvent(
+                                   @ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("executionTimeInNanos") long executionTimeInNanos) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            if(sqlTraceCache != null) {
+                sqlTraceCache.recordExecutionTime(sql, executionTimeInNanos);
+            }
+        }
+    }
+
+    /**
+     * Whenever rows are fetched from the result of a traced sql query, their
+     * number is added in the SQLTraceCache.
+     *
+     * @param poolName
+     * @param sql
+     * @param rowsFetched
+     */
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.SQL_ROWS_FETCHED)
+    public void sqlRowsFetchedEvent(
+                                   @ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("rowsFetched") long rowsFetched) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            if(sqlTraceCache != null) {
+                sqlTraceCache.addRowsFetched(sql, rowsFetched);
             }
         }
     }
@@ -158,6 +251,30 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcachebusyhit")
+    public CountStatistic getNumStatementCacheBusyHit() {
+        return numStatementCacheBusyHit;
+    }
+
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
+    @ManagedAttribute(id="statementcachehitratio")
+    public CountStatistic getStatementCacheHitRatio() {
+        return statementCacheHitRatio;
+    }
+
+    /**
+     * Recomputes the hit ratio after a hit or miss was counted.
+     */
+    private synchronized void updateStatementCacheHitRatio() {
+        long hits = numStatementCacheHit.getCount();
+        long lookups = hits + numStatementCacheMiss.getCount();
+        statementCacheHitRatio.setCount(lookups == 0 ? 0 : hits * 100 / lookups);
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public StringStatistic getfreqUsedSqlQueries() {
         if(sqlTraceCache != null) {
@@ -168,6 +285,14 @@ public class JdbcStatsProvider {
         return freqUsedSqlQueries;
     }
 
+    @ManagedAttribute(id="sqlquerystatistics")
+    public StringStatistic getSqlQueryStatistics() {
+        if(sqlTraceCache != null) {
+            sqlQueryStatistics.setCurrent(sqlTraceCache.getTopQueryStatistics());
+        }
+        return sqlQueryStatistics;
+    }
+
     @ManagedAttribute(id="numpotentialstatementleak")
     public CountStatistic getNumPotentialStatementLeak() {
         return numPotentialStatementLeak;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -43,4 +44,38 @@ public class SQLTraceProbeProvider {
             @ProbeParam("sql") String sql) {
 
     }
+
+    /**
+     * Emits probe event/notification that a sql query traced for the given
+     * connection pool <code>poolName</code> was executed
+     *
+     * @param poolName for which the sql query was executed
+     * @param sql executed sql query
+     * @param executionTimeInNanos time spent in the execution
+     */
+    @Probe(name=JdbcRAConstants.SQL_EXECUTED)
+    public void sqlExecutedEvent(@ProbeParam("poolName") String poolName,
+                                 @ProbeParam("appName") String appName,
+                                 @ProbeParam("moduleName") String moduleName,
+                                 @ProbeParam("sql") String sql,
+                                 @ProbeParam("executionTimeInNanos") long executionTimeInNanos) {
+
+    }
+
+    /**
+     * Emits probe event/notification that rows were fetched from the result
+     * of a sql query traced for the given connection pool <code>poolName</code>
+     *
+     * @param poolName for which the sql query was executed
+     * @param sql executed sql query
+     * @param rowsFetched number of rows fetched from the result set
+     */
+    @Probe(name=JdbcRAConstants.SQL_ROWS_FETCHED)
+    public void sqlRowsFetchedEvent(@ProbeParam("poolName") String poolName,
+                                    @ProbeParam("appName") String appName,
+                                    @ProbeParam("moduleName") String moduleName,
+                                    @ProbeParam("sql") String sql,
+                                    @ProbeParam("rowsFetched") long rowsFetched) {
+
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -59,4 +60,32 @@ public class StatementCacheProbeProvider {
 
     }
 
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has got a statement cache hit of a statement
+     * which is in use and cannot be reused
+     *
+     * @param poolName for which statement cache busy hit occurred
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_BUSY_HIT)
+    public void statementCacheBusyHitEvent(@ProbeParam("poolName") String poolName,
+                                           @ProbeParam("appName") String appName,
+                                           @ProbeParam("moduleName") String moduleName
+                                           ) {
+
+    }
+
+    /**
+     * Emits probe event/notification that the statement cache of the given
+     * connection pool <code>poolName</code> evicted a statement
+     *
+     * @param poolName for which statement cache eviction occurred
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+    }
 }
@@ -25,17 +25,11 @@ import jakarta.resource.spi.ConnectionManager;
 import jakarta.resource.spi.ConnectionRequestInfo;
 
 import java.io.Serializable;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.util.logging.Logger;
 
 import javax.sql.DataSource;
 
-import org.glassfish.api.jdbc.SQLTraceRecord;
-
-import static java.util.logging.Level.SEVERE;
 import static java.util.logging.Level.WARNING;
 
 /**
@@ -85,37 +79,4 @@ public abstract class JdbcObjectsFactory implements Serializable {
     public abstract ConnectionHolder getConnection(Connection conObject, ManagedConnectionImpl mcObject,
             ConnectionRequestInfo criObject, boolean statementWrapping,
             SQLTraceDelegator sqlTraceDelegator);
-
-    protected Connection getProxiedConnection(final Object conObject, Class[] connIntf, final SQLTraceDelegator sqlTraceDelegator) {
-        Connection proxiedConn = null;
-        try {
-            proxiedConn = (Connection) getProxyObject(conObject, connIntf, sqlTraceDelegator);
-        } catch (Exception ex) {
-            _logger.log(SEVERE, "jdbc.jdbc_proxied_connection_get_exception", ex.getMessage());
-        }
-
-        return proxiedConn;
-    }
-
-    protected <T> T getProxyObject(final Object actualObject, Class<T>[] ifaces, final SQLTraceDelegator sqlTraceDelegator) throws Exception {
-        InvocationHandler invocationHandler = new InvocationHandler() {
-
-            @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                SQLTraceRecord record = new SQLTraceRecord();
-                record.setMethodName(method.getName());
-                record.setParams(args);
-                record.setClassName(actualObject.getClass().getName());
-                record.setThreadName(Thread.currentThread().getName());
-                record.setThreadID(Thread.currentThread().getId());
-                record.setTimeStamp(System.currentTimeMillis());
-                sqlTraceDelegator.sqlTrace(record);
-
-                return method.invoke(actualObject, args);
-            }
-        };
-
-        return (T) Proxy.newProxyInstance(actualObject.getClass().getClassLoader(), ifaces, invocationHandler);
-    }
-
 }
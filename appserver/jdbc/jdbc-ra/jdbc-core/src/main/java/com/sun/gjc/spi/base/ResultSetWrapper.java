@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -38,6 +39,7 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Map;
+import java.util.function.LongConsumer;
 import java.util.logging.Logger;
 
 /**
@@ -53,6 +55,9 @@ public abstract class ResultSetWrapper implements ResultSet {
 
     private ResultSetClosedEventListener eventListener;
 
+    private long rowsFetched;
+    private LongConsumer rowsFetchedListener;
+
     /**
      * Abstract class for wrapping Statement<br>
      *
@@ -84,7 +89,11 @@ public abstract class ResultSetWrapper implements ResultSet {
      * @throws java.sql.SQLException if a database access error occurs
      */
     public boolean next() throws SQLException {
-        return resultSet.next();
+        boolean hasRow = resultSet.next();
+        if (hasRow) {
+            rowsFetched++;
+        }
+        return hasRow;
     }
 
     /**
@@ -106,6 +115,20 @@ public abstract class ResultSetWrapper implements ResultSet {
         if (eventListener != null) {
             eventListener.resultSetClosed();
         }
+        if (rowsFetchedListener != null) {
+            LongConsumer listener = rowsFetchedListener;
+            rowsFetchedListener = null;
+            listener.accept(rowsFetched);
+        }
+    }
+
+    /**
+     * Sets the listener notified with the number of rows fetched by {@link #next()} when this result set is closed.
+     *
+     * @param rowsFetchedListener listener, null to stop counting
+     */
+    public void setRowsFetchedListener(LongConsumer rowsFetchedListener) {
+        this.rowsFetchedListener = rowsFetchedListener;
     }
 
     /**
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Statement cache with recency and frequency based admission (Window TinyLFU).
+ * <p>
+ * New statements enter a small LRU window. A statement leaving the window is admitted to the main LRU segment only if
+ * it was requested more often than the statement it would replace, so one-off queries do not push out hot statements.
+ * Request frequencies are estimated by a count-min sketch of 4-bit counters which is periodically halved, so old
+ * popularity fades away.
+ * <p>
+ * Lookups do not take any lock. They reorder the LRU lists only when the lock is free, so under contention the order
+ * is approximate. Eviction and removal of a statement are O(1).
+ */
+public class TinyLFUCacheImpl implements Cache {
+
+    protected final static Logger _logger = LogDomains.getLogger(TinyLFUCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    private final ConcurrentHashMap<CacheObjectKey, Node> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Same nodes as in {@link #entries}, keyed by the statement wrapper, which uses identity equality.
+     */
+    private final ConcurrentHashMap<Object, Node> entriesByStatement = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Node window = new Node(null, null);
+    private final Node main = new Node(null, null);
+    private final FrequencySketch sketch;
+
+    private final int maxSize;
+    private final int maxWindowSize;
+    private int windowSize;
+    private int mainSize;
+
+    private StatementCacheProbeProvider probeProvider;
+    private final PoolInfo poolInfo;
+
+    public TinyLFUCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this.poolInfo = poolInfo;
+        this.maxSize = maxSize;
+        this.maxWindowSize = Math.max(1, maxSize / 100);
+        this.sketch = new FrequencySketch(maxSize);
+        window.prev = window.next = window;
+        main.prev = main.next = main;
+
+        try {
+            probeProvider = new StatementCacheProbeProvider();
+        } catch (Exception ex) {
+            _logger.log(Level.FINE, "Unable to create statement cache probe provider", ex);
+        }
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        sketch.increment(key.hashCode());
+
+        Node node = entries.get(key);
+        if (node == null) {
+            _logger.finest("Cache Miss");
+            if (probeProvider != null) {
+                probeProvider.statementCacheMissEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+                    poolInfo.getModuleName());
+            }
+            return null;
+        }
+
+        _logger.finest("Cache Hit");
+        if (probeProvider != null) {
+            probeProvider.statementCacheHitEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+            if (node.statement instanceof PreparedStatementWrapper && ((PreparedStatementWrapper) node.statement).isBusy()) {
+                probeProvider.statementCacheBusyHitEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+                    poolInfo.getModuleName());
+            }
+        }
+
+        // Reordering is best effort, lookups must not wait for each other.
+        if (evictionLock.tryLock()) {
+            try {
+                if (node.isLinked()) {
+                    node.unlink();
+                    node.linkBefore(node.inWindow ? window : main);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return node.statement;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object entry, boolean force) {
+        evictionLock.lock();
+        try {
+            Node existing = entries.get(key);
+            if (existing != null) {
+                if (existing.statement == entry) {
+                    return;
+                }
+                if (!force) {
+                    // The statement is not cached, so it has to be closed by its user.
+                    uncache(entry, false);
+                    return;
+                }
+                remove(existing);
+                uncache(existing.statement, true);
+            }
+
+            Node node = new Node(key, entry);
+            node.inWindow = true;
+            node.linkBefore(window);
+            windowSize++;
+            entries.put(key, node);
+            entriesByStatement.put(entry, node);
+
+            if (windowSize > maxWindowSize) {
+                Node candidate = window.next;
+                candidate.unlink();
+                windowSize--;
+                candidate.inWindow = false;
+                candidate.linkBefore(main);
+                mainSize++;
+                if (windowSize + mainSize > maxSize) {
+                    evict(selectVictim(candidate));
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        _logger.fine("clearing objects in cache");
+        evictionLock.lock();
+        try {
+            while (window.next != window) {
+                remove(window.next);
+            }
+            while (main.next != main) {
+                remove(main.next);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void flushCache() {
+        evictionLock.lock();
+        try {
+            while (window.next != window) {
+                Node node = window.next;
+                remove(node);
+                uncache(node.statement, true);
+            }
+            while (main.next != main) {
+                Node node = main.next;
+                remove(node);
+                uncache(node.statement, true);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void purge() {
+        evictionLock.lock();
+        try {
+            if (main.next != main) {
+                evict(main.next);
+            } else if (window.next != window) {
+                evict(window.next);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void purge(Object entry) {
+        evictionLock.lock();
+        try {
+            Node node = entriesByStatement.get(entry);
+            if (node == null) {
+                return;
+            }
+            _logger.log(Level.FINEST, "Purging an entry from cache");
+            remove(node);
+            uncache(node.statement, true);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * The implementation is thread safe, it must not be wrapped by {@link SynchronizedCache}.
+     */
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    /**
+     * Chooses between the statement just moved from the window and the least recently used statement of the main
+     * segment. The less frequently requested one leaves the cache, ties are resolved in favour of the old statement.
+     */
+    private Node selectVictim(Node candidate) {
+        Node victim = main.next;
+        if (victim == candidate) {
+            return candidate;
+        }
+        int candidateFrequency = sketch.frequency(candidate.key.hashCode());
+        int victimFrequency = sketch.frequency(victim.key.hashCode());
+        return candidateFrequency > victimFrequency ? victim : candidate;
+    }
+
+    private void evict(Node node) {
+        remove(node);
+        // The busy statement would be closed under its user, it is closed later by its close() method instead.
+        uncache(node.statement, !isBusy(node.statement));
+        if (probeProvider != null) {
+            probeProvider.statementCacheEvictionEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+        }
+    }
+
+    private void remove(Node node) {
+        node.unlink();
+        if (node.inWindow) {
+            windowSize--;
+        } else {
+            mainSize--;
+        }
+        entries.remove(node.key, node);
+        entriesByStatement.remove(node.statement, node);
+    }
+
+    private static boolean isBusy(Object statement) {
+        return statement instanceof PreparedStatementWrapper && ((PreparedStatementWrapper) statement).isBusy();
+    }
+
+    private static void uncache(Object statement, boolean close) {
+        if (!(statement instanceof PreparedStatementWrapper)) {
+            return;
+        }
+        PreparedStatementWrapper ps = (PreparedStatementWrapper) statement;
+        ps.setCached(false);
+        if (close) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * Entry of the cache, linked into the circular list of the window or of the main segment.
+     * The head of the list is the least recently used entry.
+     */
+    private static final class Node {
+        private final CacheObjectKey key;
+        private final Object statement;
+        private boolean inWindow;
+        private Node prev;
+        private Node next;
+
+        Node(CacheObjectKey key, Object statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        boolean isLinked() {
+            return next != null;
+        }
+
+        void linkBefore(Node sentinel) {
+            prev = sentinel.prev;
+            next = sentinel;
+            prev.next = this;
+            sentinel.prev = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+
+    /**
+     * Count-min sketch with four 4-bit counters per key. Each long holds sixteen counters. When the number of recorded
+     * requests reaches ten times the cache size, all counters are halved.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {0x97cb3127L, 0xb492b66fL, 0x9ae16a3bL, 0xcbf29ce4L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final AtomicLongArray table;
+        private final int tableMask;
+        private final int sampleSize;
+        private final AtomicInteger additions = new AtomicInteger();
+        private final ReentrantLock resetLock = new ReentrantLock();
+
+        FrequencySketch(int maxSize) {
+            int length = Integer.highestOneBit(Math.max(16, maxSize) - 1) << 1;
+            this.table = new AtomicLongArray(length);
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * Math.max(16, maxSize);
+        }
+
+        int frequency(int hashCode) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int hash = hash(hashCode, i);
+                long counters = table.get(hash & tableMask);
+                frequency = Math.min(frequency, (int) ((counters >>> offset(hash, i)) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(int hashCode) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int hash = hash(hashCode, i);
+                added |= incrementAt(hash & tableMask, offset(hash, i));
+            }
+            if (added && additions.incrementAndGet() >= sampleSize && resetLock.tryLock()) {
+                try {
+                    for (int i = 0; i < table.length(); i++) {
+                        long counters = table.get(i);
+                        table.compareAndSet(i, counters, (counters >>> 1) & RESET_MASK);
+                    }
+                    additions.set(0);
+                } finally {
+                    resetLock.unlock();
+                }
+            }
+        }
+
+        private boolean incrementAt(int index, int offset) {
+            long mask = 0xfL << offset;
+            while (true) {
+                long counters = table.get(index);
+                if ((counters & mask) == mask) {
+                    return false;
+                }
+                if (table.compareAndSet(index, counters, counters + (1L << offset))) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Selects one of the sixteen counters of the long, each seed uses a different group of four counters.
+         */
+        private static int offset(int hash, int seedIndex) {
+            return ((seedIndex << 2) + ((hash >>> 28) & 3)) << 2;
+        }
+
+        private static int hash(int hashCode, int seedIndex) {
+            long hash = (hashCode + SEEDS[seedIndex]) * SEEDS[seedIndex];
+            hash += hash >>> 32;
+            return (int) hash;
+        }
+    }
+}
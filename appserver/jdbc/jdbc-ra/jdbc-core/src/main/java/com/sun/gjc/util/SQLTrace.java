@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,22 +17,40 @@
 
 package com.sun.gjc.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 /**
  * Store the sql queries executed by applications along with the number of times
  * executed and the time stamp of the last usage. Used for monitoring
  * information.
+ * <p>
+ * Counters are updated without locking, so one instance can be shared by all
+ * threads executing the query. Execution times are kept in a histogram of
+ * power of two microsecond buckets.
  *
  * @author Shalini M
  */
 public class SQLTrace implements Comparable {
 
+    private static final int BUCKETS = Long.SIZE;
+
     private String queryName;
-    private int numExecutions;
-    private long lastUsageTime;
+    private final AtomicInteger numExecutions;
+    private volatile long lastUsageTime;
+    private int numExecutionsError;
+
+    private final AtomicLongArray executionTimes = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator maxExecutionTime = new LongAccumulator(Long::max, 0L);
+    private final LongAdder rowsFetched = new LongAdder();
 
     public SQLTrace(String query, int numExecutions, long time) {
         this.queryName = query;
-        this.numExecutions = numExecutions;
+        this.numExecutions = new AtomicInteger(numExecutions);
         this.lastUsageTime = time;
     }
 
@@ -59,7 +78,7 @@ public class SQLTrace implements Comparable {
      * @return the value of numExecutions
      */
     public int getNumExecutions() {
-        return numExecutions;
+        return numExecutions.get();
     }
 
     /**
@@ -68,7 +87,36 @@ public class SQLTrace implements Comparable {
      * @param numExecutions new value of numExecutions
      */
     public void setNumExecutions(int numExecutions) {
-        this.numExecutions = numExecutions;
+        this.numExecutions.set(numExecutions);
+    }
+
+    /**
+     * Increment numExecutions by one and set the lastUsageTime
+     *
+     * @param time time of the usage
+     */
+    public void incrementNumExecutions(long time) {
+        numExecutions.incrementAndGet();
+        lastUsageTime = time;
+    }
+
+    /**
+     * Get the maximal overestimation of numExecutions. The query inherits the
+     * count of the query it replaced in a full {@link SQLTraceCache}.
+     *
+     * @return the value of numExecutionsError
+     */
+    public int getNumExecutionsError() {
+        return numExecutionsError;
+    }
+
+    /**
+     * Set the value of numExecutionsError
+     *
+     * @param numExecutionsError new value of numExecutionsError
+     */
+    public void setNumExecutionsError(int numExecutionsError) {
+        this.numExecutionsError = numExecutionsError;
     }
 
     /**
@@ -89,6 +137,70 @@ public class SQLTrace implements Comparable {
         this.lastUsageTime = lastUsageTime;
     }
 
+    /**
+     * Record one execution of the query
+     *
+     * @param executionTimeInNanos time spent in the execution
+     */
+    public void recordExecutionTime(long executionTimeInNanos) {
+        long executionTimeInMicros = NANOSECONDS.toMicros(executionTimeInNanos);
+        int bucket = executionTimeInMicros <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(executionTimeInMicros);
+        executionTimes.incrementAndGet(bucket);
+        maxExecutionTime.accumulate(executionTimeInMicros);
+    }
+
+    /**
+     * Get the execution time in microseconds which the given fraction of
+     * recorded executions did not exceed. The value is the upper bound of the
+     * histogram bucket, capped by the maximal execution time.
+     *
+     * @param fraction percentile as fraction, for example {@code 0.99}
+     * @return the percentile in microseconds, zero if no execution was recorded
+     */
+    public long getExecutionTimePercentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = executionTimes.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBound = i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upperBound, getMaxExecutionTime());
+            }
+        }
+        return getMaxExecutionTime();
+    }
+
+    /**
+     * @return the longest recorded execution time in microseconds
+     */
+    public long getMaxExecutionTime() {
+        return maxExecutionTime.get();
+    }
+
+    /**
+     * @param rows number of rows fetched from the result of the query
+     */
+    public void addRowsFetched(long rows) {
+        rowsFetched.add(rows);
+    }
+
+    /**
+     * @return total number of rows fetched from the results of the query
+     */
+    public long getRowsFetched() {
+        return rowsFetched.sum();
+    }
+
     /**
      * Check for equality of the SQLTrace with the object passed by comparing the
      * queryName stored.
@@ -128,13 +240,14 @@ public class SQLTrace implements Comparable {
         if (!(o instanceof SQLTrace)) {
             throw new ClassCastException("SqlTraceCache object is expected");
         }
-        int number = ((SQLTrace) o).numExecutions;
+        int number = ((SQLTrace) o).getNumExecutions();
         long t = ((SQLTrace) o).getLastUsageTime();
+        int thisNumber = getNumExecutions();
 
         int compare = 0;
-        if (number == this.numExecutions) {
+        if (number == thisNumber) {
             compare = 0;
-        } else if (number < this.numExecutions) {
+        } else if (number < thisNumber) {
             compare = -1;
         } else {
             compare = 1;
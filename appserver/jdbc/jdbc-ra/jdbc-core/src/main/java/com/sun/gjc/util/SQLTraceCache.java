@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -14,16 +14,19 @@
  *
  * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
  */
-
 package com.sun.gjc.util;
 
 import com.sun.logging.LogDomains;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,13 +36,29 @@ import org.glassfish.api.naming.SimpleJndiName;
  * Maintains the Sql Tracing Cache used to store SQL statements used by the
  * applications. This is used by the JDBCRA monitoring to display the most
  * frequently used queries by applications.
+ * <p>
+ * The cache counts the queries with the Space-Saving algorithm: it keeps a
+ * bounded number of queries, several times more than the number of reported
+ * ones. When it is full, a new query replaces the least executed one and
+ * inherits its count. Executions of a query already in the cache are counted
+ * without locking.
  *
  * @author Shalini M
  */
 public class SQLTraceCache {
 
-    // List of sql trace objects
-    private final List<SQLTrace> list;
+    /**
+     * Number of queries tracked for each reported query, bigger value makes the
+     * reported top queries more accurate.
+     */
+    private static final int TRACKED_QUERIES_PER_REPORTED_QUERY = 10;
+
+    private static final Comparator<SQLTrace> BY_NUM_EXECUTIONS = Comparator.comparingInt(SQLTrace::getNumExecutions);
+
+    // Sql trace objects by the sql query
+    private final ConcurrentHashMap<String, SQLTrace> traces = new ConcurrentHashMap<>();
+    private final ReentrantLock replacementLock = new ReentrantLock();
+    private final int maxTrackedQueries;
     // Maximum size of the cache.
     private int numTopQueriesToReport = 10;
     private long timeToKeepQueries = 60 * 1000;
@@ -55,12 +74,15 @@ public class SQLTraceCache {
         this.appName = appName;
         this.moduleName = moduleName;
         this.numTopQueriesToReport = maxSize;
-        list = new ArrayList<>();
+        this.maxTrackedQueries = maxSize * TRACKED_QUERIES_PER_REPORTED_QUERY;
         this.timeToKeepQueries = timeToKeepQueries * 60 * 1000;
     }
 
+    /**
+     * @return snapshot of the traced queries
+     */
     public List<SQLTrace> getSqlTraceList() {
-        return list;
+        return new ArrayList<>(traces.values());
     }
 
     public SimpleJndiName getPoolName() {
@@ -117,56 +139,100 @@ public class SQLTraceCache {
 
     /**
      * Request for adding a sql query in the form of SQLTrace to this cache. If the
-     * query is already found in the list, the number of times it is executed is
+     * query is already found in the cache, the number of times it is executed is
      * incremented by one along with the timestamp. If the query is a new one, it is
-     * added to the list.
+     * added to the cache.
      *
      * @param cacheObj
-     * @return
      */
     public void checkAndUpdateCache(SQLTrace cacheObj) {
-        synchronized (list) {
-            if (cacheObj != null) {
-                int index = list.indexOf(cacheObj);
-                if (index != -1) {
-                    // If already found in the cache
-                    // equals is invoked here and hence comparison based on query name is done
-                    // Get the object at the index to update the numExecutions
-                    SQLTrace cache = list.get(index);
-                    cache.setNumExecutions(cache.getNumExecutions() + 1);
-                    cache.setLastUsageTime(System.currentTimeMillis());
-                } else {
-                    // First occurrence of the query. query to be added.
-                    cacheObj.setNumExecutions(1);
-                    cacheObj.setLastUsageTime(System.currentTimeMillis());
-                    list.add(cacheObj);
-                }
+        if (cacheObj != null) {
+            checkAndUpdateCache(cacheObj.getQueryName());
+        }
+    }
+
+    /**
+     * Counts one execution of the sql query.
+     *
+     * @param sql sql query
+     */
+    public void checkAndUpdateCache(String sql) {
+        if (sql == null) {
+            return;
+        }
+        SQLTrace trace = traces.get(sql);
+        if (trace == null) {
+            trace = addQuery(sql);
+        }
+        trace.incrementNumExecutions(System.currentTimeMillis());
+    }
+
+    /**
+     * Records the execution time of the sql query, if the query is traced.
+     *
+     * @param sql sql query
+     * @param executionTimeInNanos time spent in the execution
+     */
+    public void recordExecutionTime(String sql, long executionTimeInNanos) {
+        SQLTrace trace = sql == null ? null : traces.get(sql);
+        if (trace != null) {
+            trace.recordExecutionTime(executionTimeInNanos);
+        }
+    }
+
+    /**
+     * Adds rows fetched from the result of the sql query, if the query is traced.
+     *
+     * @param sql sql query
+     * @param rowsFetched number of fetched rows
+     */
+    public void addRowsFetched(String sql, long rowsFetched) {
+        SQLTrace trace = sql == null ? null : traces.get(sql);
+        if (trace != null) {
+            trace.addRowsFetched(rowsFetched);
+        }
+    }
+
+    private SQLTrace addQuery(String sql) {
+        if (traces.size() < maxTrackedQueries) {
+            return traces.computeIfAbsent(sql, query -> new SQLTrace(query, 0, System.currentTimeMillis()));
+        }
+
+        replacementLock.lock();
+        try {
+            SQLTrace trace = traces.get(sql);
+            if (trace != null) {
+                return trace;
             }
+            SQLTrace leastExecuted = Collections.min(traces.values(), BY_NUM_EXECUTIONS);
+            traces.remove(leastExecuted.getQueryName(), leastExecuted);
+            if (_logger.isLoggable(Level.FINEST)) {
+                _logger.finest("removing sql=" + leastExecuted.getQueryName());
+            }
+            trace = new SQLTrace(sql, leastExecuted.getNumExecutions(), System.currentTimeMillis());
+            trace.setNumExecutionsError(leastExecuted.getNumExecutions());
+            SQLTrace concurrentlyAdded = traces.putIfAbsent(sql, trace);
+            return concurrentlyAdded == null ? trace : concurrentlyAdded;
+        } finally {
+            replacementLock.unlock();
         }
     }
 
     /**
-     * Entries are removed from the list after sorting them in the least frequently
-     * used order. Only numTopQueriesToReport number of entries are maintained in
-     * the list after the purgeEntries.
+     * Entries which were not used during the last timeToKeepQueries are removed
+     * from the cache.
      */
     public void purgeEntries() {
-        synchronized (list) {
-            Collections.sort(list, Collections.reverseOrder());
-            Iterator<SQLTrace> i = list.iterator();
-            while (i.hasNext()) {
-                SQLTrace cacheObj = i.next();
-                if (list.size() > numTopQueriesToReport) {
-                    if (_logger.isLoggable(Level.FINEST)) {
-                        _logger.finest("removing sql=" + cacheObj.getQueryName());
-                    }
-                    i.remove();
-                } else {
-                    break;
+        long oldestUsageTime = System.currentTimeMillis() - timeToKeepQueries;
+        Iterator<SQLTrace> i = traces.values().iterator();
+        while (i.hasNext()) {
+            SQLTrace cacheObj = i.next();
+            if (cacheObj.getLastUsageTime() < oldestUsageTime) {
+                if (_logger.isLoggable(Level.FINEST)) {
+                    _logger.finest("removing sql=" + cacheObj.getQueryName());
                 }
+                i.remove();
             }
-            // sort by most frequently used queries first
-            Collections.sort(list);
         }
     }
 
@@ -179,12 +245,56 @@ public class SQLTraceCache {
      * @return string representation of the list of sql queries sorted
      */
     public String getTopQueries() {
-        purgeEntries();
-        StringBuffer sb = new StringBuffer();
-        for (SQLTrace cache : list) {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTrace cache : getTopTraces()) {
             sb.append(LINE_BREAK);
             sb.append(cache.getQueryName());
         }
         return sb.toString();
     }
+
+    /**
+     * Returns the String representation of the top 'n' traced sql queries along
+     * with their number of executions, execution time percentiles in microseconds
+     * and number of fetched rows.
+     *
+     * @return string representation of the statistics of the most frequently used queries
+     */
+    public String getTopQueryStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTrace cache : getTopTraces()) {
+            sb.append(LINE_BREAK);
+            sb.append(cache.getQueryName());
+            sb.append(" | executions: ").append(cache.getNumExecutions());
+            if (cache.getNumExecutionsError() > 0) {
+                sb.append(" (-").append(cache.getNumExecutionsError()).append(')');
+            }
+            sb.append(", p50: ").append(cache.getExecutionTimePercentile(0.5)).append("us");
+            sb.append(", p99: ").append(cache.getExecutionTimePercentile(0.99)).append("us");
+            sb.append(", max: ").append(cache.getMaxExecutionTime()).append("us");
+            sb.append(", rows fetched: ").append(cache.getRowsFetched());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return numTopQueriesToReport most frequently used queries, most frequently used first
+     */
+    private List<SQLTrace> getTopTraces() {
+        // Partial selection keeping the least used query at the head. Counts may change
+        // while selecting, so the order of queries executed concurrently is approximate.
+        PriorityQueue<SQLTrace> top = new PriorityQueue<>(numTopQueriesToReport + 1, Collections.reverseOrder());
+        for (SQLTrace trace : traces.values()) {
+            top.add(trace);
+            if (top.size() > numTopQueriesToReport) {
+                top.poll();
+            }
+        }
+        List<SQLTrace> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll());
+        }
+        Collections.reverse(result);
+        return result;
+    }
 }
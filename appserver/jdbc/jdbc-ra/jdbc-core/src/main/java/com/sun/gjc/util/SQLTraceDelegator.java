@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +18,7 @@ package com.sun.gjc.util;
 
 import com.sun.gjc.monitoring.JdbcRAConstants;
 import com.sun.gjc.monitoring.SQLTraceProbeProvider;
+import com.sun.gjc.spi.base.ResultSetWrapper;
 import com.sun.logging.LogDomains;
 
 import java.util.ArrayList;
@@ -109,6 +110,25 @@ public class SQLTraceDelegator implements SQLTraceListener {
         }
     }
 
+    /**
+     * Reports completed execution of a traced sql query. If the execution returned a result set, the number of rows
+     * fetched from it is reported when the result set is closed.
+     *
+     * @param record record passed to {@link #sqlTrace(SQLTraceRecord)} before the execution
+     * @param sql executed sql query
+     * @param executionTimeInNanos time spent in the execute method
+     * @param result value returned by the execute method
+     */
+    public void sqlExecuted(SQLTraceRecord record, String sql, long executionTimeInNanos, Object result) {
+        final String appName = record.getApplicationName();
+        final String moduleName = record.getModuleName();
+        probeProvider.sqlExecutedEvent(poolName.toString(), appName, moduleName, sql, executionTimeInNanos);
+        if (result instanceof ResultSetWrapper) {
+            ((ResultSetWrapper) result).setRowsFetchedListener(
+                rowsFetched -> probeProvider.sqlRowsFetchedEvent(poolName.toString(), appName, moduleName, sql, rowsFetched));
+        }
+    }
+
     private Optional<StackWalker.StackFrame> getCallingApplicationStackFrame() {
         Set<Class<?>> checkedClasses = new HashSet<>();
         checkedClasses.add(this.getClass());
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.sql.ResultSet;
+
+import org.glassfish.api.jdbc.SQLTraceRecord;
+
+/**
+ * Reports the calls of the JDBC wrappers used when sql tracing is enabled to the {@link SQLTraceDelegator}.
+ * <p>
+ * The wrappers are hand-written subclasses of the pool's connection and statement wrappers. They report only the
+ * calls the delegator needs: calls carrying sql, which are counted as sql queries, and executions of statements,
+ * which are timed. Other calls go to the wrapped object without any tracing.
+ */
+public final class SQLTracer {
+
+    private final SQLTraceDelegator sqlTraceDelegator;
+    private final String className;
+    private final String sql;
+
+    /**
+     * @param sqlTraceDelegator delegator receiving the trace records
+     * @param actualObject wrapped JDBC object
+     * @param sql SQL of the prepared or callable statement, null for other objects, which get the SQL with each
+     *            call
+     */
+    public SQLTracer(SQLTraceDelegator sqlTraceDelegator, Object actualObject, String sql) {
+        this.sqlTraceDelegator = sqlTraceDelegator;
+        this.className = actualObject.getClass().getName();
+        this.sql = sql;
+    }
+
+    /**
+     * Reports a call of a method without parameters.
+     *
+     * @param methodName name of the called method
+     * @return record passed to the delegator
+     */
+    public SQLTraceRecord trace(String methodName) {
+        return trace(methodName, (Object[]) null);
+    }
+
+    /**
+     * Reports a method call.
+     *
+     * @param methodName name of the called method
+     * @param params parameters of the call
+     * @return record passed to the delegator
+     */
+    public SQLTraceRecord trace(String methodName, Object... params) {
+        Thread thread = Thread.currentThread();
+        SQLTraceRecord record = new SQLTraceRecord();
+        record.setMethodName(methodName);
+        record.setParams(params);
+        record.setClassName(className);
+        record.setThreadName(thread.getName());
+        record.setThreadID(thread.threadId());
+        record.setTimeStamp(System.currentTimeMillis());
+        sqlTraceDelegator.sqlTrace(record);
+        return record;
+    }
+
+    /**
+     * Reports a completed execution which did not return a result set.
+     *
+     * @param record record returned by the trace method before the execution
+     * @param start {@link System#nanoTime()} before the execution
+     */
+    public void executed(SQLTraceRecord record, long start) {
+        executed(record, start, null);
+    }
+
+    /**
+     * Reports a completed execution.
+     *
+     * @param record record returned by the trace method before the execution
+     * @param start {@link System#nanoTime()} before the execution
+     * @param resultSet result set returned by the execution, can be null
+     */
+    public void executed(SQLTraceRecord record, long start, ResultSet resultSet) {
+        final long executionTime = System.nanoTime() - start;
+        final String executedSql = sql == null ? record.getSqlQuery().orElse(null) : sql;
+        if (executedSql != null) {
+            sqlTraceDelegator.sqlExecuted(record, executedSql, executionTime, resultSet);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.sql.ResultSet;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLFUCacheImplTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(new SimpleJndiName("testPool"));
+
+    @Test
+    public void testFactory() throws Exception {
+        Cache cache = CacheFactory.getDataStructure(POOL_INFO, "TINYLFU", 10);
+        assertTrue(cache instanceof TinyLFUCacheImpl);
+    }
+
+    @Test
+    public void testHotStatementsSurviveOneOffQueries() {
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(POOL_INFO, 10);
+        Object[] hotStatements = new Object[5];
+        for (int i = 0; i < hotStatements.length; i++) {
+            hotStatements[i] = lookupOrAdd(cache, "SELECT hot" + i);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < hotStatements.length; i++) {
+                assertSame(hotStatements[i], lookupOrAdd(cache, "SELECT hot" + i));
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            lookupOrAdd(cache, "SELECT report" + i);
+            assertTrue(cache.getSize() <= cache.getMaxSize());
+            lookupOrAdd(cache, "SELECT hot" + (i % hotStatements.length));
+        }
+
+        for (int i = 0; i < hotStatements.length; i++) {
+            assertSame(hotStatements[i], cache.checkAndUpdateCache(key("SELECT hot" + i)));
+        }
+    }
+
+    @Test
+    public void testPurgeByStatement() {
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(POOL_INFO, 10);
+        Object first = lookupOrAdd(cache, "SELECT 1");
+        Object second = lookupOrAdd(cache, "SELECT 2");
+        assertEquals(2, cache.getSize());
+
+        cache.purge(first);
+        cache.purge(first);
+        assertEquals(1, cache.getSize());
+        assertNull(cache.checkAndUpdateCache(key("SELECT 1")));
+        assertSame(second, cache.checkAndUpdateCache(key("SELECT 2")));
+    }
+
+    @Test
+    public void testAddExistingKey() {
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(POOL_INFO, 10);
+        Object first = lookupOrAdd(cache, "SELECT 1");
+
+        cache.addToCache(key("SELECT 1"), new Object(), false);
+        assertSame(first, cache.checkAndUpdateCache(key("SELECT 1")));
+
+        Object replacement = new Object();
+        cache.addToCache(key("SELECT 1"), replacement, true);
+        assertEquals(1, cache.getSize());
+        assertSame(replacement, cache.checkAndUpdateCache(key("SELECT 1")));
+    }
+
+    @Test
+    public void testPurgeAndFlush() {
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(POOL_INFO, 10);
+        for (int i = 0; i < 5; i++) {
+            lookupOrAdd(cache, "SELECT " + i);
+        }
+
+        cache.purge();
+        assertEquals(4, cache.getSize());
+
+        cache.flushCache();
+        assertEquals(0, cache.getSize());
+
+        lookupOrAdd(cache, "SELECT 1");
+        cache.clearCache();
+        assertEquals(0, cache.getSize());
+    }
+
+    private static Object lookupOrAdd(Cache cache, String sql) {
+        Object statement = cache.checkAndUpdateCache(key(sql));
+        if (statement == null) {
+            statement = new Object();
+            cache.addToCache(key(sql), statement, false);
+        }
+        return statement;
+    }
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLTraceCacheTest {
+
+    private static final String LINE_BREAK = "%%%EOL%%%";
+
+    @Test
+    public void testTopQueries() {
+        SQLTraceCache cache = new SQLTraceCache(new SimpleJndiName("testPool"), null, null, 2, 5);
+        for (int i = 0; i < 30; i++) {
+            cache.checkAndUpdateCache("SELECT 1");
+        }
+        for (int i = 0; i < 20; i++) {
+            cache.checkAndUpdateCache("SELECT 2");
+        }
+        // One-off queries overflow the cache many times
+        for (int i = 0; i < 200; i++) {
+            cache.checkAndUpdateCache("SELECT once " + i);
+        }
+
+        assertEquals(LINE_BREAK + "SELECT 1" + LINE_BREAK + "SELECT 2", cache.getTopQueries());
+        assertTrue(cache.getSqlTraceList().size() <= 20);
+    }
+
+    @Test
+    public void testQueryStatistics() {
+        SQLTraceCache cache = new SQLTraceCache(new SimpleJndiName("testPool"), null, null, 10, 5);
+        cache.checkAndUpdateCache("SELECT 1");
+        for (int i = 1; i <= 100; i++) {
+            cache.recordExecutionTime("SELECT 1", MICROSECONDS.toNanos(i));
+        }
+        cache.addRowsFetched("SELECT 1", 7);
+        cache.addRowsFetched("SELECT 1", 3);
+        cache.recordExecutionTime("SELECT untraced", 1_000_000);
+
+        assertEquals(LINE_BREAK + "SELECT 1 | executions: 1, p50: 63us, p99: 100us, max: 100us, rows fetched: 10",
+            cache.getTopQueryStatistics());
+    }
+
+    @Test
+    public void testConcurrentExecutions() throws Exception {
+        SQLTraceCache cache = new SQLTraceCache(new SimpleJndiName("testPool"), null, null, 10, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.checkAndUpdateCache("SELECT " + (i % 5));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (SQLTrace trace : cache.getSqlTraceList()) {
+            assertEquals(16_000, trace.getNumExecutions());
+        }
+        assertEquals(5, cache.getSqlTraceList().size());
+    }
+}
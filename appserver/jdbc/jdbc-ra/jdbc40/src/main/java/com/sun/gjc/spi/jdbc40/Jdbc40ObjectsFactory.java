@@ -65,9 +65,7 @@ public class Jdbc40ObjectsFactory extends JdbcObjectsFactory {
 
         if (statementWrapping) {
             if (sqlTraceDelegator != null) {
-                Class<?>[] connIntf = new Class[] { Connection.class };
-                Connection proxiedConn = getProxiedConnection(conObject, connIntf, sqlTraceDelegator);
-                connection = new ProfiledConnectionWrapper40(proxiedConn, mcObject, criObject, jdbc30Connection, sqlTraceDelegator);
+                connection = new ProfiledConnectionWrapper40(conObject, mcObject, criObject, jdbc30Connection, sqlTraceDelegator);
             } else {
                 connection = new ConnectionWrapper40(conObject, mcObject, criObject, jdbc30Connection);
             }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+import com.sun.gjc.util.SQLTracer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.glassfish.api.jdbc.SQLTraceRecord;
+
+/**
+ * Prepared statement wrapper reporting its executions to the {@link SQLTraceDelegator}
+ * with the SQL the statement was prepared with.
+ */
+public class TracingPreparedStatement40 extends PreparedStatementWrapper40 {
+
+    private final SQLTracer tracer;
+
+    /**
+     * @param con ConnectionWrapper
+     * @param statement PreparedStatement that is wrapped
+     * @param cachingEnabled boolean that enabled/ disables caching
+     * @param sqlTraceDelegator delegator receiving the trace records
+     * @param sql SQL the statement was prepared with
+     * @throws SQLException Exception thrown from underlying statement
+     */
+    public TracingPreparedStatement40(Connection con, PreparedStatement statement, boolean cachingEnabled, SQLTraceDelegator sqlTraceDelegator,
+            String sql) throws SQLException {
+        super(con, statement, cachingEnabled);
+        this.tracer = new SQLTracer(sqlTraceDelegator, statement, sql);
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeQuery");
+        long start = System.nanoTime();
+        ResultSet result = super.executeQuery();
+        tracer.executed(record, start, result);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeUpdate");
+        long start = System.nanoTime();
+        int result = super.executeUpdate();
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        SQLTraceRecord record = tracer.trace("execute");
+        long start = System.nanoTime();
+        boolean result = super.execute();
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeBatch");
+        long start = System.nanoTime();
+        int[] result = super.executeBatch();
+        tracer.executed(record, start);
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+import com.sun.gjc.util.SQLTracer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.glassfish.api.jdbc.SQLTraceRecord;
+
+/**
+ * Statement wrapper reporting the SQL it executes to the {@link SQLTraceDelegator}.
+ * Only the methods carrying SQL and the executions are traced.
+ */
+public class TracingStatement40 extends StatementWrapper40 {
+
+    private final SQLTracer tracer;
+
+    /**
+     * @param con ConnectionWrapper
+     * @param statement Statement that is wrapped
+     * @param sqlTraceDelegator delegator receiving the trace records
+     */
+    public TracingStatement40(Connection con, Statement statement, SQLTraceDelegator sqlTraceDelegator) {
+        super(con, statement);
+        this.tracer = new SQLTracer(sqlTraceDelegator, statement, null);
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeQuery", sql);
+        long start = System.nanoTime();
+        ResultSet result = super.executeQuery(sql);
+        tracer.executed(record, start, result);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeUpdate", sql);
+        long start = System.nanoTime();
+        int result = super.executeUpdate(sql);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeUpdate", sql, autoGeneratedKeys);
+        long start = System.nanoTime();
+        int result = super.executeUpdate(sql, autoGeneratedKeys);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeUpdate", sql, columnIndexes);
+        long start = System.nanoTime();
+        int result = super.executeUpdate(sql, columnIndexes);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        SQLTraceRecord record = tracer.trace("executeUpdate", sql, columnNames);
+        long start = System.nanoTime();
+        int result = super.executeUpdate(sql, columnNames);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        SQLTraceRecord record = tracer.trace("execute", sql);
+        long start = System.nanoTime();
+        boolean result = super.execute(sql);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        SQLTraceRecord record = tracer.trace("execute", sql, autoGeneratedKeys);
+        long start = System.nanoTime();
+        boolean result = super.execute(sql, autoGeneratedKeys);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        SQLTraceRecord record = tracer.trace("execute", sql, columnIndexes);
+        long start = System.nanoTime();
+        boolean result = super.execute(sql, columnIndexes);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        SQLTraceRecord record = tracer.trace("execute", sql, columnNames);
+        long start = System.nanoTime();
+        boolean result = super.execute(sql, columnNames);
+        tracer.executed(record, start);
+        return result;
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        tracer.trace("addBatch", sql);
+        super.addBatch(sql);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.spi.DSManagedConnectionFactory;
+import com.sun.gjc.spi.ManagedConnectionImpl;
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.api.invocation.InvocationManagerImpl;
+import org.glassfish.api.jdbc.SQLTraceRecord;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProfiledConnectionWrapper40Test {
+
+    private static final String SQL = "SELECT * FROM TEST WHERE ID = ?";
+
+    private RecordingDelegator delegator;
+    private List<SQLTraceRecord> records;
+    private ProfiledConnectionWrapper40 connection;
+
+    @BeforeEach
+    public void createConnection() throws Exception {
+        delegator = new RecordingDelegator();
+        records = new ArrayList<>();
+        connection = createConnection(delegator);
+    }
+
+    @Test
+    public void preparedStatementWithoutListeners() throws Exception {
+        PreparedStatement statement = connection.prepareStatement(SQL);
+        statement.setInt(1, 42);
+        statement.executeUpdate();
+
+        assertInstanceOf(TracingPreparedStatement40.class, statement);
+        assertEquals(List.of(SQL), delegator.executedSql);
+        assertTrue(delegator.executionTimes.get(0) >= 0L);
+    }
+
+    @Test
+    public void preparedStatementWithListener() throws Exception {
+        delegator.registerSQLTraceListener(records::add);
+        PreparedStatement statement = connection.prepareStatement(SQL);
+        statement.setInt(1, 42);
+        statement.executeUpdate();
+        statement.close();
+
+        assertEquals(2, records.size(), "only the calls carrying SQL and the executions are reported");
+        assertAll(
+            () -> assertEquals("prepareStatement", records.get(0).getMethodName()),
+            () -> assertEquals(SQL, records.get(0).getSqlQuery().orElse(null)),
+            () -> assertEquals("testPool", records.get(0).getPoolName()),
+            () -> assertEquals("executeUpdate", records.get(1).getMethodName()),
+            () -> assertNull(records.get(1).getParams()),
+            () -> assertEquals(NoOpPreparedStatement.class.getName(), records.get(1).getClassName()),
+            () -> assertEquals(List.of(SQL), delegator.executedSql)
+        );
+    }
+
+    @Test
+    public void statementGetsSqlWithEachExecution() throws Exception {
+        delegator.registerSQLTraceListener(records::add);
+        Statement statement = connection.createStatement();
+        statement.executeUpdate("DELETE FROM TEST");
+        statement.addBatch("INSERT INTO TEST VALUES (1)");
+        statement.executeBatch();
+
+        assertInstanceOf(TracingStatement40.class, statement);
+        assertEquals(List.of("DELETE FROM TEST"), delegator.executedSql);
+        assertEquals(2, records.size());
+        assertArrayEquals(new Object[] {"INSERT INTO TEST VALUES (1)"}, records.get(1).getParams());
+    }
+
+    @Test
+    public void nativeSql() throws Exception {
+        delegator.registerSQLTraceListener(records::add);
+        connection.nativeSQL(SQL);
+
+        assertEquals(1, records.size());
+        assertEquals("nativeSQL", records.get(0).getMethodName());
+        assertEquals(SQL, records.get(0).getSqlQuery().orElse(null));
+    }
+
+
+    /**
+     * @return connection of the pool tracing the SQL, wrapping a driver connection which creates
+     *         {@link NoOpPreparedStatement} instances
+     */
+    static ProfiledConnectionWrapper40 createConnection(SQLTraceDelegator delegator) throws Exception {
+        Connection driverConnection = (Connection) Proxy.newProxyInstance(ProfiledConnectionWrapper40Test.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                    return new NoOpPreparedStatement();
+                }
+                return method.getReturnType() == boolean.class ? false : null;
+            });
+        ManagedConnectionImpl managedConnection = new ManagedConnectionImpl(null, driverConnection, null,
+            new DSManagedConnectionFactory(), new PoolInfo(SimpleJndiName.of("testPool")), 0, null, delegator, 0L,
+            false);
+        return new ProfiledConnectionWrapper40(driverConnection, managedConnection, null, true, delegator);
+    }
+
+
+    private static class RecordingDelegator extends SQLTraceDelegator {
+
+        final List<String> executedSql = new ArrayList<>();
+        final List<Long> executionTimes = new ArrayList<>();
+
+        RecordingDelegator() {
+            super(new SimpleJndiName("testPool"), new InvocationManagerImpl());
+        }
+
+        @Override
+        public void sqlExecuted(SQLTraceRecord record, String sql, long executionTimeInNanos, Object result) {
+            executedSql.add(sql);
+            executionTimes.add(executionTimeInNanos);
+            super.sqlExecuted(record, sql, executionTimeInNanos, result);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.lang.System.Logger;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.invocation.InvocationManagerImpl;
+import org.glassfish.api.jdbc.SQLTraceRecord;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the cost of traced JDBC calls made through the tracing statement wrappers and through the reflective
+ * {@link Proxy} used before them. Each operation binds two parameters and executes the prepared statement.
+ */
+public class SQLTraceBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(SQLTraceBenchmarkTest.class.getName());
+
+    private static final String SQL = "SELECT * FROM TEST WHERE ID = ? AND NAME = ?";
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeBatch");
+
+    @Test
+    public void tracedPreparedStatement() throws Exception {
+        Collection<RunResult> results = new Runner(createOptions()).run();
+        assertThat(results, hasSize(4));
+        for (RunResult result : results) {
+            LOG.log(INFO, "Wrapper: {0}, listener: {1}, score: {2} ops/us", result.getParams().getParam("wrapper"),
+                result.getParams().getParam("listener"), result.getPrimaryResult().getScore());
+        }
+    }
+
+
+    @Benchmark
+    public void bindAndExecute(TraceState state, Blackhole blackhole) throws SQLException {
+        state.statement.setInt(1, 42);
+        state.statement.setString(2, "name");
+        blackhole.consume(state.statement.executeUpdate());
+    }
+
+
+    private Options createOptions() {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(1).shouldFailOnError(true).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+    }
+
+
+    @State(Scope.Thread)
+    public static class TraceState {
+
+        @Param({"subclass", "proxy"})
+        public String wrapper;
+
+        @Param({"false", "true"})
+        public boolean listener;
+
+        PreparedStatement statement;
+
+        @Setup(Level.Trial)
+        public void createStatement() throws Exception {
+            SQLTraceDelegator delegator = new SQLTraceDelegator(new SimpleJndiName("benchmarkPool"),
+                new InvocationManagerImpl());
+            if (listener) {
+                delegator.registerSQLTraceListener(record -> {
+                });
+            }
+            ProfiledConnectionWrapper40 connection = ProfiledConnectionWrapper40Test.createConnection(delegator);
+            if ("subclass".equals(wrapper)) {
+                statement = connection.prepareStatement(SQL);
+            } else {
+                statement = createProxy(new PreparedStatementWrapper40(connection, new NoOpPreparedStatement(), false),
+                    delegator);
+            }
+        }
+
+        /**
+         * The proxy formerly created by the profiled connection wrapper.
+         */
+        private static PreparedStatement createProxy(PreparedStatement actual, SQLTraceDelegator delegator) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                SQLTraceRecord record = new SQLTraceRecord();
+                record.setMethodName(method.getName());
+                record.setParams(args);
+                record.setClassName(actual.getClass().getName());
+                record.setThreadName(Thread.currentThread().getName());
+                record.setThreadID(Thread.currentThread().threadId());
+                record.setTimeStamp(System.currentTimeMillis());
+                delegator.sqlTrace(record);
+                if (!EXECUTE_METHODS.contains(method.getName())) {
+                    return method.invoke(actual, args);
+                }
+
+                final long start = System.nanoTime();
+                final Object result = method.invoke(actual, args);
+                delegator.sqlExecuted(record, SQL, System.nanoTime() - start, result);
+                return result;
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(SQLTraceBenchmarkTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, handler);
+        }
+    }
+}
@@ -57,6 +57,7 @@ public class CollectHealthChecksExtension implements Extension {
         if (healthReporterService == null) {
             ServiceLocatorUtilities.addClasses(defaultBaseServiceLocator, true, HealthReporter.class);
             healthReporterService = defaultBaseServiceLocator.getService(HealthReporter.class);
+            healthReporterService.addListener(new HealthCheckStatistics());
         }
         service = healthReporterService;
     }
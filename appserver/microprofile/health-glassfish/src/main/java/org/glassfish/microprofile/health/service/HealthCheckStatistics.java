@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.microprofile.health.service;
+
+import com.sun.enterprise.util.SystemPropertyConstants;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.glassfish.external.probe.provider.PluginPoint;
+import org.glassfish.external.probe.provider.StatsProviderManager;
+import org.glassfish.microprofile.health.HealthCheckInfo;
+import org.glassfish.microprofile.health.HealthCheckListener;
+
+/**
+ * Publishes a {@link HealthCheckStatsProvider} for every health check in the monitoring tree of its application,
+ * at <tt>server.applications.&lt;application&gt;.microprofile-health.&lt;check&gt;</tt>. The statistics are
+ * enabled with the monitoring level of the web container, which serves the health endpoints.
+ */
+class HealthCheckStatistics implements HealthCheckListener {
+
+    private static final String CONFIG_ELEMENT = "web-container";
+    private static final String SUB_TREE = "microprofile-health";
+
+    // guarded by statsProviders
+    private final Map<String, Map<HealthCheckInfo, HealthCheckStatsProvider>> statsProviders = new HashMap<>();
+    // calls of removed checks may still complete, they must not register the checks again
+    private final Set<HealthCheckInfo> removedHealthChecks = Collections.newSetFromMap(new WeakHashMap<>());
+
+    @Override
+    public void healthCheckCompleted(String contextName, HealthCheckInfo healthCheck, HealthCheckResponse response,
+            long durationNanos, boolean timedOut) {
+        HealthCheckStatsProvider statsProvider;
+        synchronized (statsProviders) {
+            if (removedHealthChecks.contains(healthCheck)) {
+                return;
+            }
+            statsProvider = statsProviders.computeIfAbsent(contextName, k -> new HashMap<>())
+                .computeIfAbsent(healthCheck, k -> register(contextName, getName(healthCheck, response)));
+        }
+        statsProvider.healthCheckCompleted(response.getStatus(), TimeUnit.NANOSECONDS.toMillis(durationNanos),
+            timedOut);
+    }
+
+    @Override
+    public void healthChecksRemoved(String contextName, List<HealthCheckInfo> healthChecks) {
+        Map<HealthCheckInfo, HealthCheckStatsProvider> removed;
+        synchronized (statsProviders) {
+            removedHealthChecks.addAll(healthChecks);
+            removed = statsProviders.remove(contextName);
+        }
+        if (removed != null) {
+            removed.values().forEach(StatsProviderManager::unregister);
+        }
+    }
+
+    private static HealthCheckStatsProvider register(String contextName, String healthCheckName) {
+        HealthCheckStatsProvider statsProvider = new HealthCheckStatsProvider();
+        StatsProviderManager.register(CONFIG_ELEMENT, PluginPoint.APPLICATIONS,
+            escape(contextName) + "/" + SUB_TREE + "/" + escape(healthCheckName), statsProvider);
+        return statsProvider;
+    }
+
+    private static String getName(HealthCheckInfo healthCheck, HealthCheckResponse response) {
+        String name = response.getName();
+        return name == null ? healthCheck.healthCheck().getClass().getName() : name;
+    }
+
+    private static String escape(String name) {
+        return name.replace("/", SystemPropertyConstants.SLASH);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.microprofile.health.service;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Provides the monitoring data of one MicroProfile health check.
+ */
+@AMXMetadata(type = "microprofile-health-check-mon", group = "monitoring")
+@ManagedObject
+@Description("MicroProfile Health Check Statistics")
+public class HealthCheckStatsProvider {
+
+    private static final String EXECUTION_TIME_DESCRIPTION = "Duration of the calls of the health check";
+    private static final String DOWN_COUNT_DESCRIPTION = "Number of evaluations of the health check reported as DOWN";
+    private static final String TIMEOUT_COUNT_DESCRIPTION =
+        "Number of evaluations of the health check which did not respond in time";
+
+    private final TimeStatisticImpl executionTime = new TimeStatisticImpl(0L, 0L, 0L, 0L, "ExecutionTime",
+        StatisticImpl.UNIT_MILLISECOND, EXECUTION_TIME_DESCRIPTION, System.currentTimeMillis(), -1L);
+
+    private final CountStatisticImpl downCount = new CountStatisticImpl("DownCount", StatisticImpl.UNIT_COUNT,
+        DOWN_COUNT_DESCRIPTION);
+
+    private final CountStatisticImpl timeoutCount = new CountStatisticImpl("TimeoutCount", StatisticImpl.UNIT_COUNT,
+        TIMEOUT_COUNT_DESCRIPTION);
+
+    @ManagedAttribute(id = "executiontime")
+    @Description(EXECUTION_TIME_DESCRIPTION)
+    public TimeStatistic getExecutionTime() {
+        return executionTime;
+    }
+
+    @ManagedAttribute(id = "downcount")
+    @Description(DOWN_COUNT_DESCRIPTION)
+    public CountStatistic getDownCount() {
+        return downCount;
+    }
+
+    @ManagedAttribute(id = "timeoutcount")
+    @Description(TIMEOUT_COUNT_DESCRIPTION)
+    public CountStatistic getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    synchronized void healthCheckCompleted(HealthCheckResponse.Status status, long durationMillis, boolean timedOut) {
+        if (timedOut) {
+            timeoutCount.increment();
+        } else {
+            executionTime.incrementCount(durationMillis);
+        }
+        if (status == HealthCheckResponse.Status.DOWN) {
+            downCount.increment();
+        }
+    }
+}
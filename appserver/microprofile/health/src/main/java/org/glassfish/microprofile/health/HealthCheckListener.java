@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.microprofile.health;
+
+import java.util.List;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+/**
+ * Receives the outcome and the duration of every health check called by the {@link HealthReporter}.
+ * <p>
+ * Listeners may be called concurrently by the threads calling the checks and must return quickly.
+ * A check that timed out is reported by every report that gave up waiting for it, and once more
+ * with its real duration if its call returns later.
+ */
+public interface HealthCheckListener {
+
+    /**
+     * @param contextName name of the application of the health check
+     * @param healthCheck the health check
+     * @param response the response of the check, DOWN if it failed or timed out
+     * @param durationNanos how long the call took, or how long it was waited for if it timed out
+     * @param timedOut true if the check did not finish before its deadline
+     */
+    void healthCheckCompleted(String contextName, HealthCheckInfo healthCheck, HealthCheckResponse response,
+            long durationNanos, boolean timedOut);
+
+    /**
+     * Calls of the removed health checks which are still running may complete after this notification.
+     *
+     * @param contextName name of the application whose health checks were removed
+     * @param healthChecks the removed health checks
+     */
+    default void healthChecksRemoved(String contextName, List<HealthCheckInfo> healthChecks) {
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -15,13 +15,25 @@
  */
 package org.glassfish.microprofile.health;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Singleton;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,16 +41,77 @@ import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 
+/**
+ * Evaluates the health checks of all applications.
+ * <p>
+ * By default the checks are called one after another on the thread asking for the report. With
+ * <tt>-Dorg.glassfish.microprofile.health.concurrent=true</tt> they are called concurrently on virtual threads,
+ * at most <tt>org.glassfish.microprofile.health.maxConcurrency</tt> (16) at a time, and a check which does not
+ * respond within <tt>org.glassfish.microprofile.health.timeout</tt> milliseconds (10000) is reported DOWN.
+ * Reports asked for at the same time share the calls of their checks, and a check is not called again while
+ * a previous call is still running, so a check that hangs blocks one thread and not one per request.
+ * <p>
+ * With <tt>org.glassfish.microprofile.health.refreshInterval</tt> set to a positive number of milliseconds,
+ * the checks are evaluated by a background thread with this delay and reports are served from the last result.
+ * The result is discarded when health checks are added or removed.
+ * <p>
+ * The threads are stopped when the reporter is destroyed.
+ */
 @Singleton
 public class HealthReporter {
 
     private static final String MP_DEFAULT_STARTUP_EMPTY_RESPONSE = "mp.health.default.startup.empty.response";
     private static final String MP_DEFAULT_READINESS_EMPTY_RESPONSE = "mp.health.default.readiness.empty.response";
     private static final String CONTEXT_KEY = "context";
+    private static final String ROOT_CAUSE_KEY = "rootCause";
+
+    private static final String CONCURRENT_PROPERTY = "org.glassfish.microprofile.health.concurrent";
+    private static final String MAX_CONCURRENCY_PROPERTY = "org.glassfish.microprofile.health.maxConcurrency";
+    private static final String TIMEOUT_PROPERTY = "org.glassfish.microprofile.health.timeout";
+    private static final String REFRESH_INTERVAL_PROPERTY = "org.glassfish.microprofile.health.refreshInterval";
 
     private static final Logger LOGGER = Logger.getLogger(HealthReporter.class.getName());
 
     private final Map<String, List<HealthCheckInfo>> applicationHealthChecks = new ConcurrentHashMap<>();
+    private final List<HealthCheckListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final boolean concurrent;
+    private final long timeoutMillis;
+    private final long refreshIntervalMillis;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Map<HealthCheck, Future<HealthCheckResponse>> runningHealthChecks = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private long generation;
+    private ScheduledExecutorService refresher;
+    private boolean destroyed;
+    private volatile List<CheckResult> cachedResults;
+
+    private record CheckResult(String contextName, HealthCheckInfo healthCheck, HealthCheckResponse response) {
+
+        CheckResult withResponse(HealthCheckResponse newResponse) {
+            return new CheckResult(contextName, healthCheck, newResponse);
+        }
+    }
+
+    public HealthReporter() {
+        this(Boolean.getBoolean(CONCURRENT_PROPERTY), Integer.getInteger(MAX_CONCURRENCY_PROPERTY, 16),
+                Long.getLong(TIMEOUT_PROPERTY, 10_000L), Long.getLong(REFRESH_INTERVAL_PROPERTY, 0L));
+    }
+
+    HealthReporter(boolean concurrent, int maxConcurrency, long timeoutMillis, long refreshIntervalMillis) {
+        this.concurrent = concurrent;
+        this.timeoutMillis = timeoutMillis;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        if (concurrent) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("microprofile-health-", 0).factory());
+            permits = new Semaphore(Math.max(1, maxConcurrency));
+        } else {
+            executor = null;
+            permits = null;
+        }
+    }
 
     private static HealthCheckResponse callHealthCheck(HealthCheck healthCheck) {
         ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
@@ -60,11 +133,15 @@ public class HealthReporter {
             return response;
         }
     }
-    private static HealthCheckResponse buildHealthCheckResponse(String name, Exception e) {
+    private static HealthCheckResponse buildHealthCheckResponse(String name, Throwable e) {
+        return buildHealthCheckResponse(name, e.getMessage());
+    }
+
+    private static HealthCheckResponse buildHealthCheckResponse(String name, String rootCause) {
         return HealthCheckResponse.builder()
                 .down()
                 .name(name)
-                .withData("rootCause", e.getMessage())
+                .withData(ROOT_CAUSE_KEY, rootCause)
                 .build();
     }
 
@@ -119,17 +196,11 @@ public class HealthReporter {
     public HealthReport getReport(ReportKind reportKind) {
         HealthCheckResponse.Status emptyResponse = reportKind.getEmptyResponse();
 
-        List<HealthCheckResponse> healthCheckResults = applicationHealthChecks.entrySet()
-                .stream()
-                .flatMap(entry -> {
-                    String contextName = entry.getKey();
-                    return entry.getValue()
-                            .stream()
-                            .filter(reportKind::filter)
-                            .map(HealthCheckInfo::healthCheck)
-                            .map(HealthReporter::callHealthCheck)
-                            .map(response -> addContextToResponse(response, entry.getKey()));
-                }).toList();
+        List<CheckResult> results = refreshIntervalMillis > 0 ? getCachedResults() : evaluate(reportKind);
+        List<HealthCheckResponse> healthCheckResults = results.stream()
+                .filter(result -> reportKind.filter(result.healthCheck()))
+                .map(CheckResult::response)
+                .toList();
 
         HealthCheckResponse.Status overallStatus;
         if (healthCheckResults.isEmpty()) {
@@ -147,10 +218,210 @@ public class HealthReporter {
     public void addHealthCheck(String contextName, HealthCheckInfo healthCheck) {
         applicationHealthChecks.computeIfAbsent(contextName, k -> new CopyOnWriteArrayList<>())
                 .add(healthCheck);
+        invalidateCachedResults();
     }
 
     public void removeAllHealthChecksFrom(String contextName) {
-        applicationHealthChecks.remove(contextName);
+        List<HealthCheckInfo> removed = applicationHealthChecks.remove(contextName);
+        invalidateCachedResults();
+        for (HealthCheckListener listener : listeners) {
+            listener.healthChecksRemoved(contextName, removed == null ? List.of() : removed);
+        }
+    }
+
+    public void addListener(HealthCheckListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(HealthCheckListener listener) {
+        listeners.remove(listener);
+    }
+
+    private List<CheckResult> evaluate(ReportKind reportKind) {
+        List<CheckResult> checks = new ArrayList<>();
+        applicationHealthChecks.forEach((contextName, healthChecks) -> {
+            for (HealthCheckInfo healthCheck : healthChecks) {
+                if (reportKind.filter(healthCheck)) {
+                    checks.add(new CheckResult(contextName, healthCheck, null));
+                }
+            }
+        });
+        return concurrent ? callConcurrently(checks) : callSequentially(checks);
+    }
+
+    private List<CheckResult> callSequentially(List<CheckResult> checks) {
+        List<CheckResult> results = new ArrayList<>(checks.size());
+        for (CheckResult check : checks) {
+            long start = System.nanoTime();
+            HealthCheckResponse response = addContextToResponse(callHealthCheck(check.healthCheck().healthCheck()),
+                    check.contextName());
+            notifyListeners(check, response, System.nanoTime() - start, false);
+            results.add(check.withResponse(response));
+        }
+        return results;
+    }
+
+    private List<CheckResult> callConcurrently(List<CheckResult> checks) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<Future<HealthCheckResponse>> futures = new ArrayList<>(checks.size());
+        for (CheckResult check : checks) {
+            futures.add(submit(check));
+        }
+
+        List<CheckResult> results = new ArrayList<>(checks.size());
+        for (int i = 0; i < checks.size(); i++) {
+            CheckResult check = checks.get(i);
+            Future<HealthCheckResponse> future = futures.get(i);
+            String name = check.healthCheck().healthCheck().getClass().getName();
+            HealthCheckResponse response;
+            try {
+                response = future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // not cancelled, the call may be shared with other reports
+                response = addContextToResponse(
+                        buildHealthCheckResponse(name, "Health check did not respond within " + timeoutMillis + " ms"),
+                        check.contextName());
+                notifyListeners(check, response, System.nanoTime() - start, true);
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.SEVERE, "Health check failed", e.getCause());
+                response = addContextToResponse(buildHealthCheckResponse(name, e.getCause()), check.contextName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for health checks", e);
+            }
+            results.add(check.withResponse(response));
+        }
+        return results;
+    }
+
+    /**
+     * @return the running call of the health check, or a new one if it is not running
+     */
+    private Future<HealthCheckResponse> submit(CheckResult check) {
+        HealthCheck healthCheck = check.healthCheck().healthCheck();
+        CompletableFuture<HealthCheckResponse> call = new CompletableFuture<>();
+        Future<HealthCheckResponse> running = runningHealthChecks.putIfAbsent(healthCheck, call);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    call.complete(callWithPermit(check));
+                } catch (Throwable t) {
+                    call.completeExceptionally(t);
+                } finally {
+                    runningHealthChecks.remove(healthCheck, call);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the reporter was destroyed
+            runningHealthChecks.remove(healthCheck, call);
+            call.completeExceptionally(e);
+        }
+        return call;
+    }
+
+    private HealthCheckResponse callWithPermit(CheckResult check) throws InterruptedException {
+        permits.acquire();
+        try {
+            long start = System.nanoTime();
+            // the response may be shared by several reports, it is completed before they see it
+            HealthCheckResponse response = addContextToResponse(callHealthCheck(check.healthCheck().healthCheck()),
+                    check.contextName());
+            notifyListeners(check, response, System.nanoTime() - start, false);
+            return response;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void notifyListeners(CheckResult check, HealthCheckResponse response, long durationNanos,
+            boolean timedOut) {
+        for (HealthCheckListener listener : listeners) {
+            try {
+                listener.healthCheckCompleted(check.contextName(), check.healthCheck(), response, durationNanos,
+                        timedOut);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Health check listener failed", e);
+            }
+        }
+    }
+
+    private List<CheckResult> getCachedResults() {
+        List<CheckResult> results = cachedResults;
+        if (results == null) {
+            results = refresh();
+            startRefresher();
+        }
+        return results;
+    }
+
+    private List<CheckResult> refresh() {
+        long evaluatedGeneration;
+        synchronized (this) {
+            evaluatedGeneration = generation;
+        }
+        List<CheckResult> results = evaluate(ReportKind.ALL);
+        synchronized (this) {
+            // health checks changed during the evaluation, the next report evaluates them again
+            if (evaluatedGeneration == generation) {
+                cachedResults = results;
+            }
+        }
+        return results;
+    }
+
+    private synchronized void invalidateCachedResults() {
+        generation++;
+        cachedResults = null;
+    }
+
+    private synchronized void startRefresher() {
+        if (refresher != null || destroyed) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "microprofile-health-refresher");
+            thread.setDaemon(true);
+            // do not keep the class loader of the application whose report started the thread
+            thread.setContextClassLoader(null);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // the refresh interrupted by destroy() is not a failure
+                if (!isDestroyed()) {
+                    LOGGER.log(Level.WARNING, "Unable to refresh health check status", e);
+                }
+            }
+        }, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background refresh and the calls of the health checks still running.
+     */
+    @PreDestroy
+    public void destroy() {
+        ScheduledExecutorService stoppedRefresher;
+        synchronized (this) {
+            destroyed = true;
+            stoppedRefresher = refresher;
+            refresher = null;
+        }
+        if (stoppedRefresher != null) {
+            stoppedRefresher.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private synchronized boolean isDestroyed() {
+        return destroyed;
     }
 
     private static Optional<HealthCheckResponse.Status> getValue(String value) {
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.microprofile.health;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.glassfish.microprofile.health.HealthReporter.ReportKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.eclipse.microprofile.health.HealthCheckResponse.Status.DOWN;
+import static org.eclipse.microprofile.health.HealthCheckResponse.Status.UP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HealthReporterTest {
+
+    private HealthReporter reporter;
+
+    @AfterEach
+    public void destroyReporter() {
+        if (reporter != null) {
+            reporter.destroy();
+        }
+    }
+
+    @Test
+    public void checksAreCalledConcurrently() {
+        reporter = new HealthReporter(true, 4, 10_000L, 0L);
+        // every check waits for all the others, so they pass only if they are called at the same time
+        CountDownLatch called = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            String name = "check" + i;
+            reporter.addHealthCheck("app", info(() -> {
+                called.countDown();
+                return await(called) ? HealthCheckResponse.up(name) : HealthCheckResponse.down(name);
+            }));
+        }
+
+        HealthReport report = reporter.getReport(ReportKind.ALL);
+        assertAll(
+            () -> assertEquals(UP, report.status()),
+            () -> assertThat(names(report), contains("check0", "check1", "check2"))
+        );
+    }
+
+    @Test
+    public void checkNotRespondingBeforeTheDeadlineIsDown() {
+        reporter = new HealthReporter(true, 4, 100L, 0L);
+        List<Boolean> timedOut = new CopyOnWriteArrayList<>();
+        reporter.addListener((contextName, healthCheck, response, durationNanos, checkTimedOut)
+            -> timedOut.add(checkTimedOut));
+        CountDownLatch release = new CountDownLatch(1);
+        reporter.addHealthCheck("app", info(() -> {
+            await(release);
+            return HealthCheckResponse.up("slow");
+        }));
+        reporter.addHealthCheck("app", info(() -> HealthCheckResponse.up("fast")));
+        try {
+            long start = System.nanoTime();
+            HealthReport report = reporter.getReport(ReportKind.ALL);
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            HealthCheckResponse slow = report.checks().get(0);
+            assertAll(
+                () -> assertEquals(DOWN, report.status()),
+                () -> assertEquals(DOWN, slow.getStatus()),
+                () -> assertEquals("Health check did not respond within 100 ms",
+                    slow.getData().orElseThrow().get("rootCause")),
+                () -> assertEquals(UP, report.checks().get(1).getStatus()),
+                () -> assertTrue(waitedMillis < 5_000L, "waited " + waitedMillis + " ms"),
+                () -> assertThat(timedOut, containsInAnyOrder(true, false))
+            );
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void runningCallIsSharedByReports() {
+        reporter = new HealthReporter(true, 4, 100L, 0L);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        reporter.addHealthCheck("app", info(() -> {
+            calls.incrementAndGet();
+            await(release);
+            return HealthCheckResponse.up("shared");
+        }));
+        try {
+            assertAll(
+                () -> assertEquals(DOWN, reporter.getReport(ReportKind.ALL).status(), "first report"),
+                () -> assertEquals(DOWN, reporter.getReport(ReportKind.ALL).status(), "second report"),
+                () -> assertEquals(1, calls.get(), "calls while running")
+            );
+        } finally {
+            release.countDown();
+        }
+
+        // once the call returned, the next report calls the check again
+        assertTrue(waitUntil(() -> {
+            reporter.getReport(ReportKind.ALL);
+            return calls.get() >= 2;
+        }), "called again");
+    }
+
+    @Test
+    public void reportsAreServedFromTheCachedResult() {
+        reporter = new HealthReporter(false, 1, 10_000L, TimeUnit.HOURS.toMillis(1L));
+        AtomicInteger calls = new AtomicInteger();
+        reporter.addHealthCheck("app", info(() -> HealthCheckResponse.up("check" + calls.incrementAndGet())));
+
+        assertAll(
+            () -> assertThat(names(reporter.getReport(ReportKind.ALL)), contains("check1")),
+            () -> assertThat(names(reporter.getReport(ReportKind.ALL)), contains("check1")),
+            () -> assertEquals(1, calls.get(), "calls")
+        );
+    }
+
+    @Test
+    public void refresherStopsWhenDestroyed() throws Exception {
+        reporter = new HealthReporter(true, 4, 10_000L, 20L);
+        AtomicInteger calls = new AtomicInteger();
+        reporter.addHealthCheck("app", info(() -> HealthCheckResponse.up("check" + calls.incrementAndGet())));
+
+        reporter.getReport(ReportKind.ALL);
+        assertTrue(waitUntil(() -> calls.get() >= 3), "refreshed");
+
+        reporter.destroy();
+        Thread.sleep(100L);
+        int callsAfterDestroy = calls.get();
+        Thread.sleep(200L);
+        assertEquals(callsAfterDestroy, calls.get());
+    }
+
+    @Test
+    public void changedChecksAreEvaluatedAgain() {
+        reporter = new HealthReporter(false, 1, 10_000L, TimeUnit.HOURS.toMillis(1L));
+        AtomicInteger calls = new AtomicInteger();
+        HealthCheckInfo added = info(() -> HealthCheckResponse.up("added"));
+        reporter.addHealthCheck("app", info(() -> {
+            if (calls.incrementAndGet() == 1) {
+                // the checks change while they are evaluated, this result must not be cached
+                reporter.addHealthCheck("other", added);
+            }
+            return HealthCheckResponse.up("changing");
+        }));
+
+        assertThat(names(reporter.getReport(ReportKind.ALL)), contains("changing"));
+        assertAll(
+            () -> assertThat(names(reporter.getReport(ReportKind.ALL)), containsInAnyOrder("changing", "added")),
+            () -> assertThat(names(reporter.getReport(ReportKind.ALL)), containsInAnyOrder("changing", "added")),
+            () -> assertEquals(2, calls.get(), "calls")
+        );
+
+        reporter.removeAllHealthChecksFrom("other");
+        assertAll(
+            () -> assertThat(names(reporter.getReport(ReportKind.ALL)), contains("changing")),
+            () -> assertEquals(3, calls.get(), "calls")
+        );
+    }
+
+
+    private static HealthCheckInfo info(HealthCheck healthCheck) {
+        return new HealthCheckInfo(healthCheck, Set.of(HealthCheckInfo.Kind.LIVE));
+    }
+
+    private static List<String> names(HealthReport report) {
+        return report.checks().stream().map(HealthCheckResponse::getName).toList();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+}
@@ -49,13 +49,14 @@ import jakarta.transaction.TransactionManager;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -123,7 +124,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     // admin and monitoring related parameters
     private static final Hashtable<Integer, String> statusMap = new Hashtable<>();
-    private final List<Transaction> activeTransactions = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
     private boolean monitoringEnabled = false;
 
     private TransactionServiceProbeProvider monitor;
@@ -1011,6 +1012,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     /**
      * Modify the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     * The {@link TimingWheel} removes cancelled timeouts on its next tick, the value is kept for compatibility.
      */
     @Override
     public void setPurgeCancelledTtransactionsAfter(int num) {
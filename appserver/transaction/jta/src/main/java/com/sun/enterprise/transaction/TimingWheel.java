@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel for transaction timeouts.
+ * <p>
+ * Scheduling and cancelling a timeout are O(1) and do not lock, the timeouts are queued
+ * and moved to the wheel buckets by the worker thread on the next tick. Cancelled timeouts
+ * are unlinked from their bucket on the next tick, so they do not pile up. A timeout
+ * longer than one rotation of the wheel stays in its bucket for the remaining rounds.
+ * <p>
+ * The timeouts expire at most one tick late. The tasks are run by the worker thread
+ * and must be short, a task blocking the worker delays all other timeouts.
+ */
+public final class TimingWheel {
+
+    private static final Logger LOG = LogDomains.getLogger(TimingWheel.class, LogDomains.JTA_LOGGER);
+
+    private static final long DEFAULT_TICK_MILLIS = 100L;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static volatile TimingWheel defaultWheel;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+
+    private volatile Thread worker;
+    private volatile boolean closed;
+    private long tick;
+
+    /**
+     * @param name name of the worker thread
+     * @param tickDuration duration of one tick, the precision of the timeouts
+     * @param unit unit of the tick duration
+     * @param wheelSize number of buckets, rounded up to a power of two
+     */
+    public TimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0L || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive.");
+        }
+        this.name = name;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the wheel shared by the transaction timeouts, 100 ms per tick.
+     */
+    public static TimingWheel getDefault() {
+        TimingWheel result = defaultWheel;
+        if (result == null) {
+            synchronized (TimingWheel.class) {
+                result = defaultWheel;
+                if (result == null) {
+                    result = new TimingWheel("transaction-timeout", DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS,
+                        DEFAULT_WHEEL_SIZE);
+                    defaultWheel = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Schedules the task to run once after the delay.
+     *
+     * @param task the task to run
+     * @param delay delay before the run
+     * @param unit unit of the delay
+     * @return the timeout, which can be cancelled.
+     * @throws IllegalStateException if the wheel was closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (closed) {
+            throw new IllegalStateException("Timing wheel " + name + " was closed.");
+        }
+        startWorker();
+        long deadline = System.nanoTime() - startTime + Math.max(unit.toNanos(delay), 0L);
+        Timeout timeout = new Timeout(this, task, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return number of timeouts which have been neither cancelled nor expired.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker thread. The pending timeouts will never expire.
+     */
+    public void close() {
+        closed = true;
+        Thread stopped;
+        synchronized (this) {
+            stopped = worker;
+        }
+        if (stopped != null) {
+            LockSupport.unpark(stopped);
+        }
+    }
+
+    private void startWorker() {
+        if (worker != null) {
+            return;
+        }
+        synchronized (this) {
+            if (worker == null) {
+                Thread thread = new Thread(this::run, name);
+                thread.setDaemon(true);
+                thread.start();
+                worker = thread;
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            long currentTime = waitForNextTick();
+            if (closed) {
+                return;
+            }
+            transferScheduled();
+            removeCancelled();
+            wheel[(int) (tick & mask)].expire(currentTime);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepTime = deadline - currentTime;
+            if (sleepTime <= 0L || closed) {
+                return currentTime;
+            }
+            LockSupport.parkNanos(this, sleepTime);
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() != WAITING) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+
+    /**
+     * Timeout scheduled in a {@link TimingWheel}.
+     */
+    public static final class Timeout {
+
+        private final TimingWheel timingWheel;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        // Owned by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(TimingWheel timingWheel, Runnable task, long deadline) {
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, the task will not run.
+         *
+         * @return false if the timeout already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            timingWheel.pending.decrementAndGet();
+            timingWheel.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * @return true if the task was run or is running.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * @return true if the timeout was cancelled.
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            timingWheel.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.log(Level.WARNING, "enterprise_distributedtx.some_excep", t);
+            }
+        }
+    }
+
+
+    /**
+     * Doubly linked list of the timeouts in one slot of the wheel, used only by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long currentTime) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() != WAITING) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0L && timeout.deadline <= currentTime) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.remainingRounds > 0L) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
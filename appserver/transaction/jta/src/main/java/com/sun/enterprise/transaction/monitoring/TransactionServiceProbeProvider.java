@@ -48,4 +48,8 @@ public class TransactionServiceProbeProvider {
     @Probe(name = "freeze")
     public void freezeEvent(@ProbeParam("isFrozen") boolean b) {
     }
+
+    @Probe(name = "logforced")
+    public void logForcedEvent(@ProbeParam("batchSize") int batchSize, @ProbeParam("syncTime") long syncTime) {
+    }
 }
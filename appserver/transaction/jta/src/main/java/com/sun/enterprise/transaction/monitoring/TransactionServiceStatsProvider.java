@@ -26,9 +26,13 @@ import java.util.logging.Logger;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
 import org.glassfish.external.statistics.StringStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.RangeStatisticImpl;
 import org.glassfish.external.statistics.impl.StringStatisticImpl;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -62,6 +66,14 @@ public class TransactionServiceStatsProvider {
 
     private StringStatisticImpl state = new StringStatisticImpl("State", "String", "Indicates if the transaction service has been frozen.");
 
+    private RangeStatisticImpl logBatchSize = new RangeStatisticImpl(0L, 0L, 0L, "LogBatchSize", "count",
+            "Provides the number of forced records synced together by the transaction log group commit.",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
+    private TimeStatisticImpl logSyncTime = new TimeStatisticImpl(0L, 0L, 0L, 0L, "LogSyncTime", "microsecond",
+            "Provides the time of the syncs of the transaction log by the group commit.",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
     private boolean isFrozen = false;
 
     private JavaEETransactionManager txMgr;
@@ -98,6 +110,18 @@ public class TransactionServiceStatsProvider {
         return state;
     }
 
+    @ManagedAttribute(id = "logbatchsize")
+    @Description("Provides the number of forced records synced together by the transaction log group commit.")
+    public RangeStatistic getLogBatchSize() {
+        return logBatchSize;
+    }
+
+    @ManagedAttribute(id = "logsynctime")
+    @Description("Provides the time of the syncs of the transaction log by the group commit.")
+    public TimeStatistic getLogSyncTime() {
+        return logSyncTime;
+    }
+
     @ManagedAttribute(id = "activeids")
     @Description("List of inflight transactions.")
     public StringStatistic getActiveIds() {
@@ -194,6 +218,13 @@ public class TransactionServiceStatsProvider {
         isFrozen = b;
     }
 
+    @ProbeListener("glassfish:transaction:transaction-service:logforced")
+    public void logForcedEvent(@ProbeParam("batchSize") int batchSize, @ProbeParam("syncTime") long syncTime) {
+        _logger.fine(() -> "=== transaction-service log forced, batch: " + batchSize + ", sync: " + syncTime + " us");
+        logBatchSize.setCurrent(batchSize);
+        logSyncTime.incrementCount(syncTime);
+    }
+
     private void appendColumn(StringBuffer buf, String text, int length) {
         buf.append(text);
         for (int i = text.length(); i < length; i++) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    private final TimingWheel wheel = new TimingWheel("test-timeout", 10L, TimeUnit.MILLISECONDS, 4);
+
+    @AfterEach
+    public void close() {
+        wheel.close();
+    }
+
+    @Test
+    public void timeoutLongerThanRotationExpires() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        TimingWheel.Timeout timeout = wheel.schedule(expired::countDown, 200L, TimeUnit.MILLISECONDS);
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertAll(
+            () -> assertThat(elapsed, greaterThanOrEqualTo(200L)),
+            () -> assertTrue(timeout.isExpired()),
+            () -> assertFalse(timeout.cancel()),
+            () -> assertEquals(0, wheel.getPendingCount())
+        );
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotExpire() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch expired = new CountDownLatch(1);
+        TimingWheel.Timeout cancelled = wheel.schedule(runs::incrementAndGet, 50L, TimeUnit.MILLISECONDS);
+        wheel.schedule(expired::countDown, 100L, TimeUnit.MILLISECONDS);
+        assertEquals(2, wheel.getPendingCount());
+        assertTrue(cancelled.cancel());
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(0, runs.get()),
+            () -> assertTrue(cancelled.isCancelled()),
+            () -> assertFalse(cancelled.cancel()),
+            () -> assertEquals(0, wheel.getPendingCount())
+        );
+    }
+
+    @Test
+    public void failingTaskDoesNotStopWheel() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            throw new IllegalStateException("Expected failure");
+        }, 0L, TimeUnit.MILLISECONDS);
+        wheel.schedule(expired::countDown, 30L, TimeUnit.MILLISECONDS);
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void closedWheelRejectsTimeouts() {
+        wheel.close();
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> {}, 1L, TimeUnit.SECONDS));
+    }
+}
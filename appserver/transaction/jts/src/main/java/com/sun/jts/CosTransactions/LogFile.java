@@ -34,6 +34,8 @@ import com.sun.jts.utils.LogFormatter;
 import com.sun.logging.LogDomains;
 
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -79,6 +81,10 @@ class LogFile {
      */
     LogHandle handle = null;
 
+    /**The group commit of the forced records, null if disabled.
+     */
+    private final LogGroupCommit groupCommit;
+
     /**LogFile constructor.
      *
      * @param LogHandle
@@ -90,6 +96,7 @@ class LogFile {
         // Set up the instance variables to those values passed in.
 
         this.handle = handle;
+        this.groupCommit = LogGroupCommit.create(handle);
 
     }
 
@@ -111,34 +118,55 @@ class LogFile {
      *
      *
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
         // Write the record.
         // Set the result based on return code from log write.
+        // With the group commit, a forced record is buffered and the log is
+        // forced by the flusher after the log file lock is released.
+
+        CompletableFuture<Void> forced = null;
+        synchronized( this ) {
+            try {
+                boolean force = writeType == LogFile.FORCED && groupCommit == null;
+                LogLSN resultLSN = handle.writeRecord(record,recordType,
+                                                      (force ? LogHandle.FORCE : LogHandle.BUFFER));
+                if( recordLSN != null )
+                    recordLSN.copy(resultLSN);
+            } catch( LogException le ) {
+                throw logError(le);
+                //if( recordLSN != null )
+                //recordLSN.copy(LogLSN.NULL_LSN);
+                //result = false;
+            }
 
-        try {
-            LogLSN resultLSN = handle.writeRecord(record,recordType,
-                                                  (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER));
-            if( recordLSN != null )
-                recordLSN.copy(resultLSN);
-        } catch( LogException le ) {
-            _logger.log(Level.SEVERE,"jts.log_error",le.toString());
-             String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
-                                        new java.lang.Object[] {le.toString()});
-             throw (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
-            //if( recordLSN != null )
-            //recordLSN.copy(LogLSN.NULL_LSN);
-            //result = false;
+            if( writeType == LogFile.FORCED && groupCommit != null )
+                forced = groupCommit.force();
+        }
+
+        if( forced != null ) {
+            try {
+                forced.join();
+            } catch( CompletionException e ) {
+                throw logError((LogException) e.getCause());
+            }
         }
 
         return result;
     }
 
+    private static org.omg.CORBA.INTERNAL logError( LogException le ) {
+        _logger.log(Level.SEVERE,"jts.log_error",le.toString());
+        String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
+                                   new java.lang.Object[] {le.toString()});
+        return (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
+    }
+
     /**Informs the log that all log records older than the one with the given LSN
      * are no longer required.
      * <p>
@@ -231,6 +259,10 @@ class LogFile {
         boolean result = true;
 
         // Call to close the physical log.
+        // The group commit forces the pending records first.
+
+        if( groupCommit != null )
+            groupCommit.close();
 
         try {
             handle.closeFile(deleteFile);
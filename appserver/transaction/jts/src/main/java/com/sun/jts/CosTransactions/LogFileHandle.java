@@ -112,6 +112,7 @@ class LogFileHandle {
     int bufferUpdateStart = -1;
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
+    boolean flushedSinceSync = false;
 
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
@@ -356,7 +357,7 @@ class LogFileHandle {
             // If buffered, then ensure that the buffer is stored and synced with the
             // file system.
 
-            if( bufferUpdateStart != -1 )
+            if( bufferUpdateStart != -1 || flushedSinceSync )
                 fileSync();
 
             // Close the file.
@@ -428,12 +429,37 @@ class LogFileHandle {
         // Synchronization is only done for buffered files which have been updated.
         // Non-buffered files have every write synchronized with the file system.
 
+        FileDescriptor syncFd = fileFlush();
+        if( syncFd != null )
+            try {
+                syncFd.sync();
+                flushedSinceSync = false;
+            } catch (Throwable e) {
+                throw new LogException(LogException.LOG_READ_FAILURE,1,
+                        sm.getString("jts.log_file_sync_failed"), e);
+            }
+
+    }
+
+    /**Writes the updated part of the buffer to the file system without waiting
+     * for the data to reach the disk.
+     * <p>
+     * The returned descriptor can be synced after the log lock is released,
+     * the file stays flagged as not synced until {@link #fileSynced} is called.
+     *
+     * @return  The descriptor to be synced, or null if the file needs no sync.
+     *
+     * @exception LogException The write failed
+     *
+     */
+    FileDescriptor fileFlush() throws LogException {
+
         if( bufferUpdateStart != -1 )
             try {
                 fhandle.seek(bufferUpdateStart);
                 fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
                 if (dsyncProp == null)
-                    fd.sync();
+                    flushedSinceSync = true;
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
@@ -442,6 +468,16 @@ class LogFileHandle {
                         sm.getString("jts.log_file_sync_failed"), e);
             }
 
+        return flushedSinceSync ? fd : null;
+    }
+
+    /**Marks the data flushed by {@link #fileFlush} as synced.
+     *
+     *
+     *
+     */
+    void fileSynced() {
+        flushedSinceSync = false;
     }
 
     /**Reads a vector of records from the file.
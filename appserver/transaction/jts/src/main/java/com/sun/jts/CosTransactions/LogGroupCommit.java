@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.enterprise.transaction.monitoring.TransactionServiceProbeProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**Group commit of the forced records of a log file.
+ * <p>
+ * The forced records are written to the log buffers like unforced records,
+ * and the writers wait until a flusher thread forces the log. Records written
+ * by concurrent transactions while the log is being forced are forced together
+ * by the next single sync, instead of a sync per record under the log lock.
+ * <p>
+ * The group commit is enabled by the {@value #ENABLED_PROPERTY} system property.
+ * The {@value #MAX_DELAY_PROPERTY} system property sets the time in microseconds
+ * the flusher waits for more records before forcing the log, 0 by default.
+ */
+final class LogGroupCommit {
+
+    static final String ENABLED_PROPERTY = "com.sun.jts.log.groupcommit";
+    static final String MAX_DELAY_PROPERTY = "com.sun.jts.log.groupcommit.maxdelay";
+
+    private static final long JOIN_TIMEOUT = 10_000L;
+
+    private final LogHandle handle;
+    private final long maxDelayNanos;
+    private final TransactionServiceProbeProvider probeProvider = new TransactionServiceProbeProvider();
+
+    private final Object lock = new Object();
+    private List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private Thread flusher;
+    private boolean closed;
+
+    /**
+     * @param handle the log to be forced
+     * @param maxDelay max time in microseconds to wait for more records before forcing the log
+     */
+    LogGroupCommit(LogHandle handle, long maxDelay) {
+        this.handle = handle;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(maxDelay, 0L));
+    }
+
+    /**
+     * @param handle the log to be forced
+     * @return the group commit configured by the system properties, or null if disabled.
+     */
+    static LogGroupCommit create(LogHandle handle) {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        return new LogGroupCommit(handle, Long.getLong(MAX_DELAY_PROPERTY, 0L));
+    }
+
+    /**Requests the force of the records written so far.
+     *
+     * @return future completed when the records are on permanent storage,
+     *         or completed exceptionally with the {@link LogException} of the force.
+     */
+    CompletableFuture<Void> force() {
+        CompletableFuture<Void> forced = new CompletableFuture<>();
+        synchronized (lock) {
+            if (closed) {
+                forced.completeExceptionally(new LogException(null, LogException.LOG_NOT_INITIALISED, 1));
+                return forced;
+            }
+            pending.add(forced);
+            if (flusher == null) {
+                flusher = new Thread(this::flush, "jts-log-group-commit");
+                flusher.setDaemon(true);
+                flusher.start();
+            }
+            lock.notifyAll();
+        }
+        return forced;
+    }
+
+    /**Forces the pending records and stops the flusher.
+     * The log must not be written anymore.
+     */
+    void close() {
+        Thread stopped;
+        synchronized (lock) {
+            closed = true;
+            stopped = flusher;
+            lock.notifyAll();
+        }
+        if (stopped != null) {
+            try {
+                stopped.join(JOIN_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void flush() {
+        while (true) {
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // Only close stops the flusher, the writers are waiting.
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+            }
+            if (maxDelayNanos > 0L) {
+                LockSupport.parkNanos(maxDelayNanos);
+            }
+            List<CompletableFuture<Void>> batch;
+            synchronized (lock) {
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            long start = System.nanoTime();
+            LogException failure = null;
+            try {
+                handle.forceRecords();
+            } catch (LogException le) {
+                failure = le;
+            } catch (RuntimeException e) {
+                failure = new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, e.getMessage(), e);
+            }
+            long syncTime = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            for (CompletableFuture<Void> forced : batch) {
+                if (failure == null) {
+                    forced.complete(null);
+                } else {
+                    forced.completeExceptionally(failure);
+                }
+            }
+            probeProvider.logForcedEvent(batch.size(), syncTime);
+        }
+    }
+}
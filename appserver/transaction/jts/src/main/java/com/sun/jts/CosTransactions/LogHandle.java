@@ -21,10 +21,13 @@ package com.sun.jts.CosTransactions;
 import com.sun.enterprise.util.i18n.StringManager;
 
 import java.io.File;
+import java.io.FileDescriptor;
+import java.io.SyncFailedException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.List;
 
 /**A class containing attributes of an open log file.
  *
@@ -175,6 +178,7 @@ class LogHandle {
     LogHandle            blockValid = null;
     int                  restartDataLength = 0;
     int                  recordsWritten = 0;
+    long                 extentWrites = 0;
     int                  chunkRemaining = 0;
     int                  activeRestartVersion = 0;
     LogUpcallTarget      upcallTarget = null;
@@ -361,6 +365,7 @@ class LogHandle {
 
             logEDP.writtenSinceLastForce = true;
             logEDP.cursorPosition += bytesWritten;
+            extentWrites++;
 
             // Update the head LSN value in the Log_FileDescriptor block
             // with the LSN of the link record
@@ -509,6 +514,7 @@ class LogHandle {
 
         logEDP.writtenSinceLastForce = true;
         logEDP.cursorPosition += bytesWritten;
+        extentWrites++;
 
         // IF LOG_FORCE was specified
         //   LOOP through each extent chain in the hash table
@@ -571,6 +577,70 @@ class LogHandle {
         return result;
     }
 
+    /**Forces the records written so far to permanent storage.
+     * <p>
+     * The extent buffers are written under the log lock, the files are synced
+     * after the lock is released so that records can be written meanwhile.
+     * The extents stay flagged as written until no record was written during
+     * the sync, so that the control data is never written before the records
+     * it refers to are forced.
+     *
+     *
+     * @exception LogException The force failed.
+     *
+     */
+    void forceRecords() throws LogException {
+        List<LogExtent> flushed = new ArrayList<>();
+        List<FileDescriptor> descriptors = new ArrayList<>();
+        long writes;
+        synchronized( this ) {
+            if( blockValid != this ) {
+                throw new LogException(null,LogException.LOG_INVALID_FILE_DESCRIPTOR,1);
+            }
+
+            writes = extentWrites;
+            Enumeration extents = extentTable.elements();
+            while( extents.hasMoreElements() ) {
+                LogExtent nextEDP = (LogExtent)extents.nextElement();
+                if( nextEDP.writtenSinceLastForce ) {
+                    try {
+                        FileDescriptor fd = nextEDP.fileHandle.fileFlush();
+                        if( fd == null ) {
+                            nextEDP.writtenSinceLastForce = false;
+                        } else {
+                            flushed.add(nextEDP);
+                            descriptors.add(fd);
+                        }
+                    } catch (LogException le) {
+                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                                sm.getString("jts.log_file_sync_failed"), le);
+                    }
+                }
+            }
+        }
+
+        for( FileDescriptor fd : descriptors ) {
+            try {
+                fd.sync();
+            } catch (SyncFailedException e) {
+                // An extent closed meanwhile has been synced before it was closed.
+                if( fd.valid() ) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                            sm.getString("jts.log_file_sync_failed"), e);
+                }
+            }
+        }
+
+        synchronized( this ) {
+            if( writes == extentWrites ) {
+                for( LogExtent logEDP : flushed ) {
+                    logEDP.writtenSinceLastForce = false;
+                    logEDP.fileHandle.fileSynced();
+                }
+            }
+        }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
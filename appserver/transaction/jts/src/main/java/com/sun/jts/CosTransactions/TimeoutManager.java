@@ -31,6 +31,7 @@
 
 package com.sun.jts.CosTransactions;
 
+import com.sun.enterprise.transaction.TimingWheel;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
@@ -38,14 +39,15 @@ import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.omg.CosTransactions.Status;
 
 /**
- * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * This class records state for timing out transactions, and schedules
+ * the timeouts on a timing wheel.
  *
  * @version 0.01
  *
@@ -76,7 +78,8 @@ class TimeoutManager {
 
     private static Hashtable     pendingTimeouts = new Hashtable();
     private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
+    private static TimingWheel   timingWheel = null;
+    private static long          retryInterval = 10000;
     private static boolean       timeoutActive = false;
     private static boolean       quiescing = false;
     private static boolean       isSetTimeout = false;
@@ -103,7 +106,7 @@ class TimeoutManager {
 
         // Start the timeout thread.
 
-        if (!timeoutActive && timeoutThread == null) {
+        if (!timeoutActive && timingWheel == null) {
             //  timeoutThread = new TimeoutThread();
             //  timeoutThread.start();
             timeoutActive = true;
@@ -116,8 +119,80 @@ class TimeoutManager {
             return;
         }
         isSetTimeout = true;
-        timeoutThread = new TimeoutThread();
-        timeoutThread.start();
+        retryInterval = getRetryInterval();
+        timingWheel = new TimingWheel("JTS Timeout Thread"/* #Frozen */, 100L, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Returns the interval after which a timed out transaction which still
+     * exists is timed out again, at least ten seconds.
+     *
+     * @return  The interval in milliseconds.
+     *
+     */
+    private static long getRetryInterval() {
+        try {
+            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (timeout_interval != null) {
+                return Math.max(Integer.parseInt(timeout_interval) * 1000L, 10000L);
+            }
+        } catch (Exception e) {
+        }
+        return 10000L;
+    }
+
+    /**
+     * Schedules the expiration of the timeout after the given delay.
+     *
+     * @param timeoutInfo  The timeout.
+     * @param delay        The delay in milliseconds.
+     *
+     */
+    private static void schedule(TimeoutInfo timeoutInfo, long delay) {
+        TimingWheel wheel = timingWheel;
+        if (wheel != null) {
+            timeoutInfo.timeout = wheel.schedule(() -> expire(timeoutInfo), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels the scheduled expiration of the timeout, if any.
+     *
+     * @param timeoutInfo  The timeout, may be null.
+     *
+     */
+    private static void cancel(TimeoutInfo timeoutInfo) {
+        if (timeoutInfo != null && timeoutInfo.timeout != null) {
+            timeoutInfo.timeout.cancel();
+        }
+    }
+
+    /**
+     * Times out the transaction, if the timeout has not been replaced or removed
+     * meanwhile. Run by the timing wheel.
+     * <p>
+     * The timeout stays registered until the Coordinator is removed, so a
+     * transaction which still exists is timed out again after the retry interval.
+     *
+     * @param timeoutInfo  The expired timeout.
+     *
+     */
+    private static void expire(TimeoutInfo timeoutInfo) {
+        Hashtable timeouts =
+            timeoutInfo.timeoutType == IN_DOUBT_TIMEOUT ? indoubtTimeouts : pendingTimeouts;
+        if (timeouts == null || timeouts.get(timeoutInfo.localTID) != timeoutInfo) {
+            return;
+        }
+
+        timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
+
+        if (timeoutActive && timeouts.get(timeoutInfo.localTID) == timeoutInfo) {
+            try {
+                schedule(timeoutInfo, retryInterval);
+            } catch (IllegalStateException exc) {
+                // The timing wheel was closed meanwhile by the shutdown.
+            }
+        }
     }
 
     /**
@@ -157,7 +232,8 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    cancel((TimeoutInfo) pendingTimeouts.put(localTID, timeoutInfo));
+                    schedule(timeoutInfo, seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
@@ -168,7 +244,8 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    cancel((TimeoutInfo) indoubtTimeouts.put(localTID, timeoutInfo));
+                    schedule(timeoutInfo, seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -177,17 +254,19 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
-                    if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                    timeoutInfo = (TimeoutInfo) pendingTimeouts.remove(localTID);
+                    if (timeoutInfo == null) {
+                        timeoutInfo = (TimeoutInfo) indoubtTimeouts.remove(localTID);
                     }
+                    cancel(timeoutInfo);
+                    result = (timeoutInfo != null);
 
                     // If the transaction service is quiescing and
                     // there are no more pending timeouts,
-                    // deactivate timeout and stop the timeout thread.
+                    // deactivate timeout and stop the timing wheel.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
+                        timingWheel.close();
                         timeoutActive = false;
                         // pendingTimeouts = null;
                     }
@@ -315,101 +394,6 @@ class TimeoutManager {
         }
     }
 
-    /**
-     * Periodically checks the existing timeouts.
-     * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
-     *
-     *
-     * @return  The information for transactions which have timed out.
-     *
-     */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
-        }
-
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
-
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
-
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
-
-            }
-            // Enumerate the transactions which have timed out.
-
-            if (timedOut != null) {
-                result = timedOut.elements();
-            }
-        }
-
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
-
-        return result;
-    }
-
     /**
      * @return a set of in-doubt transaction ids.
      */
@@ -490,8 +474,8 @@ class TimeoutManager {
 
         if (immediate ||
             pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
+            if (timingWheel != null) {
+                timingWheel.close();
             }
 
             if (pendingTimeouts != null) {
@@ -499,7 +483,7 @@ class TimeoutManager {
             }
 
             pendingTimeouts = null;
-            timeoutThread = null;
+            timingWheel = null;
             timeoutActive = false;
         } else {
             quiescing = true;
@@ -568,94 +552,5 @@ class TimeoutInfo extends Object {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- */
-
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
-
-class TimeoutThread extends Thread {
-
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
-
-    /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
-     *
-     */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/* #Frozen */);
-        setDaemon(true);
-        try {
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if (timeout_interval != null) {
-                TIMEOUT_INTERVAL = Integer.parseInt(timeout_interval);
-                TIMEOUT_INTERVAL *= 1000;
-                if (TIMEOUT_INTERVAL < 10000)
-                    TIMEOUT_INTERVAL = 10000;
-            } else {
-                TIMEOUT_INTERVAL = 10000;
-            }
-        } catch (Exception e) {
-            TIMEOUT_INTERVAL = 10000;
-        }
-    }
-
-    /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
-     *
-     *
-     *
-     */
-    public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
-        }
-    }
+    volatile TimingWheel.Timeout timeout = null;
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogGroupCommitTest {
+
+    @Test
+    public void concurrentForcesShareSync() throws Exception {
+        CountDownLatch firstSync = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        CountingLogHandle handle = new CountingLogHandle(() -> {
+            firstSync.countDown();
+            released.await();
+        });
+        LogGroupCommit groupCommit = new LogGroupCommit(handle, 0L);
+        try {
+            CompletableFuture<Void> first = groupCommit.force();
+            assertTrue(firstSync.await(10, TimeUnit.SECONDS));
+            List<CompletableFuture<Void>> waiting = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                waiting.add(groupCommit.force());
+            }
+            released.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            for (CompletableFuture<Void> forced : waiting) {
+                forced.get(10, TimeUnit.SECONDS);
+            }
+            assertAll(
+                () -> assertThat(handle.forces.get(), greaterThanOrEqualTo(2)),
+                () -> assertThat(handle.forces.get(), lessThan(11))
+            );
+        } finally {
+            released.countDown();
+            groupCommit.close();
+        }
+    }
+
+    @Test
+    public void failedForceFailsBatch() throws Exception {
+        CountingLogHandle handle = new CountingLogHandle(() -> {
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14, "sync failed", null);
+        });
+        LogGroupCommit groupCommit = new LogGroupCommit(handle, 100L);
+        try {
+            CompletableFuture<Void> forced = groupCommit.force();
+            CompletionException e = assertThrows(CompletionException.class, forced::join);
+            assertThat(e.getCause(), instanceOf(LogException.class));
+        } finally {
+            groupCommit.close();
+        }
+    }
+
+    @Test
+    public void closeForcesPendingRecords() throws Exception {
+        CountingLogHandle handle = new CountingLogHandle(() -> {});
+        LogGroupCommit groupCommit = new LogGroupCommit(handle, 1000L);
+        CompletableFuture<Void> forced = groupCommit.force();
+        groupCommit.close();
+        forced.get(10, TimeUnit.SECONDS);
+        assertThrows(CompletionException.class, () -> groupCommit.force().join());
+    }
+
+    @FunctionalInterface
+    private interface Force {
+        void force() throws Exception;
+    }
+
+    private static class CountingLogHandle extends LogHandle {
+
+        final AtomicInteger forces = new AtomicInteger();
+        private final Force force;
+
+        CountingLogHandle(Force force) throws LogException {
+            super(null, "test", null, null);
+            this.force = force;
+        }
+
+        @Override
+        void forceRecords() throws LogException {
+            forces.incrementAndGet();
+            try {
+                force.force();
+            } catch (LogException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import org.glassfish.external.probe.provider.annotations.Probe;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
+import org.glassfish.external.probe.provider.annotations.ProbeProvider;
+
+/**
+ * Provider interface for the probes of the sun-web.xml response cache.
+ */
+@ProbeProvider(moduleProviderName="glassfish", moduleName="web", probeProviderName="response-cache")
+public class ResponseCacheProbeProvider {
+
+    /**
+     * Emits probe event that a response body of <code>bytes</code> bytes
+     * has been served from the cache.
+     */
+    @Probe(name="cacheHitEvent")
+    public void cacheHitEvent(
+        @ProbeParam("bytes") int bytes,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
+    /**
+     * Emits probe event that a conditional request has been answered with
+     * <code>304 Not Modified</code> from the cache.
+     */
+    @Probe(name="cacheNotModifiedEvent")
+    public void cacheNotModifiedEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
+    /**
+     * Emits probe event that a cacheable response has not been found in the
+     * cache and has been generated.
+     */
+    @Probe(name="cacheMissEvent")
+    public void cacheMissEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
+    /**
+     * Emits probe event that a response of <code>bytes</code> bytes has been
+     * added to the cache.
+     */
+    @Probe(name="cacheEntryAddedEvent")
+    public void cacheEntryAddedEvent(
+        @ProbeParam("bytes") int bytes,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
+    /**
+     * Emits probe event that a response of <code>bytes</code> bytes has been
+     * replaced, removed or evicted from the cache.
+     */
+    @Probe(name="cacheEntryRemovedEvent")
+    public void cacheEntryRemovedEvent(
+        @ProbeParam("bytes") int bytes,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.RangeStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+import org.glassfish.web.admin.LogFacade;
+
+/**
+ * Provides the monitoring data of the sun-web.xml response cache
+ */
+@AMXMetadata(type="response-cache-mon", group="monitoring")
+@ManagedObject
+@Description( "Web Container Response Cache Statistics" )
+public class ResponseCacheStatsProvider {
+
+    private static final Logger logger = LogFacade.getLogger();
+
+    private static final String HIT_COUNT_DESCRIPTION =
+        "Total number of responses served from the cache";
+    private static final String NOT_MODIFIED_COUNT_DESCRIPTION =
+        "Total number of conditional requests answered with 304 from the cache";
+    private static final String MISS_COUNT_DESCRIPTION =
+        "Total number of cacheable responses not found in the cache";
+    private static final String BYTES_SERVED_DESCRIPTION =
+        "Total number of response body bytes served from the cache";
+    private static final String CACHED_BYTES_DESCRIPTION =
+        "Number of response body bytes held by the cache";
+
+    private String moduleName;
+    private String vsName;
+
+    private CountStatisticImpl hitCount;
+    private CountStatisticImpl notModifiedCount;
+    private CountStatisticImpl missCount;
+    private CountStatisticImpl bytesServed;
+    private RangeStatisticImpl cachedBytes;
+
+    public ResponseCacheStatsProvider(String moduleName, String vsName) {
+        this.moduleName = moduleName;
+        this.vsName = vsName;
+        long curTime = System.currentTimeMillis();
+        hitCount = new CountStatisticImpl("HitCount",
+            StatisticImpl.UNIT_COUNT, HIT_COUNT_DESCRIPTION);
+        notModifiedCount = new CountStatisticImpl("NotModifiedCount",
+            StatisticImpl.UNIT_COUNT, NOT_MODIFIED_COUNT_DESCRIPTION);
+        missCount = new CountStatisticImpl("MissCount",
+            StatisticImpl.UNIT_COUNT, MISS_COUNT_DESCRIPTION);
+        bytesServed = new CountStatisticImpl("BytesServed",
+            "byte(s)", BYTES_SERVED_DESCRIPTION);
+        cachedBytes = new RangeStatisticImpl(
+            0L, 0L, 0L, "CachedBytes", "byte(s)",
+            CACHED_BYTES_DESCRIPTION, curTime, curTime);
+    }
+
+    @ManagedAttribute(id="hitcount")
+    @Description(HIT_COUNT_DESCRIPTION)
+    public CountStatistic getHitCount() {
+        return hitCount;
+    }
+
+    @ManagedAttribute(id="notmodifiedcount")
+    @Description(NOT_MODIFIED_COUNT_DESCRIPTION)
+    public CountStatistic getNotModifiedCount() {
+        return notModifiedCount;
+    }
+
+    @ManagedAttribute(id="misscount")
+    @Description(MISS_COUNT_DESCRIPTION)
+    public CountStatistic getMissCount() {
+        return missCount;
+    }
+
+    @ManagedAttribute(id="bytesserved")
+    @Description(BYTES_SERVED_DESCRIPTION)
+    public CountStatistic getBytesServed() {
+        return bytesServed;
+    }
+
+    @ManagedAttribute(id="cachedbytes")
+    @Description(CACHED_BYTES_DESCRIPTION)
+    public RangeStatistic getCachedBytes() {
+        return cachedBytes;
+    }
+
+    @ProbeListener("glassfish:web:response-cache:cacheHitEvent")
+    public void cacheHitEvent(
+        @ProbeParam("bytes") int bytes,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {
+
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("[TM]cacheHitEvent received - bytes = " + bytes +
+                          ": appname = " + appName + ": hostName = " + hostName);
+        }
+        if (isValidEvent(appName, hostName)) {
+            hitCount.increment();
+            bytesServed.increment(bytes);
+        }
+    }
+
+    @ProbeListener("glassfish:web:response-cache:cacheNotModifiedEvent")
+    public void cacheNotModifiedEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {
+
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("[TM]cacheNotModifiedEvent received - appname = " +
+                          appName + ": hostName = " + hostName);
+        }
+        if (isValidEvent(appName, hostName)) {
+            notModifiedCount.increment();
+        }
+    }
+
+    @ProbeListener("glassfish:web:response-cache:cacheMissEvent")
+    public void cacheMissEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {
+
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("[TM]cacheMissEvent received - appname = " +
+                          appName + ": hostName = " + hostName);
+        }
+        if (isValidEvent(appName, hostName)) {
+            missCount.increment();
+        }
+    }
+
+    @ProbeListener("glassfish:web:response-cache:cacheEntryAddedEvent")
+    public void cacheEntryAddedEvent(
+        @ProbeParam("bytes") int bytes,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {
+
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("[TM]cacheEntryAddedEvent received - bytes = " + bytes +
+                          ": appname = " + appName + ": hostName = " + hostName);
+        }
+        if (isValidEvent(appName, hostName)) {
+            updateCachedBytes(bytes);
+        }
+    }
+
+    @ProbeListener("glassfish:web:response-cache:cacheEntryRemovedEvent")
+    public void cacheEntryRemovedEvent(
+        @ProbeParam("bytes") int bytes,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {
+
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("[TM]cacheEntryRemovedEvent received - bytes = " + bytes +
+                          ": appname = " + appName + ": hostName = " + hostName);
+        }
+        if (isValidEvent(appName, hostName)) {
+            updateCachedBytes(-bytes);
+        }
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getVSName() {
+        return vsName;
+    }
+
+    private void updateCachedBytes(long delta) {
+        synchronized (cachedBytes) {
+            cachedBytes.setCurrent(cachedBytes.getCurrent() + delta);
+        }
+    }
+
+    private boolean isValidEvent(String mName, String hostName) {
+        if ((moduleName == null) || (vsName == null)) {
+            return true;
+        }
+        return moduleName.equals(mName) && vsName.equals(hostName);
+    }
+}
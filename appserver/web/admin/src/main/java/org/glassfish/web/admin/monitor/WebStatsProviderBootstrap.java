@@ -75,6 +75,7 @@ public class WebStatsProviderBootstrap implements PostConstruct {
         RequestStatsProvider wsp = new RequestStatsProvider(null, null);
         ServletStatsProvider svsp = new ServletStatsProvider(null, null);
         SessionStatsProvider sssp = new SessionStatsProvider(null, null);
+        ResponseCacheStatsProvider rcsp = new ResponseCacheStatsProvider(null, null);
         StatsProviderManager.register("web-container", PluginPoint.SERVER,
             "web/jsp", jsp);
         StatsProviderManager.register("web-container", PluginPoint.SERVER,
@@ -83,10 +84,13 @@ public class WebStatsProviderBootstrap implements PostConstruct {
             "web/servlet", svsp);
         StatsProviderManager.register("web-container", PluginPoint.SERVER,
             "web/session", sssp);
+        StatsProviderManager.register("web-container", PluginPoint.SERVER,
+            "web/response-cache", rcsp);
         webContainerStatsProviderQueue.add(jsp);
         webContainerStatsProviderQueue.add(wsp);
         webContainerStatsProviderQueue.add(svsp);
         webContainerStatsProviderQueue.add(sssp);
+        webContainerStatsProviderQueue.add(rcsp);
 
         isWebStatsProvidersRegistered.set(true);
     }
@@ -137,6 +141,12 @@ public class WebStatsProviderBootstrap implements PostConstruct {
                 "web-container", PluginPoint.APPLICATIONS, node,
                 sessionStatsProvider);
         statspList.add(sessionStatsProvider);
+        ResponseCacheStatsProvider responseCacheStatsProvider =
+                new ResponseCacheStatsProvider(monitoringName, vsName);
+        StatsProviderManager.register(
+                "web-container", PluginPoint.APPLICATIONS, node,
+                responseCacheStatsProvider);
+        statspList.add(responseCacheStatsProvider);
         RequestStatsProvider websp =
                 new RequestStatsProvider(monitoringName, vsName);
         StatsProviderManager.register(
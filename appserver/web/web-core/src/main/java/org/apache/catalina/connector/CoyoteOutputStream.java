@@ -21,6 +21,7 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ResourceBundle;
 
 import org.apache.catalina.LogFacade;
@@ -115,6 +116,21 @@ public class CoyoteOutputStream
     }
 
 
+    /**
+     * Writes the remaining content of the buffer without copying it.
+     * The buffer must not be modified after this call.
+     */
+    public void write(ByteBuffer byteBuffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.writeByteBuffer(byteBuffer);
+    }
+
+
     /**
      * Will send the buffer to the client.
      */
@@ -23,6 +23,7 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -254,6 +255,22 @@ public class OutputBuffer extends Writer implements ByteChunk.ByteOutputChannel
 
     }
 
+    /**
+     * Writes the remaining content of the given buffer without copying it. The buffer is handed over to the
+     * connector, which may complete the write asynchronously, so the caller must not modify it afterwards.
+     */
+    public void writeByteBuffer(ByteBuffer byteBuffer) throws IOException {
+        if (suspended || grizzlyOutputBuffer.isClosed())
+            return;
+
+        log.log(FINE, "writeByteBuffer(byteBuffer)");
+
+        int len = byteBuffer.remaining();
+        grizzlyOutputBuffer.writeByteBuffer(byteBuffer);
+        bytesWritten += len;
+
+    }
+
     // XXX Char or byte ?
     public void writeByte(int b) throws IOException {
         if (suspended)
@@ -641,6 +641,11 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     protected int cacheTTL = 5000;
 
+    /**
+     * Should the resource cache map the content of large files to memory?
+     */
+    protected boolean cacheMapped;
+
     /**
      * Non proxied resources.
      */
@@ -898,6 +903,20 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         this.cacheMaxSize = cacheMaxSize;
     }
 
+    /**
+     * @return true if the resource cache maps the content of large files to memory.
+     */
+    public boolean isCacheMapped() {
+        return cacheMapped;
+    }
+
+    /**
+     * Set whether the resource cache maps the content of large files to memory.
+     */
+    public void setCacheMapped(boolean cacheMapped) {
+        this.cacheMapped = cacheMapped;
+    }
+
     /**
      * @return the "follow standard delegation model" flag used to configure our ClassLoader.
      */
@@ -1573,6 +1592,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             baseDirContext.setCached(isCachingAllowed());
             baseDirContext.setCacheTTL(getCacheTTL());
             baseDirContext.setCacheMaxSize(getCacheMaxSize());
+            baseDirContext.setCacheMapped(isCacheMapped());
         }
 
         if (resources instanceof FileDirContext) {
@@ -1604,6 +1624,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             ((BaseDirContext) resources).setCached(isCachingAllowed());
             ((BaseDirContext) resources).setCacheTTL(getCacheTTL());
             ((BaseDirContext) resources).setCacheMaxSize(getCacheMaxSize());
+            ((BaseDirContext) resources).setCacheMapped(isCacheMapped());
         }
 
         if (resources instanceof FileDirContext) {
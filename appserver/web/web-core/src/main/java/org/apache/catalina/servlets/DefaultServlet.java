@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -46,6 +46,7 @@ import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -73,6 +74,7 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -230,6 +232,17 @@ public class DefaultServlet extends HttpServlet {
      */
     protected boolean useAcceptRanges = true;
 
+    /**
+     * Should the precompressed variants of static resources (<code>.br</code> and <code>.gz</code> files next to the
+     * resource) be served to clients accepting them?
+     */
+    protected boolean precompressed = false;
+
+    /**
+     * Content codings of the precompressed variants in the order of preference, followed by the file name suffixes.
+     */
+    private static final String[][] PRECOMPRESSED_VARIANTS = { { "br", ".br" }, { "gzip", ".gz" } };
+
     /**
      * Full range marker.
      */
@@ -330,6 +343,8 @@ public class DefaultServlet extends HttpServlet {
             useAcceptRanges = Boolean.parseBoolean(sc.getInitParameter("useAcceptRanges"));
         }
 
+        precompressed = Boolean.parseBoolean(sc.getInitParameter("precompressed"));
+
         // Sanity check on the specified buffer sizes
         if (input < 256) {
             input = 256;
@@ -784,25 +799,42 @@ public class DefaultServlet extends HttpServlet {
             }
         }
 
+        // Find content type.
+        String contentType = cacheEntry.attributes.getMimeType();
+        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
+            contentType = getServletContext().getMimeType(cacheEntry.name);
+            cacheEntry.attributes.setMimeType(contentType);
+        }
+
+        // Serve the precompressed variant instead, if the client accepts it.
+        // The lookups of the variants are cached with the resource.
+        String contentEncoding = null;
+        boolean included = (request.getAttribute(RequestDispatcher.INCLUDE_CONTEXT_PATH) != null);
+        if (precompressed && cacheEntry.context == null && !included) {
+            CacheEntry[] variants = lookupPrecompressedVariants(proxyDirContext, path);
+            if (variants != null) {
+                response.addHeader("Vary", "Accept-Encoding");
+                int selected = request.getHeader("Range") == null
+                    ? selectPrecompressedVariant(variants, request.getHeader("Accept-Encoding"))
+                    : -1;
+                if (selected >= 0) {
+                    cacheEntry = variants[selected];
+                    contentEncoding = PRECOMPRESSED_VARIANTS[selected][0];
+                }
+            }
+        }
+
         // Check if the conditions specified in the optional If headers are
         // satisfied.
         if (cacheEntry.context == null) {
 
             // Checking If headers
-            boolean included = (request.getAttribute(RequestDispatcher.INCLUDE_CONTEXT_PATH) != null);
             if (!included && !checkIfHeaders(request, response, cacheEntry.attributes)) {
                 return;
             }
 
         }
 
-        // Find content type.
-        String contentType = cacheEntry.attributes.getMimeType();
-        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
-            contentType = getServletContext().getMimeType(cacheEntry.name);
-            cacheEntry.attributes.setMimeType(contentType);
-        }
-
         ArrayList<Range> ranges = null;
         long contentLength = -1L;
 
@@ -836,6 +868,10 @@ public class DefaultServlet extends HttpServlet {
             // Last-Modified header
             response.setHeader("Last-Modified", cacheEntry.attributes.getLastModifiedHttp());
 
+            if (contentEncoding != null) {
+                response.setHeader("Content-Encoding", contentEncoding);
+            }
+
             // Get content length
             contentLength = cacheEntry.attributes.getContentLength();
             // Special case for zero length files, which would cause a
@@ -1909,7 +1945,12 @@ public class DefaultServlet extends HttpServlet {
         if (cacheEntry.resource != null) {
             byte buffer[] = cacheEntry.resource.getContent();
             if (buffer != null) {
-                ostream.write(buffer, 0, buffer.length);
+                write(ByteBuffer.wrap(buffer), ostream);
+                return;
+            }
+            ByteBuffer mappedContent = cacheEntry.resource.getMappedContent();
+            if (mappedContent != null) {
+                write(mappedContent, ostream);
                 return;
             }
             resourceInputStream = cacheEntry.resource.streamContent();
@@ -1988,6 +2029,16 @@ public class DefaultServlet extends HttpServlet {
 
         IOException exception = null;
 
+        // Optimization: If the content is already loaded or mapped, send the
+        // range directly
+        ByteBuffer content = getCachedContent(cacheEntry);
+        if (content != null && range.end < content.limit()) {
+            content.position((int) range.start);
+            content.limit((int) range.end + 1);
+            write(content, ostream);
+            return;
+        }
+
         InputStream resourceInputStream = cacheEntry.resource.streamContent();
         InputStream istream = new BufferedInputStream(resourceInputStream, input);
         try {
@@ -2142,6 +2193,124 @@ public class DefaultServlet extends HttpServlet {
 
     }
 
+    /**
+     * Write the remaining content of the buffer to the output stream. Content larger than the output buffer is handed
+     * over to the connector without copying if the stream is not wrapped, so it must never be modified afterwards.
+     *
+     * @param content The content to write, read-only or immutable
+     * @param ostream The output stream to write to
+     * @exception IOException if an input/output error occurs
+     */
+    protected void write(ByteBuffer content, ServletOutputStream ostream) throws IOException {
+        boolean direct = ostream instanceof CoyoteOutputStream;
+        if (content.hasArray() && (!direct || content.remaining() < output)) {
+            ostream.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            return;
+        }
+        if (direct) {
+            ((CoyoteOutputStream) ostream).write(content);
+            return;
+        }
+        byte buffer[] = new byte[Math.min(output, content.remaining())];
+        while (content.hasRemaining()) {
+            int len = Math.min(buffer.length, content.remaining());
+            content.get(buffer, 0, len);
+            ostream.write(buffer, 0, len);
+        }
+    }
+
+    /**
+     * @param cacheEntry The CacheEntry object
+     * @return a new view of the content loaded or mapped by the cache, or null if the content has to be streamed
+     */
+    protected ByteBuffer getCachedContent(CacheEntry cacheEntry) {
+        if (cacheEntry.resource == null) {
+            return null;
+        }
+        byte buffer[] = cacheEntry.resource.getContent();
+        if (buffer != null) {
+            return ByteBuffer.wrap(buffer);
+        }
+        return cacheEntry.resource.getMappedContent();
+    }
+
+    /**
+     * Look up the precompressed variants of a resource.
+     *
+     * @param proxyDirContext The resources of the web application
+     * @param path The path of the resource
+     * @return the entries of the variants in the order of preference, null for the missing ones, or null if the
+     * resource has no variant at all
+     */
+    protected CacheEntry[] lookupPrecompressedVariants(ProxyDirContext proxyDirContext, String path) {
+        CacheEntry[] variants = null;
+        for (int i = 0; i < PRECOMPRESSED_VARIANTS.length; i++) {
+            CacheEntry variantEntry = proxyDirContext.lookupCache(path + PRECOMPRESSED_VARIANTS[i][1]);
+            if (variantEntry.exists && variantEntry.context == null) {
+                if (variants == null) {
+                    variants = new CacheEntry[PRECOMPRESSED_VARIANTS.length];
+                }
+                variants[i] = variantEntry;
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Select the preferred precompressed variant the client accepts.
+     *
+     * @param variants The entries of the variants, null for the missing ones
+     * @param acceptEncoding The Accept-Encoding header, may be null
+     * @return the index of the selected variant, or -1 if the client accepts none of them
+     */
+    protected int selectPrecompressedVariant(CacheEntry[] variants, String acceptEncoding) {
+        for (int i = 0; i < variants.length; i++) {
+            if (variants[i] != null && isAccepted(acceptEncoding, PRECOMPRESSED_VARIANTS[i][0])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if the content coding is acceptable according to the Accept-Encoding header.
+     *
+     * @param acceptEncoding The Accept-Encoding header, may be null
+     * @param coding The content coding
+     * @return true if the client accepts the coding
+     */
+    protected boolean isAccepted(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double anyQuality = 0;
+        StringTokenizer tokens = new StringTokenizer(acceptEncoding, ",");
+        while (tokens.hasMoreTokens()) {
+            String token = tokens.nextToken().trim();
+            String name = token;
+            double quality = 1;
+            int semicolon = token.indexOf(';');
+            if (semicolon >= 0) {
+                name = token.substring(0, semicolon).trim();
+                String parameter = token.substring(semicolon + 1).trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase(coding)) {
+                return quality > 0;
+            }
+            if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return anyQuality > 0;
+    }
+
     /**
      * Copy the contents of the specified input stream to the specified output stream, and ensure that both streams are
      * closed before returning (even in the face of an exception).
@@ -18,7 +18,6 @@
 package org.apache.catalina.session;
 
 import com.sun.enterprise.util.uuid.UuidGenerator;
-import com.sun.enterprise.util.uuid.UuidGeneratorImpl;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -36,6 +35,7 @@ import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
@@ -134,7 +134,7 @@ public abstract class ManagerBase implements Manager {
     /**
      * The Uuid Generator to be used when generating universally unique session identifiers. HERCULES: add
      */
-    protected UuidGenerator uuidGenerator = new UuidGeneratorImpl();
+    protected UuidGenerator uuidGenerator = new SecureSessionIdGenerator(sessionIdLength);
 
     /**
      * The Java class name of the random number generator class to be used when generating session identifiers.
@@ -168,6 +168,11 @@ public abstract class ManagerBase implements Manager {
 
     protected final Object maxActiveUpdateLock = new Object();
 
+    /**
+     * Index of the sessions by their expiration deadline, null if not enabled by the subclass.
+     */
+    private SessionExpiryWheel expiryIndex;
+
     // number of duplicated session ids - anything >0 means we have problems
     protected int duplicates = 0;
 
@@ -381,6 +386,9 @@ public abstract class ManagerBase implements Manager {
 
         int oldSessionIdLength = this.sessionIdLength;
         this.sessionIdLength = idLength;
+        if (idLength > 0 && uuidGenerator instanceof SecureSessionIdGenerator) {
+            ((SecureSessionIdGenerator) uuidGenerator).setLength(idLength);
+        }
         support.firePropertyChange("sessionIdLength", Integer.valueOf(oldSessionIdLength), Integer.valueOf(this.sessionIdLength));
 
     }
@@ -594,6 +602,7 @@ public abstract class ManagerBase implements Manager {
     @Override
     public void add(Session session) {
         sessions.put(session.getIdInternal(), session);
+        scheduleExpiry(session);
         int size = sessions.size();
         if (size > maxActive) {
             synchronized (maxActiveUpdateLock) {
@@ -755,6 +764,9 @@ public abstract class ManagerBase implements Manager {
      */
     public void clearSessions() {
         sessions.clear();
+        if (expiryIndex != null) {
+            expiryIndex.clear();
+        }
     }
 
     /**
@@ -780,6 +792,9 @@ public abstract class ManagerBase implements Manager {
     @Override
     public void remove(Session session) {
         sessions.remove(session.getIdInternal());
+        if (expiryIndex != null && session instanceof StandardSession) {
+            expiryIndex.unschedule((StandardSession) session);
+        }
     }
 
     @Override
@@ -840,18 +855,81 @@ public abstract class ManagerBase implements Manager {
 
     /**
      * Generate and return a new session identifier. Hercules:added
-     */
-    protected synchronized String generateSessionId(Object obj) {
-        return uuidGenerator.generateUuid(obj);
+     * <p>
+     * The default {@link SecureSessionIdGenerator} is thread-safe and is called without any lock,
+     * custom generators are still serialized on this manager.
+     */
+    protected String generateSessionId(Object obj) {
+        UuidGenerator generator = uuidGenerator;
+        if (generator instanceof SecureSessionIdGenerator) {
+            return generator.generateUuid(obj);
+        }
+        synchronized (this) {
+            return generator.generateUuid(obj);
+        }
     }
 
     /**
      * Generate and return a new session identifier. Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
+    /**
+     * Enables the index of sessions by their expiration deadline, so that {@link #findDueSessions()}
+     * can be used instead of scanning all sessions. Must be called before any session is added.
+     */
+    protected void enableExpiryIndex() {
+        if (expiryIndex == null) {
+            expiryIndex = new SessionExpiryWheel();
+        }
+    }
+
+    /**
+     * @return true if the sessions are indexed by their expiration deadline.
+     */
+    protected boolean isExpiryIndexEnabled() {
+        return expiryIndex != null;
+    }
+
+    /**
+     * (Re)schedules the session in the expiry index. Must be called whenever the expiration
+     * deadline of the session may have moved to an earlier time; a later deadline is detected by
+     * the index itself. Does nothing if the index is not enabled.
+     *
+     * @param session the session
+     */
+    protected void scheduleExpiry(Session session) {
+        if (expiryIndex != null && session instanceof StandardSession) {
+            expiryIndex.schedule((StandardSession) session);
+        }
+    }
+
+    /**
+     * Returns the sessions of this manager whose expiration deadline has passed since the last
+     * call, the sessions are removed from the expiry index. If the index is not enabled, returns
+     * all sessions like {@link #findSessions()}.
+     *
+     * @return sessions to be checked for expiration
+     */
+    protected List<Session> findDueSessions() {
+        if (expiryIndex == null) {
+            Session[] all = findSessions();
+            return all == null ? List.of() : Arrays.asList(all);
+        }
+        List<StandardSession> due = expiryIndex.pollDue(System.currentTimeMillis());
+        List<Session> result = new ArrayList<Session>(due.size());
+        for (StandardSession session : due) {
+            // the session might have been removed or replaced meanwhile
+            String id = session.getIdInternal();
+            if (id != null && sessions.get(id) == session) {
+                result.add(session);
+            }
+        }
+        return result;
+    }
+
     // ------------------------------------------------------ Protected Methods
 
     /**
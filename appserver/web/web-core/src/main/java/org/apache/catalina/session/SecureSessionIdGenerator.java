@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Thread-safe generator of session identifiers which does not need any synchronization.
+ * <p>
+ * Each thread draws the random bytes from its own {@link SecureRandom} instance, preferably
+ * the DRBG, so concurrent session creation does not contend on a single shared random stream.
+ * The identifier is the hexadecimal form of the configured count of random bytes.
+ */
+public class SecureSessionIdGenerator implements UuidGenerator {
+
+    private static final String ALGORITHM = "DRBG";
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureSessionIdGenerator::createRandom);
+
+    private volatile int length;
+
+    /**
+     * @param length count of random bytes of the identifier
+     */
+    public SecureSessionIdGenerator(int length) {
+        setLength(length);
+    }
+
+    /**
+     * @return count of random bytes of the identifier
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @param length count of random bytes of the identifier
+     */
+    public void setLength(int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("The length of the session id must be positive: " + length);
+        }
+        this.length = length;
+    }
+
+    @Override
+    public String generateUuid() {
+        byte[] bytes = new byte[length];
+        RANDOM.get().nextBytes(bytes);
+        return HEX.formatHex(bytes);
+    }
+
+    /**
+     * The object is not used, the identifier is random.
+     */
+    @Override
+    public String generateUuid(Object obj) {
+        return generateUuid();
+    }
+
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Hashed timing wheel indexing sessions by the time they are due to expire, so the background
+ * expiration pass only visits the sessions whose deadline has passed.
+ * <p>
+ * The deadline of a session moves forward on every access. To keep the request path free of
+ * index updates, a session stays in the bucket of the deadline it had when it was scheduled; when
+ * the sweep reaches that bucket and the session was accessed meanwhile, it is moved to the bucket
+ * of its current deadline. Sessions whose deadline may move backwards, e.g. because of a shorter
+ * maximal inactive interval, must be scheduled again.
+ * <p>
+ * The sweep is expected to be run by a single thread.
+ */
+final class SessionExpiryWheel {
+
+    static final long DEFAULT_TICK_MILLIS = 1000L;
+    static final int DEFAULT_BUCKET_COUNT = 4096;
+
+    private final long tickMillis;
+    private final int mask;
+    private final AtomicReferenceArray<Set<StandardSession>> buckets;
+
+    /**
+     * The last tick processed by the sweep. Sessions are never scheduled to this or older tick.
+     */
+    private volatile long lastSweptTick;
+
+    SessionExpiryWheel() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_BUCKET_COUNT, System.currentTimeMillis());
+    }
+
+    /**
+     * @param tickMillis time covered by one bucket
+     * @param bucketCount count of buckets, must be a power of two
+     * @param now current time in milliseconds
+     */
+    SessionExpiryWheel(long tickMillis, int bucketCount, long now) {
+        if (Integer.bitCount(bucketCount) != 1) {
+            throw new IllegalArgumentException("The count of buckets must be a power of two: " + bucketCount);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = bucketCount - 1;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.lastSweptTick = now / tickMillis - 1;
+    }
+
+    /**
+     * Adds the session to the bucket of its current deadline, or removes it from the wheel if it
+     * cannot expire.
+     *
+     * @param session the session to schedule
+     */
+    void schedule(StandardSession session) {
+        unschedule(session);
+        long deadline = session.getExpiryDeadline();
+        if (deadline < 0) {
+            return;
+        }
+        long tick = deadline / tickMillis;
+        while (true) {
+            long minimalTick = lastSweptTick + 1;
+            if (tick < minimalTick) {
+                tick = minimalTick;
+            }
+            int index = index(tick);
+            getBucket(index).add(session);
+            session.expiryBucket = index;
+            // if the sweep passed the bucket meanwhile, it might not have seen the session
+            if (lastSweptTick < tick) {
+                return;
+            }
+            unschedule(session);
+        }
+    }
+
+    /**
+     * Removes the session from the wheel.
+     *
+     * @param session the session to remove
+     */
+    void unschedule(StandardSession session) {
+        int index = session.expiryBucket;
+        if (index >= 0) {
+            Set<StandardSession> bucket = buckets.get(index);
+            if (bucket != null) {
+                bucket.remove(session);
+            }
+            session.expiryBucket = -1;
+        }
+    }
+
+    /**
+     * Removes all sessions from the wheel.
+     */
+    void clear() {
+        for (int i = 0; i < buckets.length(); i++) {
+            Set<StandardSession> bucket = buckets.get(i);
+            if (bucket != null) {
+                for (StandardSession session : bucket) {
+                    session.expiryBucket = -1;
+                }
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * Processes the buckets of all ticks elapsed since the last call, removes the sessions which
+     * are due from the wheel and moves the sessions accessed meanwhile to the buckets of their
+     * current deadlines.
+     *
+     * @param now current time in milliseconds
+     * @return sessions whose deadline has passed
+     */
+    List<StandardSession> pollDue(long now) {
+        long nowTick = now / tickMillis;
+        long fromTick = lastSweptTick + 1;
+        if (nowTick - fromTick >= buckets.length()) {
+            fromTick = nowTick - buckets.length() + 1;
+        }
+        // from now on the sessions are scheduled behind the processed buckets
+        lastSweptTick = nowTick;
+
+        List<StandardSession> due = new ArrayList<>();
+        List<StandardSession> postponed = new ArrayList<>();
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            int index = index(tick);
+            Set<StandardSession> bucket = buckets.get(index);
+            if (bucket == null) {
+                continue;
+            }
+            for (Iterator<StandardSession> iterator = bucket.iterator(); iterator.hasNext();) {
+                StandardSession session = iterator.next();
+                long deadline = session.getExpiryDeadline();
+                if (deadline >= 0 && deadline / tickMillis - nowTick >= buckets.length()) {
+                    // deadline in one of the next rounds of the wheel
+                    if (index(deadline / tickMillis) == index) {
+                        continue;
+                    }
+                }
+                iterator.remove();
+                if (session.expiryBucket == index) {
+                    session.expiryBucket = -1;
+                }
+                if (deadline < 0) {
+                    continue;
+                }
+                if (deadline <= now) {
+                    due.add(session);
+                } else {
+                    postponed.add(session);
+                }
+            }
+        }
+        for (StandardSession session : postponed) {
+            schedule(session);
+        }
+        return due;
+    }
+
+    /**
+     * @return count of scheduled sessions; expensive, for tests and monitoring only.
+     */
+    int size() {
+        int size = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Set<StandardSession> bucket = buckets.get(i);
+            if (bucket != null) {
+                size += bucket.size();
+            }
+        }
+        return size;
+    }
+
+    private int index(long tick) {
+        return (int) (tick & mask);
+    }
+
+    private Set<StandardSession> getBucket(int index) {
+        Set<StandardSession> bucket = buckets.get(index);
+        if (bucket == null) {
+            Set<StandardSession> newBucket = ConcurrentHashMap.newKeySet();
+            if (buckets.compareAndSet(index, null, newBucket)) {
+                return newBucket;
+            }
+            bucket = buckets.get(index);
+        }
+        return bucket;
+    }
+}
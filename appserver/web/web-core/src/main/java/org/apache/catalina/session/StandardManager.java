@@ -139,6 +139,15 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
 
     long processingTime = 0;
 
+    // ----------------------------------------------------------- Constructors
+
+    /**
+     * Creates the manager with sessions indexed by their expiration deadline.
+     */
+    public StandardManager() {
+        enableExpiryIndex();
+    }
+
     // ------------------------------------------------------------- Properties
 
     /**
@@ -366,7 +375,7 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
     public void readSessions(InputStream is) throws ClassNotFoundException, IOException {
 
         // Initialize our internal data structures
-        sessions.clear();
+        super.clearSessions();
 
         ObjectInputStream ois = null;
         try {
@@ -402,6 +411,7 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
                     StandardSession session = StandardSession.deserialize(ois, this);
                     session.setManager(this);
                     sessions.put(session.getIdInternal(), session);
+                    scheduleExpiry(session);
                     session.activate();
                 }
             } catch (ClassNotFoundException e) {
@@ -796,18 +806,21 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
     public void processExpires() {
         long timeNow = System.currentTimeMillis();
 
-        Session[] sessions = findSessions();
-        if (sessions != null) {
-            for (Session session : sessions) {
-                StandardSession sess = (StandardSession) session;
-                if (sess.lockBackground()) {
-                    try {
-                        sess.isValid();
-                    } finally {
-                        sess.unlockBackground();
-                    }
+        // only the sessions whose deadline has passed, unless the index is disabled
+        List<Session> sessions = findDueSessions();
+        for (Session session : sessions) {
+            StandardSession sess = (StandardSession) session;
+            if (sess.lockBackground()) {
+                try {
+                    sess.isValid();
+                } finally {
+                    sess.unlockBackground();
                 }
             }
+            if (isExpiryIndexEnabled() && sess.getExpiryDeadline() >= 0) {
+                // still valid, ie. locked in foreground, try again later
+                scheduleExpiry(sess);
+            }
         }
 
         long timeEnd = System.currentTimeMillis();
@@ -266,6 +266,11 @@ public class StandardSession implements HttpSession, Session, Serializable {
      */
     protected long thisAccessedTime = creationTime;
 
+    /**
+     * Index of the bucket of the expiry index of the manager holding this session, -1 if none.
+     */
+    transient volatile int expiryBucket = -1;
+
     /**
      * The session version, incremented and used by in-memory-replicating session managers
      */
@@ -547,6 +552,8 @@ public class StandardSession implements HttpSession, Session, Serializable {
         this.maxInactiveInterval = interval;
         if (isValid && interval == 0) {
             expire();
+        } else if (id != null && manager instanceof ManagerBase) {
+            ((ManagerBase) manager).scheduleExpiry(this);
         }
 
     }
@@ -946,6 +953,19 @@ public class StandardSession implements HttpSession, Session, Serializable {
     }
     // END SJSAS 6329289
 
+    /**
+     * Returns the time when this session will expire unless it is accessed again.
+     *
+     * @return time in milliseconds, or -1 if this session is not valid or never times out.
+     */
+    long getExpiryDeadline() {
+        int interval = maxInactiveInterval;
+        if (!isValid || interval < 0) {
+            return -1;
+        }
+        return thisAccessedTime + interval * 1000L;
+    }
+
     /**
      * Increments the version number
      */
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.apache.catalina.servlets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Hashtable;
+
+import org.apache.naming.resources.CacheEntry;
+import org.apache.naming.resources.FileDirContext;
+import org.apache.naming.resources.ProxyDirContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultServletTest {
+
+    private final DefaultServlet servlet = new DefaultServlet();
+
+    @TempDir
+    private Path docBase;
+
+    @Test
+    public void isAcceptedParsesQualityValues() {
+        assertAll(
+            () -> assertFalse(servlet.isAccepted(null, "gzip"), "no header"),
+            () -> assertTrue(servlet.isAccepted("gzip", "gzip"), "single coding"),
+            () -> assertTrue(servlet.isAccepted("deflate, GZIP", "gzip"), "case insensitive"),
+            () -> assertTrue(servlet.isAccepted("gzip; q=0.5", "gzip"), "positive quality"),
+            () -> assertFalse(servlet.isAccepted("gzip;q=0", "gzip"), "zero quality"),
+            () -> assertFalse(servlet.isAccepted("gzip;q=0.0, *", "gzip"), "zero quality wins over any"),
+            () -> assertFalse(servlet.isAccepted("gzip;q=high", "gzip"), "invalid quality"),
+            () -> assertTrue(servlet.isAccepted("gzip;level=1", "gzip"), "other parameter"),
+            () -> assertTrue(servlet.isAccepted("*;q=0.1", "br"), "any coding"),
+            () -> assertFalse(servlet.isAccepted("*;q=0", "br"), "no coding"),
+            () -> assertFalse(servlet.isAccepted("identity, deflate", "br"), "coding not listed")
+        );
+    }
+
+
+    @Test
+    public void selectsPreferredAcceptedVariant() {
+        CacheEntry[] both = {new CacheEntry(), new CacheEntry()};
+        CacheEntry[] gzipOnly = {null, new CacheEntry()};
+        assertAll(
+            () -> assertEquals(0, servlet.selectPrecompressedVariant(both, "gzip, br"), "br preferred"),
+            () -> assertEquals(1, servlet.selectPrecompressedVariant(both, "gzip"), "gzip accepted"),
+            () -> assertEquals(1, servlet.selectPrecompressedVariant(both, "br;q=0, *"), "br refused"),
+            () -> assertEquals(-1, servlet.selectPrecompressedVariant(both, "identity"), "none accepted"),
+            () -> assertEquals(-1, servlet.selectPrecompressedVariant(both, null), "no header"),
+            () -> assertEquals(-1, servlet.selectPrecompressedVariant(gzipOnly, "br"), "br missing"),
+            () -> assertEquals(1, servlet.selectPrecompressedVariant(gzipOnly, "br, gzip"), "gzip present")
+        );
+    }
+
+
+    @Test
+    public void looksUpExistingVariantFiles() throws Exception {
+        Files.writeString(docBase.resolve("index.html"), "<html/>");
+        Files.writeString(docBase.resolve("index.html.gz"), "gzip");
+        Files.writeString(docBase.resolve("plain.html"), "<html/>");
+        Files.createDirectory(docBase.resolve("plain.html.br"));
+
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        ProxyDirContext proxyDirContext = new ProxyDirContext(new Hashtable<>(), dirContext);
+
+        CacheEntry[] variants = servlet.lookupPrecompressedVariants(proxyDirContext, "/index.html");
+        assertNotNull(variants, "variants of index.html");
+        assertAll(
+            () -> assertNull(variants[0], "br variant"),
+            () -> assertEquals("/index.html.gz", variants[1].name, "gzip variant"),
+            () -> assertNull(servlet.lookupPrecompressedVariants(proxyDirContext, "/plain.html"),
+                "a directory is not a variant")
+        );
+    }
+}
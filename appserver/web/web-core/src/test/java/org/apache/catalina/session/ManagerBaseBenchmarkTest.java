@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGeneratorImpl;
+
+import java.lang.System.Logger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Session;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the background expiration pass over many live sessions with and without the expiry
+ * index, and the session id generation by the synchronized {@link UuidGeneratorImpl} and by
+ * the {@link SecureSessionIdGenerator} from several threads.
+ */
+public class ManagerBaseBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(ManagerBaseBenchmarkTest.class.getName());
+
+    @Test
+    public void sessions() throws Exception {
+        Collection<RunResult> results = new Runner(createOptions()).run();
+        assertThat(results, hasSize(4));
+        for (RunResult result : results) {
+            LOG.log(INFO, "Benchmark: {0}, params: {1}, score: {2} ops/ms", result.getParams().getBenchmark(),
+                result.getParams(), result.getPrimaryResult().getScore());
+        }
+    }
+
+
+    @Benchmark
+    @Threads(1)
+    public void processExpires(ExpiryState state) {
+        state.manager.processExpires();
+    }
+
+
+    @Benchmark
+    @Threads(4)
+    public String generateSessionId(GeneratorState state) {
+        return state.manager.generateSessionId();
+    }
+
+
+    private Options createOptions() {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(2).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).shouldFailOnError(true).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MILLISECONDS).mode(Mode.Throughput)
+            .build();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ExpiryState {
+
+        @Param({"index", "scan"})
+        public String expiry;
+
+        StandardManager manager;
+
+        @Setup
+        public void createSessions() {
+            manager = "scan".equals(expiry) ? new ScanningManager() : new StandardManager();
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < 100_000; i++) {
+                StandardSession session = new StandardSession(manager);
+                session.id = "session" + i;
+                session.isValid = true;
+                session.thisAccessedTime = now;
+                session.maxInactiveInterval = 1800;
+                manager.add(session);
+            }
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class GeneratorState {
+
+        @Param({"uuid", "secure"})
+        public String generator;
+
+        StandardManager manager;
+
+        @Setup
+        public void createManager() {
+            manager = new StandardManager();
+            if ("uuid".equals(generator)) {
+                manager.setUuidGenerator(new UuidGeneratorImpl());
+            }
+        }
+    }
+
+
+    /**
+     * Checks all sessions in every expiration pass, as before the expiry index existed.
+     */
+    static class ScanningManager extends StandardManager {
+
+        @Override
+        protected boolean isExpiryIndexEnabled() {
+            return false;
+        }
+
+        @Override
+        protected List<Session> findDueSessions() {
+            return Arrays.asList(findSessions());
+        }
+    }
+}
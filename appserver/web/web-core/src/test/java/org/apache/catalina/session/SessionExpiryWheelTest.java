@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionExpiryWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private final StandardManager manager = new StandardManager();
+
+    @Test
+    public void onlyDueSessionsArePolled() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 16, START);
+        StandardSession short1 = createSession(START, 2);
+        StandardSession long1 = createSession(START, 5);
+        wheel.schedule(short1);
+        wheel.schedule(long1);
+        assertAll(
+            () -> assertThat(wheel.pollDue(START + 1000L), empty()),
+            () -> assertThat(wheel.pollDue(START + 2000L), contains(short1)),
+            () -> assertThat(wheel.pollDue(START + 4000L), empty()),
+            () -> assertThat(wheel.pollDue(START + 5000L), contains(long1)),
+            () -> assertEquals(0, wheel.size())
+        );
+    }
+
+    @Test
+    public void accessedSessionIsPostponed() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 16, START);
+        StandardSession session = createSession(START, 2);
+        wheel.schedule(session);
+        session.thisAccessedTime = START + 1500L;
+        assertAll(
+            () -> assertThat(wheel.pollDue(START + 2000L), empty()),
+            () -> assertEquals(1, wheel.size()),
+            () -> assertThat(wheel.pollDue(START + 3500L), contains(session))
+        );
+    }
+
+    @Test
+    public void rescheduledSessionWithShorterInterval() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 16, START);
+        StandardSession session = createSession(START, 10);
+        wheel.schedule(session);
+        session.maxInactiveInterval = 1;
+        wheel.schedule(session);
+        assertAll(
+            () -> assertEquals(1, wheel.size()),
+            () -> assertThat(wheel.pollDue(START + 1000L), contains(session))
+        );
+    }
+
+    @Test
+    public void deadlineInNextRoundOfTheWheel() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 4, START);
+        StandardSession session = createSession(START, 9);
+        wheel.schedule(session);
+        for (long time = START; time < START + 9000L; time += 1000L) {
+            assertThat("Time " + time, wheel.pollDue(time), empty());
+        }
+        assertThat(wheel.pollDue(START + 9000L), contains(session));
+    }
+
+    @Test
+    public void missedTicksAreProcessed() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 16, START);
+        StandardSession session1 = createSession(START, 1);
+        StandardSession session2 = createSession(START, 3);
+        wheel.schedule(session1);
+        wheel.schedule(session2);
+        assertEquals(2, wheel.pollDue(START + 60_000L).size());
+    }
+
+    @Test
+    public void sessionsWithoutDeadlineAreNotIndexed() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 16, START);
+        StandardSession eternal = createSession(START, -1);
+        StandardSession invalid = createSession(START, 1);
+        invalid.isValid = false;
+        StandardSession removed = createSession(START, 1);
+        wheel.schedule(eternal);
+        wheel.schedule(invalid);
+        wheel.schedule(removed);
+        wheel.unschedule(removed);
+        assertAll(
+            () -> assertEquals(0, wheel.size()),
+            () -> assertEquals(-1, removed.expiryBucket),
+            () -> assertThat(wheel.pollDue(START + 10_000L), empty())
+        );
+    }
+
+    @Test
+    public void overdueSessionIsScheduledToNextTick() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(1000L, 16, START);
+        wheel.pollDue(START + 5000L);
+        StandardSession session = createSession(START, 1);
+        wheel.schedule(session);
+        assertThat(wheel.pollDue(START + 6000L), contains(session));
+    }
+
+    @Test
+    public void uniqueSessionIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Callable<List<String>> task = () -> {
+                    List<String> ids = new ArrayList<>();
+                    for (int j = 0; j < 10_000; j++) {
+                        ids.add(manager.generateSessionId());
+                    }
+                    return ids;
+                };
+                results.add(executor.submit(task));
+            }
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> result : results) {
+                for (String id : result.get()) {
+                    assertEquals(32, id.length(), id);
+                    assertTrue(ids.add(id), "Duplicate session id " + id);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StandardSession createSession(long accessed, int maxInactiveInterval) {
+        StandardSession session = new StandardSession(manager);
+        session.isValid = true;
+        session.thisAccessedTime = accessed;
+        session.maxInactiveInterval = maxInactiveInterval;
+        return session;
+    }
+}
@@ -17,6 +17,8 @@
 package com.sun.appserv.web.cache;
 
 import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.util.cache.CacheListener;
+import com.sun.appserv.web.cache.filter.HttpCacheEntry;
 import com.sun.appserv.web.cache.mapping.CacheMapping;
 
 import jakarta.servlet.ServletContext;
@@ -35,6 +37,7 @@ import java.util.logging.Logger;
 
 import org.apache.catalina.LifecycleException;
 import org.glassfish.web.LogFacade;
+import org.glassfish.web.admin.monitor.ResponseCacheProbeProvider;
 
 public class CacheManager {
 
@@ -48,6 +51,13 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME =
         "com.sun.appserv.util.cache.LruCache";
 
+    /**
+     * cache used by default when the response bodies are kept off-heap;
+     * its <code>MaxSize</code> property bounds the total cached bytes.
+     */
+    public static final String OFF_HEAP_CACHE_CLASSNAME =
+        "com.sun.appserv.util.cache.BoundedMultiLruCache";
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -62,6 +72,15 @@ public class CacheManager {
 
     boolean enabled = false;
 
+    // keep the response bodies in direct buffers
+    boolean offHeap = false;
+    DirectBufferPool bufferPool;
+
+    // response cache monitoring
+    ResponseCacheProbeProvider probeProvider;
+    String monitoringAppName;
+    String monitoringHostName;
+
     // application servlet context
     ServletContext context;
 
@@ -133,6 +152,8 @@ public class CacheManager {
     public void addProperty(String name, String value) {
         if (name.equalsIgnoreCase("cacheClassName")) {
            cacheClassName = value;
+        } else if (name.equalsIgnoreCase("offHeap")) {
+            offHeap = Boolean.parseBoolean(value);
         } else {
             if (cacheProps == null) {
                 cacheProps = new Properties();
@@ -158,6 +179,34 @@ public class CacheManager {
         this.defaultHelperProps = map;
     }
 
+    /**
+     * @return whether the response bodies are kept in direct buffers
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * get the pool of direct buffer segments
+     * @return the pool, or null unless the cache is off-heap
+     */
+    public DirectBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * set the probe provider the cache events are reported to
+     * @param probeProvider response cache probe provider
+     * @param appName monitoring name of the application
+     * @param hostName virtual server the application is deployed on
+     */
+    public void setProbeProvider(ResponseCacheProbeProvider probeProvider,
+                                 String appName, String hostName) {
+        this.probeProvider = probeProvider;
+        this.monitoringAppName = appName;
+        this.monitoringHostName = hostName;
+    }
+
     /**
      * set the ServletContext of this application
      * @param context ServletContext
@@ -193,9 +242,25 @@ public class CacheManager {
         if (!enabled)
             return;
 
+        if (offHeap) {
+            if (DEFAULT_CACHE_CLASSNAME.equals(cacheClassName)) {
+                cacheClassName = OFF_HEAP_CACHE_CLASSNAME;
+            }
+            bufferPool = new DirectBufferPool(
+                DirectBufferPool.DEFAULT_SEGMENT_SIZE,
+                DirectBufferPool.DEFAULT_MAX_POOLED_SEGMENTS);
+        }
+
         // create the default cache
         try {
             defaultCache = createCache(maxEntries, cacheClassName);
+            defaultCache.addCacheListener(new CacheListener() {
+                public void trimEvent(Object key, Object value) {
+                    if (value instanceof HttpCacheEntry) {
+                        cacheEntryRemoved((HttpCacheEntry) value);
+                    }
+                }
+            });
         } catch (Exception e) {
             _logger.log(Level.WARNING, LogFacade.CACHE_MANAGER_EXCEPTION_CREATING_CACHE, e);
             throw new LifecycleException(_rb.getString(LogFacade.CACHE_MANAGER_EXCEPTION_CREATING_CACHE), e);
@@ -295,6 +360,54 @@ public class CacheManager {
         return defaultCache;
     }
 
+    /**
+     * report that a response was served from the cache
+     * @param bytes size of the response body
+     */
+    public void cacheHit(int bytes) {
+        if (probeProvider != null) {
+            probeProvider.cacheHitEvent(bytes, monitoringAppName, monitoringHostName);
+        }
+    }
+
+    /**
+     * report that a conditional request was answered with 304 Not Modified
+     */
+    public void cacheNotModified() {
+        if (probeProvider != null) {
+            probeProvider.cacheNotModifiedEvent(monitoringAppName, monitoringHostName);
+        }
+    }
+
+    /**
+     * report that a cacheable response had to be generated
+     */
+    public void cacheMiss() {
+        if (probeProvider != null) {
+            probeProvider.cacheMissEvent(monitoringAppName, monitoringHostName);
+        }
+    }
+
+    /**
+     * report that an entry was added to the cache
+     * @param entry the new entry
+     */
+    public void cacheEntryAdded(HttpCacheEntry entry) {
+        if (probeProvider != null) {
+            probeProvider.cacheEntryAddedEvent(entry.getSize(), monitoringAppName, monitoringHostName);
+        }
+    }
+
+    /**
+     * report that an entry was replaced, removed or evicted from the cache
+     * @param entry the entry that is not cached anymore
+     */
+    public void cacheEntryRemoved(HttpCacheEntry entry) {
+        if (probeProvider != null) {
+            probeProvider.cacheEntryRemovedEvent(entry.getSize(), monitoringAppName, monitoringHostName);
+        }
+    }
+
     /**
      * add cache mapping
      * @param name unique name of the mapping
@@ -401,5 +514,11 @@ public class CacheManager {
         cacheMappings.clear();
         cacheHelpersByFilterName.clear();
         listeners.clear();
+
+        // cached segments may still be referenced by pending writes,
+        // so they are left to the garbage collector
+        if (bufferPool != null) {
+            bufferPool.clear();
+        }
     }
 }
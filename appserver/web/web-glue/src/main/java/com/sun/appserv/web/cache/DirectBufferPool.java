@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * a pool of fixed size direct buffer segments used to capture response
+ * bodies outside of the java heap
+ */
+public class DirectBufferPool {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024;
+
+    public static final int DEFAULT_MAX_POOLED_SEGMENTS = 256;
+
+    private final int segmentSize;
+    private final ArrayBlockingQueue<ByteBuffer> freeSegments;
+
+    /**
+     * @param segmentSize size of each segment in bytes
+     * @param maxPooledSegments maximum number of idle segments kept
+     */
+    public DirectBufferPool(int segmentSize, int maxPooledSegments) {
+        this.segmentSize = segmentSize;
+        this.freeSegments = new ArrayBlockingQueue<ByteBuffer>(maxPooledSegments);
+    }
+
+    /**
+     * @return size of each segment in bytes
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * get an empty segment; a new one is allocated if the pool is empty
+     * @return a cleared direct buffer of <code>segmentSize</code> bytes
+     */
+    public ByteBuffer take() {
+        ByteBuffer segment = freeSegments.poll();
+        if (segment == null) {
+            return ByteBuffer.allocateDirect(segmentSize);
+        }
+        segment.clear();
+        return segment;
+    }
+
+    /**
+     * return a segment to the pool. The segment must not be referenced
+     * anymore by the caller; it is dropped if the pool is full.
+     * @param segment segment obtained from {@link #take()}
+     */
+    public void release(ByteBuffer segment) {
+        if (segment.capacity() == segmentSize && segment.isDirect()) {
+            freeSegments.offer(segment);
+        }
+    }
+
+    /**
+     * drop all the idle segments
+     */
+    public void clear() {
+        freeSegments.clear();
+    }
+}
@@ -35,12 +35,14 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.glassfish.web.LogFacade;
 
 public class CachingFilter implements Filter, CacheManagerListener {
@@ -48,6 +50,10 @@ public class CachingFilter implements Filter, CacheManagerListener {
     private static final String PROCESSING_SET =
         "com.sun.appserv.web.cache.filter.CachingFilter.PROCESSING_SET";
 
+    // headers sent along with a 304 (Not Modified) response
+    private static final String[] NOT_MODIFIED_HEADERS = {
+        "Cache-Control", "Expires", "Vary" };
+
     // this servlet filter name
     String filterName;
     String servletName;
@@ -188,16 +194,24 @@ public class CachingFilter implements Filter, CacheManagerListener {
                 if (isFine) {
                     _logger.log(Level.FINE, LogFacade.CACHING_FILTER_SERVING_RESPONSE, new Object[]{request.getServletPath(), key});
                 }
-                sendCachedResponse(entry, response);
+                if (isNotModified(entry, request)) {
+                    sendNotModified(entry, response);
+                    manager.cacheNotModified();
+                } else {
+                    sendCachedResponse(entry, response);
+                    manager.cacheHit(entry.getBodyLength());
+                }
             } else {
                 // call the target servlet
+                manager.cacheMiss();
 
                 CachingResponseWrapper wrapper = null;
                 boolean needNotify = true;
 
                 try {
                     // setup the response wrapper (and the output stream)
-                    wrapper = new CachingResponseWrapper(response);
+                    wrapper = new CachingResponseWrapper(response,
+                                                    manager.getBufferPool());
 
                     // call the target resource
                     chain.doFilter(srequest, (ServletResponse)wrapper);
@@ -229,7 +243,12 @@ public class CachingFilter implements Filter, CacheManagerListener {
                             entry.computeExpireTime(timeout);
                         }
 
-                        cache.put(key, entry, entry.getSize());
+                        HttpCacheEntry oldEntry = (HttpCacheEntry)
+                            cache.put(key, entry, entry.getSize());
+                        manager.cacheEntryAdded(entry);
+                        if (oldEntry != null) {
+                            manager.cacheEntryRemoved(oldEntry);
+                        }
 
                         cache.notifyRefresh(index);
                         needNotify = false;
@@ -241,7 +260,11 @@ public class CachingFilter implements Filter, CacheManagerListener {
                          *  resource is not cacheable anymore; so, remove the
                          *  old entry from the cache.
                          */
-                        cache.remove(key);
+                        HttpCacheEntry oldEntry = (HttpCacheEntry)
+                            cache.remove(key);
+                        if (oldEntry != null) {
+                            manager.cacheEntryRemoved(oldEntry);
+                        }
                     }
                 } finally {
                     // IT 12891
@@ -335,6 +358,109 @@ public class CachingFilter implements Filter, CacheManagerListener {
         writeBody(entry, response);
     }
 
+    /**
+     * check whether the client already has the cached response; only the
+     * entries of an off-heap cache carry the validators.
+     * @param entry cached response entry
+     * @param request the conditional request
+     * @return true if a 304 (Not Modified) response is to be sent
+     */
+    /* package */ static boolean isNotModified(HttpCacheEntry entry,
+                                               HttpServletRequest request) {
+        if (entry.etag == null ||
+                (entry.statusCode != HttpCacheEntry.VALUE_NOT_SET &&
+                 entry.statusCode != HttpServletResponse.SC_OK)) {
+            return false;
+        }
+
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+
+        // If-None-Match takes precedence over If-Modified-Since
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesEntityTag(ifNoneMatch, entry.etag);
+        }
+
+        if (entry.lastModified == HttpCacheEntry.VALUE_NOT_SET) {
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return (ifModifiedSince != -1 &&
+                entry.lastModified / 1000L <= ifModifiedSince / 1000L);
+    }
+
+    /**
+     * weak comparison of an If-None-Match header against an entity tag
+     */
+    /* package */ static boolean matchesEntityTag(String ifNoneMatch, String etag) {
+        String opaqueTag = stripWeakIndicator(etag);
+        String[] tags = ifNoneMatch.split(",");
+        for (int i = 0; i < tags.length; i++) {
+            String tag = tags[i].trim();
+            if ("*".equals(tag) || opaqueTag.equals(stripWeakIndicator(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakIndicator(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * called by doFilter to answer a conditional request with a
+     * 304 (Not Modified) response and the validators of the entry
+     * @param entry cached response entry
+     * @param response response object to write out the response
+     */
+    private void sendNotModified(HttpCacheEntry entry,
+                                 HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader("ETag", entry.etag);
+        if (entry.lastModified != HttpCacheEntry.VALUE_NOT_SET) {
+            response.setDateHeader("Last-Modified", entry.lastModified);
+        }
+
+        for (Iterator<String> iter = entry.responseHeaders.keySet().iterator();
+                                                    iter.hasNext(); ) {
+            String name = iter.next();
+            if (isNotModifiedHeader(name)) {
+                ArrayList<String> values = entry.responseHeaders.get(name);
+                for (int i = 0; i < values.size(); i++) {
+                    response.addHeader(name, values.get(i));
+                }
+            }
+        }
+        for (Iterator<String> iter = entry.dateHeaders.keySet().iterator();
+                                                    iter.hasNext(); ) {
+            String name = iter.next();
+            if (isNotModifiedHeader(name)) {
+                ArrayList<Long> values = entry.dateHeaders.get(name);
+                for (int i = 0; i < values.size(); i++) {
+                    response.addDateHeader(name, (values.get(i)).longValue());
+                }
+            }
+        }
+    }
+
+    private static boolean isNotModifiedHeader(String name) {
+        for (int i = 0; i < NOT_MODIFIED_HEADERS.length; i++) {
+            if (NOT_MODIFIED_HEADERS[i].equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * called by doFilter/sendCachedResponse to write the body content
      * @param entry cached response entry
@@ -345,7 +471,25 @@ public class CachingFilter implements Filter, CacheManagerListener {
                            HttpServletResponse response)
                            throws IOException {
         ServletOutputStream out = response.getOutputStream();
-        out.write(entry.bytes);
+        if (entry.segments == null) {
+            out.write(entry.bytes);
+        } else if (out instanceof CoyoteOutputStream) {
+            // hand the direct buffers to the connector without copying
+            CoyoteOutputStream cos = (CoyoteOutputStream) out;
+            for (int i = 0; i < entry.segments.length; i++) {
+                cos.write(entry.segments[i].duplicate());
+            }
+        } else {
+            byte[] chunk = new byte[Math.min(entry.bodyLength, 8192)];
+            for (int i = 0; i < entry.segments.length; i++) {
+                ByteBuffer segment = entry.segments[i].duplicate();
+                while (segment.hasRemaining()) {
+                    int n = Math.min(chunk.length, segment.remaining());
+                    segment.get(chunk, 0, n);
+                    out.write(chunk, 0, n);
+                }
+            }
+        }
     }
 
     /**
@@ -33,6 +33,14 @@ public class CachingOutputStreamWrapper extends ServletOutputStream {
         this.baos = new ByteArrayOutputStream(4096);
     }
 
+    /**
+     * for subclasses which keep the bytes elsewhere
+     * @param baos the stream the bytes are cached in; may be null
+     */
+    protected CachingOutputStreamWrapper(ByteArrayOutputStream baos) {
+        this.baos = baos;
+    }
+
     /**
      * Write the specified byte to our output stream.
      *
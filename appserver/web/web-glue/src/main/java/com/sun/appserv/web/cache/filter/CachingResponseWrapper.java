@@ -16,6 +16,8 @@
 
 package com.sun.appserv.web.cache.filter;
 
+import com.sun.appserv.web.cache.DirectBufferPool;
+
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -27,6 +29,7 @@ import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 // import org.apache.catalina.Context;
 
 /**
@@ -76,6 +79,12 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
     CachingOutputStreamWrapper cosw;
     PrintWriter writer;
 
+    /**
+     * Pool of direct buffers the body is cached in; null to cache the body
+     * in a byte array.
+     */
+    DirectBufferPool bufferPool;
+
     /**
      * Constructs a response adaptor wrapping the given response.
      * @throws java.lang.IllegalArgumentException if the response is null
@@ -84,6 +93,17 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
         super(response);
     }
 
+    /**
+     * Constructs a response adaptor wrapping the given response, which
+     * caches the body in direct buffers obtained from the given pool.
+     * @throws java.lang.IllegalArgumentException if the response is null
+     */
+    public CachingResponseWrapper(HttpServletResponse response,
+                                  DirectBufferPool bufferPool) {
+        super(response);
+        this.bufferPool = bufferPool;
+    }
+
     /**
      * Create and return a ServletOutputStream to write the content
      * associated with this Response.
@@ -92,6 +112,9 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
      */
     private CachingOutputStreamWrapper createCachingOutputStreamWrapper()
                                 throws IOException {
+        if (bufferPool != null) {
+            return new DirectCachingOutputStreamWrapper(bufferPool);
+        }
         return new CachingOutputStreamWrapper();
     }
 
@@ -347,6 +370,38 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
      * @return the entry with cached response headers and body.
      */
     public HttpCacheEntry cacheResponse() throws IOException {
+        // flush the writer before the validators are computed
+        if (writer != null) {
+            writer.flush();
+        }
+
+        DirectCachingOutputStreamWrapper dcosw = null;
+        String etag = null;
+        long lastModified = HttpCacheEntry.VALUE_NOT_SET;
+        if (bufferPool != null) {
+            if (cosw == null) {
+                cosw = createCachingOutputStreamWrapper();
+            }
+            dcosw = (DirectCachingOutputStreamWrapper) cosw;
+
+            // validators of the cached response; generated unless the
+            // resource has provided its own
+            etag = getHeaderValue(headers, "ETag");
+            if (etag == null) {
+                etag = "\"" + Long.toHexString(dcosw.getChecksum()) + "-" +
+                    Integer.toHexString(dcosw.getLength()) + "\"";
+                setHeader("ETag", etag);
+            }
+            Long value = getHeaderValue(dateHeaders, "Last-Modified");
+            if (value != null) {
+                lastModified = value.longValue();
+            } else if (getHeaderValue(headers, "Last-Modified") == null) {
+                // HTTP dates have a resolution of seconds
+                lastModified = (System.currentTimeMillis() / 1000L) * 1000L;
+                setDateHeader("Last-Modified", lastModified);
+            }
+        }
+
         // create a new entry
         HttpCacheEntry entry = new HttpCacheEntry();
         entry.responseHeaders = headers;
@@ -359,22 +414,41 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
 
         entry.statusCode = statusCode;
 
-        // flush the writer??
-        if (writer != null) {
-            writer.flush();
+        if (dcosw != null) {
+            entry.bodyLength = dcosw.getLength();
+            entry.segments = dcosw.detachSegments();
+            entry.etag = etag;
+            entry.lastModified = lastModified;
+        } else {
+            // IT 12891
+            entry.bytes = ((cosw != null)? cosw.getBytes() : EMPTY_BYTE_ARRAY);
         }
 
-
-        // IT 12891
-        entry.bytes = ((cosw != null)? cosw.getBytes() : EMPTY_BYTE_ARRAY);
-
         return entry;
     }
 
+    /**
+     * get the first value of the header, ignoring the case of its name
+     */
+    private static <T> T getHeaderValue(Map<String, ArrayList<T>> map,
+                                        String name) {
+        for (Map.Entry<String, ArrayList<T>> header : map.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) &&
+                    !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
     /**
      * clear the contents of this wrapper
      */
     public void clear() {
+        // the segments of a cached response have been detached already
+        if (cosw instanceof DirectCachingOutputStreamWrapper) {
+            ((DirectCachingOutputStreamWrapper) cosw).release();
+        }
         cosw = null;
         writer = null;
     }
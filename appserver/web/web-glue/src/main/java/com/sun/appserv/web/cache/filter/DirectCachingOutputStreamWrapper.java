@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import com.sun.appserv.web.cache.DirectBufferPool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * an output stream wrapper to cache response bytes in pooled direct buffer
+ * segments, outside of the java heap. A checksum of the bytes is kept to
+ * derive an entity tag for the response.
+ */
+public class DirectCachingOutputStreamWrapper extends CachingOutputStreamWrapper {
+
+    private final DirectBufferPool pool;
+    private final ArrayList<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer current;
+    private int length;
+
+    public DirectCachingOutputStreamWrapper(DirectBufferPool pool) {
+        super(null);
+        this.pool = pool;
+    }
+
+    /**
+     * Write the specified byte to our output stream.
+     *
+     * @param b The byte to be written
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    @Override
+    public void write(int b) throws IOException {
+        if (current == null || !current.hasRemaining()) {
+            nextSegment();
+        }
+        current.put((byte) b);
+        crc.update(b);
+        length++;
+    }
+
+    /**
+     * Write <code>b.length</code> bytes from the specified byte array
+     * to our output stream.
+     *
+     * @param b The byte array to be written
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    @Override
+    public void write(byte b[]) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    /**
+     * Write <code>len</code> bytes from the specified byte array, starting
+     * at the specified offset, to our output stream.
+     *
+     * @param b The byte array containing the bytes to be written
+     * @param off Zero-relative starting offset of the bytes to be written
+     * @param len The number of bytes to be written
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    @Override
+    public void write(byte b[], int off, int len) throws IOException {
+        crc.update(b, off, len);
+        length += len;
+        while (len > 0) {
+            if (current == null || !current.hasRemaining()) {
+                nextSegment();
+            }
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * return a copy of the cached bytes
+     */
+    @Override
+    public byte[] getBytes() {
+        byte[] bytes = new byte[length];
+        int off = 0;
+        for (ByteBuffer segment : segments) {
+            ByteBuffer view = segment.duplicate();
+            view.flip();
+            int n = view.remaining();
+            view.get(bytes, off, n);
+            off += n;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return number of bytes written
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return CRC-32 checksum of the bytes written
+     */
+    public long getChecksum() {
+        return crc.getValue();
+    }
+
+    /**
+     * hand the cached bytes over to a cache entry. The segments are copied to
+     * a direct buffer of the exact size and returned to the pool right away;
+     * the connector may still be writing the body of an evicted entry, so
+     * the entry must not own pooled segments. The direct buffer is freed by
+     * the garbage collector once the entry has been evicted and no write of
+     * it is pending anymore.
+     * @return read-only direct buffers holding the cached bytes
+     */
+    public ByteBuffer[] detachSegments() {
+        ByteBuffer body = ByteBuffer.allocateDirect(length);
+        for (ByteBuffer segment : segments) {
+            segment.flip();
+            body.put(segment);
+            pool.release(segment);
+        }
+        body.flip();
+        segments.clear();
+        current = null;
+        return new ByteBuffer[] { body.asReadOnlyBuffer() };
+    }
+
+    /**
+     * return the segments of a response that has not been cached to the pool
+     */
+    public void release() {
+        for (ByteBuffer segment : segments) {
+            pool.release(segment);
+        }
+        segments.clear();
+        current = null;
+    }
+
+    private void nextSegment() {
+        current = pool.take();
+        segments.add(current);
+    }
+}
@@ -18,6 +18,7 @@ package com.sun.appserv.web.cache.filter;
 
 import jakarta.servlet.http.Cookie;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
@@ -47,6 +48,14 @@ public class HttpCacheEntry {
     // XXX: other cacheable response info
     byte[] bytes;
 
+    // read-only direct buffers holding the body of an off-heap entry
+    ByteBuffer[] segments;
+    int bodyLength;
+
+    // validators of an off-heap entry, used to answer conditional requests
+    String etag;
+    long lastModified = VALUE_NOT_SET;
+
     volatile long expireTime = 0;
 
     /**
@@ -81,20 +90,29 @@ public class HttpCacheEntry {
      */
     public void clear() {
         bytes = null;
+        segments = null;
         responseHeaders = null;
         cookies = null;
     }
 
+    /**
+     * get the size of the response body
+     * @return size of the cached body in bytes
+     */
+    public int getBodyLength() {
+        if (segments != null) {
+            return bodyLength;
+        }
+        return (bytes != null) ? bytes.length : 0;
+    }
+
     /**
      * get the size
      * @return size of this entry in bytes
      * Note: this is only approximate
      */
     public int getSize() {
-        int size = 0;
-        if (bytes != null) {
-            size = bytes.length;
-        }
+        int size = getBodyLength();
 
         // size of response bytes plus headers (each approx 20 chars or 40 bytes)
         return (size + (40 * responseHeaders.size()) );
@@ -219,6 +219,15 @@ public final class CacheModule {
             }
         }
 
+        // report the cache events to the response-cache probes
+        WebContainer webContainer = app.getWebContainer();
+        if (webContainer != null && app.getParent() instanceof VirtualServer) {
+            manager.setProbeProvider(
+                webContainer.getResponseCacheProbeProvider(),
+                app.getMonitoringNodeName(),
+                ((VirtualServer) app.getParent()).getID());
+        }
+
         manager.setServletContext(app.getServletContext());
         return manager;
     }
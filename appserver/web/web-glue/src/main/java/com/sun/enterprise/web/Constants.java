@@ -85,6 +85,8 @@ public final class Constants {
 
     public static final String ACCESS_LOG_WRITE_INTERVAL_PROPERTY = "accessLogWriteInterval";
 
+    public static final String ACCESS_LOG_STRIPED_PROPERTY = "accessLogStriped";
+
     public static final String ACCESS_LOGGING_ENABLED = "accessLoggingEnabled";
 
     public static final String SSO_ENABLED = "sso-enabled";
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,13 +37,20 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,6 +75,12 @@ import static java.time.Instant.ofEpochMilli;
  * </p>This class uses a direct <code>ByteBuffer</code> to store and write
  * logs.
  *
+ * <p>In the striped mode, request threads format and encode the entries into
+ * one of a small fixed number of stripes, selected by a hash of the thread id,
+ * so they do not contend on a single buffer. Each stripe owns its
+ * <code>CharBuffer</code> and direct <code>ByteBuffer</code>. The filled
+ * stripes are written with a single gathering write.
+ *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
@@ -105,6 +118,24 @@ public final class PEAccessLogValve
     private final static int MIN_BUFFER_SIZE = 5120;
 
 
+    /**
+     * The initial capacity of the stripe <code>CharBuffer</code>s.
+     */
+    private final static int ENTRY_BUFFER_SIZE = 1024;
+
+
+    /**
+     * The maximum number of stripes used in the striped mode.
+     */
+    private final static int MAX_STRIPES = 8;
+
+
+    /**
+     * Multiplier spreading the sequential thread ids over the stripes.
+     */
+    private final static long STRIPE_HASH = 0x9E3779B97F4A7C15L;
+
+
     // ----------------------------------------------------- Instance Variables
 
 
@@ -279,6 +310,38 @@ public final class PEAccessLogValve
     private final Object lock = new Object();
 
 
+    /**
+     * Should request threads log into striped buffers instead of the shared
+     * <code>CharBuffer</code>?
+     */
+    private boolean striped;
+
+
+    /**
+     * The stripes request threads format and encode their log entries into
+     * in the striped mode, null otherwise.
+     */
+    private Stripe[] stripes;
+
+
+    /**
+     * Empty direct buffers replacing the filled stripe buffers being written.
+     */
+    private ArrayBlockingQueue<ByteBuffer> freeBuffers;
+
+
+    /**
+     * Stripe buffers collected for a single gathering write, guarded by this.
+     */
+    private final ArrayList<ByteBuffer> pendingBuffers = new ArrayList<>();
+
+
+    /**
+     * The array passed to the gathering write, guarded by this.
+     */
+    private ByteBuffer[] gatheringBuffers = new ByteBuffer[0];
+
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -335,6 +398,25 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+
+    /**
+     * Should request threads log into striped buffers?
+     */
+    public boolean isStriped() {
+        return striped;
+    }
+
+
+    /**
+     * Set whether request threads log into striped buffers instead of the
+     * shared buffer. Takes effect when the valve is started.
+     *
+     * @param striped true to use the striped buffers
+     */
+    public void setStriped(boolean striped) {
+        this.striped = striped;
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -395,6 +477,14 @@ public final class PEAccessLogValve
     }
 
 
+    /**
+     * Set the formatter of the log entries instead of a pattern.
+     */
+    /* package */ void setFormatter(AccessLogFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+
     /**
      * Return the log file prefix.
      */
@@ -548,6 +638,11 @@ public final class PEAccessLogValve
             return;
         }
 
+        if (stripes != null) {
+            logStriped(request, response);
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -588,6 +683,33 @@ public final class PEAccessLogValve
      */
     public void log() throws IOException {
 
+        rotateIfRequired();
+
+        if (stripes != null) {
+            drainStripes(stripes);
+            return;
+        }
+
+        synchronized (lock) {
+            try {
+                charBuffer.flip();
+                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
+                while (byteBuffer.hasRemaining()) {
+                    fileChannel.write(byteBuffer);
+                }
+            } catch (IOException ex) {
+
+            } finally {
+                charBuffer.clear();
+            }
+        }
+    }
+
+
+    /**
+     * Switch files if the date has changed since the previous rotation.
+     */
+    private void rotateIfRequired() throws IOException {
         if (rotatable){
             long systime = System.currentTimeMillis();
             long rotationIntervalLong = rotationInterval * 1000L;
@@ -609,20 +731,115 @@ public final class PEAccessLogValve
                 }
             }
         }
+    }
 
-        synchronized (lock) {
-            try {
-                charBuffer.flip();
-                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
-                while (byteBuffer.hasRemaining()) {
-                    fileChannel.write(byteBuffer);
+
+    /**
+     * Log the request in the striped mode. The entry is formatted and encoded
+     * into the stripe of the current thread, which is written right away if
+     * the buffer is filled or no buffering was configured.
+     */
+    private void logStriped(Request request, Response response) throws IOException {
+        if (formatter == null) {
+            return;
+        }
+
+        Stripe stripe = stripes[Math.floorMod(
+            Long.hashCode(Thread.currentThread().threadId() * STRIPE_HASH), stripes.length)];
+        boolean write;
+        stripe.lock.lock();
+        try {
+            EntryBuffer entry = stripe.entry;
+            entry.format(formatter, request, response, bufferSize);
+            if (!entry.encode(stripe.buffer)) {
+                // The stripe is full. Queue the filled buffer to be written
+                // before anything appended to the empty one.
+                if (stripe.buffer.position() > 0) {
+                    stripe.filled.add(stripe.buffer.flip());
+                    stripe.buffer = takeFreeBuffer();
                 }
-            } catch (IOException ex) {
+                if (!entry.encode(stripe.buffer)) {
+                    stripe.filled.add(entry.encode());
+                }
+            }
+            write = flushRealTime || !stripe.filled.isEmpty();
+        } catch (BufferOverflowException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+            return;
+        } finally {
+            stripe.lock.unlock();
+        }
 
+        if (write) {
+            rotateIfRequired();
+            drainStripes(stripe);
+        }
+    }
+
+
+    /**
+     * Write the filled buffers of the given stripes with a single gathering
+     * write. The stripes are locked only while their buffers are swapped, and
+     * always after this, so the buffers of a stripe are written in order.
+     */
+    private synchronized void drainStripes(Stripe... toDrain) {
+        for (Stripe stripe : toDrain) {
+            stripe.lock.lock();
+            try {
+                pendingBuffers.addAll(stripe.filled);
+                stripe.filled.clear();
+                if (stripe.buffer.position() > 0) {
+                    pendingBuffers.add(stripe.buffer.flip());
+                    stripe.buffer = takeFreeBuffer();
+                }
             } finally {
-                charBuffer.clear();
+                stripe.lock.unlock();
             }
         }
+        int count = pendingBuffers.size();
+        if (count == 0) {
+            return;
+        }
+
+        gatheringBuffers = pendingBuffers.toArray(gatheringBuffers);
+        try {
+            long remaining = 0;
+            for (int i = 0; i < count; i++) {
+                remaining += gatheringBuffers[i].remaining();
+            }
+            while (remaining > 0) {
+                remaining -= fileChannel.write(gatheringBuffers, 0, count);
+            }
+        } catch (IOException ex) {
+            _logger.log(Level.FINE, "Unable to write the access log", ex);
+        } finally {
+            for (int i = 0; i < count; i++) {
+                recycle(gatheringBuffers[i]);
+                gatheringBuffers[i] = null;
+            }
+            pendingBuffers.clear();
+        }
+    }
+
+
+    /**
+     * Return an empty stripe buffer, allocating a new one only if all the
+     * spare buffers are being written.
+     */
+    private ByteBuffer takeFreeBuffer() {
+        ByteBuffer byteBuffer = freeBuffers.poll();
+        return byteBuffer == null ? ByteBuffer.allocateDirect(bufferSize) : byteBuffer;
+    }
+
+
+    /**
+     * Return the written stripe buffer to the spare buffers.
+     */
+    private void recycle(ByteBuffer byteBuffer) {
+        if (byteBuffer.isDirect()) {
+            byteBuffer.clear();
+            freeBuffers.offer(byteBuffer);
+        }
     }
 
 
@@ -745,6 +962,13 @@ public final class PEAccessLogValve
             }
         }
 
+        /*
+         * The accessLogStriped property under <virtual-server> makes request
+         * threads log into striped buffers instead of a shared one
+         */
+        setStriped(Boolean.parseBoolean(vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_STRIPED_PROPERTY, "false")));
+
         return true;
     }
 
@@ -993,7 +1217,19 @@ public final class PEAccessLogValve
             bufferSize = MIN_BUFFER_SIZE;
         }
 
-        charBuffer = CharBuffer.allocate(bufferSize);
+        if (striped) {
+            int stripeCount = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+            freeBuffers = new ArrayBlockingQueue<>(stripeCount);
+            Stripe[] newStripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                newStripes[i] = new Stripe(ByteBuffer.allocateDirect(bufferSize));
+                freeBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+            }
+            stripes = newStripes;
+        } else {
+            stripes = null;
+            charBuffer = CharBuffer.allocate(bufferSize);
+        }
 
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1125,4 +1361,96 @@ public final class PEAccessLogValve
     private LocalDateTime toLocalDateTime(long millis) {
         return ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
+
+
+    /**
+     * The buffers request threads format and append their log entries to,
+     * guarded by the lock of the stripe.
+     */
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final EntryBuffer entry = new EntryBuffer();
+
+        /**
+         * The filled buffers waiting to be written, in the order they were
+         * filled.
+         */
+        private final ArrayDeque<ByteBuffer> filled = new ArrayDeque<>();
+
+        private ByteBuffer buffer;
+
+        Stripe(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+
+    /**
+     * The buffer and the encoder a stripe formats and encodes the log entries
+     * with.
+     */
+    private static final class EntryBuffer {
+
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private CharBuffer charBuffer = CharBuffer.allocate(ENTRY_BUFFER_SIZE);
+
+        /**
+         * Format the entry line, growing the buffer up to the given size if
+         * the line does not fit.
+         */
+        void format(AccessLogFormatter formatter, Request request, Response response, int maxSize) {
+            while (true) {
+                charBuffer.clear();
+                try {
+                    formatter.appendLogEntry(request, response, charBuffer);
+                    charBuffer.put('\n');
+                    charBuffer.flip();
+                    return;
+                } catch (BufferOverflowException ex) {
+                    if (charBuffer.capacity() >= maxSize) {
+                        throw ex;
+                    }
+                    charBuffer = CharBuffer.allocate(Math.min(charBuffer.capacity() * 2, maxSize));
+                }
+            }
+        }
+
+        /**
+         * Encode the formatted entry into the given buffer.
+         *
+         * @return false if the entry did not fit, the buffer is left as it was
+         */
+        boolean encode(ByteBuffer target) {
+            int position = target.position();
+            charBuffer.rewind();
+            encoder.reset();
+            CoderResult result = encoder.encode(charBuffer, target, true);
+            if (!result.isOverflow()) {
+                result = encoder.flush(target);
+            }
+            if (result.isOverflow()) {
+                target.position(position);
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Encode the formatted entry which does not fit into an empty stripe
+         * buffer.
+         *
+         * @return a new heap buffer ready to be written
+         */
+        ByteBuffer encode() {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(
+                (int) Math.ceil(charBuffer.limit() * (double) encoder.maxBytesPerChar()));
+            encode(byteBuffer);
+            return byteBuffer.flip();
+        }
+    }
 }
@@ -120,6 +120,7 @@ import org.glassfish.web.LogFacade;
 import org.glassfish.web.admin.monitor.HttpServiceStatsProviderBootstrap;
 import org.glassfish.web.admin.monitor.JspProbeProvider;
 import org.glassfish.web.admin.monitor.RequestProbeProvider;
+import org.glassfish.web.admin.monitor.ResponseCacheProbeProvider;
 import org.glassfish.web.admin.monitor.ServletProbeProvider;
 import org.glassfish.web.admin.monitor.SessionProbeProvider;
 import org.glassfish.web.admin.monitor.WebModuleProbeProvider;
@@ -311,6 +312,7 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
 
     protected JspProbeProvider jspProbeProvider;
     protected RequestProbeProvider requestProbeProvider;
+    protected ResponseCacheProbeProvider responseCacheProbeProvider;
     protected ServletProbeProvider servletProbeProvider;
     protected SessionProbeProvider sessionProbeProvider;
     protected WebModuleProbeProvider webModuleProbeProvider;
@@ -624,6 +626,13 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
         return requestProbeProvider;
     }
 
+    /**
+     * Gets the probe provider for response cache related events.
+     */
+    public ResponseCacheProbeProvider getResponseCacheProbeProvider() {
+        return responseCacheProbeProvider;
+    }
+
     /**
      * Gets the probe provider for web module related events.
      */
@@ -2910,6 +2919,7 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
         jspProbeProvider = new JspProbeProvider();
         sessionProbeProvider = new SessionProbeProvider();
         requestProbeProvider = new RequestProbeProvider();
+        responseCacheProbeProvider = new ResponseCacheProbeProvider();
     }
 
     /**
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the conditional requests answered by the {@link CachingFilter}.
+ */
+public class CachingFilterTest {
+
+    private static final long LAST_MODIFIED = 1_700_000_000_500L;
+
+
+    @Test
+    public void ifNoneMatchList() {
+        assertAll(
+            () -> assertTrue(CachingFilter.matchesEntityTag("\"abc\"", "\"abc\""), "single tag"),
+            () -> assertTrue(CachingFilter.matchesEntityTag("\"x\", \"abc\" ,\"y\"", "\"abc\""), "tag in a list"),
+            () -> assertTrue(CachingFilter.matchesEntityTag("*", "\"abc\""), "any tag"),
+            () -> assertFalse(CachingFilter.matchesEntityTag("\"x\", \"y\"", "\"abc\""), "tag not in the list"),
+            () -> assertFalse(CachingFilter.matchesEntityTag("\"abcd\"", "\"abc\""), "longer tag")
+        );
+    }
+
+
+    @Test
+    public void weakTags() {
+        assertAll(
+            () -> assertTrue(CachingFilter.matchesEntityTag("W/\"abc\"", "\"abc\""), "weak request tag"),
+            () -> assertTrue(CachingFilter.matchesEntityTag("\"abc\"", "W/\"abc\""), "weak entity tag"),
+            () -> assertTrue(CachingFilter.matchesEntityTag("\"x\", W/\"abc\"", "W/\"abc\""), "weak tags in a list"),
+            () -> assertFalse(CachingFilter.matchesEntityTag("W/\"x\"", "W/\"abc\""), "other weak tag")
+        );
+    }
+
+
+    @Test
+    public void ifNoneMatch() {
+        HttpCacheEntry entry = entry();
+        assertAll(
+            () -> assertTrue(CachingFilter.isNotModified(entry, request("GET", Map.of("If-None-Match", "\"abc\""))),
+                "GET"),
+            () -> assertTrue(CachingFilter.isNotModified(entry, request("HEAD", Map.of("If-None-Match", "\"abc\""))),
+                "HEAD"),
+            () -> assertFalse(CachingFilter.isNotModified(entry, request("POST", Map.of("If-None-Match", "\"abc\""))),
+                "POST"),
+            () -> assertFalse(CachingFilter.isNotModified(entry, request("GET", Map.of())), "no validator"),
+            () -> assertFalse(CachingFilter.isNotModified(entry, request("GET",
+                Map.of("If-None-Match", "\"x\"", "If-Modified-Since", httpDate(LAST_MODIFIED)))),
+                "If-None-Match takes precedence over If-Modified-Since")
+        );
+    }
+
+
+    @Test
+    public void ifModifiedSince() {
+        HttpCacheEntry entry = entry();
+        assertAll(
+            () -> assertTrue(CachingFilter.isNotModified(entry,
+                request("GET", Map.of("If-Modified-Since", httpDate(LAST_MODIFIED)))), "same second"),
+            () -> assertTrue(CachingFilter.isNotModified(entry,
+                request("GET", Map.of("If-Modified-Since", httpDate(LAST_MODIFIED + 60_000L)))), "later"),
+            () -> assertFalse(CachingFilter.isNotModified(entry,
+                request("GET", Map.of("If-Modified-Since", httpDate(LAST_MODIFIED - 1_000L)))), "earlier"),
+            () -> assertFalse(CachingFilter.isNotModified(entry,
+                request("GET", Map.of("If-Modified-Since", "yesterday"))), "invalid date")
+        );
+
+        entry.lastModified = HttpCacheEntry.VALUE_NOT_SET;
+        assertFalse(CachingFilter.isNotModified(entry,
+            request("GET", Map.of("If-Modified-Since", httpDate(LAST_MODIFIED)))), "entry without Last-Modified");
+    }
+
+
+    @Test
+    public void onlySuccessfulEntriesWithEntityTag() {
+        HttpCacheEntry notFound = entry();
+        notFound.statusCode = 404;
+        HttpCacheEntry withoutTag = entry();
+        withoutTag.etag = null;
+        assertAll(
+            () -> assertFalse(CachingFilter.isNotModified(notFound,
+                request("GET", Map.of("If-None-Match", "\"abc\""))), "404"),
+            () -> assertFalse(CachingFilter.isNotModified(withoutTag,
+                request("GET", Map.of("If-None-Match", "*"))), "no entity tag")
+        );
+    }
+
+
+    private static HttpCacheEntry entry() {
+        HttpCacheEntry entry = new HttpCacheEntry();
+        entry.statusCode = HttpCacheEntry.VALUE_NOT_SET;
+        entry.etag = "\"abc\"";
+        entry.lastModified = LAST_MODIFIED;
+        return entry;
+    }
+
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+    }
+
+
+    private static HttpServletRequest request(String method, Map<String, String> headers) {
+        return (HttpServletRequest) Proxy.newProxyInstance(CachingFilterTest.class.getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "getMethod":
+                        return method;
+                    case "getHeader":
+                        return headers.get((String) args[0]);
+                    case "getDateHeader":
+                        String value = headers.get((String) args[0]);
+                        if (value == null) {
+                            return -1L;
+                        }
+                        try {
+                            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+                                .toEpochMilli();
+                        } catch (RuntimeException e) {
+                            throw new IllegalArgumentException(value, e);
+                        }
+                    default:
+                        throw new UnsupportedOperationException(m.getName());
+                }
+            });
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import com.sun.appserv.web.cache.DirectBufferPool;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link DirectCachingOutputStreamWrapper}.
+ */
+public class DirectCachingOutputStreamWrapperTest {
+
+    @Test
+    public void detachedBodyIsCopiedOutOfThePool() throws Exception {
+        DirectBufferPool pool = new DirectBufferPool(16, 8);
+        DirectCachingOutputStreamWrapper output = new DirectCachingOutputStreamWrapper(pool);
+        byte[] body = new byte[40];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i + 1);
+        }
+        output.write(body, 0, 20);
+        output.write(body[20]);
+        output.write(body, 21, 19);
+        assertArrayEquals(body, output.getBytes(), "captured bytes");
+
+        ByteBuffer[] segments = output.detachSegments();
+        assertEquals(1, segments.length, "detached buffers");
+        ByteBuffer detached = segments[0];
+        byte[] detachedBytes = new byte[detached.remaining()];
+        detached.duplicate().get(detachedBytes);
+        assertAll(
+            () -> assertTrue(detached.isDirect(), "direct buffer"),
+            () -> assertTrue(detached.isReadOnly(), "read-only buffer"),
+            () -> assertEquals(body.length, detached.capacity(), "exact size"),
+            () -> assertArrayEquals(body, detachedBytes, "detached bytes")
+        );
+
+        // the pool hands out the three segments written above again
+        Set<Byte> firstBytes = new TreeSet<>();
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer segment = pool.take();
+            assertEquals(0, segment.position(), "cleared segment");
+            firstBytes.add(segment.get(0));
+        }
+        assertEquals(Set.of((byte) 1, (byte) 17, (byte) 33), firstBytes, "pooled segments");
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the striped mode of the {@link PEAccessLogValve}.
+ */
+public class PEAccessLogValveTest {
+
+    private static final String ENTRY_NOTE = "entry";
+
+    @TempDir
+    private Path logDirectory;
+
+
+    @Test
+    public void realTimeEntriesAreWrittenRightAway() throws Exception {
+        PEAccessLogValve valve = createValve();
+        valve.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                valve.postInvoke(request("entry-" + i), null);
+                assertEquals(i + 1, readLines(logFiles().get(0)).size(), "lines after entry " + i);
+            }
+        } finally {
+            valve.stop();
+        }
+        assertEquals(List.of("entry-0", "entry-1", "entry-2"), readLines(logFiles().get(0)));
+    }
+
+
+    @Test
+    public void entriesOfEachThreadAreWrittenInOrder() throws Exception {
+        int threadCount = 8;
+        int entryCount = 2000;
+        PEAccessLogValve valve = createValve();
+        valve.setBufferSize(1);
+        valve.start();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            String name = "thread-" + t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < entryCount; i++) {
+                        valve.postInvoke(request(name + " entry-" + i), null);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        valve.stop();
+
+        assertEquals(List.of(), failures, "failures");
+        List<String> lines = readLines(logFiles().get(0));
+        assertEquals(threadCount * entryCount, lines.size(), "line count");
+        int[] next = new int[threadCount];
+        for (String line : lines) {
+            int thread = Integer.parseInt(line.substring("thread-".length(), line.indexOf(' ')));
+            assertEquals("thread-" + thread + " entry-" + next[thread]++, line);
+        }
+    }
+
+
+    @Test
+    public void bufferedEntriesAreFlushedOnRotationAndStop() throws Exception {
+        PEAccessLogValve valve = createValve();
+        valve.setBufferSize(1);
+        valve.setRotatable(true);
+        valve.setRotationInterval(1);
+        valve.setFileDateFormat("yyyyMMddHHmmssSSS");
+        valve.setAddDateStampToFirstAccessLogFile(true);
+        valve.start();
+        try {
+            valve.postInvoke(request("first-0"), null);
+            valve.postInvoke(request("first-1"), null);
+            assertEquals(List.of(), readLines(logFiles().get(0)), "buffered entries");
+
+            Thread.sleep(1100L);
+            valve.log();
+            List<Path> files = logFiles();
+            assertAll(
+                () -> assertEquals(2, files.size(), "files after rotation"),
+                () -> assertEquals(List.of("first-0", "first-1"), readLines(files.get(0)), "rotated file"),
+                () -> assertEquals(List.of(), readLines(files.get(1)), "current file")
+            );
+
+            valve.postInvoke(request("second-0"), null);
+        } finally {
+            valve.setRotatable(false);
+            valve.stop();
+        }
+        List<Path> files = logFiles();
+        assertAll(
+            () -> assertEquals(2, files.size(), "files after stop"),
+            () -> assertEquals(List.of("second-0"), readLines(files.get(1)), "current file")
+        );
+    }
+
+
+    private PEAccessLogValve createValve() {
+        PEAccessLogValve valve = new PEAccessLogValve();
+        valve.setDirectory(logDirectory.toString());
+        valve.setPrefix("access_log");
+        valve.setSuffix(".txt");
+        valve.setStriped(true);
+        valve.setFormatter(new NoteFormatter());
+        return valve;
+    }
+
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            return files.sorted().toList();
+        }
+    }
+
+
+    private static List<String> readLines(Path file) throws IOException {
+        return Files.readAllLines(file);
+    }
+
+
+    private static Request request(String entry) {
+        return (Request) Proxy.newProxyInstance(PEAccessLogValveTest.class.getClassLoader(),
+            new Class<?>[] {Request.class},
+            (proxy, method, args) -> "getNote".equals(method.getName()) && ENTRY_NOTE.equals(args[0]) ? entry : null);
+    }
+
+
+    /**
+     * Formats the entry held by the request note.
+     */
+    private static final class NoteFormatter extends AccessLogFormatter {
+
+        NoteFormatter() {
+            super(null);
+        }
+
+        @Override
+        public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+            charBuffer.put((String) request.getNote(ENTRY_NOTE));
+        }
+    }
+}
@@ -105,6 +105,13 @@ public abstract class BaseDirContext implements DirContext {
     protected int cacheMaxSize = 10240; // 10 MB
 
 
+    /**
+     * Use the concurrent cache, which maps the content of large files to
+     * memory.
+     */
+    protected boolean cacheMapped = false;
+
+
     // ------------------------------------------------------------- Properties
 
     /**
@@ -201,6 +208,24 @@ public abstract class BaseDirContext implements DirContext {
     }
 
 
+    /**
+     * Set whether the concurrent cache is used, which maps the content of
+     * large files to memory. A mapped file cannot be deleted or replaced on
+     * Windows, and truncating it while mapped crashes the JVM.
+     */
+    public void setCacheMapped(boolean cacheMapped) {
+        this.cacheMapped = cacheMapped;
+    }
+
+
+    /**
+     * Is the content of large files mapped to memory ?
+     */
+    public boolean isCacheMapped() {
+        return cacheMapped;
+    }
+
+
     // --------------------------------------------------------- Public Methods
 
 
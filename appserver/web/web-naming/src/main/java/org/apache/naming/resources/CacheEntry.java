@@ -39,6 +39,8 @@ public class CacheEntry {
     public boolean exists = true;
     public long accessCount = 0;
     public int size = 1;
+    public int mappedSize = 0;
+    public volatile long lastAccess = 0;
 
 
     // ----------------------------------------------------- Public Methods
@@ -53,6 +55,8 @@ public class CacheEntry {
         exists = true;
         accessCount = 0;
         size = 1;
+        mappedSize = 0;
+        lastAccess = 0;
     }
 
 
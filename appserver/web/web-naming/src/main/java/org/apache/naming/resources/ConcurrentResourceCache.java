@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resource cache backed by concurrent hash maps, so lookups and loads never
+ * block each other.
+ * <p>
+ * Two budgets are maintained: the content held on the heap, limited by
+ * {@link #getCacheMaxSize()}, and the content of large files mapped to
+ * memory, limited by {@link #getMappedMaxSize()}. When a budget is exceeded,
+ * a single thread evicts the entries with the highest product of idle time
+ * and size until the cache gets below 95% of the budget again.
+ */
+public class ConcurrentResourceCache extends ResourceCache {
+
+
+    // ----------------------------------------------------- Instance Variables
+
+
+    /**
+     * Cache.
+     * Path -> Cache entry.
+     */
+    protected final ConcurrentHashMap<String, CacheEntry> entries =
+        new ConcurrentHashMap<String, CacheEntry>();
+
+
+    /**
+     * Not found cache.
+     */
+    protected final ConcurrentHashMap<String, CacheEntry> notFoundEntries =
+        new ConcurrentHashMap<String, CacheEntry>();
+
+
+    /**
+     * Max size of the mapped content in KB.
+     */
+    protected int mappedMaxSize = 262144; // 256 MB
+
+
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong mappedSize = new AtomicLong();
+    private final LongAdder accesses = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+
+    // ------------------------------------------------------------- Properties
+
+
+    @Override
+    public long getAccessCount() {
+        return accesses.sum();
+    }
+
+
+    @Override
+    public long getHitsCount() {
+        return hits.sum();
+    }
+
+
+    @Override
+    public int getCacheSize() {
+        return (int) size.get();
+    }
+
+
+    /**
+     * Return the maximum size of the mapped content in KB.
+     */
+    public int getMappedMaxSize() {
+        return mappedMaxSize;
+    }
+
+
+    /**
+     * Set the maximum size of the mapped content in KB.
+     */
+    public void setMappedMaxSize(int mappedMaxSize) {
+        this.mappedMaxSize = mappedMaxSize;
+    }
+
+
+    /**
+     * Return the current size of the mapped content in KB.
+     */
+    public int getMappedSize() {
+        return (int) mappedSize.get();
+    }
+
+
+    // --------------------------------------------------------- Public Methods
+
+
+    @Override
+    public boolean allocate(int space) {
+        if (space > cacheMaxSize) {
+            return false;
+        }
+        evict(space, 0);
+        return true;
+    }
+
+
+    @Override
+    public CacheEntry lookup(String name) {
+        accesses.increment();
+        CacheEntry cacheEntry = entries.get(name);
+        if (cacheEntry == null) {
+            cacheEntry = notFoundEntries.get(name);
+        }
+        if (cacheEntry != null) {
+            hits.increment();
+            cacheEntry.lastAccess = System.currentTimeMillis();
+        }
+        return cacheEntry;
+    }
+
+
+    @Override
+    public void load(CacheEntry entry) {
+        entry.lastAccess = System.currentTimeMillis();
+        if (entry.exists) {
+            if (entries.putIfAbsent(entry.name, entry) == null) {
+                size.addAndGet(entry.size);
+                mappedSize.addAndGet(entry.mappedSize);
+            }
+        } else if (notFoundEntries.putIfAbsent(entry.name, entry) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+
+    @Override
+    public boolean loadIfAbsent(CacheEntry entry) {
+        if (entry.size > cacheMaxSize || entry.mappedSize > mappedMaxSize) {
+            return false;
+        }
+        if (entries.containsKey(entry.name) || notFoundEntries.containsKey(entry.name)) {
+            return false;
+        }
+        load(entry);
+        evict(0, 0);
+        return true;
+    }
+
+
+    @Override
+    public boolean unload(String name) {
+        CacheEntry removedEntry = entries.remove(name);
+        if (removedEntry != null) {
+            size.addAndGet(-removedEntry.size);
+            mappedSize.addAndGet(-removedEntry.mappedSize);
+            return true;
+        } else if (notFoundEntries.remove(name) != null) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+
+    // ------------------------------------------------------ Protected Methods
+
+
+    /**
+     * Evict entries if the cache and the requested space exceed any of the
+     * budgets. Does nothing if another thread is already evicting.
+     */
+    protected void evict(int space, int mappedSpace) {
+        if (size.get() + space <= cacheMaxSize
+            && mappedSize.get() + mappedSpace <= mappedMaxSize) {
+            return;
+        }
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // Free a bit more so that the eviction won't run right away again
+            long sizeTarget = cacheMaxSize - space - (cacheMaxSize / 20);
+            long mappedTarget = mappedMaxSize - mappedSpace - (mappedMaxSize / 20);
+
+            if (size.get() > sizeTarget
+                && notFoundEntries.size() > spareNotFoundEntries) {
+                for (String name : notFoundEntries.keySet()) {
+                    if (notFoundEntries.remove(name) != null) {
+                        size.decrementAndGet();
+                    }
+                }
+            }
+            if (size.get() <= sizeTarget && mappedSize.get() <= mappedTarget) {
+                return;
+            }
+
+            // The scores are computed once, the access times keep changing
+            long now = System.currentTimeMillis();
+            List<Candidate> candidates = new ArrayList<Candidate>(entries.size());
+            for (CacheEntry entry : entries.values()) {
+                candidates.add(new Candidate(entry, now));
+            }
+            candidates.sort(Comparator.comparingLong((Candidate candidate) -> candidate.score).reversed());
+            for (Candidate candidate : candidates) {
+                CacheEntry entry = candidate.entry;
+                boolean overSize = size.get() > sizeTarget;
+                boolean overMapped = mappedSize.get() > mappedTarget;
+                if (!overSize && !overMapped) {
+                    break;
+                }
+                // Keep the entries which would not help
+                if (!overSize && entry.mappedSize == 0) {
+                    continue;
+                }
+                if (entries.remove(entry.name, entry)) {
+                    size.addAndGet(-entry.size);
+                    mappedSize.addAndGet(-entry.mappedSize);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+
+    /**
+     * Entries which were not used for a long time and occupy a lot of space
+     * are evicted first.
+     */
+    private static final class Candidate {
+
+        private final CacheEntry entry;
+        private final long score;
+
+        Candidate(CacheEntry entry, long now) {
+            this.entry = entry;
+            this.score = Math.max(1L, now - entry.lastAccess) * (entry.size + entry.mappedSize);
+        }
+    }
+
+
+}
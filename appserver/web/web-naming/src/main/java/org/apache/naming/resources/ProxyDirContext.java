@@ -20,8 +20,13 @@ package org.apache.naming.resources;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Hashtable;
+import java.util.zip.CRC32;
 
 import javax.naming.Binding;
 import javax.naming.Context;
@@ -69,11 +74,18 @@ public class ProxyDirContext implements DirContext {
             // the caching policy.
             BaseDirContext baseDirContext = (BaseDirContext) dirContext;
             if (baseDirContext.isCached()) {
+                if (baseDirContext.isCacheMapped()) {
+                    cacheClassName = ConcurrentResourceCache.class.getName();
+                }
                 cache = (ResourceCache)
                     Class.forName(cacheClassName).newInstance();
                 cache.setCacheMaxSize(baseDirContext.getCacheMaxSize());
                 cacheTTL = baseDirContext.getCacheTTL();
                 cacheObjectMaxSize = baseDirContext.getCacheMaxSize() / 20;
+                if (cache instanceof ConcurrentResourceCache) {
+                    cacheMappedObjectMaxSize =
+                        ((ConcurrentResourceCache) cache).getMappedMaxSize() / 20;
+                }
             }
         }
         hostName = env.get(HOST);
@@ -127,6 +139,13 @@ public class ProxyDirContext implements DirContext {
     protected int cacheObjectMaxSize = 512; // 512 KB
 
 
+    /**
+     * Max size of file resources which will have their content mapped to
+     * memory instead, 0 unless the mapped cache was enabled.
+     */
+    protected int cacheMappedObjectMaxSize = 0;
+
+
     /**
      * Immutable name not found exception.
      */
@@ -1436,7 +1455,8 @@ public class ProxyDirContext implements DirContext {
         if (((!entry.exists)
              || (entry.context != null)
              || ((entry.resource != null)
-                 && (entry.resource.getContent() != null)))
+                 && ((entry.resource.getContent() != null)
+                     || (entry.resource.mappedContent != null))))
             && (System.currentTimeMillis() < entry.timestamp)) {
             return true;
         }
@@ -1542,6 +1562,11 @@ public class ProxyDirContext implements DirContext {
                     pos = pos + n;
                 }
                 entry.resource.setContent(b);
+                if ((pos == length) && (cacheMappedObjectMaxSize > 0)) {
+                    CRC32 crc = new CRC32();
+                    crc.update(b, 0, length);
+                    entry.attributes.setETag(strongETag(length, crc));
+                }
             } catch (IOException e) {
                 // Ignore
             } finally {
@@ -1554,23 +1579,51 @@ public class ProxyDirContext implements DirContext {
             }
         }
 
+        // Map the content of large files
+        if ((exists) && (entry.resource != null)
+            && (entry.resource.getContent() == null)
+            && (entry.attributes.getContentLength() > 0)
+            && (entry.attributes.getContentLength() <
+                (cacheMappedObjectMaxSize * 1024L))
+            && (entry.attributes.getCanonicalPath() != null)) {
+            long length = entry.attributes.getContentLength();
+            try (FileChannel channel = FileChannel.open(
+                    Path.of(entry.attributes.getCanonicalPath()), StandardOpenOption.READ)) {
+                if (channel.size() == length) {
+                    ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                    CRC32 crc = new CRC32();
+                    crc.update(mapped.duplicate());
+                    entry.resource.setMappedContent(mapped.asReadOnlyBuffer());
+                    entry.attributes.setETag(strongETag(length, crc));
+                    entry.mappedSize = (int) (length / 1024) + 1;
+                }
+            } catch (IOException e) {
+                // Ignore, the content will be streamed from the file
+            }
+        }
+
         // Set existence flag
         entry.exists = exists;
 
         // Set timestamp
         entry.timestamp = System.currentTimeMillis() + cacheTTL;
 
-        // Add new entry to cache
-        synchronized (cache) {
-            // Check cache size, and remove elements if too big
-            if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
-                cache.load(entry);
-            }
-        }
+        // Add new entry to cache, removing elements if too big
+        cache.loadIfAbsent(entry);
 
     }
 
 
+    /**
+     * Strong entity tag derived from the content, computed once when the
+     * content is loaded or mapped. A mapped file rewritten with the same
+     * length keeps its entity tag until the entry is revalidated.
+     */
+    protected String strongETag(long length, CRC32 crc) {
+        return "\"" + length + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+
     /**
      * Remove entry from cache.
      */
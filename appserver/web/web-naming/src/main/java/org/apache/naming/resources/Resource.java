@@ -20,6 +20,7 @@ package org.apache.naming.resources;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Encapsultes the contents of a resource.
@@ -62,6 +63,12 @@ public class Resource {
     protected InputStream inputStream = null;
 
 
+    /**
+     * Read-only content mapped from the file.
+     */
+    protected ByteBuffer mappedContent = null;
+
+
     // ------------------------------------------------------------- Properties
 
 
@@ -109,4 +116,26 @@ public class Resource {
     }
 
 
+    /**
+     * Mapped content accessor.
+     *
+     * @return a new view of the mapped content, or null if the content is
+     * not mapped
+     */
+    public ByteBuffer getMappedContent() {
+        ByteBuffer content = mappedContent;
+        return content == null ? null : content.duplicate();
+    }
+
+
+    /**
+     * Mapped content mutator.
+     *
+     * @param mappedContent read-only buffer mapped from the file
+     */
+    public void setMappedContent(ByteBuffer mappedContent) {
+        this.mappedContent = mappedContent;
+    }
+
+
 }
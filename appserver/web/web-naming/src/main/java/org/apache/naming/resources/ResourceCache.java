@@ -325,6 +325,21 @@ public class ResourceCache {
     }
 
 
+    /**
+     * Load the entry unless an entry with the same name is already cached,
+     * making space for it if needed.
+     *
+     * @return true if the entry was added to the cache
+     */
+    public synchronized boolean loadIfAbsent(CacheEntry entry) {
+        if ((lookup(entry.name) == null) && allocate(entry.size)) {
+            load(entry);
+            return true;
+        }
+        return false;
+    }
+
+
     public boolean unload(String name) {
         CacheEntry removedEntry = removeCache(name);
         if (removedEntry != null) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentResourceCacheTest {
+
+    @Test
+    public void lookupCountsAccessesAndHits() {
+        ConcurrentResourceCache cache = new ConcurrentResourceCache();
+        CacheEntry found = entry("/found", 3, 0);
+        CacheEntry notFound = entry("/missing", 1, 0);
+        notFound.exists = false;
+        assertAll(
+            () -> assertTrue(cache.loadIfAbsent(found), "found entry loaded"),
+            () -> assertTrue(cache.loadIfAbsent(notFound), "not found entry loaded")
+        );
+
+        assertAll(
+            () -> assertSame(found, cache.lookup("/found")),
+            () -> assertSame(notFound, cache.lookup("/missing")),
+            () -> assertNull(cache.lookup("/other")),
+            () -> assertEquals(3, cache.getAccessCount(), "accessCount"),
+            () -> assertEquals(2, cache.getHitsCount(), "hitsCount"),
+            () -> assertEquals(4, cache.getCacheSize(), "cacheSize")
+        );
+
+        assertTrue(cache.unload("/found"), "unload");
+        assertAll(
+            () -> assertFalse(cache.unload("/found"), "second unload"),
+            () -> assertEquals(1, cache.getCacheSize(), "cacheSize after unload")
+        );
+    }
+
+
+    @Test
+    public void loadIfAbsentRejectsDuplicatesAndOversizedEntries() {
+        ConcurrentResourceCache cache = new ConcurrentResourceCache();
+        cache.setCacheMaxSize(100);
+        cache.setMappedMaxSize(100);
+        CacheEntry entry = entry("/entry", 10, 0);
+        assertTrue(cache.loadIfAbsent(entry), "first load");
+        assertAll(
+            () -> assertFalse(cache.loadIfAbsent(entry("/entry", 10, 0)), "duplicate"),
+            () -> assertFalse(cache.loadIfAbsent(entry("/big", 101, 0)), "bigger than the cache"),
+            () -> assertFalse(cache.loadIfAbsent(entry("/mapped", 1, 101)), "bigger than the mapped content"),
+            () -> assertSame(entry, cache.lookup("/entry"), "cached entry"),
+            () -> assertEquals(10, cache.getCacheSize(), "cacheSize")
+        );
+    }
+
+
+    @Test
+    public void evictsLongestIdleLargestEntries() {
+        ConcurrentResourceCache cache = new ConcurrentResourceCache();
+        cache.setCacheMaxSize(100);
+        long now = System.currentTimeMillis();
+        CacheEntry idle = entry("/idle", 30, 0);
+        CacheEntry used = entry("/used", 30, 0);
+        CacheEntry recent = entry("/recent", 30, 0);
+        cache.load(idle);
+        cache.load(used);
+        cache.load(recent);
+        idle.lastAccess = now - 10_000L;
+        used.lastAccess = now - 1_000L;
+        recent.lastAccess = now;
+
+        assertTrue(cache.loadIfAbsent(entry("/new", 30, 0)), "new entry loaded");
+        assertAll(
+            () -> assertNull(cache.lookup("/idle"), "idle entry evicted"),
+            () -> assertNotNull(cache.lookup("/used"), "used entry"),
+            () -> assertNotNull(cache.lookup("/recent"), "recent entry"),
+            () -> assertNotNull(cache.lookup("/new"), "new entry"),
+            () -> assertEquals(90, cache.getCacheSize(), "cacheSize")
+        );
+    }
+
+
+    @Test
+    public void mappedBudgetEvictsOnlyMappedEntries() {
+        ConcurrentResourceCache cache = new ConcurrentResourceCache();
+        cache.setMappedMaxSize(100);
+        long now = System.currentTimeMillis();
+        CacheEntry heap = entry("/heap", 50, 0);
+        CacheEntry idleMapped = entry("/idle-mapped", 1, 60);
+        CacheEntry recentMapped = entry("/recent-mapped", 1, 30);
+        cache.load(heap);
+        cache.load(idleMapped);
+        cache.load(recentMapped);
+        heap.lastAccess = now - 60_000L;
+        idleMapped.lastAccess = now - 10_000L;
+        recentMapped.lastAccess = now;
+
+        assertTrue(cache.loadIfAbsent(entry("/new-mapped", 1, 30)), "new entry loaded");
+        assertAll(
+            () -> assertNotNull(cache.lookup("/heap"), "heap entry kept"),
+            () -> assertNull(cache.lookup("/idle-mapped"), "idle mapped entry evicted"),
+            () -> assertNotNull(cache.lookup("/recent-mapped"), "recent mapped entry"),
+            () -> assertEquals(60, cache.getMappedSize(), "mappedSize")
+        );
+    }
+
+
+    @Test
+    public void notFoundEntriesAreDroppedFirst() {
+        ConcurrentResourceCache cache = new ConcurrentResourceCache();
+        cache.setCacheMaxSize(100);
+        cache.setSpareNotFoundEntries(0);
+        CacheEntry found = entry("/found", 90, 0);
+        cache.load(found);
+        for (int i = 0; i < 10; i++) {
+            CacheEntry notFound = entry("/missing" + i, 1, 0);
+            notFound.exists = false;
+            cache.load(notFound);
+        }
+        found.lastAccess = System.currentTimeMillis() - 60_000L;
+
+        assertTrue(cache.allocate(5), "allocate");
+        assertAll(
+            () -> assertNotNull(cache.lookup("/found"), "found entry kept"),
+            () -> assertNull(cache.lookup("/missing0"), "not found entry dropped"),
+            () -> assertEquals(90, cache.getCacheSize(), "cacheSize")
+        );
+    }
+
+
+    private static CacheEntry entry(String name, int size, int mappedSize) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.size = size;
+        entry.mappedSize = mappedSize;
+        return entry;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Hashtable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProxyDirContextTest {
+
+    /**
+     * Larger than the max size of the content cached on the heap.
+     */
+    private static final int LARGE_SIZE = 600 * 1024;
+
+    @TempDir
+    private Path docBase;
+
+    private byte[] large;
+
+
+    @BeforeEach
+    public void createResources() throws Exception {
+        large = new byte[LARGE_SIZE];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) i;
+        }
+        Files.write(docBase.resolve("large.bin"), large);
+        Files.writeString(docBase.resolve("small.txt"), "small");
+    }
+
+
+    @Test
+    public void defaultCacheReadsContentToHeap() throws Exception {
+        ProxyDirContext context = createContext(false);
+        CacheEntry small = context.lookupCache("/small.txt");
+        CacheEntry largeEntry = context.lookupCache("/large.bin");
+        assertAll(
+            () -> assertEquals(ResourceCache.class, context.cache.getClass(), "cache class"),
+            () -> assertArrayEquals("small".getBytes(), small.resource.getContent(), "small content"),
+            () -> assertTrue(small.attributes.getETag().startsWith("W/"), "weak ETag"),
+            () -> assertNull(largeEntry.resource.getContent(), "large content"),
+            () -> assertNull(largeEntry.resource.getMappedContent(), "mapped content")
+        );
+    }
+
+
+    @Test
+    @DisabledOnOs(value = OS.WINDOWS, disabledReason = "The mapped file cannot be deleted")
+    public void mappedCacheMapsLargeFiles() throws Exception {
+        ProxyDirContext context = createContext(true);
+        CacheEntry small = context.lookupCache("/small.txt");
+        CacheEntry largeEntry = context.lookupCache("/large.bin");
+        ByteBuffer mapped = largeEntry.resource.getMappedContent();
+        assertNotNull(mapped, "mapped content");
+        byte[] content = new byte[mapped.remaining()];
+        mapped.get(content);
+        assertAll(
+            () -> assertEquals(ConcurrentResourceCache.class, context.cache.getClass(), "cache class"),
+            () -> assertArrayEquals("small".getBytes(), small.resource.getContent(), "small content"),
+            () -> assertTrue(small.attributes.getETag().startsWith("\"5-"), "strong ETag of the small content"),
+            () -> assertNull(largeEntry.resource.getContent(), "large content"),
+            () -> assertArrayEquals(large, content, "mapped content"),
+            () -> assertTrue(largeEntry.attributes.getETag().startsWith("\"" + LARGE_SIZE + "-"),
+                "strong ETag of the mapped content")
+        );
+    }
+
+
+    private ProxyDirContext createContext(boolean cacheMapped) throws Exception {
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        dirContext.setCacheMapped(cacheMapped);
+        return new ProxyDirContext(new Hashtable<>(), dirContext);
+    }
+}
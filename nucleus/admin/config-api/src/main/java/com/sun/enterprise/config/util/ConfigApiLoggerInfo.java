@@ -440,4 +440,10 @@ public class ConfigApiLoggerInfo {
     @LogMessageInfo(message = "Failure while upgrading http-service properties.", level = "SEVERE", cause = "An error occurred.", action = "Take appropriate action based on the error details in the log.")
     public final static String ERR_UPGRADE_HTTP_SVC_PROPS = "NCLS-CFGAPI-00137";
 
+    @LogMessageInfo(message = "Loaded the configuration from the snapshot {0} in {1} ms.", level = "INFO")
+    public final static String CONFIG_SNAPSHOT_LOADED = "NCLS-CFGAPI-00138";
+
+    @LogMessageInfo(message = "Cannot write the configuration snapshot {0}, the next startup will parse domain.xml.", level = "WARNING", cause = "An I/O error occurred.", action = "Check the permissions and the free space of the config directory.")
+    public final static String CONFIG_SNAPSHOT_WRITE_FAILED = "NCLS-CFGAPI-00139";
+
 }
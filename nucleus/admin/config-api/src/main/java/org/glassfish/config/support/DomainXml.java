@@ -28,10 +28,12 @@ import jakarta.inject.Inject;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -52,9 +54,11 @@ import org.glassfish.server.ServerEnvironmentImpl;
 import org.jvnet.hk2.annotations.Optional;
 import org.jvnet.hk2.config.ConfigParser;
 import org.jvnet.hk2.config.ConfigPopulatorException;
+import org.jvnet.hk2.config.ConfigSnapshot;
 import org.jvnet.hk2.config.DomDocument;
 import org.jvnet.hk2.config.Populator;
 
+import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.CONFIG_SNAPSHOT_LOADED;
 import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.badEnv;
 import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.cleaningDomainXmlFailed;
 import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.failedUpgrade;
@@ -66,6 +70,7 @@ import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.successfulUpgra
 import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.totalTimeToParseDomain;
 import static java.util.logging.Level.CONFIG;
 import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
 
 /**
@@ -90,6 +95,8 @@ public abstract class DomainXml implements Populator {
     XMLInputFactory xif;
     @Inject
     ServerEnvironmentImpl env;
+    @Inject
+    DomainXmlSnapshot snapshot;
 
 
     protected abstract DomDocument getDomDocument();
@@ -108,7 +115,9 @@ public abstract class DomainXml implements Populator {
         URL domainURL = null;
         try {
             domainURL = getDomainXml(env);
-            parseDomainXml(parser, domainURL, instance);
+            if (!loadSnapshot(parser, domainURL)) {
+                parseDomainXml(parser, domainURL, instance);
+            }
         } catch (NoBackupException ex) {
             /* Both files do not exists or are empty */
             throw new ConfigPopulatorException("Failed to parse domain.xml", ex);
@@ -231,6 +240,38 @@ public abstract class DomainXml implements Populator {
         return getAlternativeDomainXml(env);
     }
 
+    /**
+     * Builds the configuration from the snapshot of <tt>domain.xml</tt> if it is enabled
+     * and matches the file.
+     *
+     * @return false if <tt>domain.xml</tt> has to be parsed
+     */
+    protected boolean loadSnapshot(ConfigParser parser, final URL domainXml) {
+        if (!isSnapshotUsed(domainXml)) {
+            return false;
+        }
+        long startNano = System.nanoTime();
+        final ConfigSnapshot.Element root;
+        try {
+            root = snapshot.read(new File(domainXml.toURI()));
+        } catch (IOException | URISyntaxException e) {
+            LOG.log(FINE, "Cannot read the configuration snapshot, parsing " + domainXml, e);
+            return false;
+        }
+        if (root == null) {
+            return false;
+        }
+        parser.parse(root, getDomDocument());
+        LOG.log(INFO, CONFIG_SNAPSHOT_LOADED,
+            new Object[] {snapshot.getFile(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNano)});
+        return true;
+    }
+
+    private boolean isSnapshotUsed(final URL domainXml) {
+        return snapshot.isEnabled() && "file".equals(domainXml.getProtocol()) && !isBackupFile(domainXml)
+            && !"upgrade".equals(context.getPlatformMainServiceName());
+    }
+
     /**
      * Parses <tt>domain.xml</tt>
      */
@@ -248,16 +289,20 @@ public abstract class DomainXml implements Populator {
                 }
             });
 
+            final DomDocument document = getDomDocument();
             try (ServerReaderFilter readerFilter = createReaderFilter(domainXml)) {
-                parser.parse(readerFilter, getDomDocument());
+                parser.parse(readerFilter, document);
             }
+            LOG.log(CONFIG, totalTimeToParseDomain, System.nanoTime() - startNano);
 
+            if (isSnapshotUsed(domainXml)) {
+                snapshot.write(document, new File(domainXml.toURI()));
+            }
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Unable to parse " + domainXml, e);
         }
-        LOG.log(CONFIG, totalTimeToParseDomain, System.nanoTime() - startNano);
     }
 
 
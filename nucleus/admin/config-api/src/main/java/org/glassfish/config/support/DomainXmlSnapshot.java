@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.config.support;
+
+import com.sun.enterprise.config.util.ConfigApiLoggerInfo;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.server.ServerEnvironmentImpl;
+import org.jvnet.hk2.annotations.Service;
+import org.jvnet.hk2.config.ConfigInjector;
+import org.jvnet.hk2.config.ConfigSnapshot;
+import org.jvnet.hk2.config.DomDocument;
+
+import static com.sun.enterprise.config.util.ConfigApiLoggerInfo.CONFIG_SNAPSHOT_WRITE_FAILED;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Binary snapshot of the configuration tree, stored next to <tt>domain.xml</tt>
+ * and used at startup instead of parsing <tt>domain.xml</tt> when it did not change.
+ * <p>
+ * The snapshot is used only if the {@value #ENABLED_PROPERTY} system property is true.
+ * It is discarded if the content of <tt>domain.xml</tt>, the runtime type, the instance name
+ * or the configuration models differ from the time it was written.
+ *
+ * @see ConfigSnapshot
+ */
+@Service
+@Singleton
+public class DomainXmlSnapshot {
+
+    public static final String ENABLED_PROPERTY = "org.glassfish.config.snapshot";
+
+    static final String FILE_NAME = "domain.xml.snapshot";
+
+    private static final Logger LOG = ConfigApiLoggerInfo.getLogger();
+
+    private static final int MAGIC = 0x47464353;
+    private static final int VERSION = 1;
+
+    @Inject
+    private ServerEnvironmentImpl env;
+    @Inject
+    private ServiceLocator habitat;
+
+    private final boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private volatile Long modelsChecksum;
+
+    /**
+     * @return true if snapshots are read and written.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the snapshot file in the config directory.
+     */
+    public File getFile() {
+        return new File(env.getConfigDirPath(), FILE_NAME);
+    }
+
+    /**
+     * Reads the snapshot of the given <tt>domain.xml</tt>.
+     *
+     * @param domainXml the configuration file the snapshot has to match
+     * @return the root element, or null if there is no snapshot or it does not match
+     * @throws IOException if the snapshot is corrupted
+     */
+    public ConfigSnapshot.Element read(File domainXml) throws IOException {
+        final File file = getFile();
+        if (!file.isFile()) {
+            LOG.log(FINE, "No configuration snapshot at {0}", file);
+            return null;
+        }
+        final byte[] body;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOG.log(FINE, "Configuration snapshot {0} has an unknown format", file);
+                return null;
+            }
+            if (!env.getRuntimeType().name().equals(in.readUTF())
+                || !String.valueOf(env.getInstanceName()).equals(in.readUTF())
+                || in.readLong() != getModelsChecksum()
+                || in.readLong() != domainXml.length()
+                || in.readLong() != checksum(domainXml)) {
+                LOG.log(FINE, "Configuration snapshot {0} does not match {1}", new Object[] {file, domainXml});
+                return null;
+            }
+            final long length = in.readLong();
+            final long checksum = in.readLong();
+            if (length < 0 || length > file.length()) {
+                throw new IOException("Invalid length " + length + " of configuration snapshot " + file);
+            }
+            body = new byte[(int) length];
+            in.readFully(body);
+            final CRC32 crc = new CRC32();
+            crc.update(body, 0, body.length);
+            if (crc.getValue() != checksum) {
+                throw new IOException("Checksum mismatch of configuration snapshot " + file);
+            }
+        }
+        return ConfigSnapshot.read(new DataInputStream(new ByteArrayInputStream(body)));
+    }
+
+    /**
+     * Writes the snapshot of the document just parsed from <tt>domain.xml</tt>.
+     * Failures are logged, a snapshot which could not be written is deleted.
+     *
+     * @param document the configuration tree
+     * @param domainXml the configuration file holding the same tree
+     */
+    public void write(DomDocument<?> document, File domainXml) {
+        final byte[] snapshot;
+        final long domainXmlChecksum;
+        try {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+            try (DataOutputStream out = new DataOutputStream(body)) {
+                ConfigSnapshot.write(document, out);
+            }
+            snapshot = body.toByteArray();
+            domainXmlChecksum = checksum(domainXml);
+        } catch (IOException | RuntimeException e) {
+            failed(null, e);
+            return;
+        }
+        write(snapshot, domainXml, domainXmlChecksum);
+    }
+
+    /**
+     * Writes the snapshot recorded while the document was saved to <tt>domain.xml</tt>.
+     * Failures are logged, a snapshot which could not be written is deleted.
+     *
+     * @param snapshot the snapshot recorded by {@link ConfigSnapshot#record}
+     * @param domainXml the configuration file holding the same tree
+     * @param domainXmlChecksum the CRC32 of the bytes written to <tt>domain.xml</tt>
+     */
+    public void write(byte[] snapshot, File domainXml, long domainXmlChecksum) {
+        final File file = getFile();
+        File tmp = null;
+        try {
+            final CRC32 crc = new CRC32();
+            crc.update(snapshot, 0, snapshot.length);
+
+            tmp = File.createTempFile("domain", ".snapshot", file.getParentFile());
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(env.getRuntimeType().name());
+                out.writeUTF(String.valueOf(env.getInstanceName()));
+                out.writeLong(getModelsChecksum());
+                out.writeLong(domainXml.length());
+                out.writeLong(domainXmlChecksum);
+                out.writeLong(snapshot.length);
+                out.writeLong(crc.getValue());
+                out.write(snapshot);
+            }
+            Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING);
+            LOG.log(FINE, "Configuration snapshot written to {0}", file);
+        } catch (IOException | RuntimeException e) {
+            failed(tmp, e);
+        }
+    }
+
+    private void failed(File tmp, Exception e) {
+        final File file = getFile();
+        LOG.log(WARNING, CONFIG_SNAPSHOT_WRITE_FAILED, file);
+        LOG.log(FINE, "Writing of the configuration snapshot failed!", e);
+        if (tmp != null) {
+            tmp.delete();
+        }
+        file.delete();
+    }
+
+    private static long checksum(File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Checksum of the descriptors of all configuration models, with their elements and attributes,
+     * so that a snapshot written by a different version of the server is not used.
+     */
+    private long getModelsChecksum() {
+        Long checksum = modelsChecksum;
+        if (checksum == null) {
+            final List<String> models = new ArrayList<>();
+            for (ActiveDescriptor<?> descriptor : habitat
+                .getDescriptors(BuilderHelper.createContractFilter(ConfigInjector.class.getName()))) {
+                models.add(descriptor.getImplementation() + new TreeMap<>(descriptor.getMetadata()));
+            }
+            Collections.sort(models);
+            final CRC32 crc = new CRC32();
+            for (String model : models) {
+                crc.update(model.getBytes(StandardCharsets.UTF_8));
+            }
+            checksum = crc.getValue();
+            modelsChecksum = checksum;
+        }
+        return checksum;
+    }
+}
@@ -59,6 +59,8 @@ public class MLogger {
     public static final String gmbalRegistrationFailed = "NCLS-MNTG-00205";
     @LogMessageInfo(message = "Gmbal unregistration failed", comment = "see message", cause = "see message", action = "see message", level = "SEVERE")
     public static final String gmbalUnRegistrationFailed = "NCLS-MNTG-00206";
+    @LogMessageInfo(message = "Rendering of the OpenMetrics response failed", comment = "see message", cause = "see message", action = "see message", level = "WARNING")
+    public static final String openMetricsFailed = "NCLS-MNTG-00211";
     @LogMessageInfo(message = "module-monitoring-level or container-monitoring config element for {0} does not exist", comment = "see message", cause = "see message", action = "see message", level = "WARNING")
     public static final String monitorElementDoesnotExist = "NCLS-MNTG-00207";
     @LogMessageInfo(message = "Unable to load the ProbeProvider", comment = "see message", cause = "see message", action = "see message", level = "SEVERE")
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.admin.monitor;
+
+import com.sun.enterprise.config.serverbeans.Config;
+import com.sun.enterprise.v3.admin.adapter.AdminEndpointDecider;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.security.auth.login.LoginException;
+
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.api.container.Adapter;
+import org.glassfish.grizzly.http.Method;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.internal.api.AdminAccessController;
+import org.glassfish.internal.api.RemoteAdminAccessException;
+import org.jvnet.hk2.annotations.Service;
+
+import static org.glassfish.admin.monitor.MLogger.openMetricsFailed;
+
+/**
+ * Serves the values of all enabled stats providers in the OpenMetrics text format on the admin listener,
+ * so they can be scraped by Prometheus without walking the monitoring tree.
+ * <p>
+ * The request needs the same credentials as the other admin endpoints. The <tt>module</tt> parameter,
+ * repeated or comma separated, restricts the response to the given config elements, for example
+ * <tt>/openmetrics?module=jvm,http-service</tt>. The response is gzipped if the client accepts it.
+ *
+ * @see OpenMetricsWriter
+ */
+@Service
+public class OpenMetricsAdapter extends HttpHandler implements Adapter {
+
+    public static final String CONTEXT_ROOT = "/openmetrics";
+
+    private static final Logger logger = MLogger.getLogger();
+
+    private static final String MODULE_PARAMETER = "module";
+    private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String HEADER_AUTHENTICATE = "WWW-Authenticate";
+
+    @Inject
+    @Named(ServerEnvironment.DEFAULT_INSTANCE_NAME)
+    private Config config;
+
+    @Inject
+    private AdminAccessController adminAuthenticator;
+
+    private AdminEndpointDecider aed;
+    private volatile OpenMetricsWriter writer;
+    private boolean registered;
+
+    @Override
+    public void service(Request req, Response res) throws IOException {
+        if (!Method.GET.equals(req.getMethod()) && !Method.HEAD.equals(req.getMethod())) {
+            res.setHeader("Allow", "GET, HEAD");
+            res.sendError(HttpURLConnection.HTTP_BAD_METHOD);
+            return;
+        }
+        try {
+            adminAuthenticator.loginAsAdmin(req);
+        } catch (RemoteAdminAccessException e) {
+            res.sendError(HttpURLConnection.HTTP_FORBIDDEN);
+            return;
+        } catch (LoginException e) {
+            res.setHeader(HEADER_AUTHENTICATE, "BASIC");
+            res.sendError(HttpURLConnection.HTTP_UNAUTHORIZED);
+            return;
+        }
+
+        OpenMetricsWriter metricsWriter = getWriter();
+        if (metricsWriter == null) {
+            // monitoring was never enabled, there is no registry yet
+            res.sendError(HttpURLConnection.HTTP_NOT_FOUND);
+            return;
+        }
+
+        boolean gzip = acceptsGzip(req);
+        boolean[] rendered = new boolean[1];
+        try {
+            metricsWriter.write(getModules(req), gzip, (body, length) -> {
+                rendered[0] = true;
+                writeResponse(req, res, gzip, body, length);
+            });
+        } catch (IOException | RuntimeException e) {
+            if (rendered[0]) {
+                // the response is already being sent, the client may have gone away
+                throw e;
+            }
+            logger.log(Level.WARNING, openMetricsFailed, e);
+            res.sendError(HttpURLConnection.HTTP_INTERNAL_ERROR);
+        }
+    }
+
+    private static void writeResponse(Request req, Response res, boolean gzip, byte[] body, int length)
+        throws IOException {
+        res.setStatus(HttpURLConnection.HTTP_OK);
+        res.setContentType(OpenMetricsWriter.CONTENT_TYPE);
+        res.setHeader("Vary", HEADER_ACCEPT_ENCODING);
+        if (gzip) {
+            res.setHeader("Content-Encoding", "gzip");
+        }
+        res.setContentLength(length);
+        if (Method.GET.equals(req.getMethod())) {
+            OutputStream out = res.getOutputStream();
+            out.write(body, 0, length);
+            out.flush();
+        }
+    }
+
+    /**
+     * @return the writer of the current registry, which is replaced if monitoring is restarted
+     */
+    private OpenMetricsWriter getWriter() {
+        StatsProviderRegistry registry = StatsProviderUtil.getStatsProviderRegistry();
+        if (registry == null) {
+            return null;
+        }
+        OpenMetricsWriter metricsWriter = writer;
+        if (metricsWriter == null || metricsWriter.getRegistry() != registry) {
+            metricsWriter = new OpenMetricsWriter(registry);
+            writer = metricsWriter;
+        }
+        return metricsWriter;
+    }
+
+    private static Set<String> getModules(Request req) {
+        String[] values = req.getParameterValues(MODULE_PARAMETER);
+        if (values == null || values.length == 0) {
+            return null;
+        }
+        Set<String> modules = new HashSet<>();
+        for (String value : values) {
+            StringTokenizer st = new StringTokenizer(value, ",");
+            while (st.hasMoreTokens()) {
+                modules.add(st.nextToken().trim());
+            }
+        }
+        return modules;
+    }
+
+    private static boolean acceptsGzip(Request req) {
+        String accept = req.getHeader(HEADER_ACCEPT_ENCODING);
+        return accept != null && accept.toLowerCase(Locale.ENGLISH).contains("gzip");
+    }
+
+    private synchronized AdminEndpointDecider getEpd() {
+        if (aed == null) {
+            aed = new AdminEndpointDecider(config);
+        }
+        return aed;
+    }
+
+    @Override
+    public HttpHandler getHttpService() {
+        return this;
+    }
+
+    @Override
+    public String getContextRoot() {
+        return CONTEXT_ROOT;
+    }
+
+    @Override
+    public int getListenPort() {
+        return getEpd().getListenPort();
+    }
+
+    @Override
+    public InetAddress getListenAddress() {
+        return getEpd().getListenAddress();
+    }
+
+    @Override
+    public List<String> getVirtualServers() {
+        return getEpd().getAsadminHosts();
+    }
+
+    @Override
+    public synchronized boolean isRegistered() {
+        return registered;
+    }
+
+    @Override
+    public synchronized void setRegistered(boolean registered) {
+        this.registered = registered;
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.admin.monitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import org.glassfish.admin.monitor.StatsProviderRegistry.StatsProviderRegistryElement;
+import org.glassfish.external.statistics.BoundedRangeStatistic;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Renders the enabled stats providers of the {@link StatsProviderRegistry} in the
+ * <a href="https://openmetrics.io">OpenMetrics</a> text format.
+ * <p>
+ * The metric families, their names, help texts and label sets are computed only when
+ * a stats provider is registered or unregistered; a scrape just calls the attribute getters
+ * and appends their values. Each getter is called once per scrape, and all samples of
+ * a statistic are read from the value it returned. The text and its encoded form are kept
+ * in buffers reused by all scrapes.
+ * <p>
+ * Every {@link ManagedAttribute} of a stats provider becomes a family named
+ * <tt>glassfish_&lt;config element&gt;_&lt;attribute id&gt;</tt>, with the labels <tt>module</tt>
+ * (the config element) and <tt>path</tt> (the monitoring sub tree of the provider):
+ * <ul>
+ * <li>numbers and {@link CountStatistic} are gauges,
+ * <li>{@link RangeStatistic} is a gauge of the current value with the <tt>_highwatermark</tt>
+ * and <tt>_lowwatermark</tt> gauges, {@link BoundedRangeStatistic} adds <tt>_upperbound</tt>
+ * and <tt>_lowerbound</tt>,
+ * <li>{@link TimeStatistic} is a summary of the count and total time with the <tt>_maxtime</tt>
+ * and <tt>_mintime</tt> gauges.
+ * </ul>
+ * Other attributes, like string statistics, are not rendered.
+ */
+final class OpenMetricsWriter {
+
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final Logger logger = MLogger.getLogger();
+
+    private static final String PREFIX = "glassfish_";
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private static final ClassValue<List<Attribute>> ATTRIBUTES = new ClassValue<>() {
+
+        @Override
+        protected List<Attribute> computeValue(Class<?> type) {
+            List<Attribute> attributes = new ArrayList<>();
+            for (Method m : type.getMethods()) {
+                ManagedAttribute ma = m.getAnnotation(ManagedAttribute.class);
+                if (ma == null || m.getParameterCount() != 0) {
+                    continue;
+                }
+                String id = StatsProviderRegistry.getAttributeId(m, ma);
+                Kind kind = Kind.of(m.getReturnType());
+                if (id == null || kind == null) {
+                    continue;
+                }
+                Description description = m.getAnnotation(Description.class);
+                attributes.add(new Attribute(m, id, kind, description == null ? id : description.value()));
+            }
+            return Collections.unmodifiableList(attributes);
+        }
+    };
+
+    private final StatsProviderRegistry registry;
+    private final StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+    private final CharsetEncoder encoder = UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CompressedBuffer compressed = new CompressedBuffer(INITIAL_CAPACITY);
+    private ByteBuffer encoded = ByteBuffer.allocate(INITIAL_CAPACITY);
+    private int familiesVersion = -1;
+    private Collection<Family> families = Collections.emptyList();
+    private long scrape;
+
+    OpenMetricsWriter(StatsProviderRegistry registry) {
+        this.registry = registry;
+    }
+
+    StatsProviderRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Renders the current values of all enabled stats providers and passes them to the body.
+     * The body is called while this writer is locked, so the buffers are not reused by
+     * another scrape before it returns.
+     *
+     * @param modules names of the config elements to render, null to render all of them
+     * @param gzip true to compress the result
+     * @param body receives the UTF-8 bytes of the OpenMetrics text, gzipped if requested
+     * @throws IOException if the result cannot be compressed or the body fails to write it
+     */
+    synchronized void write(Set<String> modules, boolean gzip, Body body) throws IOException {
+        text.setLength(0);
+        scrape++;
+        for (Family family : getFamilies()) {
+            family.write(text, modules, scrape);
+        }
+        text.append("# EOF\n");
+
+        encode();
+        if (!gzip) {
+            body.write(encoded.array(), encoded.limit());
+            return;
+        }
+        compressed.reset();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, 8192)) {
+            out.write(encoded.array(), 0, encoded.limit());
+        }
+        body.write(compressed.array(), compressed.size());
+    }
+
+    private void encode() {
+        int maxLength = (int) Math.ceil(text.length() * (double) encoder.maxBytesPerChar());
+        if (encoded.capacity() < maxLength) {
+            encoded = ByteBuffer.allocate(maxLength);
+        }
+        encoded.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(text), encoded, true);
+        encoder.flush(encoded);
+        encoded.flip();
+    }
+
+    private Collection<Family> getFamilies() {
+        int version = registry.getVersion();
+        if (version != familiesVersion) {
+            families = createFamilies();
+            familiesVersion = version;
+        }
+        return families;
+    }
+
+    private Collection<Family> createFamilies() {
+        Map<String, Family> familyMap = new TreeMap<>();
+        for (StatsProviderRegistryElement spre : registry.getSpreList()) {
+            Object statsProvider = spre.getStatsProvider();
+            if (statsProvider == null) {
+                continue;
+            }
+            String module = spre.getConfigStr();
+            String labels = "{module=\"" + escapeLabel(module) + "\",path=\"" + escapeLabel(spre.getSubTreePath()) + "\"}";
+            for (Attribute attribute : ATTRIBUTES.get(statsProvider.getClass())) {
+                String name = PREFIX + sanitize(module) + "_" + sanitize(attribute.id);
+                Reading reading = new Reading(spre, attribute);
+                Field[] fields = attribute.kind.fields;
+                for (int index = 0; index < fields.length; index++) {
+                    Field field = fields[index];
+                    String familyName = name + field.familySuffix;
+                    Family family = familyMap.computeIfAbsent(familyName,
+                        key -> new Family(key, field.type, attribute.help + field.helpSuffix));
+                    if (family.type.equals(field.type)) {
+                        family.samples.add(new Sample(reading, index, field, labels));
+                    } else if (logger.isLoggable(Level.FINE)) {
+                        logger.fine("OpenMetrics family " + familyName + " is a " + family.type + ", ignoring "
+                            + field.type + " of " + statsProvider.getClass().getName());
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(familyMap.values());
+    }
+
+    /**
+     * Metric names may contain only ASCII letters, digits, underscores and colons.
+     */
+    static String sanitize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == ':';
+            sb.append(valid ? c : '_');
+        }
+        return sb.toString().toLowerCase(Locale.ENGLISH);
+    }
+
+    static String escapeLabel(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+
+    /**
+     * Receives the rendered scrape of {@link OpenMetricsWriter#write(Set, boolean, Body)}.
+     */
+    interface Body {
+
+        /**
+         * @param bytes buffer holding the body, reused by the next scrape once this method returns
+         * @param length number of bytes of the body at the start of the buffer
+         * @throws IOException if the body cannot be written
+         */
+        void write(byte[] bytes, int length) throws IOException;
+    }
+
+
+    /**
+     * Reusable buffer of the compressed text, giving access to its array without copying it.
+     */
+    private static final class CompressedBuffer extends ByteArrayOutputStream {
+
+        CompressedBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+
+    /**
+     * The statistic types of the attribute getters, with the metric values read from them.
+     */
+    private enum Kind {
+        NUMBER(Field.NUMBER),
+        COUNT(Field.COUNT),
+        RANGE(Field.CURRENT, Field.HIGH_WATER_MARK, Field.LOW_WATER_MARK),
+        BOUNDED_RANGE(Field.CURRENT, Field.HIGH_WATER_MARK, Field.LOW_WATER_MARK, Field.UPPER_BOUND, Field.LOWER_BOUND),
+        TIME(Field.TIME_COUNT, Field.TIME_SUM, Field.MAX_TIME, Field.MIN_TIME);
+
+        final Field[] fields;
+
+        Kind(Field... fields) {
+            this.fields = fields;
+        }
+
+        static Kind of(Class<?> type) {
+            if (BoundedRangeStatistic.class.isAssignableFrom(type)) {
+                return BOUNDED_RANGE;
+            } else if (RangeStatistic.class.isAssignableFrom(type)) {
+                return RANGE;
+            } else if (TimeStatistic.class.isAssignableFrom(type)) {
+                return TIME;
+            } else if (CountStatistic.class.isAssignableFrom(type)) {
+                return COUNT;
+            } else if (Number.class.isAssignableFrom(type)
+                || (type.isPrimitive() && type != boolean.class && type != char.class && type != void.class)) {
+                return NUMBER;
+            }
+            return null;
+        }
+    }
+
+
+    /**
+     * A value rendered from an attribute, with the suffixes of its family and sample names.
+     */
+    private enum Field {
+        NUMBER("gauge", "", "", ""),
+        COUNT("gauge", "", "", ""),
+        CURRENT("gauge", "", "", ""),
+        HIGH_WATER_MARK("gauge", "_highwatermark", "", " (high water mark)"),
+        LOW_WATER_MARK("gauge", "_lowwatermark", "", " (low water mark)"),
+        UPPER_BOUND("gauge", "_upperbound", "", " (upper bound)"),
+        LOWER_BOUND("gauge", "_lowerbound", "", " (lower bound)"),
+        TIME_COUNT("summary", "", "_count", ""),
+        TIME_SUM("summary", "", "_sum", ""),
+        MAX_TIME("gauge", "_maxtime", "", " (maximum time)"),
+        MIN_TIME("gauge", "_mintime", "", " (minimum time)");
+
+        final String type;
+        final String familySuffix;
+        final String sampleSuffix;
+        final String helpSuffix;
+
+        Field(String type, String familySuffix, String sampleSuffix, String helpSuffix) {
+            this.type = type;
+            this.familySuffix = familySuffix;
+            this.sampleSuffix = sampleSuffix;
+            this.helpSuffix = helpSuffix;
+        }
+
+        /**
+         * @return the value of a statistic field, not used for {@link #NUMBER}
+         */
+        long read(Object value) {
+            switch (this) {
+                case COUNT:
+                    return ((CountStatistic) value).getCount();
+                case CURRENT:
+                    return ((RangeStatistic) value).getCurrent();
+                case HIGH_WATER_MARK:
+                    return ((RangeStatistic) value).getHighWaterMark();
+                case LOW_WATER_MARK:
+                    return ((RangeStatistic) value).getLowWaterMark();
+                case UPPER_BOUND:
+                    return ((BoundedRangeStatistic) value).getUpperBound();
+                case LOWER_BOUND:
+                    return ((BoundedRangeStatistic) value).getLowerBound();
+                case TIME_COUNT:
+                    return ((TimeStatistic) value).getCount();
+                case TIME_SUM:
+                    return ((TimeStatistic) value).getTotalTime();
+                case MAX_TIME:
+                    return ((TimeStatistic) value).getMaxTime();
+                case MIN_TIME:
+                    return ((TimeStatistic) value).getMinTime();
+                default:
+                    throw new IllegalStateException(name());
+            }
+        }
+
+        private static void appendNumber(StringBuilder sb, Number value) {
+            if (value instanceof Double || value instanceof Float) {
+                double d = value.doubleValue();
+                if (Double.isNaN(d)) {
+                    sb.append("NaN");
+                } else if (Double.isInfinite(d)) {
+                    sb.append(d > 0 ? "+Inf" : "-Inf");
+                } else {
+                    sb.append(d);
+                }
+            } else {
+                sb.append(value.longValue());
+            }
+        }
+    }
+
+
+    private static final class Attribute {
+
+        final Method method;
+        final String id;
+        final Kind kind;
+        final String help;
+
+        Attribute(Method method, String id, Kind kind, String help) {
+            this.method = method;
+            this.id = id;
+            this.kind = kind;
+            this.help = help;
+        }
+    }
+
+
+    private static final class Family {
+
+        final String name;
+        final String type;
+        final String header;
+        final List<Sample> samples = new ArrayList<>();
+
+        Family(String name, String type, String help) {
+            this.name = name;
+            this.type = type;
+            this.header = "# TYPE " + name + " " + type + "\n# HELP " + name + " " + escapeHelp(help) + "\n";
+        }
+
+        /**
+         * Appends the family with the samples of enabled providers; nothing if there is none.
+         */
+        void write(StringBuilder sb, Set<String> modules, long scrape) {
+            int mark = sb.length();
+            sb.append(header);
+            boolean written = false;
+            for (Sample sample : samples) {
+                written |= sample.write(sb, name, modules, scrape);
+            }
+            if (!written) {
+                sb.setLength(mark);
+            }
+        }
+    }
+
+
+    /**
+     * The value of an attribute of a stats provider, read once per scrape for all of its samples.
+     */
+    private static final class Reading {
+
+        final StatsProviderRegistryElement spre;
+        final Attribute attribute;
+        private final long[] values;
+        private Object value;
+        private long scrape;
+
+        Reading(StatsProviderRegistryElement spre, Attribute attribute) {
+            this.spre = spre;
+            this.attribute = attribute;
+            this.values = new long[attribute.kind.fields.length];
+        }
+
+        /**
+         * Calls the getter and reads all fields of the statistic, unless it was done in this scrape.
+         *
+         * @return false if the value cannot be read
+         */
+        boolean read(Object statsProvider, long scrape) {
+            if (this.scrape != scrape) {
+                this.scrape = scrape;
+                value = readValue(statsProvider);
+            }
+            return value != null;
+        }
+
+        private Object readValue(Object statsProvider) {
+            Method method = attribute.method;
+            try {
+                Object current = method.invoke(statsProvider);
+                if (current == null || attribute.kind == Kind.NUMBER) {
+                    return current;
+                }
+                Field[] fields = attribute.kind.fields;
+                for (int index = 0; index < fields.length; index++) {
+                    values[index] = fields[index].read(current);
+                }
+                return current;
+            } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "Cannot read " + method + " of " + statsProvider.getClass().getName(), e);
+                }
+                return null;
+            }
+        }
+
+        void append(StringBuilder sb, int index) {
+            if (attribute.kind == Kind.NUMBER) {
+                Field.appendNumber(sb, (Number) value);
+            } else {
+                sb.append(values[index]);
+            }
+        }
+    }
+
+
+    private static final class Sample {
+
+        final Reading reading;
+        final int index;
+        final Field field;
+        final String labels;
+
+        Sample(Reading reading, int index, Field field, String labels) {
+            this.reading = reading;
+            this.index = index;
+            this.field = field;
+            this.labels = labels;
+        }
+
+        boolean write(StringBuilder sb, String familyName, Set<String> modules, long scrape) {
+            StatsProviderRegistryElement spre = reading.spre;
+            Object statsProvider = spre.getStatsProvider();
+            if (statsProvider == null || !spre.isEnabled() || (modules != null && !modules.contains(spre.getConfigStr()))) {
+                return false;
+            }
+            if (!reading.read(statsProvider, scrape)) {
+                return false;
+            }
+            sb.append(familyName).append(field.sampleSuffix).append(labels).append(' ');
+            reading.append(sb, index);
+            sb.append('\n');
+            return true;
+        }
+    }
+}
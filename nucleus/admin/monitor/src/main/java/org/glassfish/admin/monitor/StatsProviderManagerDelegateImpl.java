@@ -37,7 +37,6 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.StringTokenizer;
 import java.util.logging.Level;
@@ -617,15 +616,7 @@ public class StatsProviderManagerDelegateImpl extends MBeanListener.CallbackImpl
                 spre.setResetMethod(m);
             }
             if (ma != null) {
-                String methodName = m.getName();
-                String id = ma.id();
-                if ((id == null) || id.isEmpty()) { // if id not specified, derive from method name
-                    String methodNameLower = methodName.toLowerCase(Locale.ENGLISH);
-                    if (methodNameLower.startsWith("get") && methodNameLower.length() > 3) {
-                        id = methodNameLower.substring(3);
-                    }
-                }
-
+                String id = StatsProviderRegistry.getAttributeId(m, ma);
                 TreeNode attrNode = TreeNodeFactory.createMethodInvoker(id, statsProvider, id, m);
                 parentNode.addChild(attrNode);
                 childNodeNames.add(attrNode.getName());
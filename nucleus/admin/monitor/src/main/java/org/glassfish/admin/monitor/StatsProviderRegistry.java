@@ -24,16 +24,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.glassfish.external.probe.provider.PluginPoint;
 import org.glassfish.external.probe.provider.StatsProviderInfo;
 import org.glassfish.flashlight.MonitoringRuntimeDataRegistry;
 import org.glassfish.flashlight.client.ProbeClientMethodHandle;
+import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedObjectManager;
 
 public class StatsProviderRegistry {
     private Map<String, List<StatsProviderRegistryElement>> configToRegistryElementMap = new HashMap();
-    private Map<Object, StatsProviderRegistryElement> statsProviderToRegistryElementMap = new HashMap();
+    private Map<Object, StatsProviderRegistryElement> statsProviderToRegistryElementMap = new ConcurrentHashMap<>();
+    private final AtomicInteger version = new AtomicInteger();
     private boolean isAMXReady = false;
     private boolean isMBeanEnabled = true;
 
@@ -72,6 +75,7 @@ public class StatsProviderRegistry {
         // add a mapping from StatsProvider to StatsProviderRegistryElement
         // would make it easy for you when unregistering
         statsProviderToRegistryElementMap.put(statsProvider, spre);
+        version.incrementAndGet();
     }
 
     public void unregisterStatsProvider(Object statsProvider) throws Exception {
@@ -87,6 +91,7 @@ public class StatsProviderRegistry {
 
         // Remove the entry of statsProvider from the statsProviderToRegistryElementMap
         statsProviderToRegistryElementMap.remove(statsProvider);
+        version.incrementAndGet();
 
         // Remove the reference to statsProvider in spre (so it gets picked up by GC)
         spre.setStatsProvider(null);
@@ -105,10 +110,32 @@ public class StatsProviderRegistry {
         return statsProviderToRegistryElementMap.values();
     }
 
+    /**
+     * @return number changed on every registration and unregistration of a stats provider,
+     *         so that views of the registry know when to rebuild.
+     */
+    int getVersion() {
+        return version.get();
+    }
+
     Collection<String> getConfigElementList() {
         return this.configToRegistryElementMap.keySet();
     }
 
+    /**
+     * @return the id of the {@link ManagedAttribute}, derived from the getter name if not specified (v2 compatible)
+     */
+    static String getAttributeId(Method m, ManagedAttribute ma) {
+        String id = ma.id();
+        if ((id == null) || id.isEmpty()) { // if id not specified, derive from method name
+            String methodNameLower = m.getName().toLowerCase(Locale.ENGLISH);
+            if (methodNameLower.startsWith("get") && methodNameLower.length() > 3) {
+                id = methodNameLower.substring(3);
+            }
+        }
+        return id;
+    }
+
     void setAMXReady(boolean ready) {
         this.isAMXReady = ready;
     }
@@ -137,7 +164,7 @@ public class StatsProviderRegistry {
         String mbeanName = null;
         ManagedObjectManager mom = null;
         Method resetMethod = null;
-        boolean isEnabled = false;
+        volatile boolean isEnabled = false;
         int configLevel;
 
         public StatsProviderRegistryElement(StatsProviderInfo spInfo) {
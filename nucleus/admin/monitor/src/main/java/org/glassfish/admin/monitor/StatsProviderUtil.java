@@ -38,6 +38,10 @@ public class StatsProviderUtil {
         }
     }
 
+    static StatsProviderRegistry getStatsProviderRegistry() {
+        return spmd == null ? null : spmd.getStatsProviderRegistry();
+    }
+
     public static Boolean isMonitoringEnabled(String configElement) {
         return spmd == null ? Boolean.FALSE : spmd.getEnabledValue(configElement);
     }
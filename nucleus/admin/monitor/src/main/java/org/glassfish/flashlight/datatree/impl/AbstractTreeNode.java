@@ -170,7 +170,10 @@ public abstract class AbstractTreeNode implements TreeNode, Comparable<TreeNode>
             children.remove(child);
         }
 
-        // too fragile to hunt for the matching key...
+        // the key is usually the current path, but it is too fragile to rely on it...
+        if (normalizedChildren.remove(decodeNameToDots(oldChild.getCompletePathName()), oldChild))
+            return;
+
         Iterator<TreeNode> it = normalizedChildren.values().iterator();
         while (it.hasNext()) {
             if (it.next() == oldChild) {
@@ -334,12 +337,24 @@ public abstract class AbstractTreeNode implements TreeNode, Comparable<TreeNode>
     }
 
     private List<TreeNode> getNodesInternal(String pattern, boolean ignoreDisabled, boolean gfv2Compatible) {
+        if (gfv2Compatible)
+            pattern = convertGFv2PatternToRegex(pattern);
+
+        // walk only the branches which can match, if the pattern allows it
+        NodePathPattern pathPattern = NodePathPattern.compile(pattern);
+        if (pathPattern != null)
+            return pathPattern.getNodes(this, ignoreDisabled);
+
+        return getNodesByRegex(pattern, ignoreDisabled);
+    }
+
+    /**
+     * Matches the regular expression against the complete path of every node in the tree.
+     */
+    List<TreeNode> getNodesByRegex(String pattern, boolean ignoreDisabled) {
         List<TreeNode> regexMatchedTree = new ArrayList<TreeNode>();
 
         try {
-            if (gfv2Compatible)
-                pattern = convertGFv2PatternToRegex(pattern);
-
             Pattern mPattern = Pattern.compile(pattern);
             List<TreeNode> completeTree = traverse(ignoreDisabled);
 
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.datatree.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.flashlight.datatree.TreeNode;
+
+/**
+ * Matches complete path names of tree nodes against a regular expression by walking the tree,
+ * instead of matching the expression against the complete path of every node.
+ * <p>
+ * The path of a node is matched character by character while descending from its parent,
+ * so a branch is left as soon as no prefix of the expression can match its path any more;
+ * with a literal pattern only one branch is visited. The result is the same as with
+ * {@link java.util.regex.Matcher#matches()} on {@link TreeNode#getCompletePathName()} and on
+ * the same path without backslashes, in the order of {@link TreeNode#traverse(boolean)}.
+ * <p>
+ * Only the subset of regular expressions used by monitoring patterns is supported: literal
+ * characters, escaped characters, <tt>.</tt> and the <tt>*</tt> quantifier.
+ */
+final class NodePathPattern {
+
+    private static final char ANY = 0;
+
+    // A long holds the states of the automaton
+    private static final int MAX_TOKENS = Long.SIZE - 1;
+
+    private final char[] tokens;
+    private final long starred;
+    private final long accepting;
+    private final long initial;
+
+    private NodePathPattern(char[] tokens, long starred) {
+        this.tokens = tokens;
+        this.starred = starred;
+        this.accepting = 1L << tokens.length;
+        this.initial = closure(1L);
+    }
+
+    /**
+     * @param regex regular expression matched against the complete path names
+     * @return the pattern, or null if the expression uses unsupported constructs
+     */
+    static NodePathPattern compile(String regex) {
+        char[] tokens = new char[regex.length()];
+        int count = 0;
+        long starred = 0L;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '*') {
+                long last = 1L << (count - 1);
+                if (count == 0 || (starred & last) != 0) {
+                    return null;
+                }
+                starred |= last;
+                continue;
+            }
+            if (count == MAX_TOKENS) {
+                return null;
+            }
+            if (c == '\\') {
+                if (++i == regex.length()) {
+                    return null;
+                }
+                c = regex.charAt(i);
+                // \d, \s, \Q ... have special meanings
+                if (Character.isLetterOrDigit(c)) {
+                    return null;
+                }
+            } else if (c == '.') {
+                c = ANY;
+            } else if ("[](){}|+?^$".indexOf(c) >= 0) {
+                return null;
+            }
+            if (c == ANY && regex.charAt(i) != '.') {
+                // the NUL character itself
+                return null;
+            }
+            tokens[count++] = c;
+        }
+        char[] compiled = new char[count];
+        System.arraycopy(tokens, 0, compiled, 0, count);
+        return new NodePathPattern(compiled, starred);
+    }
+
+    /**
+     * @param root the node where the walk starts, matched itself too
+     * @param ignoreDisabled skip disabled nodes and their descendants
+     * @return the matching nodes, in the order of {@link TreeNode#traverse(boolean)}
+     */
+    List<TreeNode> getNodes(TreeNode root, boolean ignoreDisabled) {
+        List<TreeNode> result = new ArrayList<>();
+        if (ignoreDisabled && !root.isEnabled()) {
+            return result;
+        }
+        String path = root.getCompletePathName();
+        long states = feed(initial, path, false);
+        long strippedStates = feed(initial, path, true);
+        collect(root, states, strippedStates, ignoreDisabled, result);
+        return result;
+    }
+
+    private void collect(TreeNode node, long states, long strippedStates, boolean ignoreDisabled, List<TreeNode> result) {
+        if (((states | strippedStates) & accepting) != 0) {
+            result.add(node);
+        }
+        if (!node.hasChildNodes()) {
+            return;
+        }
+        for (TreeNode child : node.getChildNodes()) {
+            if (ignoreDisabled && !child.isEnabled()) {
+                continue;
+            }
+            String name = child.getName();
+            long childStates = feed(step(states, '.'), name, false);
+            // without backslashes both paths are the same
+            long strippedChildStates = strippedStates == states && name.indexOf('\\') < 0
+                ? childStates : feed(step(strippedStates, '.'), name, true);
+            if ((childStates | strippedChildStates) != 0) {
+                collect(child, childStates, strippedChildStates, ignoreDisabled, result);
+            }
+        }
+    }
+
+    private long feed(long states, String text, boolean stripBackslashes) {
+        for (int i = 0; i < text.length() && states != 0; i++) {
+            char c = text.charAt(i);
+            if (stripBackslashes && c == '\\') {
+                continue;
+            }
+            states = step(states, c);
+        }
+        return states;
+    }
+
+    private long step(long states, char c) {
+        if (states == 0) {
+            return 0L;
+        }
+        boolean lineTerminator = c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        long next = 0L;
+        for (long remaining = states & ~accepting; remaining != 0; remaining &= remaining - 1) {
+            long state = Long.lowestOneBit(remaining);
+            char token = tokens[Long.numberOfTrailingZeros(state)];
+            if (token == ANY ? !lineTerminator : token == c) {
+                next |= (starred & state) != 0 ? state : state << 1;
+            }
+        }
+        return closure(next);
+    }
+
+    /**
+     * Adds the states reachable by skipping starred tokens.
+     */
+    private long closure(long states) {
+        long remaining = states & starred;
+        while (remaining != 0) {
+            long state = Long.lowestOneBit(remaining);
+            states |= state << 1;
+            // the next state may be starred too
+            remaining = states & starred & -(state << 1);
+        }
+        return states;
+    }
+}
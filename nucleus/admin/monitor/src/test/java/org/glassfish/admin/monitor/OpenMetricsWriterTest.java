@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.admin.monitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.glassfish.external.probe.provider.PluginPoint;
+import org.glassfish.external.probe.provider.StatsProviderInfo;
+import org.glassfish.external.statistics.BoundedRangeStatistic;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.StringStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.RangeStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.external.statistics.impl.StringStatisticImpl;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OpenMetricsWriterTest {
+
+    private StatsProviderRegistry registry;
+    private OpenMetricsWriter writer;
+
+    @BeforeEach
+    public void createRegistry() {
+        registry = new StatsProviderRegistry(null);
+        writer = new OpenMetricsWriter(registry);
+    }
+
+    @Test
+    public void rendersEnabledProviders() throws Exception {
+        register("web-container", "server/web/\"main\"", new WebStatsProvider(), true);
+        register("jvm", "server/jvm", new JvmStatsProvider(), false);
+
+        assertEquals(
+            "# TYPE glassfish_web_container_activesessions gauge\n"
+            + "# HELP glassfish_web_container_activesessions Number of active sessions\n"
+            + "glassfish_web_container_activesessions{module=\"web-container\",path=\"server/web/\\\"main\\\"\"} 3\n"
+            + "# TYPE glassfish_web_container_activesessions_highwatermark gauge\n"
+            + "# HELP glassfish_web_container_activesessions_highwatermark Number of active sessions (high water mark)\n"
+            + "glassfish_web_container_activesessions_highwatermark{module=\"web-container\",path=\"server/web/\\\"main\\\"\"} 7\n"
+            + "# TYPE glassfish_web_container_activesessions_lowwatermark gauge\n"
+            + "# HELP glassfish_web_container_activesessions_lowwatermark Number of active sessions (low water mark)\n"
+            + "glassfish_web_container_activesessions_lowwatermark{module=\"web-container\",path=\"server/web/\\\"main\\\"\"} 1\n"
+            + "# TYPE glassfish_web_container_requestcount gauge\n"
+            + "# HELP glassfish_web_container_requestcount requestcount\n"
+            + "glassfish_web_container_requestcount{module=\"web-container\",path=\"server/web/\\\"main\\\"\"} 42\n"
+            + "# TYPE glassfish_web_container_uptime gauge\n"
+            + "# HELP glassfish_web_container_uptime uptime\n"
+            + "glassfish_web_container_uptime{module=\"web-container\",path=\"server/web/\\\"main\\\"\"} 1000\n"
+            + "# EOF\n",
+            new String(write(null, false), UTF_8));
+    }
+
+    @Test
+    public void filtersByModule() throws Exception {
+        register("web-container", "server/web", new WebStatsProvider(), true);
+        register("jvm", "server/jvm", new JvmStatsProvider(), true);
+
+        String text = new String(write(Set.of("jvm"), false), UTF_8);
+        assertAll(
+            () -> assertTrue(text.contains("glassfish_jvm_loadedclasses{module=\"jvm\",path=\"server/jvm\"} 100\n"), text),
+            () -> assertFalse(text.contains("web_container"), text),
+            () -> assertTrue(text.endsWith("# EOF\n"), text)
+        );
+    }
+
+    @Test
+    public void familiesFollowRegistrations() throws Exception {
+        JvmStatsProvider jvm = new JvmStatsProvider();
+        register("jvm", "server/jvm", jvm, true);
+        assertTrue(new String(write(null, false), UTF_8).contains("glassfish_jvm_loadedclasses"));
+
+        registry.unregisterStatsProvider(jvm);
+        assertEquals("# EOF\n", new String(write(null, false), UTF_8));
+
+        register("jvm", "server/jvm2", new JvmStatsProvider(), true);
+        assertTrue(new String(write(null, false), UTF_8).contains("path=\"server/jvm2\""));
+    }
+
+    @Test
+    public void gzipContainsSameText() throws Exception {
+        register("web-container", "server/web", new WebStatsProvider(), true);
+
+        byte[] plain = write(null, false);
+        byte[] gzipped = write(null, true);
+        assertEquals(new String(plain, UTF_8), gunzip(gzipped));
+    }
+
+    @Test
+    public void readsEachGetterOncePerScrape() throws Exception {
+        PoolStatsProvider pool = new PoolStatsProvider();
+        register("pool", "server/pool", pool, true);
+
+        String first = new String(write(null, false), UTF_8);
+        assertAll(
+            () -> assertEquals(1, pool.sizeReads, "sizeReads"),
+            () -> assertEquals(1, pool.waitReads, "waitReads"),
+            () -> assertEquals(9, samples(first, " 1"), first)
+        );
+
+        String second = new String(write(null, false), UTF_8);
+        assertAll(
+            () -> assertEquals(2, pool.sizeReads, "sizeReads"),
+            () -> assertEquals(2, pool.waitReads, "waitReads"),
+            () -> assertEquals(9, samples(second, " 2"), second),
+            () -> assertTrue(second.contains("glassfish_pool_size_upperbound{module=\"pool\",path=\"server/pool\"} 2\n"), second),
+            () -> assertTrue(second.contains("glassfish_pool_wait_sum{module=\"pool\",path=\"server/pool\"} 2\n"), second)
+        );
+    }
+
+    private byte[] write(Set<String> modules, boolean gzip) throws IOException {
+        byte[][] result = new byte[1][];
+        writer.write(modules, gzip, (body, length) -> result[0] = Arrays.copyOf(body, length));
+        return result[0];
+    }
+
+    /**
+     * @return the number of samples, or -1 if a sample does not end with the value
+     */
+    private static int samples(String text, String value) {
+        int samples = 0;
+        for (String line : text.split("\n")) {
+            if (!line.startsWith("#")) {
+                if (!line.endsWith(value)) {
+                    return -1;
+                }
+                samples++;
+            }
+        }
+        return samples;
+    }
+
+    private void register(String configElement, String subTreePath, Object statsProvider, boolean enabled) {
+        registry.registerStatsProvider(new StatsProviderInfo(configElement, PluginPoint.SERVER, subTreePath, statsProvider,
+            null));
+        registry.getStatsProviderRegistryElement(statsProvider).setEnabled(enabled);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), UTF_8);
+        }
+    }
+
+
+    public static class WebStatsProvider {
+
+        private final CountStatisticImpl requestCount = new CountStatisticImpl("RequestCount",
+            StatisticImpl.UNIT_COUNT, "Number of requests");
+        private final RangeStatisticImpl activeSessions = new RangeStatisticImpl(3L, 7L, 1L, "ActiveSessions",
+            StatisticImpl.UNIT_COUNT, "Number of active sessions", 0L, 0L);
+        private final StringStatisticImpl state = new StringStatisticImpl("State", "String", "State");
+
+        public WebStatsProvider() {
+            requestCount.setCount(42L);
+        }
+
+        @ManagedAttribute
+        public CountStatistic getRequestCount() {
+            return requestCount;
+        }
+
+        @ManagedAttribute(id = "activesessions")
+        @Description("Number of active sessions")
+        public RangeStatistic getActiveSessionsCount() {
+            return activeSessions;
+        }
+
+        @ManagedAttribute(id = "uptime")
+        public long getUptime() {
+            return 1000L;
+        }
+
+        @ManagedAttribute(id = "state")
+        public StringStatistic getState() {
+            return state;
+        }
+    }
+
+
+    /**
+     * Returns new statistics on every call, all their fields hold the number of the call.
+     */
+    public static class PoolStatsProvider {
+
+        int sizeReads;
+        int waitReads;
+
+        @ManagedAttribute(id = "size")
+        public BoundedRangeStatistic getSize() {
+            return new SnapshotStatistic(++sizeReads);
+        }
+
+        @ManagedAttribute(id = "wait")
+        public TimeStatistic getWait() {
+            return new SnapshotStatistic(++waitReads);
+        }
+    }
+
+
+    private static final class SnapshotStatistic implements BoundedRangeStatistic, TimeStatistic {
+
+        private final long value;
+
+        SnapshotStatistic(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long getCurrent() {
+            return value;
+        }
+
+        @Override
+        public long getHighWaterMark() {
+            return value;
+        }
+
+        @Override
+        public long getLowWaterMark() {
+            return value;
+        }
+
+        @Override
+        public long getUpperBound() {
+            return value;
+        }
+
+        @Override
+        public long getLowerBound() {
+            return value;
+        }
+
+        @Override
+        public long getCount() {
+            return value;
+        }
+
+        @Override
+        public long getMaxTime() {
+            return value;
+        }
+
+        @Override
+        public long getMinTime() {
+            return value;
+        }
+
+        @Override
+        public long getTotalTime() {
+            return value;
+        }
+
+        @Override
+        public String getName() {
+            return "Snapshot";
+        }
+
+        @Override
+        public String getUnit() {
+            return StatisticImpl.UNIT_COUNT;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Snapshot";
+        }
+
+        @Override
+        public long getStartTime() {
+            return 0L;
+        }
+
+        @Override
+        public long getLastSampleTime() {
+            return 0L;
+        }
+    }
+
+
+    public static class JvmStatsProvider {
+
+        @ManagedAttribute(id = "loadedclasses")
+        public Integer getLoadedClasses() {
+            return 100;
+        }
+    }
+}
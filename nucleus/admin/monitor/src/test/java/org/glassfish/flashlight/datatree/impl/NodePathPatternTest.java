@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.datatree.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.flashlight.datatree.TreeNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NodePathPatternTest {
+
+    private static final String[] PATTERNS = {
+        "server",
+        "server\\.applications\\.hello\\.servlet\\.requestcount",
+        "server.applications.*.*.requestcount",
+        "server.applications.*",
+        ".*requestcount",
+        ".*son.*",
+        "server.applications.jndi\\\\\\.name.*",
+        "server.applications.jndi\\.name.*",
+        "server.app.ications.*",
+        "server.*.hello.*",
+        "x.*",
+        ".*",
+    };
+
+    @Test
+    public void walkMatchesSameNodesAsRegex() {
+        AbstractTreeNode server = createTree();
+        for (String pattern : PATTERNS) {
+            for (boolean ignoreDisabled : new boolean[] {true, false}) {
+                NodePathPattern pathPattern = NodePathPattern.compile(pattern);
+                assertNotNull(pathPattern, pattern);
+                assertEquals(paths(server.getNodesByRegex(pattern, ignoreDisabled)),
+                    paths(pathPattern.getNodes(server, ignoreDisabled)), pattern + ", ignoreDisabled=" + ignoreDisabled);
+            }
+        }
+    }
+
+    @Test
+    public void walkStartsAtInnerNode() {
+        AbstractTreeNode server = createTree();
+        AbstractTreeNode applications = (AbstractTreeNode) server.getNode("applications");
+        String pattern = "server.applications.*.requestcount";
+        assertEquals(paths(applications.getNodesByRegex(pattern, true)),
+            paths(NodePathPattern.compile(pattern).getNodes(applications, true)));
+    }
+
+    @Test
+    public void gfv2PatternsFindNodes() {
+        AbstractTreeNode server = createTree();
+        assertAll(
+            () -> assertEquals(List.of("server.applications.hello.servlet.requestcount",
+                "server.applications.world.servlet.requestcount"),
+                sorted(server.getNodes("server.applications.*.*.requestcount"))),
+            () -> assertEquals(List.of("server.applications.hello.servlet.requestcount"),
+                paths(server.getNodes("server.applications.hello.servlet.requestcount", false, true))),
+            () -> assertEquals(List.of("server.applications.jndi\\.name"),
+                paths(server.getNodes("server.applications.jndi\\.name", false, true))),
+            () -> assertEquals(List.of(), paths(server.getNodes("server.applications.disabled.*", true, true)))
+        );
+    }
+
+    @Test
+    public void unsupportedExpressionsAreNotCompiled() {
+        assertAll(
+            () -> assertNull(NodePathPattern.compile("server.(a|b)")),
+            () -> assertNull(NodePathPattern.compile("server.[ab]")),
+            () -> assertNull(NodePathPattern.compile("server.a+")),
+            () -> assertNull(NodePathPattern.compile("server\\d")),
+            () -> assertNull(NodePathPattern.compile("*server")),
+            () -> assertNull(NodePathPattern.compile("server**")),
+            () -> assertEquals(List.of("server.applications.hello", "server.applications.world"),
+                sorted(createTree().getNodes("server.applications.(hello|world)", false, false)))
+        );
+    }
+
+    private static AbstractTreeNode createTree() {
+        TreeNodeImpl server = new TreeNodeImpl("server", "server");
+        TreeNodeImpl applications = add(server, "applications");
+        for (String app : new String[] {"hello", "world", "disabled"}) {
+            TreeNodeImpl servlet = add(add(applications, app), "servlet");
+            add(servlet, "requestcount");
+            add(servlet, "errorcount");
+        }
+        applications.getChild("disabled").setEnabled(false);
+        add(add(applications, "jndi.name"), "wtoson");
+        add(add(server, "jvm"), "memory");
+        return server;
+    }
+
+    private static TreeNodeImpl add(TreeNode parent, String name) {
+        TreeNodeImpl node = new TreeNodeImpl(name, "test");
+        parent.addChild(node);
+        return node;
+    }
+
+    private static List<String> paths(List<TreeNode> nodes) {
+        List<String> paths = new ArrayList<>();
+        for (TreeNode node : nodes) {
+            paths.add(node.getCompletePathName());
+        }
+        return paths;
+    }
+
+    private static List<String> sorted(List<TreeNode> nodes) {
+        List<String> paths = paths(nodes);
+        paths.sort(null);
+        return paths;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.datatree.impl;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.flashlight.datatree.TreeNode;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the tree walk of {@link NodePathPattern} with the regular expression matched against
+ * the complete path of every node, on a tree of about 100 000 nodes.
+ */
+public class TreeNodeQueryBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(TreeNodeQueryBenchmarkTest.class.getName());
+
+    @Test
+    public void getNodes() throws Exception {
+        Collection<RunResult> results = new Runner(createOptions()).run();
+        assertThat(results, hasSize(6));
+        for (RunResult result : results) {
+            LOG.log(INFO, "Benchmark: {0}, params: {1}, score: {2} us/op", result.getParams().getBenchmark(),
+                result.getParams(), result.getPrimaryResult().getScore());
+        }
+    }
+
+
+    @Benchmark
+    public List<TreeNode> query(TreeState state) {
+        return state.walk ? state.pattern.getNodes(state.server, true) : state.server.getNodesByRegex(state.regex, true);
+    }
+
+
+    private Options createOptions() {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(2).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).shouldFailOnError(true).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.AverageTime)
+            .build();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class TreeState {
+
+        @Param({
+            "server.applications.app42.module3.servlet7.requestcount",
+            "server.applications.*.*.requestcount",
+            "*requestcount"})
+        public String query;
+
+        @Param({"walk", "regex"})
+        public String matcher;
+
+        AbstractTreeNode server;
+        String regex;
+        NodePathPattern pattern;
+        boolean walk;
+
+        @Setup
+        public void createTree() {
+            // 100 applications * 10 modules * 20 servlets * (1 + 4 statistics) + the parents
+            server = new TreeNodeImpl("server", "server");
+            TreeNode applications = add(server, "applications");
+            for (int a = 0; a < 100; a++) {
+                TreeNode application = add(applications, "app" + a);
+                for (int m = 0; m < 10; m++) {
+                    TreeNode module = add(application, "module" + m);
+                    for (int s = 0; s < 20; s++) {
+                        TreeNode servlet = add(module, "servlet" + s);
+                        add(servlet, "requestcount");
+                        add(servlet, "errorcount");
+                        add(servlet, "processingtime");
+                        add(servlet, "maxtime");
+                    }
+                }
+            }
+            add(add(server, "jvm"), "memory");
+
+            regex = query.replace("*", ".*");
+            pattern = NodePathPattern.compile(regex);
+            walk = "walk".equals(matcher);
+        }
+
+        private static TreeNode add(TreeNode parent, String name) {
+            TreeNode node = new TreeNodeImpl(name, "benchmark");
+            parent.addChild(node);
+            return node;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -132,6 +132,8 @@ public class StructuredLogViewerResource {
         Object entity;
 
         List<List<Serializable>> logRecords = asList(((Attribute) queryResult.get(1)).getValue());
+        // Only present if the query could be counted
+        Object totalCount = queryResult.size() > 2 ? ((Attribute) queryResult.get(2)).getValue() : null;
 
         switch (type) {
             case APPLICATION_JSON:
@@ -141,7 +143,11 @@ public class StructuredLogViewerResource {
                     logDetails.put(new LogRecord(logRecord).toJSONObject());
                 }
 
-                entity = new JSONObject().put("records", logDetails);
+                JSONObject json = new JSONObject().put("records", logDetails);
+                if (totalCount != null) {
+                    json.put("totalCount", totalCount);
+                }
+                entity = json;
                 break;
             case APPLICATION_XML:
                 Writer xml = new StringWriter();
@@ -149,6 +155,9 @@ public class StructuredLogViewerResource {
                 XMLStreamWriter writer = newDefaultFactory().createXMLStreamWriter(xml);
                 try {
                     writer.writeStartElement("records");
+                    if (totalCount != null) {
+                        writer.writeAttribute("totalCount", totalCount.toString());
+                    }
                     for (List<Serializable> logRecord : logRecords) {
                         new LogRecord(logRecord).writeXml(writer);
                     }
@@ -47,7 +47,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +92,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
      */
     private final Set<URLEntry> urlSet = Collections.synchronizedSet(new LinkedHashSet<>());
 
+    /**
+     * Index of the url entries by package, replaced whenever an url is added,
+     * so the lookups don't need any lock.
+     */
+    private volatile ResourceIndex resourceIndex = ResourceIndex.EMPTY;
+
     /** cache of not found resources */
     private final Map<String, String> notFoundResources = new ConcurrentHashMap<>();
 
@@ -186,6 +191,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             // Presumably OK to set this flag now while the rest of the cleanup proceeds,
             // because we've taken the snapshot.
             doneCalled = true;
+            resourceIndex = ResourceIndex.EMPTY;
 
             // closes the jar handles and sets the url entries to null
             for (URLEntry u : this.urlSet) {
@@ -262,6 +268,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             if (!urlSet.contains(entry)) {
                 // adds the url entry to the list
                 this.urlSet.add(entry);
+                resourceIndex = resourceIndex.append(entry);
                 if (entry.isJar) {
                     // checks the manifest if a jar
                     checkManifest(entry.zip, entry.file);
@@ -434,14 +441,9 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             return null;
         }
 
-        // This code is dubious, because it iterates over items that could
-        // be changing via another thread.   It appears that since 'urlSet' cannot shrink
-        // that the iteration at least won't go out of bounds.  And it's probably OK
-        // if more than one thread adds the same resource to 'notFoundResources'.
-        //
-        // HOWEVER, there is still a race condition from the check for 'doneCalled' above.
-        // That's OK for 'notFoundResources', but it could lead to an ArrayIndexOutOfBounds
-        // exception for 'urlSet', should the set be cleared while looping.
+        // The index is an immutable snapshot, so the entries can be searched
+        // without holding the lock. It's probably OK if more than one thread
+        // adds the same resource to 'notFoundResources'.
 
         // resource is in the not found list
         String nf = notFoundResources.get(name);
@@ -449,17 +451,15 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             return null;
         }
 
-        synchronized(this) {
-            for (final URLEntry u : this.urlSet) {
+        for (final URLEntry u : resourceIndex.getEntries(name)) {
 
-                if (!u.hasItem(name)) {
-                    continue;
-                }
+            if (!u.hasItem(name)) {
+                continue;
+            }
 
-                final URL url = findResource0(u, name);
-                if (url != null) {
-                    return url;
-                }
+            final URL url = findResource0(u, name);
+            if (url != null) {
+                return url;
             }
         }
 
@@ -472,16 +472,11 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
     /**
      * Returns an enumeration of java.net.URL objects
      * representing all the resources with the given name.
-     * This method is synchronized to avoid
-     * <ol>
-     * <li>race condition checking 'doneCalled',
-     * <li>changes to contents or length of 'resourcesList' and/or 'notFoundResources' while
-     * iterating over them,
-     * <li>thread visibility to all of the above.
-     * </ol>
+     * Only the url entries which may contain the resource
+     * according to the index are searched.
      */
     @Override
-    public synchronized Enumeration<URL> findResources(String name) throws IOException {
+    public Enumeration<URL> findResources(String name) throws IOException {
         if (doneCalled) {
             _logger.log(Level.WARNING, CULoggerInfo.doneAlreadyCalled, new Object[] {name, doneSnapshot});
             return Collections.emptyEnumeration();
@@ -493,7 +488,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             return Collections.emptyEnumeration();
         }
 
-        for (URLEntry urlEntry : this.urlSet) {
+        for (URLEntry urlEntry : resourceIndex.getEntries(name)) {
             final URL url = findResource0(urlEntry, name);
             if (url != null) {
                 resourcesList.add(url);
@@ -591,6 +586,9 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             }
         } catch (IOException ioe) {
             _logger.log(INFO, CULoggerInfo.exceptionInASURLClassLoader, ioe);
+        } catch (IllegalStateException ise) {
+            // the jar was closed by close() in another thread
+            _logger.log(Level.FINE, "Cannot load " + entryName + " from " + res, ise);
         }
         return null;
     }
@@ -686,14 +684,14 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
      * have to be read and reading the bytes. It does not actually define
      * the Class object.
      * <p>
-     * To preclude a race condition on checking 'doneCalled', as well as transient errors
-     * if done() is called while running, this method is 'synchronized'.
+     * The method is not synchronized, so classes can be loaded in parallel; it searches
+     * the immutable index snapshot. If done() is called while running, the class is not found.
      *
      * @param name class name in java.lang.Object format
      * @return class bytes as well protection domain information
      * @throws ClassNotFoundException
      */
-    private synchronized ClassData findClassData(String name) throws ClassNotFoundException {
+    private ClassData findClassData(String name) throws ClassNotFoundException {
         if (doneCalled) {
             ClassNotFoundException exception = new ClassNotFoundException(name);
             _logger.log(Level.WARNING, CULoggerInfo.getString(CULoggerInfo.findClassAfterDone, name, this), exception);
@@ -707,7 +705,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
         // search through the JARs for a file of the form java/lang/Object.class
         String entryName = name.replace('.', '/') + ".class";
 
-        for (URLEntry u : this.urlSet) {
+        for (URLEntry u : resourceIndex.getEntries(entryName)) {
             if (!u.hasItem(entryName)) {
                 continue;
             }
@@ -871,8 +869,17 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
          */
         volatile boolean isJar = false;
 
-        /** ensure thread visibility by making it 'volatile' */
-        volatile HashMap<String, String> table = null;
+        /**
+         * files found in a directory, concurrent as the lookups are not synchronized;
+         * ensure thread visibility by making it 'volatile'
+         */
+        volatile Map<String, String> table = null;
+
+        /**
+         * packages of the jar entries, null for a directory;
+         * ensure thread visibility by making it 'volatile'
+         */
+        volatile Set<String> packages = null;
 
         /**
          * ProtectionDomain with signers if jar is signed,
@@ -896,12 +903,13 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
 
             if (isJar) {
                 zip = new ProtectedJarFile(file);
+                packages = ResourceIndex.getPackages(zip);
             }
 
-            table = new HashMap<>();
+            table = new ConcurrentHashMap<>();
         }
 
-        private void fillTable(File f, HashMap<String, String> t, String parent) throws IOException {
+        private void fillTable(File f, Map<String, String> t, String parent) throws IOException {
             String localName = parent.isEmpty() ? "" : parent + "/";
             File[] children = f.listFiles();
             for (File child : children) {
@@ -916,12 +924,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
          * Invokes fillTable for subdirectories which in turn invokes processFile
          * recursively.
          * @param fileToProcess the File to be processed
-         * @param t the HashMap that holds the files the loader knows about
+         * @param t the map that holds the files the loader knows about
          * @param parentLocalName prefix to be used for the full path; should be
          * non-empty only for recursive invocations
          * @throws IOException in case of errors working with the fileToProcess
          */
-        private void processFile(File fileToProcess, HashMap<String, String> t, String parentLocalName) throws IOException {
+        private void processFile(File fileToProcess, Map<String, String> t, String parentLocalName) throws IOException {
             String key = parentLocalName + fileToProcess.getName();
             if (fileToProcess.isFile()) {
                 t.put(key, key);
@@ -932,6 +940,11 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
 
 
         private boolean hasItem(String item) {
+            final Map<String, String> table = this.table;
+            if (table == null) {
+                // closed
+                return false;
+            }
             // in the case of ejbc stub compilation, ASURLClassLoader is created before stubs
             // gets generated, thus we need to return true for this case.
             if (table.isEmpty()) {
@@ -997,7 +1010,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
            * Entry for use in call to defineClass.
            * @param signers the array of signer certs or null
            */
-         public void setProtectionDomain (ClassLoader ejbClassLoader, Certificate[] signers) throws MalformedURLException {
+         public synchronized void setProtectionDomain (ClassLoader ejbClassLoader, Certificate[] signers) throws MalformedURLException {
              if (pd == null) {
                  pd = new ProtectionDomain(new CodeSource(file.toURL(),signers),null, ejbClassLoader, null );
              }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import com.sun.enterprise.loader.ASURLClassLoader.URLEntry;
+
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Immutable index of the url entries of {@link ASURLClassLoader} by the package of the resource.
+ * <p>
+ * A resource name maps to the jars containing any entry in the same directory, and to all
+ * directories, as files can be added to a directory any time. The entries keep the order
+ * of the class path. Appending an entry creates a new index, the unchanged arrays are shared.
+ */
+final class ResourceIndex {
+
+    static final ResourceIndex EMPTY = new ResourceIndex(Map.of(), new URLEntry[0], new URLEntry[0]);
+
+    private static final String VERSIONS_DIR = "META-INF/versions/";
+
+    private final Map<String, URLEntry[]> entriesByPackage;
+    private final URLEntry[] directories;
+    private final URLEntry[] entries;
+
+    private ResourceIndex(Map<String, URLEntry[]> entriesByPackage, URLEntry[] directories, URLEntry[] entries) {
+        this.entriesByPackage = entriesByPackage;
+        this.directories = directories;
+        this.entries = entries;
+    }
+
+    /**
+     * @param name resource name, ie. {@code com/acme/Foo.class}
+     * @return entries which may contain the resource, in the class path order. Must not be modified.
+     */
+    URLEntry[] getEntries(String name) {
+        if (name.startsWith("/") || name.startsWith("./") || name.contains("..")) {
+            return entries;
+        }
+        URLEntry[] indexed = entriesByPackage.get(getPackage(name));
+        return indexed == null ? directories : indexed;
+    }
+
+    /**
+     * @param entry entry added to the end of the class path
+     * @return new index
+     */
+    ResourceIndex append(URLEntry entry) {
+        Map<String, URLEntry[]> newEntriesByPackage = new HashMap<>(entriesByPackage);
+        Set<String> packages = entry.packages;
+        if (packages == null) {
+            newEntriesByPackage.replaceAll((pkg, pkgEntries) -> append(pkgEntries, entry));
+            return new ResourceIndex(newEntriesByPackage, append(directories, entry), append(entries, entry));
+        }
+        for (String pkg : packages) {
+            URLEntry[] pkgEntries = entriesByPackage.get(pkg);
+            newEntriesByPackage.put(pkg, append(pkgEntries == null ? directories : pkgEntries, entry));
+        }
+        return new ResourceIndex(newEntriesByPackage, directories, append(entries, entry));
+    }
+
+    /**
+     * @param jar jar file
+     * @return directories containing any jar entry, including the versioned entries
+     */
+    static Set<String> getPackages(JarFile jar) {
+        Set<String> packages = new HashSet<>();
+        Enumeration<JarEntry> jarEntries = jar.entries();
+        while (jarEntries.hasMoreElements()) {
+            String name = jarEntries.nextElement().getName();
+            if (name.startsWith(VERSIONS_DIR)) {
+                int versionEnd = name.indexOf('/', VERSIONS_DIR.length());
+                if (versionEnd > 0) {
+                    packages.add(getPackage(name.substring(versionEnd + 1)));
+                }
+            }
+            packages.add(getPackage(name));
+        }
+        return Set.copyOf(packages);
+    }
+
+    /**
+     * @param name resource name
+     * @return the parent directory with the trailing slash, empty for resources in the root.
+     */
+    static String getPackage(String name) {
+        int end = name.length() - 1;
+        if (end >= 0 && name.charAt(end) == '/') {
+            end--;
+        }
+        int slash = name.lastIndexOf('/', end);
+        return slash < 0 ? "" : name.substring(0, slash + 1);
+    }
+
+    private static URLEntry[] append(URLEntry[] array, URLEntry entry) {
+        URLEntry[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = entry;
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the creation of a class loader with many library jars, as at application startup,
+ * and the lookups of class files in the first and in the last jar from several threads.
+ */
+public class ASURLClassLoaderBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(ASURLClassLoaderBenchmarkTest.class.getName());
+
+    private static final int JARS = 150;
+    private static final int CLASSES_PER_JAR = 50;
+
+    @Test
+    public void classLoader() throws Exception {
+        Collection<RunResult> results = new Runner(createOptions()).run();
+        assertThat(results, hasSize(3));
+        for (RunResult result : results) {
+            LOG.log(INFO, "Benchmark: {0}, params: {1}, score: {2} ops/ms", result.getParams().getBenchmark(),
+                result.getParams(), result.getPrimaryResult().getScore());
+        }
+    }
+
+
+    @Benchmark
+    @Threads(1)
+    public int appendJars(JarsState state) throws IOException {
+        try (ASURLClassLoader loader = new ASURLClassLoader("benchmark", null)) {
+            for (File jar : state.jars) {
+                loader.appendURL(jar);
+            }
+            return loader.getURLs().length;
+        }
+    }
+
+
+    @Benchmark
+    @Threads(4)
+    public URL findClassFile(LoaderState state) {
+        return state.loader.findResource(state.resource);
+    }
+
+
+    private Options createOptions() {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(2).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).shouldFailOnError(true).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MILLISECONDS).mode(Mode.Throughput)
+            .build();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class JarsState {
+
+        File directory;
+        File[] jars;
+
+        @Setup
+        public void createJars() throws IOException {
+            directory = Files.createTempDirectory("benchmark").toFile();
+            jars = new File[JARS];
+            for (int i = 0; i < JARS; i++) {
+                jars[i] = new File(directory, "lib" + i + ".jar");
+                try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jars[i]))) {
+                    for (int j = 0; j < CLASSES_PER_JAR; j++) {
+                        out.putNextEntry(new JarEntry("org/acme/lib" + i + "/Class" + j + ".class"));
+                        out.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+                        out.closeEntry();
+                    }
+                }
+            }
+        }
+
+        @TearDown
+        public void deleteJars() {
+            for (File jar : jars) {
+                jar.delete();
+            }
+            directory.delete();
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class LoaderState extends JarsState {
+
+        @Param({"first", "last"})
+        public String jar;
+
+        ASURLClassLoader loader;
+        String resource;
+
+        @Setup
+        public void createLoader() throws IOException {
+            loader = new ASURLClassLoader("benchmark", null);
+            for (File file : jars) {
+                loader.appendURL(file);
+            }
+            int index = "first".equals(jar) ? 0 : JARS - 1;
+            resource = "org/acme/lib" + index + "/Class" + (CLASSES_PER_JAR - 1) + ".class";
+        }
+
+        @TearDown
+        public void closeLoader() throws IOException {
+            loader.close();
+        }
+    }
+}
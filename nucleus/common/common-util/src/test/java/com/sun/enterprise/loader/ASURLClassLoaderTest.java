@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ASURLClassLoaderTest {
+
+    @TempDir
+    private File tempDir;
+
+    @Test
+    public void resourcesAreFoundInClassPathOrder() throws Exception {
+        File jar1 = createJar("first.jar", "com/acme/shared.txt", "first", "root.txt", "root");
+        File jar2 = createJar("second.jar", "com/acme/shared.txt", "second", "org/other/other.txt", "other");
+        try (ASURLClassLoader loader = new ASURLClassLoader("test", null)) {
+            loader.appendURL(jar1);
+            loader.appendURL(jar2);
+            List<URL> shared = Collections.list(loader.findResources("com/acme/shared.txt"));
+            assertAll(
+                () -> assertEquals("first", read(loader.findResource("com/acme/shared.txt"))),
+                () -> assertThat(shared, hasSize(2)),
+                () -> assertThat(shared.get(0).toString(), endsWith("first.jar!/com/acme/shared.txt")),
+                () -> assertThat(shared.get(1).toString(), endsWith("second.jar!/com/acme/shared.txt")),
+                () -> assertEquals("other", read(loader.findResource("org/other/other.txt"))),
+                () -> assertEquals("root", read(loader.findResource("root.txt"))),
+                () -> assertNull(loader.findResource("org/other/missing.txt")),
+                () -> assertNull(loader.findResource("net/missing/missing.txt"))
+            );
+        }
+    }
+
+    @Test
+    public void filesAddedToDirectoryAreFound() throws Exception {
+        File jar = createJar("lib.jar", "com/acme/lib.txt", "lib");
+        File dir = new File(tempDir, "classes");
+        File existing = new File(dir, "com/acme/existing.txt");
+        existing.getParentFile().mkdirs();
+        Files.writeString(existing.toPath(), "existing");
+        try (ASURLClassLoader loader = new ASURLClassLoader("test", null)) {
+            loader.appendURL(dir);
+            loader.appendURL(jar);
+            assertNotNull(loader.findResource("com/acme/existing.txt"));
+            assertNull(loader.findResource("net/acme/added.txt"));
+
+            File added = new File(dir, "net/acme/added.txt");
+            added.getParentFile().mkdirs();
+            Files.writeString(added.toPath(), "added");
+            loader.refresh();
+            assertAll(
+                () -> assertEquals("added", read(loader.findResource("net/acme/added.txt"))),
+                () -> assertEquals("lib", read(loader.findResource("com/acme/lib.txt")))
+            );
+        }
+    }
+
+    @Test
+    public void versionedEntriesAreIndexed() throws Exception {
+        File jar = createJar("mr.jar", "META-INF/versions/17/com/acme/Versioned.class", "versioned");
+        try (JarFile jarFile = new JarFile(jar)) {
+            assertThat(ResourceIndex.getPackages(jarFile), hasItem("com/acme/"));
+        }
+    }
+
+    @Test
+    public void packageOfResource() {
+        assertAll(
+            () -> assertEquals("", ResourceIndex.getPackage("")),
+            () -> assertEquals("", ResourceIndex.getPackage("root.txt")),
+            () -> assertEquals("", ResourceIndex.getPackage("com/")),
+            () -> assertEquals("com/", ResourceIndex.getPackage("com/acme/")),
+            () -> assertEquals("com/acme/", ResourceIndex.getPackage("com/acme/Foo.class"))
+        );
+    }
+
+    private File createJar(String name, String... entries) throws IOException {
+        File jar = new File(tempDir, name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new JarEntry(entries[i]));
+                out.write(entries[i + 1].getBytes(UTF_8));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static String read(URL url) throws IOException {
+        assertNotNull(url);
+        try (InputStream is = url.openStream()) {
+            return new String(is.readAllBytes(), UTF_8);
+        }
+    }
+}
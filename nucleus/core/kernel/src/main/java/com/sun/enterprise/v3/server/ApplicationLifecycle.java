@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -88,6 +88,7 @@ import org.glassfish.api.event.EventListener.Event;
 import org.glassfish.api.event.Events;
 import org.glassfish.api.virtualization.VirtualizationEnv;
 import org.glassfish.common.util.admin.ParameterMapExtractor;
+import org.glassfish.deployment.common.AnnotationIndex;
 import org.glassfish.deployment.common.ApplicationConfigInfo;
 import org.glassfish.deployment.common.ClientJarWriter;
 import org.glassfish.deployment.common.DeploymentContextImpl;
@@ -609,40 +610,55 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
             }
 
             try {
-                // Scan the jar and store the result in the deployment context.
-                Parser parser = new Parser(
-                        new ParsingContext.Builder()
-                                .logger(context.getLogger())
-                                .executorService(executorService)
-                                .locator(getResourceLocator())
-                                .build());
-
-                try (ReadableArchiveScannerAdapter scannerAdapter = new ReadableArchiveScannerAdapter(parser, context.getSource())) {
-                    parser.parse(scannerAdapter, null);
-
-                    List<ReadableArchive> externalLibraries = getExternalLibraries(context);
-
-                    for (ReadableArchive externalLibrary : externalLibraries) {
-                        parser.parse(new ReadableArchiveScannerAdapter(parser, externalLibrary), null);
+                List<ReadableArchive> externalLibraries = getExternalLibraries(context);
+                try {
+                    // Reuse the model parsed by the last deployment of the same content
+                    AnnotationIndex index = serviceLocator.getService(AnnotationIndex.class);
+                    Parser parser = index == null ? null : index.getParser(context.getSource(), externalLibraries);
+                    if (parser == null) {
+                        parser = parse(context, externalLibraries);
+                        if (index != null) {
+                            index.putParser(context.getSource(), externalLibraries, parser);
+                        }
                     }
 
-                    parser.awaitTermination();
+                    context.addTransientAppMetaData(Types.class.getName(), parser.getContext().getTypes());
+                    context.addTransientAppMetaData(Parser.class.getName(), parser);
 
+                    return parser.getContext().getTypes();
+                } finally {
                     for (ReadableArchive externalLibrary : externalLibraries) {
                         externalLibrary.close();
                     }
                 }
-
-                context.addTransientAppMetaData(Types.class.getName(), parser.getContext().getTypes());
-                context.addTransientAppMetaData(Parser.class.getName(), parser);
-
-                return parser.getContext().getTypes();
             } catch (InterruptedException | URISyntaxException e) {
                 throw new IOException(e);
             }
         }
     }
 
+    private Parser parse(DeploymentContext context, List<ReadableArchive> externalLibraries)
+        throws IOException, InterruptedException {
+        // Scan the jar and store the result in the deployment context.
+        Parser parser = new Parser(
+                new ParsingContext.Builder()
+                        .logger(context.getLogger())
+                        .executorService(executorService)
+                        .locator(getResourceLocator())
+                        .build());
+
+        try (ReadableArchiveScannerAdapter scannerAdapter = new ReadableArchiveScannerAdapter(parser, context.getSource())) {
+            parser.parse(scannerAdapter, null);
+
+            for (ReadableArchive externalLibrary : externalLibraries) {
+                parser.parse(new ReadableArchiveScannerAdapter(parser, externalLibrary), null);
+            }
+
+            parser.awaitTermination();
+        }
+        return parser;
+    }
+
     private ResourceLocator getResourceLocator() {
         if (CommonModelRegistry.getInstance().canLoadResources()) {
             return null;
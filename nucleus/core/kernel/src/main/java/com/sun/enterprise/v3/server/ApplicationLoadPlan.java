@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import com.sun.enterprise.config.serverbeans.Application;
+import com.sun.enterprise.config.serverbeans.ServerTags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependencies among the applications loaded at server startup, so that independent applications
+ * can be loaded concurrently.
+ * <p>
+ * The applications are given in the order in which they would be loaded one by one. An application
+ * depends on a previous application if
+ * <ul>
+ * <li>the previous one is a system application, system applications are loaded first,
+ * <li>the previous one provides a resource adapter and the application does not, as the
+ * application may refer to resources of the adapter,
+ * <li>the previous one has a lower deployment order,
+ * <li>both use any of the same libraries.
+ * </ul>
+ */
+final class ApplicationLoadPlan {
+
+    private static final int DEFAULT_DEPLOYMENT_ORDER = 100;
+
+    private final List<Application> applications;
+    private final Map<Application, List<Application>> dependencies = new IdentityHashMap<>();
+
+    /**
+     * @param applications applications in the order of the sequential loading
+     * @param systemApplicationNames names of system applications
+     */
+    ApplicationLoadPlan(List<Application> applications, Set<String> systemApplicationNames) {
+        this.applications = applications;
+        int size = applications.size();
+        boolean[] system = new boolean[size];
+        boolean[] adapter = new boolean[size];
+        int[] order = new int[size];
+        List<Set<String>> libraries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Application application = applications.get(i);
+            system[i] = systemApplicationNames.contains(application.getName());
+            adapter[i] = application.containsSnifferType(ServerTags.CONNECTOR);
+            order[i] = getDeploymentOrder(application);
+            libraries.add(getLibraries(application));
+        }
+        for (int i = 0; i < size; i++) {
+            List<Application> required = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                if (system[j] || (adapter[j] && !adapter[i]) || order[j] < order[i]
+                    || !Collections.disjoint(libraries.get(j), libraries.get(i))) {
+                    required.add(applications.get(j));
+                }
+            }
+            dependencies.put(applications.get(i), required);
+        }
+    }
+
+    /**
+     * @return applications in the order of the sequential loading
+     */
+    List<Application> getApplications() {
+        return applications;
+    }
+
+    /**
+     * @param application planned application
+     * @return applications which must be loaded before the application, never null.
+     */
+    List<Application> getDependencies(Application application) {
+        List<Application> required = dependencies.get(application);
+        return required == null ? List.of() : required;
+    }
+
+    private static int getDeploymentOrder(Application application) {
+        String order = application.getDeploymentOrder();
+        if (order == null) {
+            return DEFAULT_DEPLOYMENT_ORDER;
+        }
+        try {
+            return Integer.parseInt(order.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_DEPLOYMENT_ORDER;
+        }
+    }
+
+    private static Set<String> getLibraries(Application application) {
+        String libraries = application.getLibraries();
+        if (libraries == null || libraries.isBlank()) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (String library : libraries.split(",")) {
+            if (!library.isBlank()) {
+                result.add(library.trim());
+            }
+        }
+        return result;
+    }
+}
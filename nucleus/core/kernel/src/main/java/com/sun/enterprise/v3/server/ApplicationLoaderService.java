@@ -41,10 +41,15 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +68,7 @@ import org.glassfish.deployment.common.ApplicationConfigInfo;
 import org.glassfish.deployment.common.DeploymentContextImpl;
 import org.glassfish.deployment.common.DeploymentUtils;
 import org.glassfish.deployment.common.InstalledLibrariesResolver;
+import org.glassfish.deployment.monitor.DeploymentLifecycleProbeProvider;
 import org.glassfish.deployment.monitor.DeploymentLifecycleStatsProvider;
 import org.glassfish.external.probe.provider.PluginPoint;
 import org.glassfish.external.probe.provider.StatsProviderManager;
@@ -95,6 +101,12 @@ import org.jvnet.hk2.annotations.Service;
 public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestroy, org.glassfish.hk2.api.PostConstruct {
 //public class ApplicationLoaderService implements Startup, org.glassfish.hk2.api.PreDestroy, org.glassfish.hk2.api.PostConstruct {
 
+    /**
+     * Count of threads loading the applications at server startup, the applications are loaded
+     * one by one by default.
+     */
+    public static final String PARALLELISM_PROPERTY = "org.glassfish.deployment.startup.parallelism";
+
     final Logger logger = KernelLoggerInfo.getLogger();
 
     // During the authentication service's PostConstruct the javax.security.auth.login.Configuration class is constructed.
@@ -144,6 +156,8 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     private String deploymentTracingEnabled = null;
 
+    private final DeploymentLifecycleProbeProvider deploymentLifecycleProbeProvider = new DeploymentLifecycleProbeProvider();
+
     private final Map<String,Integer> appOrderInfoMap = new HashMap<>();
     private int appOrder = 0;
 
@@ -236,12 +250,12 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
             }
         }
 
+        List<Application> orderedApps = new ArrayList<>();
         Iterator iter = DeploymentOrder.getApplicationDeployments();
         while (iter.hasNext()) {
-          Application app = (Application)iter.next();
-          ApplicationRef appRef = server.getApplicationRef(app.getName());
-          processApplication(app, appRef);
+          orderedApps.add((Application)iter.next());
         }
+        loadApplications(orderedApps);
 
         // does the user want us to run a particular application
         String defaultParam = env.getStartupContext().getArguments().getProperty("default");
@@ -325,6 +339,68 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     }
 
+    /**
+     * Loads the applications one by one, or if the parallelism is set
+     * by the {@value #PARALLELISM_PROPERTY} system property, loads the
+     * applications which don't depend on each other concurrently.
+     *
+     * @param apps applications in the deployment order
+     * @see ApplicationLoadPlan
+     */
+    private void loadApplications(List<Application> apps) {
+        final long startTime = System.currentTimeMillis();
+        int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, 1);
+        if (parallelism < 2 || apps.size() < 2) {
+            for (Application app : apps) {
+                loadApplication(app, startTime);
+            }
+            return;
+        }
+
+        Set<String> systemAppNames = new HashSet<>();
+        for (Application systemApp : systemApplications.getApplications()) {
+            systemAppNames.add(systemApp.getName());
+        }
+        ApplicationLoadPlan plan = new ApplicationLoadPlan(apps, systemAppNames);
+        logger.log(Level.FINE, "Loading {0} applications by {1} threads", new Object[] {apps.size(), parallelism});
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, apps.size()), r -> {
+            Thread t = new Thread(r);
+            t.setName("application-loader-" + threadCount.incrementAndGet());
+            t.setContextClassLoader(contextClassLoader);
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Map<Application, CompletableFuture<Void>> loaded = new IdentityHashMap<>();
+            for (Application app : plan.getApplications()) {
+                // dependencies precede the application in the plan
+                CompletableFuture<?>[] dependencies = plan.getDependencies(app).stream().map(loaded::get)
+                    .toArray(CompletableFuture[]::new);
+                loaded.put(app, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                    try {
+                        loadApplication(app, startTime);
+                    } catch (RuntimeException e) {
+                        logger.log(Level.SEVERE, KernelLoggerInfo.deployException, e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(loaded.values().toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void loadApplication(Application app, long startTime) {
+        long loadStartTime = System.currentTimeMillis();
+        processApplication(app, server.getApplicationRef(app.getName()));
+        long endTime = System.currentTimeMillis();
+        deploymentLifecycleProbeProvider.applicationLoadedEvent(app.getName(),
+            String.valueOf(endTime - loadStartTime), String.valueOf(loadStartTime - startTime));
+    }
+
     private void initializeRuntimeDependencies() {
         // ApplicationLoaderService needs to be initialized after
         // ManagedBeanManagerImpl. By injecting ManagedBeanManagerImpl,
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,6 +24,8 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -31,16 +33,20 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 
 import org.glassfish.config.support.ConfigurationPersistence;
+import org.glassfish.config.support.DomainXmlSnapshot;
 import org.glassfish.hk2.api.PostConstruct;
 import org.glassfish.hk2.runlevel.RunLevel;
 import org.glassfish.internal.api.PostStartupRunLevel;
 import org.glassfish.server.ServerEnvironmentImpl;
 import org.jvnet.hk2.annotations.Service;
+import org.jvnet.hk2.config.ConfigSnapshot;
 import org.jvnet.hk2.config.DomDocument;
 import org.jvnet.hk2.config.IndentingXMLStreamWriter;
 
@@ -61,6 +67,8 @@ public class DomainXmlPersistence implements ConfigurationPersistence {
     protected Logger logger;
     @Inject
     ConfigModularityUtils modularityUtils;
+    @Inject
+    DomainXmlSnapshot snapshot;
 
     DomDocument skippedDoc;
 
@@ -84,10 +92,20 @@ public class DomainXmlPersistence implements ConfigurationPersistence {
         if (!domainXmlTmp.exists()) {
             throw new IOException("Cannot create temporary file when saving domain.xml");
         }
+        // the snapshot is recorded in the same pass and matched with the checksum of the written bytes
+        final ByteArrayOutputStream snapshotBody = snapshot.isEnabled() ? new ByteArrayOutputStream(64 * 1024) : null;
+        final CRC32 crc = new CRC32();
         try (OutputStream fos = new FileOutputStream(domainXmlTmp);
-            IndentingXMLStreamWriter writer = new IndentingXMLStreamWriter(
-                xmlFactory.createXMLStreamWriter(new BufferedOutputStream(fos)))) {
-            doc.writeTo(writer);
+            OutputStream out = new CheckedOutputStream(new BufferedOutputStream(fos), crc);
+            IndentingXMLStreamWriter writer = new IndentingXMLStreamWriter(xmlFactory.createXMLStreamWriter(out))) {
+            if (snapshotBody == null) {
+                doc.writeTo(writer);
+            } else {
+                final ConfigSnapshot.Recorder recorder = ConfigSnapshot.record(writer,
+                    new DataOutputStream(snapshotBody));
+                doc.writeTo(recorder);
+                recorder.writeEndDocument();
+            }
         } catch (XMLStreamException e) {
             throw new IOException("Configuration could not be saved to temporary file " + domainXmlTmp, e);
         }
@@ -110,6 +128,9 @@ public class DomainXmlPersistence implements ConfigurationPersistence {
         }
 
         skippedDoc = null;
+        if (snapshotBody != null) {
+            snapshot.write(snapshotBody.toByteArray(), destination, crc.getValue());
+        }
         saved(destination);
     }
 
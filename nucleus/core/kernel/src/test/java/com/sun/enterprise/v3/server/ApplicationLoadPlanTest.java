@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import com.sun.enterprise.config.serverbeans.Application;
+import com.sun.enterprise.config.serverbeans.ServerTags;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ApplicationLoadPlanTest {
+
+    @Test
+    public void independentApplications() {
+        Application app1 = createApplication("app1", "100", null, false);
+        Application app2 = createApplication("app2", "100", "", false);
+        Application app3 = createApplication("app3", null, null, false);
+        ApplicationLoadPlan plan = new ApplicationLoadPlan(List.of(app1, app2, app3), Set.of());
+        assertAll(
+            () -> assertThat(plan.getDependencies(app1), empty()),
+            () -> assertThat(plan.getDependencies(app2), empty()),
+            () -> assertThat(plan.getDependencies(app3), empty())
+        );
+    }
+
+    @Test
+    public void systemApplicationsAndAdaptersFirst() {
+        Application system = createApplication("__admingui", "100", null, false);
+        Application adapter = createApplication("ra", "100", null, true);
+        Application app = createApplication("app", "100", null, false);
+        ApplicationLoadPlan plan = new ApplicationLoadPlan(List.of(system, adapter, app), Set.of("__admingui"));
+        assertAll(
+            () -> assertThat(plan.getDependencies(system), empty()),
+            () -> assertThat(plan.getDependencies(adapter), contains(system)),
+            () -> assertThat(plan.getDependencies(app), contains(system, adapter))
+        );
+    }
+
+    @Test
+    public void deploymentOrderAndSharedLibraries() {
+        Application first = createApplication("first", "10", null, false);
+        Application lib1 = createApplication("lib1", "20", "/libs/a.jar, /libs/b.jar", false);
+        Application lib2 = createApplication("lib2", "20", "/libs/c.jar,/libs/b.jar", false);
+        Application other = createApplication("other", "20", "/libs/d.jar", false);
+        ApplicationLoadPlan plan = new ApplicationLoadPlan(List.of(first, lib1, lib2, other), Set.of());
+        assertAll(
+            () -> assertThat(plan.getDependencies(lib1), contains(first)),
+            () -> assertThat(plan.getDependencies(lib2), contains(first, lib1)),
+            () -> assertThat(plan.getDependencies(other), contains(first))
+        );
+    }
+
+    private static Application createApplication(String name, String order, String libraries, boolean adapter) {
+        Application application = createMock(Application.class);
+        expect(application.getName()).andStubReturn(name);
+        expect(application.getDeploymentOrder()).andStubReturn(order);
+        expect(application.getLibraries()).andStubReturn(libraries);
+        expect(application.containsSnifferType(ServerTags.CONNECTOR)).andStubReturn(adapter);
+        replay(application);
+        return application;
+    }
+}
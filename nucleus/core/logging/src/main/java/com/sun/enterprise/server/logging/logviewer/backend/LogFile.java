@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,9 +27,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
@@ -44,6 +50,10 @@ import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
  * getLastIndexNumber returns the last index.
  * </P>
  * <P>
+ * The {@link LogFileIndex} of the file is used by the {@link LogFilter}
+ * unless the system property {@value #INDEX_ENABLED_PROPERTY} is false.
+ * </P>
+ * <P>
  * This class also contains an inner class for storing LogEntry
  * objects.
  * </P>
@@ -55,9 +65,18 @@ public class LogFile implements java.io.Serializable {
 
     private static final long serialVersionUID = -2960142541274652618L;
 
+    /** System property switching off the {@link LogFileIndex} */
+    public static final String INDEX_ENABLED_PROPERTY = "org.glassfish.main.logviewer.index.enabled";
+    private static final boolean INDEX_ENABLED = Boolean
+        .parseBoolean(System.getProperty(INDEX_ENABLED_PROPERTY, "true"));
+
+    // Records read in one pass when the requested records are close to each other
+    private static final int MAX_RECORD_GAP = 16;
+
     private final long _indexSize = 10;
     private final String _logFileName;
     private final List<Long> _recordIdx = new ArrayList<>();
+    private transient LogFileIndex _index;
 
     /**
      * Constructor
@@ -111,15 +130,7 @@ public class LogFile implements java.io.Serializable {
                         return;
                     }
                     if (results.size() < maxRecords) {
-                        LogEntry entry = new LogEntry(startingRecord + results.size());
-                        entry.setLoggedDateTime(logRecord.getTimestamp());
-                        entry.setLoggedLevel(logRecord.getLevel());
-                        entry.setLoggedLoggerName(logRecord.getLogger());
-                        entry.setLoggedMessage(logRecord.getMessage());
-                        entry.setLoggedNameValuePairs(logRecord.getSupplementalAttributes().toString());
-                        entry.setLoggedProduct(logRecord.getProductId());
-                        entry.setMessageId(logRecord.getMessageKey());
-                        results.add(entry);
+                        results.add(toLogEntry(startingRecord + results.size(), logRecord));
                     }
                 }
             });
@@ -130,6 +141,98 @@ public class LogFile implements java.io.Serializable {
     }
 
 
+    /**
+     * Reads the given records, starting at their offsets in the index. Records
+     * close to each other are read in one pass.
+     *
+     * @param index the current index of this file
+     * @param recordNumbers numbers of the records, in any order
+     * @return the records in the order of the numbers, without the records
+     *         not found in the file
+     */
+    List<LogEntry> getLogEntries(final LogFileIndex index, final int[] recordNumbers) {
+        final int[] sorted = recordNumbers.clone();
+        Arrays.sort(sorted);
+        final Map<Long, LogEntry> entries = new HashMap<>();
+        File logFile = new File(getLogFileName());
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            LogParser logParser = LogParserFactory.getInstance().createLogParser(logFile);
+            int i = 0;
+            while (i < sorted.length) {
+                final int first = sorted[i];
+                while (i + 1 < sorted.length && sorted[i + 1] - sorted[i] <= MAX_RECORD_GAP) {
+                    i++;
+                }
+                final int last = sorted[i++];
+                channel.position(index.getOffset(first));
+                // Not closed, that would close the channel
+                BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel)));
+                try {
+                    logParser.parseLog(reader, new LogParserListener() {
+
+                        long recordNumber = first;
+
+                        @Override
+                        public void foundLogRecord(long position, ParsedLogRecord logRecord) {
+                            if (Arrays.binarySearch(sorted, (int) recordNumber) >= 0) {
+                                entries.put(recordNumber, toLogEntry(recordNumber, logRecord));
+                            }
+                            if (++recordNumber > last) {
+                                throw new EnoughRecordsException();
+                            }
+                        }
+                    });
+                } catch (EnoughRecordsException e) {
+                    // the last record of the pass was read
+                }
+            }
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        final List<LogEntry> results = new ArrayList<>(recordNumbers.length);
+        for (int recordNumber : recordNumbers) {
+            LogEntry entry = entries.get((long) recordNumber);
+            if (entry != null) {
+                results.add(entry);
+            }
+        }
+        return results;
+    }
+
+
+    private static LogEntry toLogEntry(long recordNumber, ParsedLogRecord logRecord) {
+        LogEntry entry = new LogEntry(recordNumber);
+        entry.setLoggedDateTime(logRecord.getTimestamp());
+        entry.setLoggedLevel(logRecord.getLevel());
+        entry.setLoggedLoggerName(logRecord.getLogger());
+        entry.setLoggedMessage(logRecord.getMessage());
+        entry.setLoggedNameValuePairs(logRecord.getSupplementalAttributes().toString());
+        entry.setLoggedProduct(logRecord.getProductId());
+        entry.setMessageId(logRecord.getMessageKey());
+        return entry;
+    }
+
+
+    /**
+     * Brings the index of the file up to date, see {@link LogFileIndex#open(File, LogFileIndex)}.
+     *
+     * @return the index, or null if it is switched off or the file cannot be indexed
+     */
+    synchronized LogFileIndex getIndex() {
+        if (!INDEX_ENABLED) {
+            return null;
+        }
+        try {
+            _index = LogFileIndex.open(new File(getLogFileName()), _index);
+        } catch (Exception ex) {
+            LOGGING_LOGGER.log(Level.WARNING, "Could not index " + getLogFileName()
+                + ", the records will be searched sequentially", ex);
+            _index = null;
+        }
+        return _index;
+    }
+
+
     /**
      * This method builds the file index in the beginning.  The index is for
      * the beginning of every record after the size specified by '_indexSize'
@@ -145,12 +248,14 @@ public class LogFile implements java.io.Serializable {
             if (logParser != null) {
                 logParser.parseLog(reader, new LogParserListener() {
 
-                    long recordNumber = (_recordIdx.size() - 1) * localIndexSize;
+                    final long firstRecordNumber = (_recordIdx.size() - 1) * localIndexSize;
+                    long recordNumber = firstRecordNumber;
 
                     @Override
                     public void foundLogRecord(long position, ParsedLogRecord object) {
                         long modIndex = recordNumber % localIndexSize;
-                        if (modIndex == 0) {
+                        // The first record starts at startPos, which is already in the index
+                        if (modIndex == 0 && recordNumber != firstRecordNumber) {
                             _recordIdx.add(startPos + position);
                         }
                         recordNumber++;
@@ -175,7 +280,11 @@ public class LogFile implements java.io.Serializable {
         // from 1 to get the right index
         int index = (int) (recordNumber / getIndexSize());
         if (index >= _recordIdx.size()) {
-            return null;
+            // Not built by getLastIndexNumber when the LogFileIndex is used
+            buildLogFileIndex();
+            if (index >= _recordIdx.size()) {
+                return null;
+            }
         }
         Long filePosition = _recordIdx.get(index);
         return getLogFileReader(filePosition);
@@ -222,6 +331,10 @@ public class LogFile implements java.io.Serializable {
      * will ensure that the indexes are up-to-date.
      */
     public long getLastIndexNumber() {
+        LogFileIndex index = getIndex();
+        if (index != null) {
+            return (index.getRecordCount() + getIndexSize() - 1) / getIndexSize();
+        }
         buildLogFileIndex();
         return _recordIdx.size() - 1;
     }
@@ -231,6 +344,18 @@ public class LogFile implements java.io.Serializable {
         return _indexSize;
     }
 
+    /**
+     * Stops the parser once the requested records were read.
+     */
+    private static final class EnoughRecordsException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        EnoughRecordsException() {
+            super(null, null, false, false);
+        }
+    }
+
     /**
      * Class to manage LogEntry information
      */
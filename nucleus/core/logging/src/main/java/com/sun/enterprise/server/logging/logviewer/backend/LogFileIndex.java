@@ -0,0 +1,639 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.parser.LogParser;
+import com.sun.enterprise.server.logging.parser.LogParserFactory;
+import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
+
+/**
+ * Column index of the records of a log file, used by the {@link LogFilter} to evaluate the level,
+ * logger and time conditions of a query without parsing the file, and to read only the records
+ * of the requested page.
+ * <p>
+ * For every record the index holds the byte offset of its first line, its timestamp and its logger,
+ * and for every level a bitmap of the records with that level. The minimal and maximal timestamps
+ * of every block of {@value #BLOCK_SIZE} records allow whole blocks to be skipped by time queries.
+ * <p>
+ * The index is stored in the <code>{@value #INDEX_DIRECTORY}</code> directory next to the log file
+ * and read from it when it is used again. When the log file grew since the index was written, only
+ * the new records are parsed; when it was replaced, the index is built again. Compressed files
+ * are not indexed. Neither file is memory-mapped: on Windows, a mapping would prevent the rotation
+ * of the log file and the deletion of the index.
+ * <p>
+ * Instances are immutable and can be used by concurrent queries.
+ */
+final class LogFileIndex {
+
+    /** Name of the directory next to the log files holding their indexes */
+    static final String INDEX_DIRECTORY = ".logviewer-index";
+
+    /** Records per time bucket, a multiple of 64 so that every bucket starts at a bitmap word */
+    static final int BLOCK_SIZE = 1024;
+
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String COMPRESSED_SUFFIX = ".gz";
+    private static final int MAGIC = 0x474C5649;
+    private static final int VERSION = 1;
+    private static final int PREFIX_LENGTH = 4096;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final File logFile;
+    private final long logLength;
+    private final long logLastModified;
+    private final int prefixLength;
+    private final long prefixChecksum;
+    private final int recordCount;
+    private final String[] levels;
+    private final String[] loggers;
+    private final ByteBuffer data;
+    private final int offsetsPosition;
+    private final int timestampsPosition;
+    private final int loggersPosition;
+    private final int levelsPosition;
+    private final int blocksPosition;
+
+    private LogFileIndex(File logFile, ByteBuffer data) throws IOException {
+        this.logFile = logFile;
+        this.data = data;
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported index format of " + logFile);
+        }
+        logLength = data.getLong(8);
+        logLastModified = data.getLong(16);
+        prefixLength = data.getInt(24);
+        prefixChecksum = data.getLong(28);
+        recordCount = data.getInt(36);
+        ByteBuffer header = data.duplicate().position(40);
+        levels = readStrings(header);
+        loggers = readStrings(header);
+        offsetsPosition = header.position();
+        timestampsPosition = offsetsPosition + Long.BYTES * recordCount;
+        loggersPosition = timestampsPosition + Long.BYTES * recordCount;
+        levelsPosition = loggersPosition + Integer.BYTES * recordCount;
+        blocksPosition = levelsPosition + Long.BYTES * getWordCount(recordCount) * levels.length;
+        if (blocksPosition + 2 * Long.BYTES * getBlockCount(recordCount) != data.limit()) {
+            throw new IOException("Truncated index of " + logFile);
+        }
+    }
+
+
+    /**
+     * Returns the index of the log file, reusing the current index or the stored one if they
+     * are still valid, extending them if the log file grew, or building a new one.
+     *
+     * @param logFile the log file
+     * @param current the index returned by the previous call, or null
+     * @return the index of the log file, or null if the file cannot be indexed
+     * @throws IOException if the log file cannot be read
+     */
+    static LogFileIndex open(File logFile, LogFileIndex current) throws IOException {
+        if (logFile.getName().endsWith(COMPRESSED_SUFFIX) || !logFile.isFile()) {
+            return null;
+        }
+        LogFileIndex candidate = current == null ? load(logFile) : current;
+        if (candidate != null) {
+            boolean samePrefix = candidate.hasSamePrefix(logFile);
+            long length = logFile.length();
+            if (samePrefix && candidate.logLength == length && candidate.logLastModified == logFile.lastModified()) {
+                return candidate;
+            }
+            if (!samePrefix || candidate.logLength > length || candidate.recordCount == 0) {
+                candidate = null;
+            }
+        }
+        LogFileIndex index = build(logFile, candidate);
+        index.store();
+        return index;
+    }
+
+
+    /**
+     * @return number of the records in the log file
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+
+    /**
+     * @param record the number of the record
+     * @return offset of the first byte of the record in the log file
+     */
+    long getOffset(int record) {
+        return data.getLong(offsetsPosition + Long.BYTES * record);
+    }
+
+
+    /**
+     * Finds the records with the level and the logger accepted by the filters and logged
+     * in the time range. Records without a level, logger or timestamp are passed to the
+     * filters as null, and never match a time range.
+     *
+     * @param levelFilter accepts the levels of the selected records
+     * @param loggerFilter accepts the loggers of the selected records
+     * @param fromTime start of the time range, inclusive, or null if the time does not matter
+     * @param toTime end of the time range, inclusive, or null if the time does not matter
+     * @return numbers of the selected records
+     */
+    BitSet select(Predicate<String> levelFilter, Predicate<String> loggerFilter, Instant fromTime, Instant toTime) {
+        int wordCount = getWordCount(recordCount);
+        long[] selected = new long[wordCount];
+        for (int level = 0; level < levels.length; level++) {
+            if (levelFilter.test(levels[level])) {
+                int position = levelsPosition + Long.BYTES * wordCount * level;
+                for (int word = 0; word < wordCount; word++) {
+                    selected[word] |= data.getLong(position + Long.BYTES * word);
+                }
+            }
+        }
+        boolean[] selectedLoggers = new boolean[loggers.length];
+        boolean allLoggers = true;
+        for (int logger = 0; logger < loggers.length; logger++) {
+            selectedLoggers[logger] = loggerFilter.test(loggers[logger]);
+            allLoggers &= selectedLoggers[logger];
+        }
+        boolean timeRange = fromTime != null && toTime != null;
+        long from = timeRange ? toEpochNanos(fromTime.getEpochSecond(), fromTime.getNano()) : 0L;
+        long to = timeRange ? toEpochNanos(toTime.getEpochSecond(), toTime.getNano()) : 0L;
+
+        BitSet result = new BitSet(recordCount);
+        for (int block = 0; block < getBlockCount(recordCount); block++) {
+            if (timeRange) {
+                long min = data.getLong(blocksPosition + 2 * Long.BYTES * block);
+                long max = data.getLong(blocksPosition + 2 * Long.BYTES * block + Long.BYTES);
+                if (max < from || min > to) {
+                    continue;
+                }
+            }
+            int lastWord = Math.min(wordCount, (block + 1) * BLOCK_SIZE / Long.SIZE);
+            for (int word = block * BLOCK_SIZE / Long.SIZE; word < lastWord; word++) {
+                for (long bits = selected[word]; bits != 0; bits &= bits - 1) {
+                    int record = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    if (!allLoggers && !selectedLoggers[data.getInt(loggersPosition + Integer.BYTES * record)]) {
+                        continue;
+                    }
+                    if (timeRange) {
+                        long timestamp = data.getLong(timestampsPosition + Long.BYTES * record);
+                        if (timestamp == NO_TIMESTAMP || timestamp < from || timestamp > to) {
+                            continue;
+                        }
+                    }
+                    result.set(record);
+                }
+            }
+        }
+        return result;
+    }
+
+
+    private boolean hasSamePrefix(File file) throws IOException {
+        return file.length() >= prefixLength && checksum(file, prefixLength) == prefixChecksum;
+    }
+
+
+    /**
+     * Writes the index next to the log file, it is kept only in memory if it cannot be stored.
+     */
+    private void store() throws IOException {
+        Path indexFile = getIndexFile(logFile);
+        Path temporaryFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(indexFile.getParent());
+            deleteOrphanedIndexes(indexFile.getParent());
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = data.duplicate().clear();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGING_LOGGER.log(Level.FINE, "Could not store the index of " + logFile + ", keeping it in memory", e);
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+
+    private static LogFileIndex load(File logFile) {
+        Path indexFile = getIndexFile(logFile);
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        try {
+            if (Files.size(indexFile) > Integer.MAX_VALUE) {
+                return null;
+            }
+            return new LogFileIndex(logFile, ByteBuffer.wrap(Files.readAllBytes(indexFile)));
+        } catch (IOException | RuntimeException e) {
+            LOGGING_LOGGER.log(Level.FINE, "Ignoring the unreadable index " + indexFile, e);
+            return null;
+        }
+    }
+
+
+    private static LogFileIndex build(File logFile, LogFileIndex previous) throws IOException {
+        long length = logFile.length();
+        long lastModified = logFile.lastModified();
+        LogParser parser = LogParserFactory.getInstance().createLogParser(logFile);
+        Builder builder = new Builder(previous);
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            ChannelLineReader reader = new ChannelLineReader(channel, builder.getResumeOffset(), length);
+            parser.parseLog(reader,
+                (position, logRecord) -> builder.add(reader.takeRecordOffset(logRecord), logRecord));
+        }
+        int prefixLength = (int) Math.min(length, PREFIX_LENGTH);
+        return new LogFileIndex(logFile,
+            builder.toBuffer(length, lastModified, prefixLength, checksum(logFile, prefixLength)));
+    }
+
+
+    private static void deleteOrphanedIndexes(Path indexDirectory) throws IOException {
+        File[] indexes = indexDirectory.toFile().listFiles((dir, name) -> name.endsWith(INDEX_SUFFIX));
+        if (indexes == null) {
+            return;
+        }
+        for (File index : indexes) {
+            String logFileName = index.getName().substring(0, index.getName().length() - INDEX_SUFFIX.length());
+            if (!new File(indexDirectory.getParent().toFile(), logFileName).isFile()) {
+                Files.deleteIfExists(index.toPath());
+            }
+        }
+    }
+
+
+    private static Path getIndexFile(File logFile) {
+        return logFile.getAbsoluteFile().toPath().resolveSibling(INDEX_DIRECTORY)
+            .resolve(logFile.getName() + INDEX_SUFFIX);
+    }
+
+
+    private static long checksum(File file, int length) throws IOException {
+        byte[] prefix = new byte[length];
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(prefix);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the whole prefix
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(prefix);
+        return crc.getValue();
+    }
+
+
+    private static String[] readStrings(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return strings;
+    }
+
+
+    private static long toEpochNanos(long seconds, int nanos) {
+        try {
+            return Math.addExact(Math.multiplyExact(seconds, 1_000_000_000L), nanos);
+        } catch (ArithmeticException e) {
+            return seconds < 0 ? NO_TIMESTAMP + 1 : Long.MAX_VALUE;
+        }
+    }
+
+
+    private static int getWordCount(int records) {
+        return (records + Long.SIZE - 1) / Long.SIZE;
+    }
+
+
+    private static int getBlockCount(int records) {
+        return (records + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+
+    /**
+     * Collects the columns of the records reported by the parser.
+     */
+    private static final class Builder {
+
+        private final Map<String, Integer> levelIds = new HashMap<>();
+        private final List<String> levelNames = new ArrayList<>();
+        private final Map<String, Integer> loggerIds = new HashMap<>();
+        private final List<String> loggerNames = new ArrayList<>();
+        private long[] offsets = new long[1024];
+        private long[] timestamps = new long[1024];
+        private int[] loggers = new int[1024];
+        private int[] levels = new int[1024];
+        private int count;
+        private final long resumeOffset;
+
+        /**
+         * @param previous index of the beginning of the same file, or null to index the whole file
+         */
+        Builder(LogFileIndex previous) {
+            if (previous == null) {
+                resumeOffset = 0L;
+                return;
+            }
+            for (String level : previous.levels) {
+                levelIds.put(level, levelNames.size());
+                levelNames.add(level);
+            }
+            for (String logger : previous.loggers) {
+                loggerIds.put(logger, loggerNames.size());
+                loggerNames.add(logger);
+            }
+            // The last record might not have been complete, it is parsed again
+            count = previous.recordCount - 1;
+            resumeOffset = previous.getOffset(count);
+            ensureCapacity(count);
+            int wordCount = getWordCount(previous.recordCount);
+            for (int record = 0; record < count; record++) {
+                offsets[record] = previous.getOffset(record);
+                timestamps[record] = previous.data.getLong(previous.timestampsPosition + Long.BYTES * record);
+                loggers[record] = previous.data.getInt(previous.loggersPosition + Integer.BYTES * record);
+            }
+            for (int level = 0; level < previous.levels.length; level++) {
+                int position = previous.levelsPosition + Long.BYTES * wordCount * level;
+                for (int word = 0; word < wordCount; word++) {
+                    long bits = previous.data.getLong(position + Long.BYTES * word);
+                    for (; bits != 0; bits &= bits - 1) {
+                        int record = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                        if (record < count) {
+                            levels[record] = level;
+                        }
+                    }
+                }
+            }
+        }
+
+
+        long getResumeOffset() {
+            return resumeOffset;
+        }
+
+
+        void add(long offset, ParsedLogRecord logRecord) {
+            ensureCapacity(count + 1);
+            OffsetDateTime timestamp = logRecord.getTimestamp();
+            offsets[count] = offset;
+            timestamps[count] = timestamp == null ? NO_TIMESTAMP
+                : toEpochNanos(timestamp.toEpochSecond(), timestamp.getNano());
+            loggers[count] = getId(logRecord.getLogger(), loggerIds, loggerNames);
+            levels[count] = getId(logRecord.getLevel(), levelIds, levelNames);
+            count++;
+        }
+
+
+        ByteBuffer toBuffer(long logLength, long logLastModified, int prefixLength, long prefixChecksum)
+            throws IOException {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(header)) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(logLength);
+                output.writeLong(logLastModified);
+                output.writeInt(prefixLength);
+                output.writeLong(prefixChecksum);
+                output.writeInt(count);
+                writeStrings(output, levelNames);
+                writeStrings(output, loggerNames);
+            }
+            int wordCount = getWordCount(count);
+            int blockCount = getBlockCount(count);
+            long size = header.size() + (2L * Long.BYTES + Integer.BYTES) * count
+                + (long) Long.BYTES * wordCount * levelNames.size() + 2L * Long.BYTES * blockCount;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Too many records to index: " + count);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            buffer.put(header.toByteArray());
+            for (int record = 0; record < count; record++) {
+                buffer.putLong(offsets[record]);
+            }
+            for (int record = 0; record < count; record++) {
+                buffer.putLong(timestamps[record]);
+            }
+            for (int record = 0; record < count; record++) {
+                buffer.putInt(loggers[record]);
+            }
+            for (int level = 0; level < levelNames.size(); level++) {
+                long[] bitmap = new long[wordCount];
+                for (int record = 0; record < count; record++) {
+                    if (levels[record] == level) {
+                        bitmap[record / Long.SIZE] |= 1L << record;
+                    }
+                }
+                for (long word : bitmap) {
+                    buffer.putLong(word);
+                }
+            }
+            for (int block = 0; block < blockCount; block++) {
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (int record = block * BLOCK_SIZE; record < Math.min(count, (block + 1) * BLOCK_SIZE); record++) {
+                    if (timestamps[record] != NO_TIMESTAMP) {
+                        min = Math.min(min, timestamps[record]);
+                        max = Math.max(max, timestamps[record]);
+                    }
+                }
+                buffer.putLong(min);
+                buffer.putLong(max);
+            }
+            return buffer.flip();
+        }
+
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > offsets.length) {
+                int length = Math.max(capacity, offsets.length * 2);
+                offsets = Arrays.copyOf(offsets, length);
+                timestamps = Arrays.copyOf(timestamps, length);
+                loggers = Arrays.copyOf(loggers, length);
+                levels = Arrays.copyOf(levels, length);
+            }
+        }
+
+
+        private static int getId(String value, Map<String, Integer> ids, List<String> values) {
+            return ids.computeIfAbsent(value, k -> {
+                values.add(k);
+                return values.size() - 1;
+            });
+        }
+
+
+        private static void writeStrings(DataOutputStream output, List<String> strings) throws IOException {
+            output.writeInt(strings.size());
+            for (String string : strings) {
+                if (string == null) {
+                    output.writeInt(-1);
+                } else {
+                    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Reads the lines of the log file with positional reads into a reused buffer and remembers
+     * where they started, so that the offsets of the records reported by the parser are known.
+     * Lines are decoded with the default charset and end with \n, \r\n or \r, as with
+     * the {@link java.io.FileReader} used by the {@link LogFile}.
+     */
+    private static final class ChannelLineReader extends BufferedReader {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final FileChannel channel;
+        private final long length;
+        private final Charset charset = Charset.defaultCharset();
+        private final Deque<Line> lines = new ArrayDeque<>();
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+        private long bufferStart;
+        private long position;
+        private byte[] line = new byte[256];
+
+        ChannelLineReader(FileChannel channel, long start, long length) {
+            super(Reader.nullReader(), 1);
+            this.channel = channel;
+            this.position = start;
+            this.length = length;
+        }
+
+
+        @Override
+        public String readLine() throws IOException {
+            if (position >= length) {
+                return null;
+            }
+            long start = position;
+            int size = 0;
+            while (position < length) {
+                byte b = get(position++);
+                if (b == '\n') {
+                    break;
+                }
+                if (b == '\r') {
+                    if (position < length && get(position) == '\n') {
+                        position++;
+                    }
+                    break;
+                }
+                if (size == line.length) {
+                    line = Arrays.copyOf(line, size * 2);
+                }
+                line[size++] = b;
+            }
+            String text = new String(line, 0, size, charset);
+            lines.add(new Line(start, text));
+            return text;
+        }
+
+
+        /**
+         * Forgets the lines up to the first line of the record.
+         *
+         * @param logRecord record reported by the parser
+         * @return offset of the first line of the record
+         */
+        long takeRecordOffset(ParsedLogRecord logRecord) {
+            String formatted = logRecord.getFormattedLogRecord();
+            int end = formatted.indexOf('\n');
+            int carriageReturn = formatted.indexOf('\r');
+            if (end < 0 || carriageReturn >= 0 && carriageReturn < end) {
+                end = carriageReturn;
+            }
+            String firstLine = end < 0 ? formatted : formatted.substring(0, end);
+            while (!lines.isEmpty()) {
+                Line candidate = lines.removeFirst();
+                if (candidate.text().equals(firstLine)) {
+                    return candidate.offset();
+                }
+            }
+            throw new IllegalStateException("Could not find the beginning of the record " + firstLine);
+        }
+
+
+        private byte get(long offset) throws IOException {
+            if (offset < bufferStart || offset >= bufferStart + buffer.limit()) {
+                fill(offset);
+            }
+            return buffer.get((int) (offset - bufferStart));
+        }
+
+
+        private void fill(long offset) throws IOException {
+            buffer.clear().limit((int) Math.min(BUFFER_SIZE, length - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("The log file was truncated while it was indexed");
+                }
+            }
+            buffer.flip();
+            bufferStart = offset;
+        }
+
+
+        @Override
+        public void close() {
+            // the channel is closed by its owner
+        }
+
+
+        private record Line(long offset, String text) {
+        }
+    }
+}
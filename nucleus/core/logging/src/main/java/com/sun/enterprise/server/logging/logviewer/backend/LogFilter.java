@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -33,6 +33,9 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
@@ -69,6 +72,15 @@ public class LogFilter {
     // Admin front end.
     private static final String RESULTS_ATTRIBUTE = "Results";
 
+    /**
+     * Name of the optional third Attribute with the number of all records matching
+     * the query, sent when the query could be counted using the {@link LogFileIndex}.
+     */
+    public static final String TOTAL_COUNT_ATTRIBUTE = "TotalCount";
+
+    // Records read at once from an indexed file
+    private static final int INDEXED_BATCH_SIZE = 100;
+
     private static final String NV_SEPARATOR = ";";
 
     static final String[] LOG_LEVELS = {"SEVERE", "WARNING", "INFO", "CONFIG", "FINE", "FINER", "FINEST"};
@@ -439,6 +451,23 @@ public class LogFilter {
      * Internal method that will be called from getLogRecordsUsingQuery()
      */
     protected AttributeList fetchRecordsUsingQuery(
+        LogFile logFile, long startingRecord, boolean next, boolean forward,
+        long requestedCount, Instant fromDate, Instant toDate, String logLevel,
+        boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
+        LogFileIndex index = logFile.getIndex();
+        if (index != null) {
+            return fetchIndexedRecords(logFile, index, startingRecord, next, forward,
+                requestedCount, fromDate, toDate, logLevel, onlyLevel, listOfModules, nameValueMap, anySearch);
+        }
+        return fetchParsedRecords(logFile, startingRecord, next, forward,
+            requestedCount, fromDate, toDate, logLevel, onlyLevel, listOfModules, nameValueMap, anySearch);
+    }
+
+    /**
+     * Same as {@link #fetchRecordsUsingQuery}, but all the records from the
+     * startingRecord are parsed and checked one by one.
+     */
+    AttributeList fetchParsedRecords(
         LogFile logFile, long startingRecord, boolean next, boolean forward,
         long requestedCount, Instant fromDate, Instant toDate, String logLevel,
         boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
@@ -549,6 +578,62 @@ public class LogFilter {
         return convertResultsToTheStructure(results);
     }
 
+    /**
+     * Same as {@link #fetchParsedRecords}, but the level, module and time
+     * conditions are evaluated by the index, and only the matching records are
+     * read from the file. If no other conditions apply, the number of all matching
+     * records is added as the {@value #TOTAL_COUNT_ATTRIBUTE} Attribute.
+     */
+    AttributeList fetchIndexedRecords(
+        LogFile logFile, LogFileIndex index, long startingRecord, boolean next, boolean forward,
+        long requestedCount, Instant fromDate, Instant toDate, String logLevel,
+        boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
+        // Records without a level or logger fail the checks comparing them
+        BitSet matches = index.select(
+            level -> level == null ? !onlyLevel || logLevel == null : levelCheck(level, logLevel, onlyLevel),
+            logger -> logger == null ? listOfModules == null || listOfModules.isEmpty()
+                : moduleCheck(logger, listOfModules),
+            fromDate, toDate);
+        boolean otherChecks = (nameValueMap != null && !nameValueMap.isEmpty())
+            || (anySearch != null && anySearch.length() >= 3);
+
+        // Same order as fetchParsedRecords: after the startingRecord
+        // ascending, or before it descending
+        int record;
+        if (next) {
+            record = matches.nextSetBit((int) Math.min(startingRecord + 1, index.getRecordCount()));
+        } else {
+            long last = Math.min(startingRecord - 1, index.getRecordCount() - 1);
+            record = last < 0 ? -1 : matches.previousSetBit((int) last);
+        }
+        List<LogFile.LogEntry> results = new ArrayList<>();
+        while (record >= 0 && results.size() < requestedCount) {
+            int[] batch = new int[(int) Math.min(requestedCount - results.size(), INDEXED_BATCH_SIZE)];
+            int batchSize = 0;
+            while (record >= 0 && batchSize < batch.length) {
+                batch[batchSize++] = record;
+                record = next ? matches.nextSetBit(record + 1) : matches.previousSetBit(record - 1);
+            }
+            for (LogFile.LogEntry entry : logFile.getLogEntries(index, Arrays.copyOf(batch, batchSize))) {
+                if (!otherChecks
+                    || (nameValueCheck(entry.getLoggedNameValuePairs(), nameValueMap)
+                        && messageDataCheck(entry.getLoggedMessage(), entry.getLoggedNameValuePairs(), anySearch))) {
+                    results.add(entry);
+                }
+            }
+        }
+
+        // Deal with previous&forward or next&reverse
+        if (next ^ forward) {
+            Collections.reverse(results);
+        }
+        AttributeList resultsInTemplate = convertResultsToTheStructure(results);
+        if (!otherChecks) {
+            resultsInTemplate.add(new Attribute(TOTAL_COUNT_ATTRIBUTE, matches.cardinality()));
+        }
+        return resultsInTemplate;
+    }
+
     /**
      * This method converts the results to the appropriate structure for
      * LogMBean to return to the Admin Front End.
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.logviewer.backend.LogFile.LogEntry;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the records found with the {@link LogFileIndex} with the records found by parsing
+ * the whole file.
+ */
+public class LogFileIndexTest {
+
+    private static final String RESOURCES = "/com/sun/enterprise/server/logging/parser/";
+
+    @TempDir
+    private Path logDirectory;
+
+
+    @Test
+    public void uniformLogFormat() throws Exception {
+        File logFile = copy("uniform-server.log");
+        LogFileIndex index = assertIndexMatches(logFile, LogFileIndex.open(logFile, null));
+        assertEquals(16, index.getRecordCount(), "recordCount");
+
+        BitSet severe = index.select("SEVERE"::equals, logger -> true, null, null);
+        List<LogEntry> all = parse(logFile);
+        assertEquals(all.stream().filter(e -> "SEVERE".equals(e.getLoggedLevel())).count(), severe.cardinality());
+
+        Instant first = all.get(3).getLoggedDateTime().toInstant();
+        Instant last = all.get(5).getLoggedDateTime().toInstant();
+        BitSet range = index.select(level -> true, logger -> true, first, last);
+        assertAll(
+            () -> assertTrue(range.get(3), "first of the range"),
+            () -> assertTrue(range.get(5), "last of the range"),
+            () -> assertEquals(all.stream().filter(e -> !e.getLoggedDateTime().toInstant().isBefore(first)
+                && !e.getLoggedDateTime().toInstant().isAfter(last)).count(), range.cardinality(), "range")
+        );
+    }
+
+
+    @Test
+    public void odlLogFormat() throws Exception {
+        File logFile = copy("odl-server.log");
+        LogFileIndex index = assertIndexMatches(logFile, LogFileIndex.open(logFile, null));
+        String logger = parse(logFile).get(0).getLoggedLoggerName();
+        BitSet selected = index.select(level -> true, logger::equals, null, null);
+        assertEquals(parse(logFile).stream().filter(e -> logger.equals(e.getLoggedLoggerName())).count(),
+            selected.cardinality());
+    }
+
+
+    @Test
+    public void oneLineLogFormat() throws Exception {
+        File logFile = copy("oneline-server.log");
+        assertIndexMatches(logFile, LogFileIndex.open(logFile, null));
+    }
+
+
+    @Test
+    public void storedAndExtended() throws Exception {
+        File logFile = copy("uniform-server.log");
+        LogFileIndex index = LogFileIndex.open(logFile, null);
+        Path indexFile = logDirectory.resolve(LogFileIndex.INDEX_DIRECTORY).resolve("server.log.idx");
+        assertTrue(Files.isRegularFile(indexFile), "index file");
+
+        LogFileIndex stored = LogFileIndex.open(logFile, null);
+        assertEquals(index.getRecordCount(), stored.getRecordCount(), "recordCount of the stored index");
+
+        try (InputStream input = getClass().getResourceAsStream(RESOURCES + "uniform-server.log")) {
+            Files.write(logFile.toPath(), input.readAllBytes(), StandardOpenOption.APPEND);
+        }
+        LogFileIndex extended = assertIndexMatches(logFile, LogFileIndex.open(logFile, stored));
+        assertEquals(32, extended.getRecordCount(), "recordCount of the extended index");
+
+        copy("oneline-server.log");
+        assertIndexMatches(logFile, LogFileIndex.open(logFile, extended));
+    }
+
+
+    @Test
+    public void truncatedIndexIsBuiltAgain() throws Exception {
+        File logFile = copy("uniform-server.log");
+        LogFileIndex.open(logFile, null);
+        Path indexFile = logDirectory.resolve(LogFileIndex.INDEX_DIRECTORY).resolve("server.log.idx");
+        byte[] stored = Files.readAllBytes(indexFile);
+        Files.write(indexFile, Arrays.copyOf(stored, stored.length / 2));
+
+        assertIndexMatches(logFile, LogFileIndex.open(logFile, null));
+        assertEquals(stored.length, Files.size(indexFile), "size of the index file");
+    }
+
+
+    @Test
+    public void indexedQueriesPageLikeParsedQueries() throws Exception {
+        File logFile = copy("uniform-server.log");
+        for (int i = 0; i < 2; i++) {
+            try (InputStream input = getClass().getResourceAsStream(RESOURCES + "uniform-server.log")) {
+                Files.write(logFile.toPath(), input.readAllBytes(), StandardOpenOption.APPEND);
+            }
+        }
+        LogFile file = new LogFile(logFile.getAbsolutePath());
+        LogFileIndex index = LogFileIndex.open(logFile, null);
+        assertEquals(48, index.getRecordCount(), "recordCount");
+
+        List<LogEntry> all = parse(logFile);
+        String logger = all.get(0).getLoggedLoggerName();
+        Instant from = all.get(3).getLoggedDateTime().toInstant();
+        Instant to = all.get(20).getLoggedDateTime().toInstant();
+        LogFilter filter = new LogFilter();
+        assertAll(
+            () -> assertSamePages(filter, file, index, all, null, false, List.of(), null, null, null),
+            () -> assertSamePages(filter, file, index, all, "INFO", false, List.of(), null, null, null),
+            () -> assertSamePages(filter, file, index, all, "SEVERE", true, List.of(), null, null, null),
+            () -> assertSamePages(filter, file, index, all, null, false, List.of(logger), null, null, null),
+            () -> assertSamePages(filter, file, index, all, "INFO", true, List.of(logger), from, to, null),
+            () -> assertSamePages(filter, file, index, all, null, false, List.of(), from, to, null),
+            () -> assertSamePages(filter, file, index, all, "SEVERE", false, List.of(), null, null, "GlassFish")
+        );
+    }
+
+
+    @Test
+    public void compressedFileNotIndexed() throws Exception {
+        File logFile = logDirectory.resolve("server.log.gz").toFile();
+        Files.write(logFile.toPath(), new byte[] {0x1f, (byte) 0x8b});
+        assertNull(LogFileIndex.open(logFile, null));
+    }
+
+
+    private LogFileIndex assertIndexMatches(File logFile, LogFileIndex index) {
+        assertNotNull(index, "index");
+        List<LogEntry> expected = parse(logFile);
+        assertThat(expected, hasSize(index.getRecordCount()));
+        LogFile file = new LogFile(logFile.getAbsolutePath());
+        int[] reversed = IntStream.range(0, expected.size()).map(i -> expected.size() - 1 - i).toArray();
+        List<LogEntry> actual = file.getLogEntries(index, reversed);
+        assertThat(actual, hasSize(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            LogEntry expectedEntry = expected.get(i);
+            LogEntry actualEntry = actual.get(expected.size() - 1 - i);
+            assertAll(
+                () -> assertEquals(expectedEntry.getRecordNumber(), actualEntry.getRecordNumber(), "recordNumber"),
+                () -> assertEquals(expectedEntry.getLoggedDateTime(), actualEntry.getLoggedDateTime(), "dateTime"),
+                () -> assertEquals(expectedEntry.getLoggedLevel(), actualEntry.getLoggedLevel(), "level"),
+                () -> assertEquals(expectedEntry.getLoggedLoggerName(), actualEntry.getLoggedLoggerName(), "logger"),
+                () -> assertEquals(expectedEntry.getLoggedMessage(), actualEntry.getLoggedMessage(), "message")
+            );
+        }
+        return index;
+    }
+
+
+    /**
+     * Compares the pages returned from every starting record in both directions, and checks
+     * the number of matching records.
+     */
+    private static void assertSamePages(LogFilter filter, LogFile file, LogFileIndex index, List<LogEntry> all,
+        String level, boolean onlyLevel, List<String> modules, Instant from, Instant to, String anySearch) {
+        for (long start = -1; start <= index.getRecordCount() + 1; start++) {
+            for (boolean next : new boolean[] {true, false}) {
+                for (boolean forward : new boolean[] {true, false}) {
+                    String query = "level=" + level + ", onlyLevel=" + onlyLevel + ", modules=" + modules
+                        + ", from=" + from + ", anySearch=" + anySearch + ", start=" + start + ", next=" + next
+                        + ", forward=" + forward;
+                    AttributeList parsed = filter.fetchParsedRecords(file, start, next, forward, 7, from, to,
+                        level, onlyLevel, modules, null, anySearch);
+                    AttributeList indexed = filter.fetchIndexedRecords(file, index, start, next, forward, 7, from,
+                        to, level, onlyLevel, modules, null, anySearch);
+                    assertEquals(getRecords(parsed), getRecords(indexed), query);
+                    if (anySearch == null) {
+                        assertEquals(all.stream().filter(entry -> filter.allChecks(entry, from, to, level,
+                            onlyLevel, modules, null, null)).count(), getTotalCount(indexed), query);
+                    } else {
+                        assertEquals(2, indexed.size(), query + ": attributes");
+                    }
+                }
+            }
+        }
+    }
+
+
+    private static List<?> getRecords(AttributeList results) {
+        return (List<?>) ((Attribute) results.get(1)).getValue();
+    }
+
+
+    private static long getTotalCount(AttributeList results) {
+        Attribute totalCount = (Attribute) results.get(2);
+        assertEquals(LogFilter.TOTAL_COUNT_ATTRIBUTE, totalCount.getName());
+        return ((Number) totalCount.getValue()).longValue();
+    }
+
+
+    private static List<LogEntry> parse(File logFile) {
+        return new LogFile(logFile.getAbsolutePath()).getLogEntries(0L, Long.MAX_VALUE);
+    }
+
+
+    private File copy(String resource) throws Exception {
+        Path logFile = logDirectory.resolve("server.log");
+        try (InputStream input = getClass().getResourceAsStream(RESOURCES + resource)) {
+            Files.copy(input, logFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return logFile.toFile();
+    }
+}
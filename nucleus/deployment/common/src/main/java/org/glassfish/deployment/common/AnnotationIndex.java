@@ -0,0 +1,694 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import com.sun.enterprise.deploy.shared.FileArchive;
+import com.sun.enterprise.deployment.deploy.shared.InputJarArchive;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.hk2.api.PostConstruct;
+import org.glassfish.hk2.api.PreDestroy;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.classmodel.reflect.Parser;
+import org.glassfish.internal.api.Globals;
+import org.jvnet.hk2.annotations.Optional;
+import org.jvnet.hk2.annotations.Service;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import static java.util.logging.Level.FINE;
+import static org.objectweb.asm.Opcodes.ASM9;
+
+/**
+ * Persistent index of the annotations used by the classes of deployed archives, so the archives
+ * don't have to be scanned again on redeployment and server restart.
+ * <p>
+ * The index of an archive is keyed by a digest of its content: for a jar file the names, CRCs and
+ * sizes of the entries from its central directory, for a directory the paths, sizes and CRCs of
+ * its files. The digest is computed once per archive instance, ie. once per deployment. The index
+ * is stored under {@code generated/annotation-index} of the instance and reused until the content
+ * changes; the indexes of older content of the same archive and of archives which don't exist any
+ * more are deleted when a new index is stored.
+ * <p>
+ * An archive without an index is indexed in the background, so the first deployment keeps the
+ * early exit of the annotation detectors.
+ * <p>
+ * The hk2 class model parsed from an archive is not serializable, so it is kept only in memory,
+ * for the last few parsed archives, and reused when the same content is deployed again.
+ */
+@Service
+@Singleton
+public class AnnotationIndex implements PostConstruct, PreDestroy {
+
+    private static final Logger LOG = DeploymentContextImpl.deplLogger;
+
+    /** Set to false to disable the index */
+    public static final String ENABLED_PROPERTY = "org.glassfish.deployment.annotationIndex";
+
+    static final String INDEX_DIR_NAME = "annotation-index";
+    private static final int MAGIC = 0x47464149;
+    private static final int VERSION = 2;
+    private static final int CACHED_ARCHIVES = 64;
+    private static final int CACHED_PARSERS = 4;
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private static final int CR_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    @Inject
+    @Optional
+    private ServerEnvironment env;
+
+    private File directory;
+
+    private Executor indexer;
+
+    private final Set<String> indexing = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Parser> parsers = Collections.synchronizedMap(
+        new LinkedHashMap<String, Parser>(8, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Parser> eldest) {
+                return size() > CACHED_PARSERS;
+            }
+        });
+
+    private final Map<String, ArchiveAnnotations> recent = Collections.synchronizedMap(
+        new LinkedHashMap<String, ArchiveAnnotations>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArchiveAnnotations> eldest) {
+                return size() > CACHED_ARCHIVES;
+            }
+        });
+
+    public AnnotationIndex() {
+    }
+
+    AnnotationIndex(File directory, Executor indexer) {
+        this.directory = directory;
+        this.indexer = indexer;
+    }
+
+    @Override
+    public void postConstruct() {
+        if (env != null && Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            directory = new File(env.getApplicationStubPath(), INDEX_DIR_NAME);
+            indexer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r);
+                t.setName("deployment-annotation-indexer");
+                t.setContextClassLoader(null);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @Override
+    public void preDestroy() {
+        if (indexer instanceof ExecutorService) {
+            ((ExecutorService) indexer).shutdownNow();
+        }
+        parsers.clear();
+        recent.clear();
+    }
+
+    /**
+     * @return the index service, or null if there is no service locator, ie. on the client side.
+     */
+    public static AnnotationIndex getInstance() {
+        ServiceLocator locator = Globals.getDefaultHabitat();
+        return locator == null ? null : locator.getService(AnnotationIndex.class);
+    }
+
+    /**
+     * Returns the annotations of the classes in the archive and in the jars in its root, if the
+     * content of the archive is already indexed. Otherwise starts indexing the archive in the
+     * background and returns null, so the caller scans the archive itself and can stop at the
+     * first match.
+     *
+     * @param archive jar file or directory archive
+     * @return the annotations, or null if the archive is not indexed yet or cannot be indexed.
+     */
+    public ArchiveAnnotations getAnnotations(ReadableArchive archive) {
+        if (directory == null) {
+            return null;
+        }
+        File file = toFile(archive);
+        if (file == null) {
+            return null;
+        }
+        try {
+            String digest = getDigest(archive, file);
+            ArchiveAnnotations annotations = recent.get(digest);
+            if (annotations != null) {
+                return annotations;
+            }
+            File indexFile = new File(directory, digest + INDEX_SUFFIX);
+            if (indexFile.isFile()) {
+                annotations = read(indexFile);
+            }
+            if (annotations == null) {
+                if (indexing.add(digest)) {
+                    indexer.execute(() -> index(file, digest));
+                }
+                return null;
+            }
+            recent.put(digest, annotations);
+            return annotations;
+        } catch (IOException | RuntimeException e) {
+            LOG.log(FINE, "Cannot index annotations of " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the parser which already parsed the same content of the archive and libraries.
+     *
+     * @param source the deployed archive
+     * @param libraries libraries parsed with the archive
+     * @return the parser, or null if the content was not parsed recently.
+     */
+    public Parser getParser(ReadableArchive source, List<ReadableArchive> libraries) {
+        String key = getParserKey(source, libraries);
+        return key == null ? null : parsers.get(key);
+    }
+
+    /**
+     * Keeps the parser of the archive and libraries for the next deployment of the same content.
+     * Parsers of the older content of the archive are dropped.
+     *
+     * @param source the deployed archive
+     * @param libraries libraries parsed with the archive
+     * @param parser parser with the types of the archive and libraries
+     */
+    public void putParser(ReadableArchive source, List<ReadableArchive> libraries, Parser parser) {
+        String key = getParserKey(source, libraries);
+        if (key == null) {
+            return;
+        }
+        String prefix = toFile(source).getAbsolutePath() + '@';
+        synchronized (parsers) {
+            parsers.keySet().removeIf(k -> k.startsWith(prefix));
+            parsers.put(key, parser);
+        }
+    }
+
+    private String getParserKey(ReadableArchive source, List<ReadableArchive> libraries) {
+        if (directory == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        try {
+            for (ReadableArchive archive : concat(source, libraries)) {
+                File file = toFile(archive);
+                if (file == null) {
+                    return null;
+                }
+                key.append(file.getAbsolutePath()).append('@').append(getDigest(archive, file)).append('\n');
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.log(FINE, "Cannot compute the digest of " + source.getURI(), e);
+            return null;
+        }
+        return key.toString();
+    }
+
+    private static List<ReadableArchive> concat(ReadableArchive source, List<ReadableArchive> libraries) {
+        List<ReadableArchive> archives = new ArrayList<>(libraries.size() + 1);
+        archives.add(source);
+        archives.addAll(libraries);
+        return archives;
+    }
+
+    /**
+     * The digest is kept by the archive, so it is computed once per deployment.
+     */
+    private static String getDigest(ReadableArchive archive, File file) throws IOException {
+        ArchiveDigest digest = archive.getExtraData(ArchiveDigest.class);
+        if (digest == null) {
+            digest = new ArchiveDigest(digest(file));
+            archive.setExtraData(ArchiveDigest.class, digest);
+        }
+        return digest.value();
+    }
+
+    private void index(File file, String digest) {
+        try (ReadableArchive archive = file.isDirectory() ? new FileArchive(file.toURI()) : new InputJarArchive(file)) {
+            ArchiveAnnotations annotations = ArchiveAnnotations.scan(archive);
+            if (!digest.equals(digest(file))) {
+                LOG.log(FINE, "Content of {0} changed while indexing", file);
+                return;
+            }
+            File indexFile = new File(directory, digest + INDEX_SUFFIX);
+            write(indexFile, file, annotations);
+            deleteStaleIndexes(indexFile, file);
+            recent.put(digest, annotations);
+            LOG.log(FINE, "Indexed annotations of {0} classes of {1}",
+                new Object[] {annotations.classes.size(), file});
+        } catch (IOException | RuntimeException e) {
+            LOG.log(FINE, "Cannot index annotations of " + file, e);
+        } finally {
+            indexing.remove(digest);
+        }
+    }
+
+    /**
+     * Deletes the indexes of other content of the same archive, of archives which don't exist any
+     * more and of older index versions.
+     */
+    private static void deleteStaleIndexes(File indexFile, File archiveFile) throws IOException {
+        File[] indexes = indexFile.getParentFile().listFiles((dir, name) -> name.endsWith(INDEX_SUFFIX));
+        if (indexes == null) {
+            return;
+        }
+        String archivePath = archiveFile.getAbsolutePath();
+        for (File index : indexes) {
+            if (index.equals(indexFile)) {
+                continue;
+            }
+            String source = readSource(index);
+            if (source == null || source.equals(archivePath) || !new File(source).exists()) {
+                Files.deleteIfExists(index.toPath());
+            }
+        }
+    }
+
+    private static File toFile(ReadableArchive archive) {
+        URI uri = archive.getURI();
+        if (uri == null || !"file".equals(uri.getScheme())) {
+            return null;
+        }
+        File file = new File(uri);
+        return file.exists() ? file : null;
+    }
+
+    /**
+     * Digest of the archive content. The jar entries are not decompressed, the CRCs from the
+     * central directory are used instead.
+     */
+    static String digest(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        if (file.isDirectory()) {
+            Path root = file.toPath();
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(root)) {
+                files = walk.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path path : files) {
+                update(digest, root.relativize(path).toString().replace(File.separatorChar, '/'));
+                update(digest, Files.size(path));
+                update(digest, crc(path));
+            }
+        } else {
+            try (ZipFile zip = new ZipFile(file)) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    update(digest, entry.getName());
+                    update(digest, entry.getCrc());
+                    update(digest, entry.getSize());
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static long crc(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(path)) {
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                crc.update(buffer, 0, count);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void update(MessageDigest digest, long value) {
+        for (int i = 56; i >= 0; i -= 8) {
+            digest.update((byte) (value >>> i));
+        }
+    }
+
+    static ArchiveAnnotations read(File indexFile) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            in.readUTF();
+            String[] names = new String[in.readInt()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = in.readUTF();
+            }
+            int count = in.readInt();
+            List<ClassAnnotations> classes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String className = in.readUTF();
+                String jar = in.readUTF();
+                String[] typeAnnotations = readNames(in, names);
+                String[] memberAnnotations = readNames(in, names);
+                classes.add(new ClassAnnotations(className, jar.isEmpty() ? null : jar, typeAnnotations,
+                    memberAnnotations));
+            }
+            return new ArchiveAnnotations(classes);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(FINE, "Cannot read the annotation index " + indexFile + ", it will be rebuilt.", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return absolute path of the indexed archive, or null if the file is not a valid index.
+     */
+    static String readSource(File indexFile) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            return in.readUTF();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String[] readNames(DataInputStream in, String[] names) throws IOException {
+        String[] result = new String[in.readUnsignedShort()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = names[in.readInt()];
+        }
+        return result;
+    }
+
+    static void write(File indexFile, File archiveFile, ArchiveAnnotations annotations) throws IOException {
+        File dir = indexFile.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create directory " + dir);
+        }
+        TreeSet<String> nameSet = new TreeSet<>();
+        for (ClassAnnotations classAnnotations : annotations.classes) {
+            Collections.addAll(nameSet, classAnnotations.typeAnnotations);
+            Collections.addAll(nameSet, classAnnotations.memberAnnotations);
+        }
+        List<String> names = new ArrayList<>(nameSet);
+        Path tmp = Files.createTempFile(dir.toPath(), indexFile.getName(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(archiveFile.getAbsolutePath());
+                out.writeInt(names.size());
+                for (String name : names) {
+                    out.writeUTF(name);
+                }
+                out.writeInt(annotations.classes.size());
+                for (ClassAnnotations classAnnotations : annotations.classes) {
+                    out.writeUTF(classAnnotations.className);
+                    out.writeUTF(classAnnotations.jar == null ? "" : classAnnotations.jar);
+                    writeNames(out, names, classAnnotations.typeAnnotations);
+                    writeNames(out, names, classAnnotations.memberAnnotations);
+                }
+            }
+            Files.move(tmp, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeNames(DataOutputStream out, List<String> names, String[] values) throws IOException {
+        out.writeShort(values.length);
+        for (String value : values) {
+            out.writeInt(Collections.binarySearch(names, value));
+        }
+    }
+
+
+    /**
+     * Digest of the content of an archive, kept in the archive extra data.
+     */
+    private record ArchiveDigest(String value) {
+    }
+
+
+    /**
+     * Annotations used by the classes of one archive, as type descriptors, eg.
+     * {@code Ljakarta/ejb/Stateless;}
+     */
+    public static final class ArchiveAnnotations {
+
+        private final List<ClassAnnotations> classes;
+
+        ArchiveAnnotations(List<ClassAnnotations> classes) {
+            this.classes = classes;
+        }
+
+        static ArchiveAnnotations scan(ReadableArchive archive) throws IOException {
+            List<ClassAnnotations> classes = new ArrayList<>();
+            Enumeration<String> entries = archive.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement();
+                if (entryName.endsWith(".class")) {
+                    try (InputStream is = archive.getEntry(entryName)) {
+                        classes.add(ClassAnnotations.scan(is, null));
+                    }
+                } else if (entryName.endsWith(".jar") && entryName.indexOf('/') == -1) {
+                    try (ReadableArchive jarSubArchive = archive.getSubArchive(entryName)) {
+                        Enumeration<String> jarEntries = jarSubArchive.entries();
+                        while (jarEntries.hasMoreElements()) {
+                            String jarEntryName = jarEntries.nextElement();
+                            if (jarEntryName.endsWith(".class")) {
+                                try (InputStream is = jarSubArchive.getEntry(jarEntryName)) {
+                                    classes.add(ClassAnnotations.scan(is, entryName));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return new ArchiveAnnotations(classes);
+        }
+
+        /**
+         * @param descriptors annotation type descriptors
+         * @param includeJars true to include classes in the jars in the root of the archive
+         * @return true if any class is annotated by any of the annotations.
+         */
+        public boolean hasTypeAnnotation(Collection<String> descriptors, boolean includeJars) {
+            for (ClassAnnotations classAnnotations : classes) {
+                if (includeJars || classAnnotations.jar == null) {
+                    for (String annotation : classAnnotations.typeAnnotations) {
+                        if (descriptors.contains(annotation)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param filter test of annotation type descriptors
+         * @param includeJars true to include classes in the jars in the root of the archive
+         * @return true if any class, or any of its members, is annotated by a matching annotation.
+         */
+        public boolean hasAnnotation(Predicate<String> filter, boolean includeJars) {
+            for (ClassAnnotations classAnnotations : classes) {
+                if (includeJars || classAnnotations.jar == null) {
+                    for (String annotation : classAnnotations.typeAnnotations) {
+                        if (filter.test(annotation)) {
+                            return true;
+                        }
+                    }
+                    for (String annotation : classAnnotations.memberAnnotations) {
+                        if (filter.test(annotation)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param descriptor annotation type descriptor
+         * @return internal names of classes directly in the archive annotated by the annotation.
+         */
+        public List<String> getAnnotatedClasses(String descriptor) {
+            List<String> result = new ArrayList<>();
+            for (ClassAnnotations classAnnotations : classes) {
+                if (classAnnotations.jar == null) {
+                    for (String annotation : classAnnotations.typeAnnotations) {
+                        if (annotation.equals(descriptor)) {
+                            result.add(classAnnotations.className);
+                            break;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return count of indexed classes
+         */
+        public int size() {
+            return classes.size();
+        }
+    }
+
+
+    static final class ClassAnnotations extends ClassVisitor {
+
+        private String className;
+        private final String jar;
+        private String[] typeAnnotations;
+        private String[] memberAnnotations;
+
+        private final TreeSet<String> types = new TreeSet<>();
+        private final TreeSet<String> members = new TreeSet<>();
+
+        private final FieldVisitor fieldVisitor = new FieldVisitor(ASM9) {
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                members.add(descriptor);
+                return null;
+            }
+        };
+
+        private final MethodVisitor methodVisitor = new MethodVisitor(ASM9) {
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                members.add(descriptor);
+                return null;
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int parameter, String descriptor, boolean visible) {
+                members.add(descriptor);
+                return null;
+            }
+        };
+
+        ClassAnnotations(String className, String jar, String[] typeAnnotations, String[] memberAnnotations) {
+            super(ASM9);
+            this.className = className;
+            this.jar = jar;
+            this.typeAnnotations = typeAnnotations;
+            this.memberAnnotations = memberAnnotations;
+        }
+
+        private ClassAnnotations(String jar) {
+            super(ASM9);
+            this.jar = jar;
+        }
+
+        static ClassAnnotations scan(InputStream is, String jar) throws IOException {
+            ClassAnnotations classAnnotations = new ClassAnnotations(jar);
+            new ClassReader(is).accept(classAnnotations, CR_FLAGS);
+            classAnnotations.typeAnnotations = classAnnotations.types.toArray(String[]::new);
+            classAnnotations.memberAnnotations = classAnnotations.members.toArray(String[]::new);
+            return classAnnotations;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName,
+            String[] interfaces) {
+            className = name;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            types.add(descriptor);
+            return null;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            return fieldVisitor;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+            String[] exceptions) {
+            return methodVisitor;
+        }
+    }
+}
@@ -110,6 +110,16 @@ public class GenericAnnotationDetector extends AnnotationScanner {
 
     @Override
     public void scanArchive(ReadableArchive archive) {
+        AnnotationIndex index = AnnotationIndex.getInstance();
+        if (index != null) {
+            AnnotationIndex.ArchiveAnnotations indexed = index.getAnnotations(archive);
+            if (indexed != null) {
+                if (indexed.hasTypeAnnotation(annotations, true)) {
+                    found = true;
+                }
+                return;
+            }
+        }
         try {
             int crFlags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
             Enumeration<String> entries = archive.entries();
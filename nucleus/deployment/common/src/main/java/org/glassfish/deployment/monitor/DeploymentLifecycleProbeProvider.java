@@ -54,4 +54,21 @@ public class DeploymentLifecycleProbeProvider {
     public void applicationUndeployedEvent(
         @ProbeParam("appName") String appName,
         @ProbeParam("appType") String appType) {}
+
+
+    /**
+     * Emits probe event that the application with the given
+     * <code>appName</code> has been loaded at server startup.
+     *
+     * @param appName the name of the application has been loaded
+     * @param loadTime the time it took for this application to load
+     * @param waitTime the time from the start of the loading of all
+     * applications to the start of the loading of this application
+     *
+     */
+    @Probe(name="applicationLoadedEvent")
+    public void applicationLoadedEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("loadTime") String loadTime,
+        @ProbeParam("waitTime") String waitTime) {}
 }
@@ -18,6 +18,7 @@ package org.glassfish.deployment.monitor;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,7 +69,7 @@ public class DeploymentLifecycleStatsProvider {
         APPLICATIONS_INFORMATION_DESCRIPTION);
 
     private Map<String, Map<String, String>> appsInfoMap =
-        new HashMap<String, Map<String, String>>();
+        new ConcurrentHashMap<String, Map<String, String>>();
 
     public DeploymentLifecycleStatsProvider() {
         long curTime = System.currentTimeMillis();
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import com.sun.enterprise.deploy.shared.FileArchive;
+import com.sun.enterprise.deployment.deploy.shared.InputJarArchive;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.glassfish.deployment.common.AnnotationIndex.ArchiveAnnotations;
+import org.glassfish.hk2.classmodel.reflect.Parser;
+import org.glassfish.hk2.classmodel.reflect.ParsingContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V17;
+
+public class AnnotationIndexTest {
+
+    private static final String STATELESS = "Ljakarta/ejb/Stateless;";
+    private static final String INJECT = "Ljakarta/inject/Inject;";
+    private static final String PATH = "Ljakarta/ws/rs/Path;";
+
+    @TempDir
+    private File tempDir;
+
+    @Test
+    public void indexIsBuiltInBackgroundAndReused() throws Exception {
+        File jar = new File(tempDir, "app.jar");
+        writeJar(jar, STATELESS);
+        File indexDir = new File(tempDir, "index");
+        List<Runnable> tasks = new ArrayList<>();
+        AnnotationIndex index = new AnnotationIndex(indexDir, tasks::add);
+
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            assertNull(index.getAnnotations(archive), "not indexed yet");
+        }
+        assertEquals(1, tasks.size(), "indexing tasks");
+        tasks.get(0).run();
+        File[] indexFiles = indexDir.listFiles();
+        assertNotNull(indexFiles);
+        assertEquals(1, indexFiles.length);
+        assertEquals(jar.getAbsolutePath(), AnnotationIndex.readSource(indexFiles[0]));
+
+        ArchiveAnnotations cached;
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            cached = index.getAnnotations(archive);
+        }
+        ArchiveAnnotations read;
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            read = new AnnotationIndex(indexDir, tasks::add).getAnnotations(archive);
+        }
+        assertEquals(1, tasks.size(), "indexing tasks");
+        for (ArchiveAnnotations annotations : Arrays.asList(cached, read)) {
+            assertNotNull(annotations);
+            assertAll(
+                () -> assertEquals(3, annotations.size()),
+                () -> assertTrue(annotations.hasTypeAnnotation(List.of(STATELESS), false)),
+                () -> assertFalse(annotations.hasTypeAnnotation(List.of(INJECT), true)),
+                () -> assertTrue(annotations.hasAnnotation(INJECT::equals, false)),
+                () -> assertFalse(annotations.hasTypeAnnotation(List.of(PATH), false)),
+                () -> assertTrue(annotations.hasTypeAnnotation(List.of(PATH), true)),
+                () -> assertThat(annotations.getAnnotatedClasses(STATELESS), contains("test/Bean"))
+            );
+        }
+    }
+
+    @Test
+    public void digestIsComputedOncePerArchive() throws Exception {
+        File dir = new File(tempDir, "app");
+        File classFile = new File(dir, "test/Bean.class");
+        assertTrue(classFile.getParentFile().mkdirs());
+        Files.write(classFile.toPath(), classBytes("test/Bean", STATELESS, null));
+        List<Runnable> tasks = new ArrayList<>();
+        AnnotationIndex index = new AnnotationIndex(new File(tempDir, "index"), tasks::add);
+        try (FileArchive archive = new FileArchive(dir.toURI())) {
+            assertNull(index.getAnnotations(archive));
+            Files.write(classFile.toPath(), classBytes("test/Bean", PATH, null));
+            assertNull(index.getAnnotations(archive));
+            assertEquals(1, tasks.size(), "indexing tasks of the same archive");
+        }
+        try (FileArchive archive = new FileArchive(dir.toURI())) {
+            assertNull(index.getAnnotations(archive));
+        }
+        assertEquals(2, tasks.size(), "indexing tasks of the changed archive");
+    }
+
+    @Test
+    public void staleIndexesAreDeleted() throws Exception {
+        File jar = new File(tempDir, "app.jar");
+        File other = new File(tempDir, "other.jar");
+        File indexDir = new File(tempDir, "index");
+        AnnotationIndex index = new AnnotationIndex(indexDir, Runnable::run);
+
+        writeJar(jar, STATELESS);
+        indexArchive(index, jar);
+        writeJar(jar, PATH);
+        ArchiveAnnotations annotations = indexArchive(index, jar);
+        assertAll(
+            () -> assertTrue(annotations.hasTypeAnnotation(List.of(PATH), false), "index of the new content"),
+            () -> assertEquals(1, indexDir.list().length, "indexes of the changed archive")
+        );
+
+        writeJar(other, INJECT);
+        indexArchive(index, other);
+        assertEquals(2, indexDir.list().length, "indexes of two archives");
+
+        assertTrue(jar.delete());
+        writeJar(other, null);
+        indexArchive(index, other);
+        File[] indexFiles = indexDir.listFiles();
+        assertAll(
+            () -> assertEquals(1, indexFiles.length, "indexes after the archive was deleted"),
+            () -> assertEquals(other.getAbsolutePath(), AnnotationIndex.readSource(indexFiles[0]))
+        );
+    }
+
+    @Test
+    public void parserIsReusedForSameContent() throws Exception {
+        File jar = new File(tempDir, "app.jar");
+        writeJar(jar, STATELESS);
+        AnnotationIndex index = new AnnotationIndex(new File(tempDir, "index"), Runnable::run);
+        Parser parser = new Parser(new ParsingContext.Builder().build());
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            assertNull(index.getParser(archive, List.of()));
+            index.putParser(archive, List.of(), parser);
+        }
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            assertSame(parser, index.getParser(archive, List.of()));
+        }
+        writeJar(jar, PATH);
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            assertNull(index.getParser(archive, List.of()));
+        }
+    }
+
+    @Test
+    public void directoryDigestChangesWithContent() throws Exception {
+        File dir = new File(tempDir, "app");
+        File file = new File(dir, "test/Bean.class");
+        assertTrue(file.getParentFile().mkdirs());
+        Files.write(file.toPath(), new byte[] {1, 2, 3});
+        long lastModified = file.lastModified();
+        String digest = AnnotationIndex.digest(dir);
+        Files.write(file.toPath(), new byte[] {1, 2, 4});
+        assertTrue(file.setLastModified(lastModified));
+        assertNotEquals(digest, AnnotationIndex.digest(dir));
+    }
+
+    @Test
+    public void digestChangesWithContent() throws Exception {
+        File jar = new File(tempDir, "app.jar");
+        writeJar(jar, STATELESS);
+        String digest = AnnotationIndex.digest(jar);
+        assertEquals(digest, AnnotationIndex.digest(jar));
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            addClass(out, "test/Bean", null, null);
+        }
+        assertNotEquals(digest, AnnotationIndex.digest(jar));
+    }
+
+    @Test
+    public void corruptedIndexIsIgnored() throws Exception {
+        File indexFile = new File(tempDir, "broken.idx");
+        try (FileOutputStream out = new FileOutputStream(indexFile)) {
+            out.write(new byte[] {1, 2, 3});
+        }
+        assertNull(AnnotationIndex.read(indexFile));
+    }
+
+    private static ArchiveAnnotations indexArchive(AnnotationIndex index, File jar) throws IOException {
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            assertNull(index.getAnnotations(archive));
+        }
+        try (InputJarArchive archive = new InputJarArchive(jar)) {
+            ArchiveAnnotations annotations = index.getAnnotations(archive);
+            assertNotNull(annotations, "annotations of " + jar);
+            return annotations;
+        }
+    }
+
+    private static void writeJar(File jar, String beanAnnotation) throws IOException {
+        File nested = new File(jar.getParentFile(), "lib.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(nested))) {
+            addClass(out, "lib/Resource", PATH, null);
+        }
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            addClass(out, "test/Bean", beanAnnotation, null);
+            addClass(out, "test/Client", null, INJECT);
+            out.putNextEntry(new JarEntry("lib.jar"));
+            out.write(Files.readAllBytes(nested.toPath()));
+            out.closeEntry();
+        }
+    }
+
+    private static void addClass(JarOutputStream out, String name, String typeAnnotation, String methodAnnotation)
+        throws IOException {
+        out.putNextEntry(new JarEntry(name + ".class"));
+        out.write(classBytes(name, typeAnnotation, methodAnnotation));
+        out.closeEntry();
+    }
+
+    private static byte[] classBytes(String name, String typeAnnotation, String methodAnnotation) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(V17, ACC_PUBLIC, name, null, "java/lang/Object", null);
+        if (typeAnnotation != null) {
+            writer.visitAnnotation(typeAnnotation, true).visitEnd();
+        }
+        if (methodAnnotation != null) {
+            MethodVisitor method = writer.visitMethod(ACC_PUBLIC, "inject", "()V", null, null);
+            method.visitAnnotation(methodAnnotation, true).visitEnd();
+            method.visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
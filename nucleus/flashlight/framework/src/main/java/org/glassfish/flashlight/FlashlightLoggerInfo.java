@@ -158,5 +158,12 @@ public class FlashlightLoggerInfo {
             level = "WARNING")
     public static final String DTRACE_UNEXPECTED_EXCEPTION = LOGMSG_PREFIX + "-00515";
 
+    @LogMessageInfo(
+            message = "Probe listener {0} failed: {1}. Further failures of this listener are not reported.",
+            cause = "The listener method threw an exception.",
+            action = "Check the listener method.",
+            level = "WARNING")
+    public static final String LISTENER_INVOCATION_FAILED = LOGMSG_PREFIX + "-00516";
+
 }
 
@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.glassfish.flashlight.FlashlightUtils;
 import org.glassfish.flashlight.impl.client.DTraceClientInvoker;
+import org.glassfish.flashlight.impl.client.MethodHandleClientInvoker;
 import org.glassfish.flashlight.impl.client.ReflectiveClientInvoker;
 import org.glassfish.flashlight.provider.FlashlightProbe;
 import org.jvnet.hk2.annotations.Service;
@@ -31,6 +32,13 @@ import org.jvnet.hk2.annotations.Service;
 @Service
 public class ProbeClientInvokerFactory {
 
+    /**
+     * If true, listeners are called by {@link ReflectiveClientInvoker} only.
+     */
+    public static final String REFLECTIVE_INVOKERS_PROPERTY = "org.glassfish.flashlight.reflectiveInvokers";
+
+    private static final boolean REFLECTIVE_INVOKERS = Boolean.getBoolean(REFLECTIVE_INVOKERS_PROPERTY);
+
     private static AtomicInteger clientMethodIdCounter = new AtomicInteger();
 
     protected static int getNextId() {
@@ -41,6 +49,12 @@ public class ProbeClientInvokerFactory {
     public static ProbeClientInvoker createInvoker(Object target, Method method, FlashlightProbe probe,
         String[] paramNames) {
         int invokerId = clientMethodIdCounter.incrementAndGet();
+        if (!REFLECTIVE_INVOKERS) {
+            ProbeClientInvoker invoker = MethodHandleClientInvoker.create(invokerId, target, method, paramNames, probe);
+            if (invoker != null) {
+                return invoker;
+            }
+        }
         return new ReflectiveClientInvoker(invokerId, target, method, paramNames, probe);
     }
 
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.impl.client;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.flashlight.FlashlightLoggerInfo;
+import org.glassfish.flashlight.FlashlightUtils;
+import org.glassfish.flashlight.client.ProbeClientInvoker;
+import org.glassfish.flashlight.impl.core.ComputedParamsHandlerManager;
+import org.glassfish.flashlight.provider.FlashlightProbe;
+
+import static org.glassfish.flashlight.FlashlightLoggerInfo.LISTENER_INVOCATION_FAILED;
+
+/**
+ * Calls the listener method through a method handle bound to the listener and adapted
+ * to the parameter types of the probe, instead of {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The probe parameters are reordered and the computed parameters are inserted by the handle,
+ * so {@link #getDirectHandle()} can be called with the probe arguments without an array
+ * and without boxing. {@link #invoke(Object[])} spreads the array of the probe arguments
+ * into the same handle.
+ * <p>
+ * Arguments which the handle cannot convert are passed to a {@link ReflectiveClientInvoker},
+ * which knows how to match them up with the listener parameters.
+ *
+ * @see org.glassfish.flashlight.client.ProbeClientInvokerFactory
+ */
+public class MethodHandleClientInvoker implements ProbeClientInvoker {
+
+    private static final Logger logger = FlashlightLoggerInfo.getLogger();
+
+    private static final MethodHandle COMPUTE_VALUE;
+    private static final MethodHandle FAILED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            COMPUTE_VALUE = lookup.findStatic(MethodHandleClientInvoker.class, "computeValue",
+                MethodType.methodType(Object.class, String.class));
+            FAILED = lookup.findVirtual(MethodHandleClientInvoker.class, "failed",
+                MethodType.methodType(void.class, Throwable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int id;
+    private final Object target;
+    private final Method method;
+    private final String[] paramNames;
+    private final MethodHandle directHandle;
+    private final MethodHandle spreadHandle;
+    private final ReflectiveClientInvoker fallback;
+    private volatile boolean emittedOneMessage;
+
+    private MethodHandleClientInvoker(int id, Object target, Method method, String[] paramNames,
+            FlashlightProbe probe, MethodHandle listenerHandle) {
+        this.id = id;
+        this.target = target;
+        this.method = method;
+        this.paramNames = paramNames;
+        this.directHandle = MethodHandles.catchException(listenerHandle, Throwable.class,
+            MethodHandles.dropArguments(FAILED.bindTo(this), 1, listenerHandle.type().parameterList()));
+        int size = directHandle.type().parameterCount();
+        this.spreadHandle = directHandle.asType(MethodType.genericMethodType(size).changeReturnType(void.class))
+            .asSpreader(Object[].class, size);
+        this.fallback = new ReflectiveClientInvoker(id, target, method, paramNames, probe);
+    }
+
+    /**
+     * Creates the invoker of the listener method for the probe.
+     *
+     * @return null if the method cannot be called by a method handle, for example if it is
+     *         not accessible, has variable arguments or parameters not convertible from the
+     *         probe parameters.
+     */
+    public static MethodHandleClientInvoker create(int id, Object target, Method method, String[] paramNames,
+            FlashlightProbe probe) {
+        if (method.isVarArgs()) {
+            return null;
+        }
+        Class[] probeParamTypes = probe.getParamTypes();
+        if (Arrays.asList(probeParamTypes).contains(null)) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(target);
+            }
+            handle = handle.asType(handle.type().changeReturnType(void.class));
+            return new MethodHandleClientInvoker(id, target, method, paramNames, probe,
+                adapt(handle, paramNames, probe.getProbeParamNames(), probeParamTypes));
+        } catch (IllegalAccessException | WrongMethodTypeException | IllegalArgumentException e) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Cannot create a method handle invoker of " + method + " for " + probe, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Adapts the listener handle to the parameters of the probe.
+     */
+    private static MethodHandle adapt(MethodHandle handle, String[] paramNames, String[] probeParamNames,
+            Class[] probeParamTypes) {
+        Map<String, Integer> probeParamIndexMap = new HashMap<>();
+        for (int index = 0; index < probeParamNames.length; index++) {
+            probeParamIndexMap.put(probeParamNames[index], index);
+        }
+
+        // the computed parameters are inserted from the last one, so the positions of the others do not move
+        for (int index = paramNames.length - 1; index >= 0; index--) {
+            if (paramNames[index].startsWith("$")) {
+                MethodHandle value = MethodHandles.insertArguments(COMPUTE_VALUE, 0, paramNames[index])
+                    .asType(MethodType.methodType(handle.type().parameterType(index)));
+                handle = MethodHandles.collectArguments(handle, index, value);
+            }
+        }
+
+        int[] reorder = new int[handle.type().parameterCount()];
+        MethodType type = handle.type();
+        int position = 0;
+        for (String paramName : paramNames) {
+            if (!paramName.startsWith("$")) {
+                Integer probeIndex = probeParamIndexMap.get(paramName);
+                if (probeIndex == null) {
+                    throw new IllegalArgumentException("Unknown probe parameter " + paramName);
+                }
+                reorder[position] = probeIndex;
+                type = type.changeParameterType(position, probeParamTypes[probeIndex]);
+                position++;
+            }
+        }
+        return MethodHandles.permuteArguments(handle.asType(type),
+            MethodType.methodType(void.class, probeParamTypes), reorder);
+    }
+
+    /**
+     * @return the handle calling the listener with the probe arguments, of the type
+     *         <tt>(probe parameter types)void</tt>. Exceptions thrown by the listener are reported
+     *         and do not propagate to the caller.
+     */
+    public MethodHandle getDirectHandle() {
+        return directHandle;
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public void invoke(Object[] args) {
+        if (!FlashlightUtils.isMonitoringEnabled()) {
+            return;
+        }
+
+        try {
+            spreadHandle.invokeExact(args);
+        } catch (ClassCastException | IllegalArgumentException | NullPointerException e) {
+            // the arguments do not match the probe parameter types
+            fallback.invoke(args);
+        } catch (Throwable e) {
+            failed(e);
+        }
+    }
+
+    private void failed(Throwable e) {
+        if (!emittedOneMessage) {
+            // Only do this one time!
+            emittedOneMessage = true;
+            logger.log(Level.WARNING, LISTENER_INVOCATION_FAILED, new Object[] {method, e});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Probe listener failed, invoker: " + this, e);
+            }
+        }
+    }
+
+    private static Object computeValue(String paramName) {
+        return ComputedParamsHandlerManager.getInstance().computeValue(paramName);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("id=").append(id).append('\n');
+        sb.append("target=").append(target).append('\n');
+        sb.append("method=").append(method).append('\n');
+        sb.append("paramNames=").append(Arrays.toString(paramNames)).append('\n');
+        sb.append("handle=").append(directHandle.type()).append('\n');
+        return sb.toString();
+    }
+}
@@ -21,7 +21,9 @@ import com.sun.enterprise.util.io.FileUtils;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.lang.invoke.CallSite;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,6 +31,7 @@ import org.glassfish.flashlight.FlashlightLoggerInfo;
 import org.glassfish.flashlight.provider.FlashlightProbe;
 import org.glassfish.flashlight.provider.ProbeRegistry;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -45,6 +48,12 @@ import static org.objectweb.asm.Opcodes.V21;
 public class ProviderImplGenerator {
     private static final Logger logger = FlashlightLoggerInfo.getLogger();
 
+    private static final Handle LINK_PROBE = new Handle(Opcodes.H_INVOKESTATIC,
+        Type.getInternalName(FlashlightProbe.class), "linkProbe",
+        Type.getMethodDescriptor(Type.getType(CallSite.class), Type.getType(MethodHandles.Lookup.class),
+            Type.getType(String.class), Type.getType(MethodType.class), Type.INT_TYPE),
+        false);
+
     public String defineClass(FlashlightProbeProvider provider, Class providerClazz) {
 
         String generatedClassName = provider.getModuleProviderName() + "_Flashlight_" + provider.getModuleName() + "_"
@@ -117,9 +126,9 @@ public class ProviderImplGenerator {
             gen.ifCmp(Type.getType(boolean.class), GeneratorAdapter.EQ, enabledLabel);
             gen.goTo(notEnabledLabel);
             gen.visitLabel(enabledLabel);
-            gen.loadLocal(index);
-            gen.loadArgArray();
-            gen.invokeVirtual(probeType, Method.getMethod("void fireProbe(Object[])"));
+            // the listeners are called by the call site of the probe, see FlashlightProbe.linkProbe
+            gen.loadArgs();
+            gen.invokeDynamic(probe.getProviderJavaMethodName(), m.getDescriptor(), LINK_PROBE, probe.getId());
             gen.visitLabel(notEnabledLabel);
             gen.returnValue();
             gen.endMethod();
@@ -220,6 +229,8 @@ public class ProviderImplGenerator {
 /*************
  *
  * Example of generated file
+ * (the fireProbe calls are now invokedynamic instructions linked by FlashlightProbe.linkProbe,
+ * passing the arguments as they are)
  *
  * package org.glassfish.kernel.admin.monitor.ThreadPoolProbeProvider_core_Flashlight_threadpool_Probe_org.glassfish.kernel.admin.monitor;
 
@@ -19,6 +19,12 @@ package org.glassfish.flashlight.provider;
 
 import com.sun.enterprise.util.LocalStringManagerImpl;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -33,9 +39,11 @@ import java.util.logging.Logger;
 
 import org.glassfish.api.monitoring.ProbeInfo;
 import org.glassfish.flashlight.FlashlightLoggerInfo;
+import org.glassfish.flashlight.FlashlightUtils;
 import org.glassfish.flashlight.client.ProbeClientInvoker;
 import org.glassfish.flashlight.client.ProbeHandle;
 import org.glassfish.flashlight.client.StatefulProbeClientInvoker;
+import org.glassfish.flashlight.impl.client.MethodHandleClientInvoker;
 
 public class FlashlightProbe
         implements ProbeHandle, ProbeInfo{
@@ -146,9 +154,8 @@ public class FlashlightProbe
             parent.fireProbe(params);
         }
 
-        List<ProbeClientInvoker> invokers = new ArrayList<>(invokerList);
-
-        for (ProbeClientInvoker invoker : invokers) {
+        // the list is never modified, it is replaced when the invokers change
+        for (ProbeClientInvoker invoker : invokerList) {
             if(invoker != null) {
                 invoker.invoke(params);
             }
@@ -167,9 +174,7 @@ public class FlashlightProbe
             probeInvokeStates.addAll(parentStates);
         }
 
-        List<ProbeClientInvoker> invokers = new ArrayList<>(invokerList);
-
-        for (ProbeClientInvoker invoker : invokers) {
+        for (ProbeClientInvoker invoker : invokerList) {
             if(invoker != null) {
                 StatefulProbeClientInvoker statefulInvoker = (StatefulProbeClientInvoker) invoker;
                 probeInvokeStates.add(new ProbeInvokeState(statefulInvoker.getId(),
@@ -211,10 +216,8 @@ public class FlashlightProbe
             parent.fireProbeOnException(exceptionValue, states);
         }
 
-        List<ProbeClientInvoker> invokers = new ArrayList<>(invokerList);
-
         int stateIndex = -1;
-        for (ProbeClientInvoker invoker : invokers) {
+        for (ProbeClientInvoker invoker : invokerList) {
             if(invoker != null) {
                 StatefulProbeClientInvoker statefulInvoker = (StatefulProbeClientInvoker) invoker;
                 stateIndex = findStateIndex(statefulInvoker.getId(), states);
@@ -320,11 +323,12 @@ public class FlashlightProbe
         return hidden;
     }
 
-    public void setParent(FlashlightProbe parent) {
+    public synchronized void setParent(FlashlightProbe parent) {
         // Only setting the parent here if both are stateful or both are stateless (no mixing)
         if (stateful != parent.getStateful())
             return;
         this.parent = parent;
+        initInvokerList();
     }
 
     public boolean getStateful() { return stateful; }
@@ -351,6 +355,69 @@ public class FlashlightProbe
         }
 
         invokerList = invList;
+
+        if (callSite != null) {
+            callSite.setTarget(createCallSiteTarget(callSite.type()));
+            MutableCallSite.syncAll(new MutableCallSite[] {callSite});
+        }
+    }
+
+    /**
+     * Bootstrap method of the <tt>invokedynamic</tt> instructions generated by
+     * {@link org.glassfish.flashlight.impl.core.ProviderImplGenerator} to fire the probe.
+     *
+     * @param probeId the id of the probe in the {@link ProbeRegistry}
+     * @return call site invoking the listeners of the probe with the probe arguments
+     */
+    public static CallSite linkProbe(MethodHandles.Lookup lookup, String name, MethodType type, int probeId) {
+        FlashlightProbe probe = ProbeRegistry.getProbeById(probeId);
+        if (probe == null) {
+            return new ConstantCallSite(MethodHandles.empty(type));
+        }
+        return probe.getCallSite(type);
+    }
+
+    private synchronized CallSite getCallSite(MethodType type) {
+        if (callSite == null) {
+            callSite = new MutableCallSite(type);
+            callSite.setTarget(createCallSiteTarget(type));
+        }
+        if (!callSite.type().equals(type)) {
+            return new ConstantCallSite(fireProbeCollector(type));
+        }
+        return callSite;
+    }
+
+    /**
+     * Chains the direct handles of the invokers, so the listeners get the arguments without
+     * an array and without boxing. If the probe has a parent, is stateful, or an invoker
+     * has no direct handle, the arguments are passed to {@link #fireProbe(Object[])}.
+     */
+    private MethodHandle createCallSiteTarget(MethodType type) {
+        List<ProbeClientInvoker> invokers = invokerList;
+        if (invokers.isEmpty()) {
+            return MethodHandles.empty(type);
+        }
+        if (parent != null || stateful) {
+            return fireProbeCollector(type);
+        }
+        MethodHandle chain = null;
+        for (ProbeClientInvoker invoker : invokers) {
+            if (!(invoker instanceof MethodHandleClientInvoker)) {
+                return fireProbeCollector(type);
+            }
+            MethodHandle handle = ((MethodHandleClientInvoker) invoker).getDirectHandle();
+            if (!handle.type().equals(type)) {
+                return fireProbeCollector(type);
+            }
+            chain = chain == null ? handle : MethodHandles.foldArguments(handle, chain);
+        }
+        return MethodHandles.guardWithTest(MethodHandles.dropArguments(MONITORING_ENABLED, 0, type.parameterList()),
+            chain, MethodHandles.empty(type));
+    }
+
+    private MethodHandle fireProbeCollector(MethodType type) {
+        return FIRE_PROBE.bindTo(this).asCollector(Object[].class, type.parameterCount()).asType(type);
     }
 
     private int findStateIndex(int invokerId, ArrayList <ProbeInvokeState> states) {
@@ -379,6 +446,21 @@ public class FlashlightProbe
         /* package */ final int getInvokerId() { return invokerId; }
     }
 
+    private static final MethodHandle FIRE_PROBE;
+    private static final MethodHandle MONITORING_ENABLED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            FIRE_PROBE = lookup.findVirtual(FlashlightProbe.class, "fireProbe",
+                MethodType.methodType(void.class, Object[].class));
+            MONITORING_ENABLED = lookup.findStatic(FlashlightUtils.class, "isMonitoringEnabled",
+                MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private Method probeMethod;
     public static final String SELF = "@SELF";
     private int id;
@@ -390,6 +472,7 @@ public class FlashlightProbe
     private String[] probeParamNames;
     private Class[] paramTypes;
     private volatile List<ProbeClientInvoker> invokerList = new ArrayList(2);
+    private MutableCallSite callSite;
     private String providerJavaMethodName;
     private AtomicBoolean listenerEnabled = new AtomicBoolean(false);
     private String probeDesc;
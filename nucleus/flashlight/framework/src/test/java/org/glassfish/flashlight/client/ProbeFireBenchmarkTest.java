@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.client;
+
+import com.sun.enterprise.config.serverbeans.MonitoringService;
+
+import java.lang.System.Logger;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.flashlight.FlashlightUtils;
+import org.glassfish.flashlight.impl.client.MethodHandleClientInvoker;
+import org.glassfish.flashlight.impl.client.ReflectiveClientInvoker;
+import org.glassfish.flashlight.impl.core.FlashlightProbeProvider;
+import org.glassfish.flashlight.impl.core.ProviderImplGenerator;
+import org.glassfish.flashlight.provider.FlashlightProbe;
+import org.glassfish.flashlight.provider.ProbeRegistry;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the cost of firing a probe with 0, 1 and 5 listeners, called by method handle
+ * or by reflective invokers, from the generated probe provider and through
+ * {@link ProbeRegistry#invokeProbe(int, Object[])} as the transformed probe methods do.
+ */
+public class ProbeFireBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(ProbeFireBenchmarkTest.class.getName());
+
+    @Test
+    public void fireProbe() throws Exception {
+        Collection<RunResult> results = new Runner(createOptions()).run();
+        assertThat(results, hasSize(12));
+        for (RunResult result : results) {
+            LOG.log(INFO, "Benchmark: {0}, params: {1}, score: {2} ops/us", result.getParams().getBenchmark(),
+                result.getParams(), result.getPrimaryResult().getScore());
+        }
+    }
+
+
+    @Benchmark
+    public void generatedProvider(ProbeState state) {
+        state.provider.requestEvent("/benchmark", state.next(), true);
+    }
+
+
+    @Benchmark
+    public void probeRegistry(ProbeState state) {
+        ProbeRegistry.invokeProbe(state.probe.getId(), new Object[] {"/benchmark", state.next(), true});
+    }
+
+
+    private Options createOptions() {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(2).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).shouldFailOnError(true).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+    }
+
+
+    public interface BenchmarkProbeProvider {
+
+        void requestEvent(String path, int status, boolean secure);
+    }
+
+
+    public static class BenchmarkListener {
+
+        long count;
+
+        public void requestEvent(int status, String path) {
+            count += status + path.length();
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ProbeState {
+
+        @Param({"0", "1", "5"})
+        public int listeners;
+
+        @Param({"methodHandle", "reflective"})
+        public String invoker;
+
+        FlashlightProbe probe;
+        BenchmarkProbeProvider provider;
+        private int status;
+
+        @Setup
+        public void createProvider() throws Exception {
+            FlashlightUtils.initialize(proxy(ServiceLocator.class), proxy(MonitoringService.class));
+
+            int id = 1_000_000 + listeners * 10 + invoker.length();
+            probe = new FlashlightProbe(id, BenchmarkProbeProvider.class, "glassfish", "benchmark",
+                "benchmark" + id, "requestEvent", new String[] {"path", "status", "secure"},
+                new Class[] {String.class, int.class, boolean.class}, false, false, false, false, false,
+                new String[0]);
+            probe.setProviderJavaMethodName("requestEvent");
+            ProbeRegistry.getInstance().registerProbe(probe);
+
+            FlashlightProbeProvider probeProvider = new FlashlightProbeProvider("glassfish", "benchmark",
+                "benchmark" + id, BenchmarkProbeProvider.class);
+            probeProvider.addProbe(probe);
+            String className = new ProviderImplGenerator().defineClass(probeProvider, BenchmarkProbeProvider.class);
+            provider = (BenchmarkProbeProvider) Class.forName(className, true, BenchmarkProbeProvider.class.getClassLoader())
+                .getDeclaredConstructor().newInstance();
+
+            Method method = BenchmarkListener.class.getMethod("requestEvent", int.class, String.class);
+            String[] paramNames = {"status", "path"};
+            for (int i = 0; i < listeners; i++) {
+                BenchmarkListener listener = new BenchmarkListener();
+                int invokerId = id * 10 + i;
+                probe.addInvoker("reflective".equals(invoker)
+                    ? new ReflectiveClientInvoker(invokerId, listener, method, paramNames, probe)
+                    : MethodHandleClientInvoker.create(invokerId, listener, method, paramNames, probe));
+            }
+        }
+
+        int next() {
+            return status++ & 0x1FF;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, (proxy, method, args) -> {
+                if ("getMonitoringEnabled".equals(method.getName())) {
+                    return "true";
+                }
+                if (method.getReturnType() == boolean.class) {
+                    return false;
+                }
+                if (method.getReturnType() == int.class) {
+                    return System.identityHashCode(proxy);
+                }
+                return null;
+            });
+        }
+    }
+}
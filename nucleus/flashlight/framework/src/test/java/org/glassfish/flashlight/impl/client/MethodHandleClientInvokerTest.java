@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.impl.client;
+
+import com.sun.enterprise.config.serverbeans.MonitoringService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.glassfish.flashlight.FlashlightLoggerInfo;
+import org.glassfish.flashlight.FlashlightUtils;
+import org.glassfish.flashlight.client.StatefulProbeClientInvoker;
+import org.glassfish.flashlight.impl.core.ComputedParamHandler;
+import org.glassfish.flashlight.impl.core.ComputedParamsHandlerManager;
+import org.glassfish.flashlight.provider.FlashlightProbe;
+import org.glassfish.flashlight.provider.ProbeRegistry;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.glassfish.flashlight.FlashlightLoggerInfo.LISTENER_INVOCATION_FAILED;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class MethodHandleClientInvokerTest {
+
+    private static final MethodType PROBE_TYPE = MethodType.methodType(void.class, String.class, int.class,
+        boolean.class);
+
+    private static final AtomicInteger ID = new AtomicInteger(2_000_000);
+
+    @BeforeAll
+    public static void enableMonitoring() {
+        FlashlightUtils.initialize(proxy(ServiceLocator.class), proxy(MonitoringService.class));
+        ComputedParamsHandlerManager.getInstance().addComputedParamHandler(new ComputedParamHandler() {
+
+            @Override
+            public boolean canHandle(String param) {
+                return "$test.user".equals(param);
+            }
+
+            @Override
+            public Object compute(String param) {
+                return "admin";
+            }
+        });
+    }
+
+    @Test
+    public void parametersAreReordered() throws Throwable {
+        Listener listener = new Listener();
+        MethodHandleClientInvoker invoker = create(listener, "requestEvent", createProbe(false), "status", "path");
+        invoker.getDirectHandle().invokeExact("/direct", 200, true);
+        invoker.invoke(new Object[] {"/array", 201, false});
+        assertThat(listener.events, contains("request 200 /direct", "request 201 /array"));
+    }
+
+    @Test
+    public void computedParametersAreInserted() throws Throwable {
+        Listener listener = new Listener();
+        MethodHandleClientInvoker invoker = create(listener, "userEvent", createProbe(false), "path", "$test.user");
+        invoker.getDirectHandle().invokeExact("/direct", 200, true);
+        invoker.invoke(new Object[] {"/array", 201, false});
+        assertThat(listener.events, contains("user /direct admin", "user /array admin"));
+    }
+
+    @Test
+    public void primitiveParametersAreNotBoxed() throws Throwable {
+        Listener listener = new Listener();
+        MethodHandleClientInvoker invoker = create(listener, "secureEvent", createProbe(false), "secure", "status");
+        invoker.getDirectHandle().invokeExact("/direct", 200, true);
+        assertAll(
+            () -> assertEquals(PROBE_TYPE, invoker.getDirectHandle().type()),
+            () -> assertThat(listener.events, contains("secure true 200"))
+        );
+    }
+
+    @Test
+    public void callSiteFollowsInvokers() throws Throwable {
+        FlashlightProbe probe = createProbe(false);
+        MethodHandle callSite = link(probe);
+        Listener first = new Listener();
+        Listener second = new Listener();
+        MethodHandleClientInvoker firstInvoker = create(first, "requestEvent", probe, "status", "path");
+        MethodHandleClientInvoker secondInvoker = create(second, "requestEvent", probe, "status", "path");
+
+        callSite.invokeExact("/none", 1, true);
+        probe.addInvoker(firstInvoker);
+        callSite.invokeExact("/first", 2, true);
+        probe.addInvoker(secondInvoker);
+        callSite.invokeExact("/both", 3, true);
+        probe.removeInvoker(firstInvoker);
+        callSite.invokeExact("/second", 4, true);
+        probe.removeInvoker(secondInvoker);
+        callSite.invokeExact("/removed", 5, true);
+
+        assertAll(
+            () -> assertThat(first.events, contains("request 2 /first", "request 3 /both")),
+            () -> assertThat(second.events, contains("request 3 /both", "request 4 /second"))
+        );
+    }
+
+    @Test
+    public void probeWithParentIsFiredThroughArray() throws Throwable {
+        RecordingProbe probe = new RecordingProbe(false);
+        FlashlightProbe parent = createProbe(false);
+        Listener listener = new Listener();
+        Listener parentListener = new Listener();
+        probe.addInvoker(create(listener, "requestEvent", probe, "status", "path"));
+        parent.addInvoker(create(parentListener, "requestEvent", parent, "status", "path"));
+        probe.setParent(parent);
+
+        link(probe).invokeExact("/child", 200, true);
+        assertAll(
+            () -> assertEquals(1, probe.fired, "fireProbe(Object[])"),
+            () -> assertThat(listener.events, contains("request 200 /child")),
+            () -> assertThat(parentListener.events, contains("request 200 /child"))
+        );
+    }
+
+    @Test
+    public void statefulProbeIsFiredThroughArray() throws Throwable {
+        RecordingProbe probe = new RecordingProbe(true);
+        List<List<Object>> events = new ArrayList<>();
+        probe.addInvoker(new StatefulProbeClientInvoker() {
+
+            @Override
+            public int getId() {
+                return ID.incrementAndGet();
+            }
+
+            @Override
+            public void invoke(Object[] params) {
+                events.add(List.of(params));
+            }
+
+            @Override
+            public Object invokeBefore(Object[] params) {
+                return null;
+            }
+
+            @Override
+            public void invokeAfter(Object state, Object returnValue) {
+            }
+
+            @Override
+            public void invokeOnException(Object state, Object exceptionValue) {
+            }
+        });
+
+        link(probe).invokeExact("/stateful", 200, true);
+        assertAll(
+            () -> assertEquals(1, probe.fired, "fireProbe(Object[])"),
+            () -> assertThat(events, contains(List.of("/stateful", 200, true)))
+        );
+    }
+
+    @Test
+    public void statelessProbeWithoutParentIsFiredDirectly() throws Throwable {
+        RecordingProbe probe = new RecordingProbe(false);
+        Listener listener = new Listener();
+        probe.addInvoker(create(listener, "requestEvent", probe, "status", "path"));
+
+        link(probe).invokeExact("/direct", 200, true);
+        assertAll(
+            () -> assertEquals(0, probe.fired, "fireProbe(Object[])"),
+            () -> assertThat(listener.events, contains("request 200 /direct"))
+        );
+    }
+
+    @Test
+    public void unexpectedArgumentTypeIsPassedToReflectiveInvoker() throws Exception {
+        Listener listener = new Listener();
+        MethodHandleClientInvoker invoker = create(listener, "requestEvent", createProbe(false), "status", "path");
+        invoker.invoke(new Object[] {"/short", (short) 200, true});
+        assertThat(listener.events, contains("request 200 /short"));
+    }
+
+    @Test
+    public void listenerExceptionIsReportedOnce() throws Throwable {
+        Listener listener = new Listener();
+        MethodHandleClientInvoker invoker = create(listener, "failingEvent", createProbe(false), "path");
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new Handler() {
+
+            @Override
+            public void publish(LogRecord record) {
+                if (LISTENER_INVOCATION_FAILED.equals(record.getMessage())) {
+                    records.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = FlashlightLoggerInfo.getLogger();
+        logger.addHandler(handler);
+        try {
+            invoker.getDirectHandle().invokeExact("/first", 200, true);
+            invoker.getDirectHandle().invokeExact("/second", 200, true);
+            invoker.invoke(new Object[] {"/third", 200, true});
+        } finally {
+            logger.removeHandler(handler);
+        }
+        assertAll(
+            () -> assertThat(listener.events, contains("failing /first", "failing /second", "failing /third")),
+            () -> assertEquals(1, records.size(), "reported"),
+            () -> assertEquals(Level.WARNING, records.get(0).getLevel())
+        );
+    }
+
+
+    private static FlashlightProbe createProbe(boolean stateful) {
+        FlashlightProbe probe = new RecordingProbe(stateful);
+        ProbeRegistry.getInstance().registerProbe(probe);
+        return probe;
+    }
+
+    private static MethodHandleClientInvoker create(Listener listener, String methodName, FlashlightProbe probe,
+        String... paramNames) {
+        Method method = null;
+        for (Method candidate : Listener.class.getMethods()) {
+            if (candidate.getName().equals(methodName)) {
+                method = candidate;
+            }
+        }
+        assertNotNull(method, methodName);
+        MethodHandleClientInvoker invoker = MethodHandleClientInvoker.create(ID.incrementAndGet(), listener, method,
+            paramNames, probe);
+        assertNotNull(invoker, "invoker of " + method);
+        return invoker;
+    }
+
+    private static MethodHandle link(FlashlightProbe probe) {
+        ProbeRegistry.getInstance().registerProbe(probe);
+        return FlashlightProbe.linkProbe(MethodHandles.lookup(), "requestEvent", PROBE_TYPE, probe.getId())
+            .dynamicInvoker();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, (proxy, method, args) -> {
+            if ("getMonitoringEnabled".equals(method.getName())) {
+                return "true";
+            }
+            if (method.getReturnType() == boolean.class) {
+                return false;
+            }
+            if (method.getReturnType() == int.class) {
+                return System.identityHashCode(proxy);
+            }
+            return null;
+        });
+    }
+
+
+    public interface TestProbeProvider {
+
+        void requestEvent(String path, int status, boolean secure);
+    }
+
+
+    public static class Listener {
+
+        final List<String> events = new ArrayList<>();
+
+        public void requestEvent(int status, String path) {
+            events.add("request " + status + " " + path);
+        }
+
+        public void userEvent(String path, Object user) {
+            events.add("user " + path + " " + user);
+        }
+
+        public void secureEvent(boolean secure, long status) {
+            events.add("secure " + secure + " " + status);
+        }
+
+        public int failingEvent(String path) {
+            events.add("failing " + path);
+            throw new IllegalStateException(path);
+        }
+    }
+
+
+    /**
+     * Counts the events fired through {@link #fireProbe(Object[])}.
+     */
+    private static class RecordingProbe extends FlashlightProbe {
+
+        int fired;
+
+        RecordingProbe(boolean stateful) {
+            this(ID.incrementAndGet(), stateful);
+        }
+
+        private RecordingProbe(int id, boolean stateful) {
+            super(id, TestProbeProvider.class, "glassfish", "test", "test" + id, "requestEvent",
+                new String[] {"path", "status", "secure"}, new Class[] {String.class, int.class, boolean.class},
+                false, false, stateful, false, false, new String[0]);
+        }
+
+        @Override
+        public void fireProbe(Object[] params) {
+            fired++;
+            super.fireProbe(params);
+        }
+    }
+}
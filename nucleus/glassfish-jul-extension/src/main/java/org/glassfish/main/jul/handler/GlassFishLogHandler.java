@@ -20,6 +20,7 @@ package org.glassfish.main.jul.handler;
 import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Timer;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.ErrorManager;
@@ -44,6 +45,7 @@ import static java.util.logging.Level.ALL;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_CAPACITY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_RING;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_CAPACITY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_TIMEOUT;
@@ -122,6 +124,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         configuration.setFlushFrequency(helper.getNonNegativeInteger(FLUSH_FREQUENCY, 1));
         configuration.setBufferCapacity(helper.getInteger(BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY));
         configuration.setBufferTimeout(helper.getInteger(BUFFER_TIMEOUT, DEFAULT_BUFFER_TIMEOUT));
+        configuration.setBufferRing(helper.getBoolean(BUFFER_RING, Boolean.FALSE));
 
         final Integer rotationLimitMB = helper.getInteger(ROTATION_LIMIT_SIZE, DEFAULT_ROTATION_LIMIT_MB);
         final long rotationLimitB = GlassFishLoggingConstants.BYTES_PER_MEGABYTES
@@ -148,7 +151,13 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         // parent StreamHandler already set level, filter, encoding and formatter.
         setLevel(configuration.getLevel());
         setEncoding(configuration.getEncoding());
-        this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        if (configuration.isBufferRing()) {
+            this.logRecordBuffer = new LogRecordRingBuffer(configuration.getBufferCapacity(),
+                configuration.getBufferTimeout());
+        } else {
+            this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(),
+                configuration.getBufferTimeout());
+        }
 
         reconfigure(configuration);
     }
@@ -472,6 +481,39 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     }
 
 
+    /**
+     * Formats the batch of records and writes them to the file at once.
+     *
+     * @param records
+     */
+    private void publishRecords(final List<GlassFishLogRecord> records) {
+        if (records.size() == 1) {
+            publishRecord(records.get(0));
+            return;
+        }
+        final Formatter formatter = getFormatter();
+        final StringBuilder output = new StringBuilder(records.size() * 256);
+        for (GlassFishLogRecord record : records) {
+            if (!isLoggable(record)) {
+                continue;
+            }
+            try {
+                output.append(formatter.format(record));
+            } catch (Exception ex) {
+                reportError(null, ex, ErrorManager.FORMAT_FAILURE);
+            }
+        }
+        if (output.length() == 0) {
+            return;
+        }
+        if (!doneHeader) {
+            logFileManager.write(formatter.getHead(this));
+            doneHeader = true;
+        }
+        logFileManager.write(output.toString());
+    }
+
+
     private static boolean isRollRequired(final File logFile, final Formatter formatter, final Charset expectedCharset) {
         if (logFile.length() == 0) {
             return false;
@@ -496,6 +538,11 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
             return publishRecord(record);
         }
 
+        @Override
+        protected void logRecords(final List<GlassFishLogRecord> records) {
+            publishRecords(records);
+        }
+
         @Override
         protected void flushOutput() {
             flush();
@@ -45,6 +45,7 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
 
     private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
     private int bufferTimeout = DEFAULT_BUFFER_TIMEOUT;
+    private boolean bufferRing;
 
     private boolean rotationOnDateChange;
     private int rotationTimeLimitMinutes;
@@ -148,6 +149,23 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    /**
+     * @return true to use the pre-allocated ring buffer for log records.
+     */
+    public boolean isBufferRing() {
+        return bufferRing;
+    }
+
+
+    /**
+     * @param bufferRing true to use the pre-allocated ring buffer for log records.
+     *            Used just when the handler is created.
+     */
+    public void setBufferRing(final boolean bufferRing) {
+        this.bufferRing = bufferRing;
+    }
+
+
     public long getRotationSizeLimitBytes() {
         return rotationSizeLimitBytes;
     }
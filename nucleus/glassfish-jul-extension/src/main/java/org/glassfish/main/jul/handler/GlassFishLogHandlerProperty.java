@@ -51,6 +51,12 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
      * 0 means wait forever.
      */
     BUFFER_TIMEOUT("buffer.timeoutInSeconds"),
+    /**
+     * Use a pre-allocated ring buffer, so threads adding records don't block each other and
+     * the records are processed in batches of {@link #FLUSH_FREQUENCY} records.
+     * The capacity of the ring is allocated on creation of the handler and cannot grow later.
+     */
+    BUFFER_RING("buffer.ring"),
     /** Count of records processed until handler flushes the output */
     FLUSH_FREQUENCY("flushFrequency"),
     /** Log STDOUT and STDERR to the log file too */
@@ -16,6 +16,7 @@
 
 package org.glassfish.main.jul.handler;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
@@ -144,6 +145,14 @@ class LogRecordBuffer {
     }
 
 
+    /**
+     * @return maximal time in seconds to wait for the free capacity. If &lt; 1, can wait forever.
+     */
+    int getMaxWait() {
+        return maxWait;
+    }
+
+
     /**
      * Waits for a record or thread interrupt signal
      *
@@ -175,6 +184,27 @@ class LogRecordBuffer {
     }
 
 
+    /**
+     * Moves available records to the batch, does not wait for more.
+     *
+     * @param batch target list
+     * @param maxRecords maximal count of records to move
+     * @return count of records moved to the batch
+     */
+    public int drainTo(final List<GlassFishLogRecord> batch, final int maxRecords) {
+        if (maxRecords < 1) {
+            return 0;
+        }
+        final int count = pendingRecords.drainTo(batch, maxRecords);
+        for (int i = 0; i < count; i++) {
+            if (availableCapacity.availablePermits() < this.capacity) {
+                availableCapacity.release();
+            }
+        }
+        return count;
+    }
+
+
     /**
      * Adds the record to the buffer.
      *
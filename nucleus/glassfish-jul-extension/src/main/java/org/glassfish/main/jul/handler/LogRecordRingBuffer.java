@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.glassfish.main.jul.tracing.GlassFishLoggingTracer;
+
+/**
+ * The buffer for log records backed by a pre-allocated ring.
+ * <p>
+ * Producers claim a slot by a compare-and-set of the tail sequence and publish the record to it,
+ * they never block each other and don't allocate. Consumers are serialized by a lock which is
+ * held just while records are moved out of the ring, so the pump can take whole batches at once.
+ * <p>
+ * The capacity and maxWait semantics are same as in the {@link LogRecordBuffer}, except that
+ * the ring cannot grow: the capacity is limited by the size of the ring allocated for the initial
+ * capacity.
+ * If the buffer is full, the producer waits until the consumer would make some space, but only
+ * for maxWait seconds. Then the buffer is cleared and the record replaced by a severe record
+ * explaining what happened. If the producer thread is interrupted while waiting, the record is
+ * stored if there is any free slot in the ring, otherwise it is dropped.
+ */
+class LogRecordRingBuffer extends LogRecordBuffer {
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<GlassFishLogRecord> slots;
+    private final int mask;
+    /** Sequence of the next slot to claim by a producer */
+    private final AtomicLong tail = new AtomicLong();
+    /** Sequence of the next slot to consume, updated only under the consumerLock */
+    private volatile long head;
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    private volatile Thread waitingConsumer;
+
+
+    /**
+     * The ring buffer for log records.
+     *
+     * @param capacity capacity of the buffer. The ring is allocated for the nearest power of two.
+     * @param maxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     */
+    LogRecordRingBuffer(final int capacity, final int maxWait) {
+        super(capacity, maxWait);
+        final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+
+    /**
+     * Reconfigures the buffer. The capacity cannot exceed the size of the ring.
+     *
+     * @param newCapacity capacity of the buffer.
+     * @param newMaxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     */
+    @Override
+    public synchronized void reconfigure(final int newCapacity, final int newMaxWait) {
+        if (newCapacity > slots.length()) {
+            GlassFishLoggingTracer.trace(getClass(), () -> "The capacity " + newCapacity
+                + " exceeds the size of the ring, using " + slots.length() + " instead.");
+        }
+        super.reconfigure(Math.min(newCapacity, slots.length()), newMaxWait);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail.get();
+    }
+
+
+    @Override
+    public int getSize() {
+        return (int) (tail.get() - head);
+    }
+
+
+    /**
+     * Waits for a record or thread interrupt signal. Only one thread may wait at a time.
+     *
+     * @return {@link GlassFishLogRecord} or null if interrupted.
+     */
+    @Override
+    public GlassFishLogRecord pollOrWait() {
+        while (true) {
+            final GlassFishLogRecord logRecord = poll();
+            if (logRecord != null) {
+                return logRecord;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            waitingConsumer = Thread.currentThread();
+            try {
+                // producers check the waitingConsumer after they claim the slot
+                if (isEmpty()) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                waitingConsumer = null;
+            }
+        }
+    }
+
+
+    @Override
+    public GlassFishLogRecord poll() {
+        consumerLock.lock();
+        try {
+            return take();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+
+    @Override
+    public int drainTo(final List<GlassFishLogRecord> batch, final int maxRecords) {
+        if (maxRecords < 1) {
+            return 0;
+        }
+        consumerLock.lock();
+        try {
+            int count = 0;
+            GlassFishLogRecord logRecord;
+            while (count < maxRecords && (logRecord = take()) != null) {
+                batch.add(logRecord);
+                count++;
+            }
+            return count;
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+
+    @Override
+    public void add(final GlassFishLogRecord record) {
+        final long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        slots.setRelease(index(sequence), record);
+        final Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+
+    /**
+     * @return claimed sequence or -1 if the record has to be dropped.
+     */
+    private long claim() {
+        final int maxWait = getMaxWait();
+        final long start = System.nanoTime();
+        long parkNanos = MIN_PARK_NANOS;
+        while (true) {
+            final long sequence = tail.get();
+            final boolean interrupted = Thread.currentThread().isInterrupted();
+            final int limit = interrupted ? slots.length() : getCapacity();
+            if (sequence - head < limit) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (interrupted) {
+                GlassFishLoggingTracer.stacktrace(getClass(), "add - interrupted, the ring is full, record dropped.");
+                return -1;
+            }
+            if (maxWait > 0 && System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(maxWait)) {
+                clearAfterTimeout(maxWait);
+                return -1;
+            }
+            LockSupport.parkNanos(this, parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+
+    /**
+     * This prevents deadlock - when the waiting is not successful, it forcibly drops all waiting
+     * records. The consumer lock is never held while the records are processed, so the producer
+     * can clear the ring even if the consumer is blocked.
+     */
+    private void clearAfterTimeout(final int maxWait) {
+        consumerLock.lock();
+        try {
+            final long end = tail.get();
+            if (end - head < getCapacity()) {
+                // the consumer was faster
+                return;
+            }
+            while (head < end) {
+                take();
+            }
+        } finally {
+            consumerLock.unlock();
+        }
+
+        // Note: the record is not meaningful for the message. The cause is in another place.
+        add(new GlassFishLogRecord(Level.SEVERE, //
+            this + ": The buffer was forcibly cleared after " + maxWait + " s timeout for adding another log record." //
+                + " Log records were lost." //
+                + " It might be caused by a recursive deadlock," //
+                + " you can increase the capacity or the timeout to avoid this.", false));
+    }
+
+
+    /**
+     * Must be called under the consumerLock.
+     *
+     * @return null if there are no pending records, first in the buffer otherwise.
+     */
+    private GlassFishLogRecord take() {
+        final long sequence = head;
+        if (sequence == tail.get()) {
+            return null;
+        }
+        final int index = index(sequence);
+        GlassFishLogRecord logRecord;
+        // the slot is claimed, but the producer might not have published the record yet.
+        while ((logRecord = slots.getAcquire(index)) == null) {
+            Thread.onSpinWait();
+        }
+        slots.setPlain(index, null);
+        head = sequence + 1;
+        return logRecord;
+    }
+
+
+    private int index(final long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.glassfish.main.jul.handler;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Handler;
 
 import org.glassfish.main.jul.record.GlassFishLogRecord;
@@ -32,6 +34,7 @@ import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
 abstract class LoggingPumpThread extends Thread {
 
     private final LogRecordBuffer buffer;
+    private final List<GlassFishLogRecord> batch = new ArrayList<>();
 
 
     protected LoggingPumpThread(final String threadName, final LogRecordBuffer buffer) {
@@ -52,6 +55,18 @@ abstract class LoggingPumpThread extends Thread {
      */
     protected abstract boolean logRecord(final GlassFishLogRecord record);
 
+    /**
+     * Logs the batch of records taken from the buffer.
+     * Calls {@link #logRecord(GlassFishLogRecord)} for each of them by default.
+     *
+     * @param records non-empty list of records to log
+     */
+    protected void logRecords(final List<GlassFishLogRecord> records) {
+        for (GlassFishLogRecord record : records) {
+            logRecord(record);
+        }
+    }
+
     /**
      * Unconditionally flushes the output
      */
@@ -76,16 +91,17 @@ abstract class LoggingPumpThread extends Thread {
      * Retrieves the LogRecord from our Queue and store them in the file
      */
     private void publishBatchFromBuffer() {
-        if (!logRecord(buffer.pollOrWait())) {
+        final GlassFishLogRecord record = buffer.pollOrWait();
+        if (record == null) {
             return;
         }
-        if (getFlushFrequency() > 1) {
-            // starting from 1, one record was already published
-            for (int i = 1; i < getFlushFrequency(); i++) {
-                if (!logRecord(buffer.poll())) {
-                    break;
-                }
-            }
+        batch.add(record);
+        try {
+            // starting from 1, one record was already taken
+            buffer.drainTo(batch, getFlushFrequency() - 1);
+            logRecords(batch);
+        } finally {
+            batch.clear();
         }
         flushOutput();
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.glassfish.main.jul.formatter.OneLineFormatter;
+import org.glassfish.main.jul.formatter.UniformLogFormatter;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the throughput of the {@link GlassFishLogHandler} with several producer threads,
+ * from the {@link GlassFishLogHandler#publish(LogRecord)} call to the log file, comparing
+ * the blocking queue and the ring buffer.
+ */
+public class GlassFishLogHandlerBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(GlassFishLogHandlerBenchmarkTest.class.getName());
+
+    @Test
+    public void publish() throws Exception {
+        Collection<RunResult> results = new Runner(createOptions()).run();
+        assertThat(results, hasSize(4));
+        for (RunResult result : results) {
+            LOG.log(INFO, "Buffer: {0}, formatter: {1}, score: {2} records/ms",
+                result.getParams().getParam("buffer"), result.getParams().getParam("formatter"),
+                result.getPrimaryResult().getScore());
+        }
+    }
+
+
+    @Benchmark
+    public void publishRecord(HandlerState state) {
+        state.handler.publish(new LogRecord(Level.INFO, "Ororok orebuh, record published by the benchmark."));
+    }
+
+
+    private Options createOptions() {
+        return new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(2).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(4).shouldFailOnError(true).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MILLISECONDS).mode(Mode.Throughput)
+            .build();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class HandlerState {
+
+        @Param({"queue", "ring"})
+        public String buffer;
+
+        @Param({"oneline", "uniform"})
+        public String formatter;
+
+        GlassFishLogHandler handler;
+        private File logFile;
+
+        @Setup
+        public void createHandler() throws IOException {
+            logFile = File.createTempFile(GlassFishLogHandlerBenchmarkTest.class.getSimpleName(), ".log");
+            logFile.deleteOnExit();
+            final GlassFishLogHandlerConfiguration cfg = new GlassFishLogHandlerConfiguration();
+            cfg.setLevel(Level.INFO);
+            cfg.setLogFile(logFile);
+            cfg.setFlushFrequency(100);
+            cfg.setBufferCapacity(10_000);
+            cfg.setBufferRing("ring".equals(buffer));
+            cfg.setFormatterConfiguration("uniform".equals(formatter) ? new UniformLogFormatter()
+                : new OneLineFormatter());
+            handler = new GlassFishLogHandler(cfg);
+        }
+
+
+        @TearDown
+        public void closeHandler() {
+            handler.close();
+            logFile.delete();
+        }
+    }
+}
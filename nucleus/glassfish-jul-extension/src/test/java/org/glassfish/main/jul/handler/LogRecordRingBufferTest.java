@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(value = 10, unit = TimeUnit.SECONDS)
+public class LogRecordRingBufferTest {
+
+    @Test
+    public void fifo() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(3, 1);
+        final GlassFishLogRecord first = createRecord("first");
+        final GlassFishLogRecord second = createRecord("second");
+        buffer.add(first);
+        buffer.add(second);
+        assertAll(
+            () -> assertEquals(2, buffer.getSize()),
+            () -> assertEquals(3, buffer.getCapacity()),
+            () -> assertSame(first, buffer.poll()),
+            () -> assertSame(second, buffer.pollOrWait()),
+            () -> assertNull(buffer.poll()),
+            () -> assertTrue(buffer.isEmpty())
+        );
+    }
+
+
+    @Test
+    public void drainToBatch() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(100, 1);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(createRecord("record " + i));
+        }
+        final List<GlassFishLogRecord> batch = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(batch, 4));
+        assertEquals(6, buffer.drainTo(batch, 100));
+        assertEquals(0, buffer.drainTo(batch, 100));
+        assertThat(batch, hasSize(10));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("record " + i, batch.get(i).getMessage());
+        }
+    }
+
+
+    @Test
+    public void clearedAfterTimeout() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(2, 1);
+        buffer.add(createRecord("first"));
+        buffer.add(createRecord("second"));
+        buffer.add(createRecord("lost"));
+        assertEquals(1, buffer.getSize());
+        final GlassFishLogRecord record = buffer.poll();
+        assertAll(
+            () -> assertEquals(Level.SEVERE, record.getLevel()),
+            () -> assertThat(record.getMessage(), containsString("The buffer was forcibly cleared")),
+            () -> assertTrue(buffer.isEmpty())
+        );
+    }
+
+
+    @Test
+    public void concurrentProducers() throws Exception {
+        final int producerCount = 8;
+        final int recordsPerProducer = 20_000;
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(64, 0);
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < recordsPerProducer; i++) {
+                    buffer.add(createRecord(producer + ":" + i));
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        final Set<String> messages = new HashSet<>();
+        final int[] lastByProducer = new int[producerCount];
+        Arrays.fill(lastByProducer, -1);
+        final List<GlassFishLogRecord> batch = new ArrayList<>();
+        while (messages.size() < producerCount * recordsPerProducer) {
+            batch.add(buffer.pollOrWait());
+            buffer.drainTo(batch, 100);
+            for (GlassFishLogRecord record : batch) {
+                final String[] parts = record.getMessage().split(":");
+                final int producer = Integer.parseInt(parts[0]);
+                final int sequence = Integer.parseInt(parts[1]);
+                assertTrue(sequence > lastByProducer[producer], "Order of records of the producer " + producer);
+                lastByProducer[producer] = sequence;
+                assertTrue(messages.add(record.getMessage()), "Duplicate " + record.getMessage());
+            }
+            batch.clear();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+
+    private static GlassFishLogRecord createRecord(final String message) {
+        return new GlassFishLogRecord(Level.INFO, message, false);
+    }
+}
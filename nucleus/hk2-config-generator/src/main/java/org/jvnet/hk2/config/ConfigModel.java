@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.HK2Loader;
@@ -68,7 +69,12 @@ public final class ConfigModel {
     /**
      * Cache to map methods to properties
      */
-    final Map<Method, Property> methodCache = new HashMap<>();
+    final Map<Method, Property> methodCache = new ConcurrentHashMap<>();
+
+    /**
+     * Cache to map methods of the proxy type to the way they are served
+     */
+    private final Map<Method, Accessor> accessors = new ConcurrentHashMap<>();
 
     /**
      * Contracts under which the inhabitant should be registered.
@@ -228,7 +234,7 @@ public final class ConfigModel {
             String en = e.value();
             if (en.length() > 0) {
                 prop = elements.get(en);
-                methodCache.put(method, prop);
+                cacheProperty(method, prop);
                 return prop;
             }
         }
@@ -237,7 +243,7 @@ public final class ConfigModel {
             String an = a.value();
             if (an.length() > 0) {
                 prop = attributes.get(an);
-                methodCache.put(method, prop);
+                cacheProperty(method, prop);
                 return prop;
             }
         }
@@ -255,10 +261,58 @@ public final class ConfigModel {
 
         // at this point name should match XML names in the model, modulo case.
         prop = findIgnoreCase(name);
-        methodCache.put(method, prop);
+        cacheProperty(method, prop);
         return prop;
     }
 
+    private void cacheProperty(Method method, Property prop) {
+        // methods without a property are an error, not worth caching
+        if (prop != null) {
+            methodCache.put(method, prop);
+        }
+    }
+
+    /**
+     * Resolves how {@link Dom#invoke(Object, Method, Object[])} serves the method,
+     * once per method instead of on every call.
+     */
+    Accessor toAccessor(Method method) {
+        Accessor accessor = accessors.get(method);
+        if (accessor == null) {
+            accessor = new Accessor(method);
+            accessors.put(method, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * Resolved {@link ConfigExtensionMethod} or property of a method of the proxy type.
+     */
+    final class Accessor {
+
+        /**
+         * Extension handling the method, or null.
+         */
+        final ConfigExtensionMethod extension;
+
+        /**
+         * Property accessed by the method, or null for extension methods
+         * and methods with no corresponding property.
+         */
+        final Property property;
+
+        /**
+         * Generic return type of the method.
+         */
+        final Type returnType;
+
+        private Accessor(Method method) {
+            this.extension = method.getAnnotation(ConfigExtensionMethod.class);
+            this.property = extension == null ? toProperty(method) : null;
+            this.returnType = method.getGenericReturnType();
+        }
+    }
+
     public static String trimPrefix(String name) {
 
         // first, trim off the prefix
@@ -82,6 +82,14 @@ public class ConfigParser {
         }
     }
 
+    /**
+     * Builds the {@link Dom} tree from a snapshot read by {@link ConfigSnapshot#read(java.io.DataInput)},
+     * the same way as it is built from XML.
+     */
+    public void parse(ConfigSnapshot.Element root, DomDocument document) {
+        document.root = handleElement(root, document, null);
+    }
+
     /**
      * Parses the given source as a config file, and adds resulting
      * {@link Dom}s into {@link Habitat} as {@link Inhabitant}s.
@@ -238,6 +246,62 @@ public class ConfigParser {
         return dom;
     }
 
+    /**
+     * Builds a {@link Dom} tree from a snapshot element.
+     *
+     * @see #handleElement(XMLStreamReader, DomDocument, Dom)
+     */
+    protected Dom handleElement(ConfigSnapshot.Element element, DomDocument document, Dom parent) {
+        ConfigModel model = document.getModelByElementName(element.name);
+        if(model==null) {
+            logger.log(Level.WARNING, () -> "Ignoring unrecognized element " + element.name + " in configuration snapshot");
+            return null;
+        }
+        return handleElement(element, document, parent, model);
+    }
+
+    /**
+     * Builds a {@link Dom} tree from a snapshot element, by using the given model
+     * for the top-level element.
+     *
+     * @see #handleElement(XMLStreamReader, DomDocument, Dom, ConfigModel)
+     */
+    protected Dom handleElement(ConfigSnapshot.Element element, DomDocument document, Dom parent, ConfigModel model) {
+        final Dom dom = document.make(habitat, null, parent, model);
+
+        dom.fillAttributes(element.attributes);
+
+        List<Child> children = new ArrayList<>(element.children.size());
+        for (ConfigSnapshot.Element e : element.children) {
+            ConfigModel.Property a = model.elements.get(e.name);
+            if(a==null) {
+                // global look up
+                Dom child = handleElement(e, document, dom);
+                if(child!=null) {
+                    children.add(new Dom.NodeChild(e.name, child));
+                }
+            } else
+            if(a.isLeaf()) {
+                children.add(new Dom.LeafChild(e.name, e.getText()));
+            } else {
+                Dom child = handleElement(e, document, dom, ((ConfigModel.Node) a).model);
+                children.add(new Dom.NodeChild(e.name, child));
+            }
+        }
+
+        dom.ensureConstraints(children);
+
+        if(!children.isEmpty()) {
+            dom.setChildren(children);
+        }
+
+        dom.register();
+
+        dom.initializationCompleted();
+
+        return dom;
+    }
+
     // In JDK 1.6, StAX is part of JRE, so we use no argument variant of
     // newInstance(), where as on JDK 1.5, we use two argument version of
     // newInstance() so that we can pass the classloader that loads
@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.config;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Compact binary form of a {@link DomDocument}, used to rebuild the {@link Dom} tree
+ * with {@link ConfigParser#parse(ConfigSnapshot.Element, DomDocument)} without parsing XML.
+ * <p>
+ * The snapshot is recorded from {@link DomDocument#writeTo(XMLStreamWriter)}, so it holds
+ * exactly the elements, attributes and texts of the XML document written from the same tree.
+ * A {@link Recorder} records it while the XML document is written.
+ * Each element and attribute name is written once and then referred to by its index.
+ * <p>
+ * The snapshot carries no validation data, callers must make sure it is not older than
+ * the XML document it replaces.
+ */
+public final class ConfigSnapshot {
+
+    private static final int END_OF_SNAPSHOT = 0;
+    private static final int START_ELEMENT = 1;
+    private static final int ATTRIBUTE = 2;
+    private static final int TEXT = 3;
+    private static final int END_ELEMENT = 4;
+
+    private ConfigSnapshot() {
+    }
+
+    /**
+     * Writes the whole tree of the document.
+     *
+     * @param document the document to write
+     * @param out receives the snapshot
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void write(DomDocument<?> document, DataOutput out) throws IOException {
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        try {
+            document.writeTo(writer);
+            writer.writeEndDocument();
+        } catch (XMLStreamException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Cannot write configuration snapshot", e);
+        }
+    }
+
+    /**
+     * Creates a writer which records the snapshot of the document written to the given writer,
+     * so that the XML document and its snapshot are produced by one {@link DomDocument#writeTo(XMLStreamWriter)}.
+     * The snapshot is complete after {@link Recorder#writeEndDocument()}.
+     *
+     * @param writer receives the XML document
+     * @param out receives the snapshot
+     * @return the writer to pass to {@link DomDocument#writeTo(XMLStreamWriter)}
+     */
+    public static Recorder record(XMLStreamWriter writer, DataOutput out) {
+        return new Recorder(writer, new SnapshotWriter(out));
+    }
+
+    /**
+     * Reads the whole snapshot. No {@link Dom} is created yet, so a corrupted snapshot
+     * fails before anything is registered in the service locator.
+     *
+     * @param in the snapshot written by {@link #write(DomDocument, DataOutput)}
+     * @return the root element
+     * @throws IOException if the snapshot is truncated or corrupted
+     */
+    public static Element read(DataInput in) throws IOException {
+        final List<String> names = new ArrayList<>();
+        final Deque<Element> open = new ArrayDeque<>();
+        Element root = null;
+        while (true) {
+            final int event = readInt(in);
+            switch (event) {
+                case START_ELEMENT:
+                    final Element element = new Element(readName(in, names));
+                    if (open.isEmpty()) {
+                        if (root != null) {
+                            throw new IOException("Configuration snapshot has more than one root element");
+                        }
+                        root = element;
+                    } else {
+                        open.peek().children.add(element);
+                    }
+                    open.push(element);
+                    break;
+                case ATTRIBUTE:
+                    current(open).attributes.put(readName(in, names), readString(in));
+                    break;
+                case TEXT:
+                    final Element parent = current(open);
+                    final String text = readString(in);
+                    parent.text = parent.text == null ? text : parent.text + text;
+                    break;
+                case END_ELEMENT:
+                    current(open);
+                    open.pop();
+                    break;
+                case END_OF_SNAPSHOT:
+                    if (root == null || !open.isEmpty()) {
+                        throw new IOException("Configuration snapshot is truncated");
+                    }
+                    return root;
+                default:
+                    throw new IOException("Unknown event " + event + " in configuration snapshot");
+            }
+        }
+    }
+
+    private static Element current(final Deque<Element> open) throws IOException {
+        final Element element = open.peek();
+        if (element == null) {
+            throw new IOException("Configuration snapshot has content outside of the root element");
+        }
+        return element;
+    }
+
+    private static String readName(final DataInput in, final List<String> names) throws IOException {
+        final int index = readInt(in);
+        if (index == names.size()) {
+            final String name = readString(in);
+            names.add(name);
+            return name;
+        }
+        if (index < 0 || index > names.size()) {
+            throw new IOException("Unknown name index " + index + " in configuration snapshot");
+        }
+        return names.get(index);
+    }
+
+    private static String readString(final DataInput in) throws IOException {
+        final byte[] bytes = new byte[readInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readInt(final DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IOException("Negative value in configuration snapshot");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed value in configuration snapshot");
+    }
+
+
+    /**
+     * Element of a snapshot.
+     */
+    public static final class Element {
+
+        final String name;
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        final List<Element> children = new ArrayList<>();
+        String text;
+
+        private Element(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the element name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the text of a leaf element, never null
+         */
+        String getText() {
+            return text == null ? "" : text;
+        }
+
+        @Override
+        public String toString() {
+            return "ConfigSnapshot.Element(" + name + ")";
+        }
+    }
+
+
+    /**
+     * Writes the events to the delegate writer and records them to the snapshot.
+     */
+    public static final class Recorder extends DelegatingXMLStreamWriter {
+
+        private final SnapshotWriter snapshot;
+
+        private Recorder(final XMLStreamWriter writer, final SnapshotWriter snapshot) {
+            super(writer);
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public void writeStartElement(final String localName) throws XMLStreamException {
+            snapshot.writeStartElement(localName);
+            super.writeStartElement(localName);
+        }
+
+        @Override
+        public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+            snapshot.writeStartElement(namespaceURI, localName);
+            super.writeStartElement(namespaceURI, localName);
+        }
+
+        @Override
+        public void writeStartElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+            snapshot.writeStartElement(prefix, localName, namespaceURI);
+            super.writeStartElement(prefix, localName, namespaceURI);
+        }
+
+        @Override
+        public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+            snapshot.writeEmptyElement(namespaceURI, localName);
+            super.writeEmptyElement(namespaceURI, localName);
+        }
+
+        @Override
+        public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+            snapshot.writeEmptyElement(prefix, localName, namespaceURI);
+            super.writeEmptyElement(prefix, localName, namespaceURI);
+        }
+
+        @Override
+        public void writeEmptyElement(final String localName) throws XMLStreamException {
+            snapshot.writeEmptyElement(localName);
+            super.writeEmptyElement(localName);
+        }
+
+        @Override
+        public void writeEndElement() throws XMLStreamException {
+            snapshot.writeEndElement();
+            super.writeEndElement();
+        }
+
+        @Override
+        public void writeEndDocument() throws XMLStreamException {
+            snapshot.writeEndDocument();
+            super.writeEndDocument();
+        }
+
+        @Override
+        public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+            snapshot.writeAttribute(localName, value);
+            super.writeAttribute(localName, value);
+        }
+
+        @Override
+        public void writeAttribute(final String prefix, final String namespaceURI, final String localName,
+            final String value) throws XMLStreamException {
+            snapshot.writeAttribute(prefix, namespaceURI, localName, value);
+            super.writeAttribute(prefix, namespaceURI, localName, value);
+        }
+
+        @Override
+        public void writeAttribute(final String namespaceURI, final String localName, final String value)
+            throws XMLStreamException {
+            snapshot.writeAttribute(namespaceURI, localName, value);
+            super.writeAttribute(namespaceURI, localName, value);
+        }
+
+        @Override
+        public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+            snapshot.writeNamespace(prefix, namespaceURI);
+            super.writeNamespace(prefix, namespaceURI);
+        }
+
+        @Override
+        public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+            snapshot.writeDefaultNamespace(namespaceURI);
+            super.writeDefaultNamespace(namespaceURI);
+        }
+
+        @Override
+        public void writeProcessingInstruction(final String target) throws XMLStreamException {
+            snapshot.writeProcessingInstruction(target);
+            super.writeProcessingInstruction(target);
+        }
+
+        @Override
+        public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+            snapshot.writeProcessingInstruction(target, data);
+            super.writeProcessingInstruction(target, data);
+        }
+
+        @Override
+        public void writeCData(final String data) throws XMLStreamException {
+            snapshot.writeCData(data);
+            super.writeCData(data);
+        }
+
+        @Override
+        public void writeDTD(final String dtd) throws XMLStreamException {
+            snapshot.writeDTD(dtd);
+            super.writeDTD(dtd);
+        }
+
+        @Override
+        public void writeEntityRef(final String name) throws XMLStreamException {
+            snapshot.writeEntityRef(name);
+            super.writeEntityRef(name);
+        }
+
+        @Override
+        public void writeCharacters(final String text) throws XMLStreamException {
+            snapshot.writeCharacters(text);
+            super.writeCharacters(text);
+        }
+
+        @Override
+        public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+            snapshot.writeCharacters(text, start, len);
+            super.writeCharacters(text, start, len);
+        }
+    }
+
+
+    /**
+     * Records the events of {@link Dom#writeTo(String, XMLStreamWriter)}.
+     * Namespaces, comments and processing instructions are not used in configuration
+     * documents and are not supported.
+     */
+    private static final class SnapshotWriter implements XMLStreamWriter {
+
+        private final DataOutput out;
+        private final Map<String, Integer> names = new HashMap<>();
+
+        private SnapshotWriter(final DataOutput out) {
+            this.out = out;
+        }
+
+        private void writeInt(int value) throws XMLStreamException {
+            try {
+                while ((value & ~0x7F) != 0) {
+                    out.writeByte((value & 0x7F) | 0x80);
+                    value >>>= 7;
+                }
+                out.writeByte(value);
+            } catch (IOException e) {
+                throw new XMLStreamException(e);
+            }
+        }
+
+        private void writeString(final String value) throws XMLStreamException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            try {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new XMLStreamException(e);
+            }
+        }
+
+        private void writeName(final String name) throws XMLStreamException {
+            final Integer index = names.get(name);
+            if (index == null) {
+                final int newIndex = names.size();
+                names.put(name, newIndex);
+                writeInt(newIndex);
+                writeString(name);
+            } else {
+                writeInt(index);
+            }
+        }
+
+        @Override
+        public void writeStartElement(final String localName) throws XMLStreamException {
+            writeInt(START_ELEMENT);
+            writeName(localName);
+        }
+
+        @Override
+        public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+            writeInt(ATTRIBUTE);
+            writeName(localName);
+            writeString(value);
+        }
+
+        @Override
+        public void writeCharacters(final String text) throws XMLStreamException {
+            if (text != null) {
+                writeInt(TEXT);
+                writeString(text);
+            }
+        }
+
+        @Override
+        public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+            writeCharacters(new String(text, start, len));
+        }
+
+        @Override
+        public void writeEndElement() throws XMLStreamException {
+            writeInt(END_ELEMENT);
+        }
+
+        @Override
+        public void writeEndDocument() throws XMLStreamException {
+            writeInt(END_OF_SNAPSHOT);
+        }
+
+        @Override
+        public void writeStartDocument() {
+        }
+
+        @Override
+        public void writeStartDocument(final String version) {
+        }
+
+        @Override
+        public void writeStartDocument(final String encoding, final String version) {
+        }
+
+        @Override
+        public void writeComment(final String data) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeStartElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeEmptyElement(final String localName) throws XMLStreamException {
+            writeStartElement(localName);
+            writeEndElement();
+        }
+
+        @Override
+        public void writeAttribute(final String prefix, final String namespaceURI, final String localName,
+            final String value) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeAttribute(final String namespaceURI, final String localName, final String value)
+            throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeProcessingInstruction(final String target) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeCData(final String data) throws XMLStreamException {
+            writeCharacters(data);
+        }
+
+        @Override
+        public void writeDTD(final String dtd) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void writeEntityRef(final String name) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public String getPrefix(final String uri) {
+            return null;
+        }
+
+        @Override
+        public void setPrefix(final String prefix, final String uri) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void setDefaultNamespace(final String uri) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+            throw unsupported();
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            return null;
+        }
+
+        @Override
+        public Object getProperty(final String name) {
+            throw new IllegalArgumentException("Property " + name + " is not supported");
+        }
+
+        private static XMLStreamException unsupported() {
+            return new XMLStreamException("Namespaces, entities and processing instructions"
+                + " are not supported in configuration snapshots");
+        }
+    }
+}
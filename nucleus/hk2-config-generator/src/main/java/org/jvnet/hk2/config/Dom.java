@@ -41,6 +41,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import javax.xml.stream.Location;
@@ -317,6 +318,16 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * The list is read-only and copy-on-write to support concurrent access.
      */
     private volatile List<Child> children = Collections.emptyList();
+    /**
+     * Index of the {@link #children} by element name, rebuilt on the first read
+     * after the children were replaced.
+     */
+    private volatile ChildIndex childIndex;
+    /**
+     * Attribute values converted to the return type of their getter, valid as long
+     * as the raw value they were converted from has not changed.
+     */
+    private final Map<ConfigModel.Property, TypedValue> typedValues = new ConcurrentHashMap<>();
     private final Location location;
 
     /**
@@ -455,6 +466,15 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
     }
 
 
+    /* package */ void fillAttributes(final Map<String, String> values) {
+        for (final Map.Entry<String, String> value : values.entrySet()) {
+            if (model.attributes.containsKey(value.getKey())) {
+                attributes.put(value.getKey(), value.getValue());
+            }
+        }
+    }
+
+
     /**
      * Where was this {@link Dom} loaded from?
      */
@@ -482,12 +502,8 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      *
      * @Return list of elements names associated with this config instance
      */
-    public synchronized Set<String> getElementNames() {
-        final Set<String> names = new HashSet<>();
-        for (final Child child : children) {
-            names.add(child.name);
-        }
-        return names;
+    public Set<String> getElementNames() {
+        return new HashSet<>(childIndex().byName.keySet());
     }
 
 
@@ -555,6 +571,10 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * This would trigger the re-injection of the value.
      */
     public void attribute(final String name, final String value) {
+        final ConfigModel.Property property = model.attributes.get(name);
+        if (property != null) {
+            typedValues.remove(property);
+        }
         if (value == null) {
             attributes.remove(name);
         } else {
@@ -575,15 +595,9 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * @param name of the element
      * @return child element
      */
-    public synchronized Dom element(final String name) {
-        final List<Child> children = this.children; // fix the snapshot that we'll work with
-
-        for (final Child child : children) {
-            if (child.name.equals(name)) {
-                return ((NodeChild) child).dom;
-            }
-        }
-        return null;
+    public Dom element(final String name) {
+        final Child child = childIndex().first(name);
+        return child == null ? null : ((NodeChild) child).dom;
     }
 
 
@@ -633,22 +647,22 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
         }
         final NodeChild newChild = new NodeChild(name, newNode);
 
-        if (children.size() == 0) {
-            children = new ArrayList<>();
-        }
+        final List<Child> newChildren = new ArrayList<>(children);
         if (reference == null) {
-            children.add(0, newChild);
+            newChildren.add(0, newChild);
+            children = newChildren;
             newNode.domDescriptor = addWithAlias(getHabitat(), newNode, newNode.getProxyType(), newNode.getKey());
             return;
         }
 
-        final ListIterator<Child> itr = children.listIterator();
+        final ListIterator<Child> itr = newChildren.listIterator();
         while (itr.hasNext()) {
             final Child child = itr.next();
             if (child instanceof NodeChild) {
                 final NodeChild nc = (NodeChild) child;
                 if (nc.dom == reference) {
                     itr.add(newChild);
+                    children = newChildren;
                     newNode.domDescriptor = addWithAlias(getHabitat(), newNode, newNode.getProxyType(),
                         newNode.getKey());
 
@@ -666,7 +680,8 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * @see #insertAfter(Dom, String, Dom)
      */
     public synchronized void replaceChild(final Dom reference, final String name, final Dom newNode) {
-        final ListIterator<Child> itr = children.listIterator();
+        final List<Child> newChildren = new ArrayList<>(children);
+        final ListIterator<Child> itr = newChildren.listIterator();
         while (itr.hasNext()) {
             final Child child = itr.next();
             if (child instanceof NodeChild) {
@@ -677,6 +692,7 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
                         newNode.getKey());
 
                     itr.set(new NodeChild(name, newNode));
+                    children = newChildren;
                     return;
                 }
             }
@@ -689,7 +705,8 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * Removes an existing {@link NodeChild}
      */
     public synchronized void removeChild(final Dom reference) {
-        final ListIterator<Child> itr = children.listIterator();
+        final List<Child> newChildren = new ArrayList<>(children);
+        final ListIterator<Child> itr = newChildren.listIterator();
         while (itr.hasNext()) {
             final Child child = itr.next();
             if (child instanceof NodeChild) {
@@ -697,6 +714,7 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
                 if (nc.dom == reference) {
                     nc.dom.removeNestedChildren();
                     itr.remove();
+                    children = newChildren;
                     reference.release();
                     return;
                 }
@@ -721,20 +739,24 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
 
 
     public synchronized boolean addLeafElement(final String xmlName, final String value) {
-        if (children.size() == 0) {
-            children = new ArrayList<>();
-        }
-        return children.add(new LeafChild(xmlName, value));
-
+        final List<Child> newChildren = new ArrayList<>(children);
+        newChildren.add(new LeafChild(xmlName, value));
+        children = newChildren;
+        return true;
     }
 
 
     public synchronized boolean removeLeafElement(final String xmlName, final String element) {
         final List<Child> children = this.children; // fix the snapshot that we'll work with
 
-        for (final Child child : children) {
+        final int len = children.size();
+        for (int i = 0; i < len; i++) {
+            final Child child = children.get(i);
             if (child.name.equals(xmlName) && ((LeafChild) child).value.equals(element)) {
-                return children.remove(child);
+                final List<Child> newChildren = new ArrayList<>(children);
+                newChildren.remove(i);
+                this.children = newChildren;
+                return true;
             }
         }
         return false;
@@ -749,7 +771,10 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
         for (int i = 0; i < len; i++) {
             final Child child = children.get(i);
             if (child.name.equals(xmlName) && ((LeafChild) child).value.equals(oldValue)) {
-                return (children.set(i, new LeafChild(xmlName, newValue)) != null);
+                final List<Child> newChildren = new ArrayList<>(children);
+                newChildren.set(i, new LeafChild(xmlName, newValue));
+                this.children = newChildren;
+                return true;
             }
         }
         return false;
@@ -759,18 +784,10 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
     /**
      * Picks up one leaf-element value without variable expansion.
      */
-    public synchronized String rawLeafElement(final String name) {
-        final List<Child> children = this.children; // fix the snapshot that we'll work with
-
-        final int len = children.size();
-        for (int i = 0; i < len; i++) {
-            final Child child = children.get(i);
-            if (child.name.equals(name)) {
-                // error check on model guarantees that this works.
-                return ((LeafChild) child).value;
-            }
-        }
-        return null;
+    public String rawLeafElement(final String name) {
+        final Child child = childIndex().first(name);
+        // error check on model guarantees that this works.
+        return child == null ? null : ((LeafChild) child).value;
     }
 
 
@@ -854,15 +871,13 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * @return
      *         Can be empty but never null.
      */
-    public synchronized List<String> leafElements(final String name) {
-        final List<Child> children = this.children; // fix the snapshot that we'll work with
+    public List<String> leafElements(final String name) {
+        final List<Child> children = childIndex().all(name);
 
-        final List<String> r = new ArrayList<>();
+        final List<String> r = new ArrayList<>(children.size());
         for (final Child child : children) {
-            if (child.name.equals(name)) {
-                // error check on model guarantees that this cast works.
-                r.add(t(((LeafChild) child).value));
-            }
+            // error check on model guarantees that this cast works.
+            r.add(t(((LeafChild) child).value));
         }
         return r;
     }
@@ -874,15 +889,13 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * @return
      *         can be empty, but never null (even if such element name is not defined in the model.)
      */
-    public synchronized List<String> rawLeafElements(final String name) {
-        final List<Child> children = this.children; // fix the snapshot that we'll work with
+    public List<String> rawLeafElements(final String name) {
+        final List<Child> children = childIndex().all(name);
 
-        final List<String> r = new ArrayList<>();
+        final List<String> r = new ArrayList<>(children.size());
         for (final Child child : children) {
-            if (child.name.equals(name)) {
-                // error check on model guarantees that this cast works.
-                r.add(((LeafChild) child).value);
-            }
+            // error check on model guarantees that this cast works.
+            r.add(((LeafChild) child).value);
         }
         return r;
     }
@@ -891,18 +904,10 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
     /**
      * Picks up one node-element value.
      */
-    public synchronized Dom nodeElement(final String name) {
-        final List<Child> children = this.children; // fix the snapshot that we'll work with
-
-        final int len = children.size();
-        for (int i = 0; i < len; i++) {
-            final Child child = children.get(i);
-            if (child.name.equals(name)) {
-                // error check on model guarantees that this works.
-                return ((NodeChild) child).dom;
-            }
-        }
-        return null;
+    public Dom nodeElement(final String name) {
+        final Child child = childIndex().first(name);
+        // error check on model guarantees that this works.
+        return child == null ? null : ((NodeChild) child).dom;
     }
 
 
@@ -934,17 +939,13 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
     /**
      * Picks up all node-elements that have the given element name.
      */
-    public synchronized List<Dom> nodeElements(final String elementName) {
-        final List<Child> children = this.children; // fix the snapshot that we'll work with
+    public List<Dom> nodeElements(final String elementName) {
+        final List<Child> children = childIndex().all(elementName);
 
-        final List<Dom> r = new ArrayList<>();
-        final int len = children.size();
-        for (int i = 0; i < len; i++) {
-            final Child child = children.get(i);
-            if (child.name.equals(elementName)) {
-                // error check on model guarantees that this works.
-                r.add(((NodeChild) child).dom);
-            }
+        final List<Dom> r = new ArrayList<>(children.size());
+        for (final Child child : children) {
+            // error check on model guarantees that this works.
+            r.add(((NodeChild) child).dom);
         }
         return r;
     }
@@ -955,7 +956,9 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * except those who are matched by other named elements in the model.
      * Used to implement {@code FromElement("*")}.
      */
-    public synchronized List<Dom> domNodeByTypeElements(final Class baseType) {
+    public List<Dom> domNodeByTypeElements(final Class baseType) {
+        final List<Child> children = this.children; // fix the snapshot that we'll work with
+
         final List<Dom> r = new ArrayList<>();
 
         final int len = children.size();
@@ -993,7 +996,9 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
     }
 
 
-    public synchronized <T> T nodeByTypeElement(final Class<T> baseType) {
+    public <T> T nodeByTypeElement(final Class<T> baseType) {
+        final List<Child> children = this.children; // fix the snapshot that we'll work with
+
         final int len = children.size();
         for (int i = 0; i < len; i++) {
             final Child child = children.get(i);
@@ -1054,7 +1059,7 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * so that we can detect deadends that are statically known not to contain
      * the kind we are looking for, and use that to cut the search space.
      */
-    public synchronized Dom resolveReference(final String key, final String typeName) {
+    public Dom resolveReference(final String key, final String typeName) {
         final String keyedAs = model.keyedAs;
         if (keyedAs != null && keyedAs.equals(typeName) && getKey().equals(key)) {
             return this; // found it
@@ -1185,8 +1190,7 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
      * {@link InvocationHandler} implementation that allows strongly-typed access
      * to the configuration.
      * <p>
-     * TODO: it might be a great performance improvement to have APT generate
-     * code that does this during the development time by looking at the interface.
+     * The way each method is served is resolved once, see {@link ConfigModel#toAccessor(Method)}.
      */
     @Override
     public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
@@ -1202,21 +1206,22 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
         if (method.isDefault()) {
             return InvocationHandler.invokeDefault(proxy, method, args);
         }
-        if (method.getAnnotation(ConfigExtensionMethod.class) != null) {
-            final ConfigExtensionMethod cem = method.getAnnotation(ConfigExtensionMethod.class);
+        final ConfigModel.Accessor accessor = model.toAccessor(method);
+        if (accessor.extension != null) {
+            final ConfigExtensionMethod cem = accessor.extension;
             final ConfigExtensionHandler<?> handler = cem.value() == null
                 ? getServiceLocator().getService(ConfigExtensionHandler.class)
                 : getServiceLocator().getService(ConfigExtensionHandler.class, cem.value());
             return invokeConfigExtensionMethod(handler, this, model.getProxyType(), args);
         }
 
-        final ConfigModel.Property property = model.toProperty(method);
+        final ConfigModel.Property property = accessor.property;
         if (property == null) {
             throw new IllegalArgumentException("No corresponding property found for method: " + method);
         }
 
         if (args == null || args.length == 0) {
-            return getter(property, method.getGenericReturnType());
+            return getter(property, accessor.returnType);
         }
         throw new PropertyVetoException("Instance of " + getImplementation() + " named '" + getKey()
             + "' is not locked for writing when invoking method " + method.getName()
@@ -1244,7 +1249,22 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
 
 
     protected Object getter(final ConfigModel.Property target, final Type t) {
-        return target.get(this, t);
+        if (!(target instanceof ConfigModel.AttributeLeaf) || ((ConfigModel.AttributeLeaf) target).isReference()) {
+            return target.get(this, t);
+        }
+
+        // Values with variable references are translated on every read, the variables may change
+        final String raw = rawAttribute(target.xmlName);
+        if (raw != null && raw.indexOf('$') >= 0) {
+            return target.get(this, t);
+        }
+        final TypedValue cached = typedValues.get(target);
+        if (cached != null && cached.raw == raw && cached.type == t) {
+            return cached.value;
+        }
+        final Object value = target.get(this, t);
+        typedValues.put(target, new TypedValue(raw, t, value));
+        return value;
     }
 
 
@@ -1354,6 +1374,20 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
     }
 
 
+    /**
+     * @return the index of the current children, lock-free.
+     */
+    private ChildIndex childIndex() {
+        final List<Child> children = this.children; // fix the snapshot that we'll work with
+        ChildIndex index = childIndex;
+        if (index == null || index.children != children) {
+            index = new ChildIndex(children);
+            childIndex = index;
+        }
+        return index;
+    }
+
+
     /**
      * Returns the map of attributes names and values for attributes which
      * value is neither null or the default value. These attributes are
@@ -1561,6 +1595,52 @@ public class Dom extends AbstractActiveDescriptor implements InvocationHandler,
         return this == o;
     }
 
+    /**
+     * Read-only index of a snapshot of the children by element name, in document order.
+     */
+    private static final class ChildIndex {
+
+        private final List<Child> children;
+        private final Map<String, List<Child>> byName;
+
+        private ChildIndex(final List<Child> children) {
+            this.children = children;
+            final Map<String, List<Child>> index = new HashMap<>();
+            for (final Child child : children) {
+                index.computeIfAbsent(child.name, name -> new ArrayList<>(1)).add(child);
+            }
+            this.byName = index;
+        }
+
+
+        private Child first(final String name) {
+            final List<Child> named = byName.get(name);
+            return named == null ? null : named.get(0);
+        }
+
+
+        private List<Child> all(final String name) {
+            final List<Child> named = byName.get(name);
+            return named == null ? Collections.emptyList() : named;
+        }
+    }
+
+    /**
+     * Attribute value converted from its raw value.
+     */
+    private static final class TypedValue {
+
+        private final String raw;
+        private final Type type;
+        private final Object value;
+
+        private TypedValue(final String raw, final Type type, final Object value) {
+            this.raw = raw;
+            this.type = type;
+            this.value = value;
+        }
+    }
+
     private static class DomProxyComputable implements Computable<Class<?>, ConfigBeanProxy> {
 
         private final Dom dom;
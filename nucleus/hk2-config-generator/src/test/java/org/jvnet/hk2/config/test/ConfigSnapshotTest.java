@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.config.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.glassfish.hk2.api.DynamicConfiguration;
+import org.glassfish.hk2.api.DynamicConfigurationService;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hk2.config.ConfigParser;
+import org.jvnet.hk2.config.ConfigSnapshot;
+import org.jvnet.hk2.config.DomDocument;
+import org.jvnet.hk2.config.test.example.ConfigModule;
+import org.jvnet.hk2.config.test.example.GenericContainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void snapshotRebuildsSameTree() throws Exception {
+        final DomDocument<?> parsed = new ConfigParser(createLocator("snapshot-xml"))
+            .parse(getClass().getResource("/domain.xml"));
+        final byte[] snapshot = write(parsed);
+
+        final ServiceLocator locator = createLocator("snapshot-binary");
+        final DomDocument<?> loaded = new DomDocument<>(locator);
+        new ConfigParser(locator).parse(ConfigSnapshot.read(new DataInputStream(new ByteArrayInputStream(snapshot))),
+            loaded);
+
+        final GenericContainer container = locator.getService(GenericContainer.class);
+        assertAll(
+            () -> assertEquals(toXml(parsed), toXml(loaded)),
+            () -> assertNotNull(container),
+            () -> assertEquals(1234, container.getIntValue())
+        );
+    }
+
+    @Test
+    public void recorderWritesSameXmlAndSnapshot() throws Exception {
+        final DomDocument<?> parsed = new ConfigParser(createLocator("snapshot-recorder"))
+            .parse(getClass().getResource("/domain.xml"));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final StringWriter xml = new StringWriter();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(xml);
+            final ConfigSnapshot.Recorder recorder = ConfigSnapshot.record(writer, out);
+            parsed.writeTo(recorder);
+            recorder.writeEndDocument();
+            recorder.close();
+        }
+
+        assertAll(
+            () -> assertEquals(toXml(parsed), xml.toString()),
+            () -> assertArrayEquals(write(parsed), bytes.toByteArray())
+        );
+    }
+
+    @Test
+    public void truncatedSnapshotIsRejected() throws Exception {
+        final DomDocument<?> parsed = new ConfigParser(createLocator("snapshot-truncated"))
+            .parse(getClass().getResource("/domain.xml"));
+        final byte[] snapshot = write(parsed);
+        final byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 2);
+
+        assertThrows(IOException.class,
+            () -> ConfigSnapshot.read(new DataInputStream(new ByteArrayInputStream(truncated))));
+    }
+
+    private static ServiceLocator createLocator(final String name) {
+        final ServiceLocator locator = ServiceLocatorFactory.getInstance().create(name);
+        final DynamicConfigurationService dcs = locator.getService(DynamicConfigurationService.class);
+        final DynamicConfiguration config = dcs.createDynamicConfiguration();
+        new ConfigModule(locator).configure(config);
+        config.commit();
+        return locator;
+    }
+
+    private static byte[] write(final DomDocument<?> document) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            ConfigSnapshot.write(document, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String toXml(final DomDocument<?> document) throws Exception {
+        final StringWriter xml = new StringWriter();
+        final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(xml);
+        document.writeTo(writer);
+        writer.close();
+        return xml.toString();
+    }
+}
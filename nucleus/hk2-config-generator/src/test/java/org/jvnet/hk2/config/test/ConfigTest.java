@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -54,6 +54,7 @@ import org.jvnet.hk2.config.ObservableBean;
 import org.jvnet.hk2.config.Populator;
 import org.jvnet.hk2.config.SingleConfigCode;
 import org.jvnet.hk2.config.Transactions;
+import org.jvnet.hk2.config.Translator;
 import org.jvnet.hk2.config.UnprocessedChangeEvents;
 import org.jvnet.hk2.config.test.example.ConfigModule;
 import org.jvnet.hk2.config.test.example.DummyPopulator;
@@ -374,6 +375,81 @@ public class ConfigTest {
         );
     }
 
+    @Test
+    @Order(23)
+    public void testIndexedChildren() {
+        final GenericContainer gc = locator.getService(GenericContainer.class);
+        final Dom dom = Dom.unwrap(gc);
+        final List<Dom> configs = dom.nodeElements("generic-config");
+        assertAll(
+            () -> assertThat(configs, hasSize(2)),
+            () -> assertEquals("test1", configs.get(0).getKey()),
+            () -> assertEquals("test2", configs.get(1).getKey()),
+            () -> assertSame(configs.get(0), dom.element("generic-config")),
+            () -> assertNull(dom.element("no-such-element")),
+            () -> assertEquals(gc.getIntValue(), gc.getIntValue())
+        );
+
+        dom.addLeafElement("leaf", "a");
+        dom.addLeafElement("leaf", "b");
+        assertEquals(List.of("a", "b"), dom.rawLeafElements("leaf"));
+        dom.changeLeafElement("leaf", "a", "c");
+        assertEquals("c", dom.rawLeafElement("leaf"));
+        dom.removeLeafElement("leaf", "c");
+        dom.removeLeafElement("leaf", "b");
+        assertAll(
+            () -> assertThat(dom.rawLeafElements("leaf"), hasSize(0)),
+            () -> assertThat(dom.nodeElements("generic-config"), hasSize(2))
+        );
+    }
+
+    @Test
+    @Order(24)
+    public void testCachedAttributeChangedInTransaction() throws Exception {
+        final GenericContainer gc = locator.getService(GenericContainer.class);
+        assertEquals(1234, gc.getIntValue());
+        ConfigSupport.apply(p -> {
+            p.setIntValue("4321");
+            assertEquals(1234, gc.getIntValue());
+            return null;
+        }, gc);
+        try {
+            assertEquals(4321, gc.getIntValue());
+        } finally {
+            ConfigSupport.apply(p -> {
+                p.setIntValue(null);
+                return null;
+            }, gc);
+        }
+        assertEquals(1234, gc.getIntValue());
+    }
+
+    @Test
+    @Order(25)
+    public void testAttributeWithVariableReference() throws Exception {
+        final GenericContainer gc = locator.getService(GenericContainer.class);
+        final DomDocument<?> document = Dom.unwrap(gc).document;
+        final String property = ConfigTest.class.getName() + ".intValue";
+        document.setTranslator(Translator.SYS_PROP_TR);
+        System.setProperty(property, "42");
+        try {
+            ConfigSupport.apply(p -> {
+                p.setIntValue("${" + property + "}");
+                return null;
+            }, gc);
+            assertEquals(42, gc.getIntValue());
+            System.setProperty(property, "43");
+            assertEquals(43, gc.getIntValue());
+        } finally {
+            ConfigSupport.apply(p -> {
+                p.setIntValue(null);
+                return null;
+            }, gc);
+            System.clearProperty(property);
+            document.setTranslator(Translator.NOOP);
+        }
+    }
+
 
     private static class InjectionTargetFilter implements Filter {
 
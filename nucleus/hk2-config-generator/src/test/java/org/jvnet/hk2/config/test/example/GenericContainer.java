@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -43,6 +43,7 @@ public interface GenericContainer extends ConfigBeanProxy {
 
     @Attribute (defaultValue="1234")
     int getIntValue();
+    void setIntValue(String value);
 
     @NotNull
     @Element WebContainerAvailability getWebContainerAvailability();